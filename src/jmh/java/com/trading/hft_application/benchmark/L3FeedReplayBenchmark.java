@@ -0,0 +1,37 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.marketdata.L3MessageFeed;
+import com.trading.hft_application.core.marketdata.L3OrderBook;
+import com.trading.hft_application.model.OrderBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained message rate replaying a pre-generated order-by-order feed of a few million adds, modifies,
+ * cancels and executions into an empty book; scores are messages per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class L3FeedReplayBenchmark {
+	private static final int MESSAGES = 4_000_000;
+
+	private final L3MessageFeed feed = new L3MessageFeed(MESSAGES, 50_000, 42);
+	private final L3OrderBook book = new L3OrderBook(new OrderBook("BTC-USD"), 65_536, 4096);
+
+	@Setup(Level.Invocation)
+	public void clearBook() {
+		book.clear();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public int replay() {
+		feed.replay(book);
+		return book.getOrderCount();
+	}
+}
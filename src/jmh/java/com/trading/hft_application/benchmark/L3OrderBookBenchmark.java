@@ -0,0 +1,70 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.marketdata.L3OrderBook;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order-by-order feed messages against a book holding a steady population of resting orders.
+ * Each add is paired with a cancel of an earlier order, so the population stays constant.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class L3OrderBookBenchmark {
+	private static final int RESTING_ORDERS = 10_000;
+	private static final int PRICE_COUNT = 4096;
+	private static final long BASE_TICKS = 5_000_000;
+	private static final int LEVELS = 100;
+
+	private final L3OrderBook book = new L3OrderBook(new OrderBook("BTC-USD"), RESTING_ORDERS * 2, LEVELS * 4);
+	private final long[] prices = new long[PRICE_COUNT];
+	private long nextOrderId = 0;
+	private int cursor = 0;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < PRICE_COUNT; i++) {
+			prices[i] = BASE_TICKS - random.nextInt(1, LEVELS);
+		}
+		for (int i = 0; i < RESTING_ORDERS; i++) {
+			addNext();
+		}
+	}
+
+	@Benchmark
+	public boolean addAndCancel() {
+		addNext();
+		return book.cancel(nextOrderId - RESTING_ORDERS - 1);
+	}
+
+	@Benchmark
+	public boolean modify() {
+		// Alternately shrinks an order in place and grows it, which sends it to the back of its queue
+		long orderId = nextRestingOrder();
+		return book.modify(orderId, prices[(int) (orderId & (PRICE_COUNT - 1))], (cursor & 1) == 0 ? 50 : 100);
+	}
+
+	@Benchmark
+	public long queueAhead() {
+		return book.getQueueAhead(nextRestingOrder());
+	}
+
+	private long nextRestingOrder() {
+		cursor = (cursor + 7919) % RESTING_ORDERS;
+		return nextOrderId - 1 - cursor;
+	}
+
+	private void addNext() {
+		long orderId = nextOrderId++;
+		book.add(orderId, OrderType.BUY, prices[(int) (orderId & (PRICE_COUNT - 1))], 100);
+	}
+}
@@ -0,0 +1,100 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.exchange.MatchingEngine;
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.model.OrderType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The simulated venue's matching engine with a steady population of resting client orders under a
+ * moving quote. Reports go to a blackhole, so the numbers exclude the simulator's latency queues.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class MatchingEngineBenchmark {
+	private static final int RESTING_ORDERS = 200;
+	private static final int PRICE_COUNT = 4096;
+	private static final long BID_TICKS = 5_000_000;
+	private static final int LEVELS = 50;
+
+	private final long[] prices = new long[PRICE_COUNT];
+	private MatchingEngine engine;
+	private long nextOrderId = 1;
+	private int cursor = 0;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		engine = new MatchingEngine(1, RESTING_ORDERS * 2, RESTING_ORDERS * 2, new ExecutionListener() {
+			@Override
+			public void onAccepted(long orderId) {
+				blackhole.consume(orderId);
+			}
+
+			@Override
+			public void onRejected(long orderId) {
+				blackhole.consume(orderId);
+			}
+
+			@Override
+			public void onAmended(long orderId) {
+				blackhole.consume(orderId);
+			}
+
+			@Override
+			public void onCancelled(long orderId) {
+				blackhole.consume(orderId);
+			}
+
+			@Override
+			public void onFill(long orderId, long priceTicks, long size) {
+				blackhole.consume(size);
+			}
+		});
+
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < PRICE_COUNT; i++) {
+			prices[i] = BID_TICKS - random.nextInt(0, LEVELS);
+		}
+		engine.setQuote(0, BID_TICKS, BID_TICKS + 2, 1_000, 1_000);
+		for (int i = 0; i < RESTING_ORDERS; i++) {
+			addNext();
+		}
+	}
+
+	@Benchmark
+	public void addAndCancel() {
+		addNext();
+		engine.cancel(nextOrderId - RESTING_ORDERS - 1);
+	}
+
+	@Benchmark
+	public void aggressAgainstQuote() {
+		// Refreshes the ask and takes part of it, so every order fills against the market
+		engine.setQuote(0, BID_TICKS, BID_TICKS + 2, 1_000, 1_000);
+		engine.submit(nextOrderId++, 0, OrderType.BUY, BID_TICKS + 2, 300);
+	}
+
+	@Benchmark
+	public void quoteMovesThroughRestingOrders() {
+		// Alternately ticks the ask down through the best resting bids and back, refilling them as they fill
+		cursor++;
+		long askTicks = (cursor & 1) == 0 ? BID_TICKS - 1 : BID_TICKS + 2;
+		engine.setQuote(0, BID_TICKS - LEVELS, askTicks, 1_000, 150);
+		while (engine.getOpenOrderCount() < RESTING_ORDERS) {
+			addNext();
+		}
+	}
+
+	private void addNext() {
+		long orderId = nextOrderId++;
+		engine.submit(orderId, 0, OrderType.BUY, prices[(int) (orderId & (PRICE_COUNT - 1))], 100);
+	}
+}
@@ -0,0 +1,76 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import com.trading.hft_application.model.TopOfBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order book writes from the book stage and top-of-book reads from the signal and service threads.
+ * Ticks follow a bounded random walk, so the ladders settle at a realistic depth.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class OrderBookBenchmark {
+	private static final int TICK_COUNT = 4096;
+	private static final long BASE_TICKS = 5_000_000;
+	private static final int LEVELS = 50;
+
+	private final OrderBook book = new OrderBook("BTC-USD");
+	private final TopOfBook topOfBook = new TopOfBook();
+	private final MarketTick[] ticks = new MarketTick[TICK_COUNT];
+	private final long[] levelPrices = new long[TICK_COUNT];
+	private final long[] levelSizes = new long[TICK_COUNT];
+	private final long[] depthPrices = new long[10];
+	private final long[] depthSizes = new long[10];
+	private int next = 0;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		long bid = BASE_TICKS;
+		for (int i = 0; i < TICK_COUNT; i++) {
+			bid = Math.max(BASE_TICKS - LEVELS, Math.min(BASE_TICKS + LEVELS, bid + random.nextInt(-2, 3)));
+			ticks[i] = new MarketTick("BTC-USD", bid, bid + random.nextInt(1, 4),
+					random.nextLong(1, 100_000), random.nextLong(1, 100_000));
+			levelPrices[i] = BASE_TICKS - random.nextInt(1, LEVELS);
+			levelSizes[i] = random.nextInt(8) == 0 ? 0 : random.nextLong(1, 100_000);
+		}
+
+		for (int level = 1; level <= LEVELS; level++) {
+			book.updateLevel(OrderType.BUY, BASE_TICKS - level, 10_000);
+			book.updateLevel(OrderType.SELL, BASE_TICKS + LEVELS + level, 10_000);
+		}
+	}
+
+	@Benchmark
+	public long update() {
+		book.update(ticks[next++ & (TICK_COUNT - 1)]);
+		return book.getVersion();
+	}
+
+	@Benchmark
+	public long updateLevel() {
+		int i = next++ & (TICK_COUNT - 1);
+		book.updateLevel(OrderType.BUY, levelPrices[i], levelSizes[i]);
+		return book.getVersion();
+	}
+
+	@Benchmark
+	public TopOfBook readTopOfBook() {
+		return book.readTopOfBook(topOfBook);
+	}
+
+	@Benchmark
+	public int readLevels() {
+		return book.readLevels(OrderType.BUY, depthPrices, depthSizes);
+	}
+}
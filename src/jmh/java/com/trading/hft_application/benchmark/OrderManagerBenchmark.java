@@ -0,0 +1,81 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.execution.OrderManager;
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.core.marketdata.SymbolChangeQueue;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order manager's periodic passes over thousands of working orders spread across symbols.
+ * Orders rest at the touch so the repricing passes check orders without amending any: the full pass
+ * checks every order, while the changed-symbol pass checks only the orders of the one symbol whose touch
+ * moved. Expiry deadlines lie beyond the run, so the expiry pass finds nothing due; its cost should not
+ * grow with the number of orders.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class OrderManagerBenchmark {
+	private static final int SYMBOL_COUNT = 16;
+	private static final long BASE_TICKS = 5_000_000;
+
+	@Param({"1000", "10000"})
+	public int activeOrderCount;
+
+	private final OrderManager orderManager = new OrderManager();
+	private final OrderBook[] orderBooks = new OrderBook[SYMBOL_COUNT];
+	private final SymbolChangeQueue changedSymbols = new SymbolChangeQueue(SYMBOL_COUNT);
+	private OrderTable orders;
+	private int nextChangedSymbol = 0;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		for (int symbolId = 0; symbolId < SYMBOL_COUNT; symbolId++) {
+			String symbol = "SYM" + symbolId;
+			orderBooks[symbolId] = new OrderBook(new InstrumentSpec(symbol));
+			orderBooks[symbolId].update(new MarketTick(symbol, BASE_TICKS, BASE_TICKS + 2, 10_000, 10_000));
+		}
+
+		orders = new OrderTable(activeOrderCount, SYMBOL_COUNT);
+		long expiryNanos = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+		for (int i = 0; i < activeOrderCount; i++) {
+			int symbolId = i % SYMBOL_COUNT;
+			OrderBook book = orderBooks[symbolId];
+			boolean buy = (i & 1) == 0;
+			orders.add(new Order(i, symbolId, book.getInstrument(),
+					buy ? OrderType.BUY : OrderType.SELL, buy ? book.getBidTicks() : book.getAskTicks(), 100),
+					expiryNanos + i * 1_000_000L);
+			orders.onAccepted(i);
+		}
+	}
+
+	@Benchmark
+	public int manageActiveOrders() {
+		orderManager.manageActiveOrders(orders, orderBooks, System.nanoTime());
+		return orders.getOpenCount();
+	}
+
+	@Benchmark
+	public int manageChangedSymbols() {
+		changedSymbols.offer(nextChangedSymbol);
+		nextChangedSymbol = (nextChangedSymbol + 1) % SYMBOL_COUNT;
+		orderManager.manageChangedSymbols(orders, orderBooks, changedSymbols, System.nanoTime());
+		return orders.getOpenCount();
+	}
+
+	@Benchmark
+	public int expireOrders() {
+		orderManager.expireOrders(orders, System.nanoTime());
+		return orders.getOpenCount();
+	}
+}
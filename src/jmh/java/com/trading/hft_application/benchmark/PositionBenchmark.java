@@ -0,0 +1,42 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Position updates on fills, both adding to a position and flipping it, published under the position's seqlock
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PositionBenchmark {
+	private final InstrumentSpec instrument = new InstrumentSpec("BTC-USD");
+	private Position position;
+	private long priceTicks;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		priceTicks = 5_000_000;
+		position = new Position(instrument, 200, priceTicks);
+	}
+
+	@Benchmark
+	public double addToPosition() {
+		position.updatePosition(100, priceTicks++);
+		return position.getAvgPriceTicks();
+	}
+
+	@Benchmark
+	public double flipPosition() {
+		// Closes the position and opens one of the same size the other way
+		long size = position.getSize() > 0 ? -400 : 400;
+		position.updatePosition(size, priceTicks++);
+		return position.getLastTradeProfit();
+	}
+}
@@ -0,0 +1,54 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.core.risk.PreTradeCheck;
+import com.trading.hft_application.core.risk.PreTradeRiskGate;
+import com.trading.hft_application.core.risk.RiskManager;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-trade checks on the order path, for an order passing every check and one failing the price band.
+ * Run with -prof gc to confirm the gate does not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PreTradeRiskGateBenchmark {
+	private static final int SYMBOLS = 16;
+
+	private final InstrumentSpec instrument = new InstrumentSpec("BTC-USD");
+	private PreTradeRiskGate gate;
+	private long askTicks;
+
+	@Setup
+	public void setUp() {
+		RiskManager riskManager = new RiskManager(1_000_000.0, 100_000.0, 50_000.0, SYMBOLS);
+		OrderBook[] books = new OrderBook[SYMBOLS];
+		for (int symbolId = 0; symbolId < SYMBOLS; symbolId++) {
+			books[symbolId] = new OrderBook(instrument);
+			books[symbolId].update(new MarketTick("BTC-USD", instrument.toTicks(50_000.0),
+					instrument.toTicks(50_001.0), instrument.toLots(1.0), instrument.toLots(1.0)));
+		}
+		askTicks = instrument.toTicks(50_001.0);
+		gate = new PreTradeRiskGate(riskManager, books, new OrderTable(1024, SYMBOLS));
+	}
+
+	@Benchmark
+	public PreTradeCheck checkPassing() {
+		return gate.check(3, instrument, OrderType.BUY, askTicks, instrument.toLots(1.0));
+	}
+
+	@Benchmark
+	public PreTradeCheck checkOutsidePriceBand() {
+		return gate.check(3, instrument, OrderType.BUY, askTicks * 2, instrument.toLots(0.5));
+	}
+}
@@ -0,0 +1,38 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.risk.RiskManager;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order sizing on the signal path, with no position and with a position in the signal's direction
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class RiskManagerBenchmark {
+	private static final double PRICE_TICKS = 5_000_000;
+
+	private final RiskManager riskManager = new RiskManager(1_000_000.0, 100_000.0, 50_000.0, 16);
+	private final InstrumentSpec instrument = new InstrumentSpec("BTC-USD");
+	private final Position position = new Position(instrument, 100_000, PRICE_TICKS);
+
+	public double signal = 0.0007;
+	public double volatility = 0.002;
+
+	@Benchmark
+	public long calculateOrderSizeFlat() {
+		return riskManager.calculateOrderSize(0, instrument, signal, volatility, PRICE_TICKS, null);
+	}
+
+	@Benchmark
+	public long calculateOrderSizeWithPosition() {
+		return riskManager.calculateOrderSize(0, instrument, signal, volatility, PRICE_TICKS, position);
+	}
+}
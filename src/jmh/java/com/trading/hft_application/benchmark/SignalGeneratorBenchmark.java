@@ -0,0 +1,88 @@
+package com.trading.hft_application.benchmark;
+
+import com.trading.hft_application.core.marketdata.TickHistory;
+import com.trading.hft_application.core.signal.SignalGenerator;
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.TopOfBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each signal calculation, and the history append that keeps their statistics current, across
+ * lookback periods. Signal costs should not grow with the lookback.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SignalGeneratorBenchmark {
+	private static final int TICK_COUNT = 4096;
+	private static final long BASE_TICKS = 5_000_000;
+
+	@Param({"100", "1000", "10000"})
+	public int lookbackPeriod;
+
+	private final SignalGenerator signalGenerator = new SignalGenerator(0.0002);
+	private final OrderBook book = new OrderBook("BTC-USD");
+	private final TopOfBook top = new TopOfBook();
+	private final long[] bids = new long[TICK_COUNT];
+	private TickHistory history;
+	private double midTicks;
+	private int next = 0;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42);
+		long bid = BASE_TICKS;
+		for (int i = 0; i < TICK_COUNT; i++) {
+			bid += random.nextInt(-2, 3);
+			bids[i] = bid;
+		}
+
+		history = new TickHistory(lookbackPeriod);
+		for (int i = 0; i < lookbackPeriod; i++) {
+			long tickBid = bids[i & (TICK_COUNT - 1)];
+			history.append(i, tickBid, tickBid + 2, 10_000, 10_000);
+		}
+
+		book.update(new MarketTick("BTC-USD", bid, bid + 2, 10_000, 10_000));
+		midTicks = book.readTopOfBook(top).getMidTicks();
+	}
+
+	@Benchmark
+	public double statArb() {
+		return signalGenerator.calculateStatArbSignal(history, midTicks);
+	}
+
+	@Benchmark
+	public double meanReversion() {
+		return signalGenerator.calculateMeanReversionSignal(history, midTicks);
+	}
+
+	@Benchmark
+	public double momentum() {
+		return signalGenerator.calculateMomentumSignal(history);
+	}
+
+	@Benchmark
+	public double volatility() {
+		return signalGenerator.calculateVolatility(history);
+	}
+
+	@Benchmark
+	public double combined() {
+		return signalGenerator.calculateCombinedSignal(history, top);
+	}
+
+	@Benchmark
+	public int appendTick() {
+		long bid = bids[next++ & (TICK_COUNT - 1)];
+		history.append(next, bid, bid + 2, 10_000, 10_000);
+		return history.size();
+	}
+}
@@ -1,11 +1,15 @@
 package com.trading.hft_application.controller;
 
+import com.trading.hft_application.model.OrderState;
 import com.trading.hft_application.service.AlgorithmService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -122,6 +126,38 @@ public class AlgorithmController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get orders in a lifecycle state, or all open orders if no state is given
+     */
+    @GetMapping("/orders")
+    public ResponseEntity<Map<String, Object>> getOrders(@RequestParam(required = false) String state) {
+        Map<String, Object> response = new HashMap<>();
+
+        OrderState orderState = null;
+        if (state != null) {
+            try {
+                orderState = OrderState.valueOf(state.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                response.put("status", "error");
+                response.put("message", "Unknown order state: " + state + ", expected one of "
+                        + Arrays.toString(OrderState.values()));
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+
+        try {
+            List<Map<String, Object>> orders = algorithmService.getOrders(orderState);
+            response.put("status", "success");
+            response.put("orders", orders);
+        } catch (Exception e) {
+            response.put("status", "error");
+            response.put("message", "Failed to get orders: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get performance metrics
      */
@@ -142,6 +178,26 @@ public class AlgorithmController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Reset latency histograms to start a new measurement interval
+     */
+    @PostMapping("/performance/reset")
+    public ResponseEntity<Map<String, Object>> resetPerformance() {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            algorithmService.resetLatencyMetrics();
+            response.put("status", "success");
+            response.put("message", "Latency metrics reset successfully");
+        } catch (Exception e) {
+            response.put("status", "error");
+            response.put("message", "Failed to reset latency metrics: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update market data (for testing)
      */
@@ -173,12 +229,14 @@ public class AlgorithmController {
     public ResponseEntity<Map<String, Object>> addSymbol(
             @RequestParam String symbol,
             @RequestParam double bid,
-            @RequestParam double ask) {
+            @RequestParam double ask,
+            @RequestParam(defaultValue = "0.01") double tickSize,
+            @RequestParam(defaultValue = "0.0001") double lotSize) {
 
         Map<String, Object> response = new HashMap<>();
 
         try {
-            algorithmService.addSymbol(symbol, bid, ask);
+            algorithmService.addSymbol(symbol, bid, ask, tickSize, lotSize);
             response.put("status", "success");
             response.put("message", "Symbol added successfully");
         } catch (Exception e) {
@@ -1,24 +1,56 @@
 package com.trading.hft_application.core;
 
 
+import com.trading.hft_application.core.eventlog.EventLog;
+import com.trading.hft_application.core.exchange.ExchangeSimulator;
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.core.execution.ExecutionVenue;
+import com.trading.hft_application.core.execution.OrderIdGenerator;
 import com.trading.hft_application.core.execution.OrderManager;
+import com.trading.hft_application.core.execution.OrderSource;
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.core.execution.OrderThrottle;
+import com.trading.hft_application.core.execution.PositionKeeper;
+import com.trading.hft_application.core.execution.SubmitResult;
+import com.trading.hft_application.core.marketdata.DirtySymbolSet;
+import com.trading.hft_application.core.marketdata.SleepingWaitStrategy;
+import com.trading.hft_application.core.marketdata.SymbolChangeQueue;
+import com.trading.hft_application.core.marketdata.SymbolRegistry;
+import com.trading.hft_application.core.marketdata.TickEvent;
+import com.trading.hft_application.core.marketdata.TickHistory;
+import com.trading.hft_application.core.marketdata.TickProcessor;
+import com.trading.hft_application.core.marketdata.TickRingBuffer;
+import com.trading.hft_application.core.marketdata.WaitStrategy;
+import com.trading.hft_application.core.metrics.LatencyMonitor;
+import com.trading.hft_application.core.metrics.LatencyStage;
+import com.trading.hft_application.core.risk.ExposureTracker;
+import com.trading.hft_application.core.risk.PnlLedger;
+import com.trading.hft_application.core.risk.PreTradeRiskGate;
 import com.trading.hft_application.core.risk.RiskManager;
 import com.trading.hft_application.core.signal.SignalGenerator;
 import com.trading.hft_application.model.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Core High Frequency Trading Algorithm
  */
 public class HFTAlgorithm {
+    private static final int DEFAULT_RING_BUFFER_SIZE = 65536;
+    private static final int DEFAULT_MAX_SYMBOLS = 16384;
+    private static final int DEFAULT_MAX_OPEN_ORDERS = 65536;
+    private static final int THREAD_COUNT = 4;
 
     // Configuration parameters
     private final double MAX_POSITION_SIZE;
@@ -27,18 +59,41 @@ public class HFTAlgorithm {
     private final int LOOKBACK_PERIOD;
     private final double SIGNAL_THRESHOLD;
 
-    // Market state
-    private final Map<String, OrderBook> orderBooks = new ConcurrentHashMap<>();
-    private final Map<String, Queue<MarketTick>> marketHistory = new ConcurrentHashMap<>();
-
-    // Trading state
-    private final Map<String, Position> positions = new ConcurrentHashMap<>();
-    private final Map<Long, Order> activeOrders = new ConcurrentHashMap<>();
-
-    // Performance tracking
-    private final AtomicLong latencySum = new AtomicLong(0);
-    private final AtomicLong messageCount = new AtomicLong(0);
-    private final AtomicLong orderCount = new AtomicLong(0);
+    // Market state, indexed by symbol id from the registry
+    private final SymbolRegistry symbolRegistry;
+    private final OrderBook[] orderBooks;
+    private final TickHistory[] marketHistory;
+
+    // Market data pipeline: feeds publish into the ring buffer, then the book and history stages consume
+    // in order. The history stage also evaluates signals, only for symbols that changed in the batch it
+    // consumed: signals read the history and its rolling statistics, which only that thread writes.
+    private final TickRingBuffer ringBuffer;
+    private final TickProcessor bookProcessor;
+    private final TickProcessor historyProcessor;
+    private final DirtySymbolSet dirtySymbols;
+    private final long[] lastPublishNanos;
+
+    // Symbols whose best bid or ask moved, handed from the book stage to the order manager for repricing
+    private final SymbolChangeQueue touchChanges;
+
+    // Reused by the history stage's signal evaluation to read consistent quotes while the book stage keeps writing
+    private final TopOfBook signalTopOfBook = new TopOfBook();
+
+    // Trading state - positions are indexed by symbol id, created on first fill and written only by the
+    // position keeper's shard threads
+    private final Position[] positions;
+    private final OrderTable orders;
+
+    // Performance tracking - striped adders are cheap to bump on the hot path and summed only when sampled
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder orderCount = new LongAdder();
+    private final LongAdder signalEvaluationCount = new LongAdder();
+    private final LongAdder conflatedTickCount = new LongAdder();
+    private final long[] symbolUpdateCounts;
+    private final long[] symbolEvaluationCounts;
+    private final List<ObjIntConsumer<String>> symbolListeners = new ArrayList<>();
+    private final LatencyMonitor latencyMonitor = new LatencyMonitor();
 
     // System state
     private final AtomicBoolean isRunning = new AtomicBoolean(false);
@@ -47,7 +102,15 @@ public class HFTAlgorithm {
     // Components
     private final SignalGenerator signalGenerator;
     private final RiskManager riskManager;
+    private final PnlLedger pnlLedger;
+    private final ExposureTracker exposure;
+    private final PreTradeRiskGate preTradeGate;
+    private final OrderManager.OrderCheck releaseCheck;
     private final OrderManager orderManager;
+    private final OrderIdGenerator orderIdGenerator;
+    private final EventLog eventLog;
+    private final ExecutionVenue venue;
+    private final PositionKeeper positionKeeper;
 
     /**
      * Constructor with default parameters
@@ -61,19 +124,114 @@ public class HFTAlgorithm {
      */
     public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
                         int lookbackPeriod, double signalThreshold) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, lookbackPeriod, signalThreshold,
+                DEFAULT_RING_BUFFER_SIZE, new SleepingWaitStrategy(), DEFAULT_MAX_SYMBOLS);
+    }
+
+    /**
+     * Constructor with custom parameters, market data pipeline settings and symbol capacity
+     */
+    public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
+                        int lookbackPeriod, double signalThreshold,
+                        int ringBufferSize, WaitStrategy waitStrategy, int maxSymbols) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, lookbackPeriod, signalThreshold,
+                ringBufferSize, waitStrategy, maxSymbols, new OrderIdGenerator(0), DEFAULT_MAX_OPEN_ORDERS);
+    }
+
+    /**
+     * Constructor with custom parameters, market data pipeline settings, symbol capacity, the
+     * generator for this engine instance's order ids and the order table's open order capacity
+     */
+    public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
+                        int lookbackPeriod, double signalThreshold,
+                        int ringBufferSize, WaitStrategy waitStrategy, int maxSymbols,
+                        OrderIdGenerator orderIdGenerator, int maxOpenOrders) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, lookbackPeriod, signalThreshold,
+                ringBufferSize, waitStrategy, maxSymbols, orderIdGenerator, maxOpenOrders, EventLog.NONE);
+    }
+
+    /**
+     * Constructor with custom parameters, pipeline settings, capacities and order id generator, recording
+     * symbols and order actions in the given event log and trading on an exchange simulator without latency.
+     * The caller owns the event log and closes it after stopping the algorithm.
+     */
+    public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
+                        int lookbackPeriod, double signalThreshold,
+                        int ringBufferSize, WaitStrategy waitStrategy, int maxSymbols,
+                        OrderIdGenerator orderIdGenerator, int maxOpenOrders, EventLog eventLog) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, lookbackPeriod, signalThreshold,
+                ringBufferSize, waitStrategy, maxSymbols, orderIdGenerator, maxOpenOrders, eventLog,
+                new ExchangeSimulator(maxSymbols, maxOpenOrders, 0, 1.0));
+    }
+
+    /**
+     * Constructor with every setting except the position shard count, including the venue orders are sent to
+     */
+    public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
+                        int lookbackPeriod, double signalThreshold,
+                        int ringBufferSize, WaitStrategy waitStrategy, int maxSymbols,
+                        OrderIdGenerator orderIdGenerator, int maxOpenOrders, EventLog eventLog,
+                        ExecutionVenue venue) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, lookbackPeriod, signalThreshold,
+                ringBufferSize, waitStrategy, maxSymbols, orderIdGenerator, maxOpenOrders, eventLog,
+                venue, PositionKeeper.DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Constructor with every setting, including the venue orders are sent to and the number of threads
+     * applying fills to positions. The algorithm starts and stops the venue; the venue receives every
+     * market data tick applied to the order books.
+     */
+    public HFTAlgorithm(double maxPositionSize, double maxOrderSize, double maxDailyLoss,
+                        int lookbackPeriod, double signalThreshold,
+                        int ringBufferSize, WaitStrategy waitStrategy, int maxSymbols,
+                        OrderIdGenerator orderIdGenerator, int maxOpenOrders, EventLog eventLog,
+                        ExecutionVenue venue, int positionShards) {
         this.MAX_POSITION_SIZE = maxPositionSize;
         this.MAX_ORDER_SIZE = maxOrderSize;
         this.MAX_DAILY_LOSS = maxDailyLoss;
         this.LOOKBACK_PERIOD = lookbackPeriod;
         this.SIGNAL_THRESHOLD = signalThreshold;
 
+        // Per-symbol state
+        this.symbolRegistry = new SymbolRegistry(maxSymbols);
+        this.orderBooks = new OrderBook[maxSymbols];
+        this.marketHistory = new TickHistory[maxSymbols];
+        this.positions = new Position[maxSymbols];
+
         // Initialize components
         this.signalGenerator = new SignalGenerator(SIGNAL_THRESHOLD);
-        this.riskManager = new RiskManager(MAX_POSITION_SIZE, MAX_ORDER_SIZE, MAX_DAILY_LOSS);
-        this.orderManager = new OrderManager();
-
-        // Create thread pool
-        this.executorService = Executors.newFixedThreadPool(4);
+        this.riskManager = new RiskManager(MAX_POSITION_SIZE, MAX_ORDER_SIZE, MAX_DAILY_LOSS, maxSymbols, positionShards);
+        this.eventLog = eventLog;
+        this.venue = venue;
+        this.orderManager = new OrderManager(venue, eventLog, new OrderThrottle(maxSymbols));
+        this.orderIdGenerator = orderIdGenerator;
+        this.orders = new OrderTable(maxOpenOrders, maxSymbols);
+        this.pnlLedger = riskManager.getPnlLedger();
+        this.exposure = riskManager.getExposureTracker();
+        this.preTradeGate = new PreTradeRiskGate(riskManager, orderBooks, orders);
+        this.releaseCheck = order -> preTradeGate.check(order.getSymbolId(), order.getInstrument(), order.getType(),
+                order.getPriceTicks(), order.getSize()) == null;
+        this.positionKeeper = new PositionKeeper(positions, positionShards, PositionKeeper.DEFAULT_QUEUE_CAPACITY,
+                new PositionUpdates());
+
+        // Build the market data pipeline
+        this.ringBuffer = new TickRingBuffer(ringBufferSize, waitStrategy);
+        this.bookProcessor = new TickProcessor("Order book stage", ringBuffer,
+                ringBuffer.newBarrier(), this::onBookStage);
+        this.historyProcessor = new TickProcessor("Market history and signal stage", ringBuffer,
+                ringBuffer.newBarrier(bookProcessor.getSequence()), this::onHistoryStage);
+        this.dirtySymbols = new DirtySymbolSet(maxSymbols);
+        this.lastPublishNanos = new long[maxSymbols];
+        this.touchChanges = new SymbolChangeQueue(maxSymbols);
+        this.symbolUpdateCounts = new long[maxSymbols];
+        this.symbolEvaluationCounts = new long[maxSymbols];
+        ringBuffer.addGatingSequences(historyProcessor.getSequence());
+
+        // Create thread pool, naming threads so they can be told apart in profilers and thread dumps
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(THREAD_COUNT,
+                runnable -> new Thread(runnable, "hft-algorithm-" + threadNumber.incrementAndGet()));
     }
 
     /**
@@ -83,11 +241,19 @@ public class HFTAlgorithm {
         if (isRunning.compareAndSet(false, true)) {
             System.out.println("Starting HFT Algorithm...");
 
-            executorService.submit(this::marketDataProcessor);
-            executorService.submit(this::signalGenerator);
+            positionKeeper.start();
+            venue.start(new VenueReports());
+            executorService.submit(bookProcessor);
+            executorService.submit(historyProcessor);
             executorService.submit(this::orderManager);
             executorService.submit(this::riskManager);
 
+            // Without any feeds, seed the pipeline with a simulated tick
+            if (symbolRegistry.size() == 0) {
+                int symbolId = registerSymbol(new InstrumentSpec("BTC-USD"), null);
+                ringBuffer.publish(symbolId, receiveMarketData(orderBooks[symbolId].getInstrument()));
+            }
+
             System.out.println("HFT Algorithm started successfully.");
         } else {
             System.out.println("HFT Algorithm is already running.");
@@ -102,19 +268,30 @@ public class HFTAlgorithm {
             System.out.println("Stopping HFT Algorithm...");
 
             // Cancel all active orders
-            for (long orderId : activeOrders.keySet()) {
-                orderManager.cancelOrder(orderId, activeOrders);
-            }
+            orderManager.cancelAllOrders(orders);
 
-            // Shutdown thread pool
+            // Stop the pipeline stages and shutdown thread pool
+            bookProcessor.halt();
+            historyProcessor.halt();
             executorService.shutdown();
 
+            // Disconnect once the venue has answered the cancels, then apply the last fills
+            venue.stop();
+            positionKeeper.stop();
+
             System.out.println("HFT Algorithm stopped successfully.");
         } else {
             System.out.println("HFT Algorithm is not running.");
         }
     }
 
+    /**
+     * Waits for the algorithm's threads to finish after a stop; returns false if the timeout elapsed first
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executorService.awaitTermination(timeout, unit);
+    }
+
     /**
      * Emergency shutdown - cancels all orders and closes positions
      */
@@ -124,133 +301,210 @@ public class HFTAlgorithm {
         isRunning.set(false);
 
         // Cancel all active orders
-        for (long orderId : activeOrders.keySet()) {
-            orderManager.cancelOrder(orderId, activeOrders);
-        }
+        orderManager.cancelAllOrders(orders);
 
-        // Close all positions
-        for (String symbol : positions.keySet()) {
-            Position position = positions.get(symbol);
-            OrderBook book = orderBooks.get(symbol);
+        // Close all positions; closing orders bypass the pre-trade gate
+        int symbolCount = symbolRegistry.size();
+        for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+            Position position = positions[symbolId];
+            OrderBook book = orderBooks[symbolId];
 
             if (position != null && book != null && position.getSize() != 0) {
-                Order order = riskManager.createClosePositionOrder(symbol, position.getSize(), book);
-                orderManager.submitOrder(order, activeOrders);
+                Order order = riskManager.createClosePositionOrder(
+                        orderIdGenerator.nextId(OrderSource.EMERGENCY), symbolId, position.getSize(), book);
+                orderManager.submitOrder(order, orders);
             }
         }
 
-        // Shutdown thread pool
+        // Stop the pipeline stages and shutdown thread pool
+        bookProcessor.halt();
+        historyProcessor.halt();
         executorService.shutdown();
 
+        // Disconnect once the venue has answered the cancels and closing orders, then apply the last fills
+        venue.stop();
+        positionKeeper.stop();
+
         System.out.println("Emergency shutdown completed.");
     }
 
     /**
-     * Processes incoming market data
+     * Pipeline stage applying each tick to its order book, queueing symbols whose touch moved, handing
+     * the new mid to the position keeper as the symbol's mark and passing the quote on to the venue
      */
-    private void marketDataProcessor() {
-        System.out.println("Market data processor started");
+    private void onBookStage(TickEvent event, long sequence, boolean endOfBatch) {
+        int symbolId = event.getSymbolId();
+        MarketTick tick = event.getTick();
+        OrderBook book = orderBooks[symbolId];
+        if (book.update(tick)) {
+            touchChanges.offer(symbolId);
+            positionKeeper.onMark(symbolId, book.getMidTicks());
+        }
+        venue.onQuote(symbolId, tick.getBidTicks(), tick.getAskTicks(), tick.getBidSize(), tick.getAskSize());
+        symbolUpdateCounts[symbolId]++;
+        latencyMonitor.recordSince(LatencyStage.BOOK_UPDATE, event.getPublishNanos());
+    }
 
-        while (isRunning.get()) {
-            try {
-                // In a real system, this would receive data from exchange
-                MarketTick tick = receiveMarketData();
-                if (tick != null) {
-                    long startTime = System.nanoTime();
-
-                    // Update order book
-                    String symbol = tick.getSymbol();
-                    OrderBook book = orderBooks.computeIfAbsent(symbol, s -> new OrderBook(s));
-                    book.update(tick);
-
-                    // Store historical data with fixed size
-                    Queue<MarketTick> history = marketHistory.computeIfAbsent(
-                            symbol, s -> new PriorityQueue<>((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-                    );
-                    history.add(tick);
-                    while (history.size() > LOOKBACK_PERIOD) {
-                        history.poll();
-                    }
+    /**
+     * Pipeline stage storing each tick in the fixed-size market history, then evaluating signals on it
+     */
+    private void onHistoryStage(TickEvent event, long sequence, boolean endOfBatch) {
+        // Copies the tick into a pooled slot, evicting the oldest once the lookback window is full
+        marketHistory[event.getSymbolId()].append(event.getTick());
 
-                    // Calculate latency for performance monitoring
-                    long latency = System.nanoTime() - startTime;
-                    latencySum.addAndGet(latency);
-                    messageCount.incrementAndGet();
-                }
+        // Latency from publish until the tick is fully applied, for performance monitoring
+        long latency = System.nanoTime() - event.getPublishNanos();
+        latencySum.add(latency);
+        messageCount.increment();
 
-                // Prevent CPU spinning
-                Thread.sleep(1);
-            } catch (Exception e) {
-                System.err.println("Error in market data processor: " + e.getMessage());
+        // On this thread, so signals never read a history or its statistics while they are being appended to
+        onSignalStage(event, endOfBatch);
+    }
+
+    /**
+     * Signal half of the history stage: marks symbols changed by each tick and, at the end of every batch,
+     * evaluates signals once per changed symbol. Bursts on a symbol conflate into one evaluation.
+     */
+    private void onSignalStage(TickEvent event, boolean endOfBatch) {
+        int symbolId = event.getSymbolId();
+        if (!dirtySymbols.mark(symbolId)) {
+            conflatedTickCount.increment();
+        }
+        // Latencies of a conflated evaluation are measured from the newest tick it covers
+        lastPublishNanos[symbolId] = event.getPublishNanos();
+
+        if (endOfBatch) {
+            if (isRunning.get()) {
+                for (int i = 0; i < dirtySymbols.size(); i++) {
+                    try {
+                        int dirtySymbolId = dirtySymbols.get(i);
+                        evaluateSignal(dirtySymbolId, lastPublishNanos[dirtySymbolId]);
+                    } catch (Exception e) {
+                        System.err.println("Error in signal generator: " + e.getMessage());
+                    }
+                }
             }
+            dirtySymbols.clear();
         }
-
-        System.out.println("Market data processor stopped");
     }
 
     /**
-     * Generates trading signals and places orders
+     * Generates trading signals for a symbol and places orders, recording each step's latency
+     * from the publish time of the tick that triggered it
      */
-    private void signalGenerator() {
-        System.out.println("Signal generator started");
+    private void evaluateSignal(int symbolId, long publishNanos) {
+        OrderBook book = orderBooks[symbolId];
+        TickHistory history = marketHistory[symbolId];
+        signalEvaluationCount.increment();
+        symbolEvaluationCounts[symbolId]++;
+
+        if (history.size() >= LOOKBACK_PERIOD) {
+            // Calculate market metrics from one consistent quote
+            TopOfBook top = book.readTopOfBook(signalTopOfBook);
+            double midTicks = top.getMidTicks();
+            double vol = signalGenerator.calculateVolatility(history);
+
+            // Update volatility tracking
+            riskManager.updateVolatility(symbolId, vol);
+
+            // Calculate combined signal
+            double combinedSignal = signalGenerator.calculateCombinedSignal(history, top);
+            latencyMonitor.recordSince(LatencyStage.SIGNAL, publishNanos);
+
+            // Execute trades if signal exceeds threshold
+            if (signalGenerator.isSignalActionable(combinedSignal)) {
+                // Determine trade direction and size
+                boolean isBuy = combinedSignal > 0;
+
+                Position position = positions[symbolId];
+                InstrumentSpec instrument = book.getInstrument();
+                long orderSize = riskManager.calculateOrderSize(
+                        symbolId, instrument, combinedSignal, vol, midTicks, position
+                );
+                OrderType side = isBuy ? OrderType.BUY : OrderType.SELL;
+                long priceTicks = isBuy ? top.getAskTicks() : top.getBidTicks();
+
+                // Pre-trade checks run before the order exists, so a rejected signal costs no allocation
+                boolean allowed = orderSize > 0
+                        && preTradeGate.check(symbolId, instrument, side, priceTicks, orderSize) == null;
+                latencyMonitor.recordSince(LatencyStage.RISK_CHECK, publishNanos);
+
+                // Create and submit order
+                if (allowed) {
+                    Order order = new Order(
+                            orderIdGenerator.nextId(OrderSource.STRATEGY),
+                            symbolId,
+                            instrument,
+                            side,
+                            priceTicks,
+                            orderSize
+                    );
+                    SubmitResult result = orderManager.submitOrder(order, orders);
+                    latencyMonitor.recordSince(LatencyStage.ORDER_SUBMIT, publishNanos);
 
-        while (isRunning.get()) {
-            try {
-                for (String symbol : orderBooks.keySet()) {
-                    OrderBook book = orderBooks.get(symbol);
-                    Queue<MarketTick> history = marketHistory.get(symbol);
-
-                    if (book != null && history != null && history.size() >= LOOKBACK_PERIOD) {
-                        // Calculate market metrics
-                        double midPrice = (book.getAsk() + book.getBid()) / 2.0;
-                        double vol = signalGenerator.calculateVolatility(history);
-
-                        // Update volatility tracking
-                        riskManager.updateVolatility(symbol, vol);
-
-                        // Calculate combined signal
-                        double combinedSignal = signalGenerator.calculateCombinedSignal(history, book);
-
-                        // Execute trades if signal exceeds threshold
-                        if (signalGenerator.isSignalActionable(combinedSignal)) {
-                            // Determine trade direction and size
-                            boolean isBuy = combinedSignal > 0;
-
-                            Position position = positions.get(symbol);
-                            double orderSize = riskManager.calculateOrderSize(
-                                    symbol, combinedSignal, vol, midPrice, position
-                            );
-
-                            // Create and submit order
-                            if (orderSize > 0) {
-                                Order order = new Order(
-                                        System.nanoTime(),
-                                        symbol,
-                                        isBuy ? OrderType.BUY : OrderType.SELL,
-                                        isBuy ? book.getAsk() : book.getBid(),
-                                        orderSize
-                                );
-                                orderManager.submitOrder(order, activeOrders);
-                                orderCount.incrementAndGet();
-
-                                // Update position (in real system would happen after execution)
-                                double profit = orderManager.updatePosition(order, positions);
-
-                                // Update P&L tracking
-                                riskManager.updatePnL(profit);
-                            }
-                        }
+                    // Positions and P&L change as the venue reports fills; queued orders are not sent yet
+                    if (result == SubmitResult.SENT) {
+                        orderCount.increment();
                     }
                 }
+            }
+        }
+    }
 
-                // Run signal generation at appropriate frequency
-                Thread.sleep(5);
-            } catch (Exception e) {
-                System.err.println("Error in signal generator: " + e.getMessage());
+    /**
+     * Applies the venue's execution reports to the order table on the venue's thread, handing fills to the
+     * position keeper, whose shard threads move positions and P&L
+     */
+    private final class VenueReports implements ExecutionListener {
+        @Override
+        public void onAccepted(long orderId) {
+            orderManager.onAccepted(orderId, orders);
+        }
+
+        @Override
+        public void onRejected(long orderId) {
+            orderManager.onRejected(orderId, orders);
+        }
+
+        @Override
+        public void onAmended(long orderId) {
+            orderManager.onAmended(orderId, orders);
+        }
+
+        @Override
+        public void onCancelled(long orderId) {
+            orderManager.onCancelled(orderId, orders);
+        }
+
+        @Override
+        public void onFill(long orderId, long priceTicks, long size) {
+            orderManager.onFill(orderId, priceTicks, size, orders, positionKeeper);
+        }
+    }
+
+    /**
+     * Keeps P&L and exposure current as fills and marks change positions, on the shard thread owning the
+     * symbol, so each symbol's ledger and exposure slots have a single writer
+     */
+    private final class PositionUpdates implements PositionKeeper.PositionListener {
+        @Override
+        public void onFill(int shard, int symbolId, long orderId, Position position, double markTicks) {
+            double profit = position.getLastTradeProfit();
+            if (profit != 0.0) {
+                pnlLedger.recordRealized(shard, symbolId, OrderIdGenerator.sourceOf(orderId), profit);
             }
+            onMark(shard, symbolId, position, markTicks);
         }
 
-        System.out.println("Signal generator stopped");
+        @Override
+        public void onMark(int shard, int symbolId, Position position, double markTicks) {
+            // No mark until the symbol's first quote
+            if (markTicks <= 0.0) {
+                return;
+            }
+            pnlLedger.markToMarket(shard, symbolId, position.getUnrealizedPnL(markTicks));
+            exposure.update(shard, symbolId, position.getCurrentValue(markTicks));
+        }
     }
 
     /**
@@ -261,8 +515,12 @@ public class HFTAlgorithm {
 
         while (isRunning.get()) {
             try {
-                // Process order updates
-                orderManager.manageActiveOrders(activeOrders, orderBooks);
+                // Cancel orders past their time in force, send orders the throttle held back as its
+                // tokens allow, then reprice orders on symbols whose touch moved
+                long nowNanos = System.nanoTime();
+                orderManager.expireOrders(orders, nowNanos);
+                orderManager.releaseThrottledOrders(orders, nowNanos, releaseCheck);
+                orderManager.manageChangedSymbols(orders, orderBooks, touchChanges, nowNanos);
 
                 // Run at appropriate frequency
                 Thread.sleep(10);
@@ -283,27 +541,25 @@ public class HFTAlgorithm {
         while (isRunning.get()) {
             try {
                 // Check risk limits
-                if (riskManager.areLimitsExceeded(positions, orderBooks)) {
+                int symbolCount = symbolRegistry.size();
+                if (riskManager.areLimitsExceeded()) {
                     System.out.println("Risk limits exceeded. Initiating emergency shutdown.");
                     emergencyShutdown();
                     break;
                 }
 
                 // Check individual position limits
-                for (Position position : positions.values()) {
-                    String symbol = position.getSymbol();
-                    OrderBook book = orderBooks.get(symbol);
-
-                    if (book != null) {
-                        double midPrice = (book.getAsk() + book.getBid()) / 2.0;
-                        double positionValue = Math.abs(position.getSize() * midPrice);
-
-                        // If position too large, reduce it
-                        if (positionValue > MAX_POSITION_SIZE) {
-                            Order reduceOrder = riskManager.createReducePositionOrder(
-                                    symbol, position.getSize(), midPrice
-                            );
-                            orderManager.submitOrder(reduceOrder, activeOrders);
+                for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+                    // If position too large, reduce it
+                    Position position = positions[symbolId];
+                    if (position != null && riskManager.isPositionLimitExceeded(symbolId)) {
+                        Order reduceOrder = riskManager.createReducePositionOrder(
+                                orderIdGenerator.nextId(OrderSource.RISK), symbolId,
+                                position.getInstrument(), position.getSize(), orderBooks[symbolId].getMidTicks()
+                        );
+                        if (preTradeGate.check(symbolId, reduceOrder.getInstrument(), reduceOrder.getType(),
+                                reduceOrder.getPriceTicks(), reduceOrder.getSize()) == null) {
+                            orderManager.submitOrder(reduceOrder, orders);
                         }
                     }
                 }
@@ -321,14 +577,9 @@ public class HFTAlgorithm {
     /**
      * Simulated market data receiver - in real system would connect to exchange
      */
-    private MarketTick receiveMarketData() {
-        // This is a placeholder. In a real system, this would receive data from an exchange
-        // For testing, we'll generate random market data if there are no market data feeds
-
-        // Only generate test data if we have no symbols being tracked or we're explicitly in test mode
-        if (!orderBooks.isEmpty()) {
-            return null;
-        }
+    private MarketTick receiveMarketData(InstrumentSpec instrument) {
+        // This is a placeholder. In a real system, feed handlers would publish exchange data
+        // into the ring buffer. For testing, we generate a random tick when no feeds are added.
 
         // Create a dummy market tick for "BTC-USD"
         double basePrice = 50000.0;
@@ -336,45 +587,112 @@ public class HFTAlgorithm {
         double bid = basePrice + randomOffset;
         double ask = bid + 1.0 + (Math.random() * 2.0);
 
-        return new MarketTick("BTC-USD", bid, ask, 1.0, 1.0);
+        return new MarketTick(instrument.getSymbol(), instrument.toTicks(bid), instrument.toTicks(ask),
+                instrument.toLots(1.0), instrument.toLots(1.0));
     }
 
     /**
-     * Adds a market data feed for a symbol
+     * Adds a market data feed for a symbol with the default tick and lot size
      */
     public void addMarketDataFeed(String symbol, double initialBid, double initialAsk) {
-        // Create initial market tick and order book
-        MarketTick tick = new MarketTick(symbol, initialBid, initialAsk, 1.0, 1.0);
-        OrderBook book = new OrderBook(symbol);
-        book.update(tick);
+        addMarketDataFeed(new InstrumentSpec(symbol), initialBid, initialAsk);
+    }
 
-        // Store in our maps
-        orderBooks.put(symbol, book);
+    /**
+     * Adds a market data feed for an instrument and returns the symbol id its ticks are published under
+     */
+    public int addMarketDataFeed(InstrumentSpec instrument, double initialBid, double initialAsk) {
+        // Create initial market tick and register the symbol's state
+        MarketTick tick = new MarketTick(instrument.getSymbol(), instrument.toTicks(initialBid),
+                instrument.toTicks(initialAsk), instrument.toLots(1.0), instrument.toLots(1.0));
+        int symbolId = registerSymbol(instrument, tick);
+
+        publishMarketData(symbolId, tick);
+        return symbolId;
+    }
 
-        // Initialize market history
-        Queue<MarketTick> history = marketHistory.computeIfAbsent(
-                symbol, s -> new PriorityQueue<>((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-        );
-        history.add(tick);
+    /**
+     * Publishes a quote (prices in ticks, sizes in lots) for a registered symbol, waiting for free
+     * ring buffer capacity if the pipeline is behind. Does not allocate.
+     */
+    public void publishMarketData(int symbolId, long bidTicks, long askTicks, long bidSize, long askSize) {
+        ringBuffer.publish(symbolId, symbolRegistry.getSymbol(symbolId), bidTicks, askTicks, bidSize, askSize);
     }
 
     /**
-     * Updates market data for a symbol (for testing and simulation)
+     * Publishes a quote for a registered symbol if the ring buffer has free capacity; returns false,
+     * dropping the tick, if it is full. Does not allocate.
+     */
+    public boolean tryPublishMarketData(int symbolId, long bidTicks, long askTicks, long bidSize, long askSize) {
+        return ringBuffer.tryPublish(symbolId, symbolRegistry.getSymbol(symbolId), bidTicks, askTicks, bidSize, askSize);
+    }
+
+    /**
+     * Updates market data for a symbol (for testing and simulation), converting decimal prices and
+     * sizes with the symbol's instrument spec
      */
     public void updateMarketData(String symbol, double bid, double ask, double bidSize, double askSize) {
-        MarketTick tick = new MarketTick(symbol, bid, ask, bidSize, askSize);
-
-        // Update order book
-        OrderBook book = orderBooks.computeIfAbsent(symbol, s -> new OrderBook(s));
-        book.update(tick);
-
-        // Store historical data with fixed size
-        Queue<MarketTick> history = marketHistory.computeIfAbsent(
-                symbol, s -> new PriorityQueue<>((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
-        );
-        history.add(tick);
-        while (history.size() > LOOKBACK_PERIOD) {
-            history.poll();
+        int symbolId = symbolRegistry.getId(symbol);
+        if (symbolId == SymbolRegistry.UNKNOWN_SYMBOL) {
+            symbolId = registerSymbol(new InstrumentSpec(symbol), null);
+        }
+
+        InstrumentSpec instrument = orderBooks[symbolId].getInstrument();
+        publishMarketData(symbolId, new MarketTick(symbol, instrument.toTicks(bid), instrument.toTicks(ask),
+                instrument.toLots(bidSize), instrument.toLots(askSize)));
+    }
+
+    /**
+     * Assigns a symbol id and allocates its per-symbol state, seeding a new book with the initial tick
+     * (if any) so it is visible before the pipeline consumes it
+     */
+    private synchronized int registerSymbol(InstrumentSpec instrument, MarketTick initialTick) {
+        String symbol = instrument.getSymbol();
+        int symbolId = symbolRegistry.getId(symbol);
+        if (symbolId != SymbolRegistry.UNKNOWN_SYMBOL) {
+            return symbolId;
+        }
+
+        // Slots are filled before the registry publishes the id to readers iterating by size()
+        int nextId = symbolRegistry.size();
+        OrderBook book = new OrderBook(instrument);
+        if (initialTick != null) {
+            book.update(initialTick);
+        }
+        orderBooks[nextId] = book;
+        marketHistory[nextId] = new TickHistory(LOOKBACK_PERIOD);
+        exposure.registerSymbol(nextId, instrument.getSector());
+        if (initialTick != null) {
+            // The symbol has no position yet, so this only seeds the mark
+            positionKeeper.onMark(nextId, book.getMidTicks());
+        }
+
+        symbolId = symbolRegistry.register(symbol);
+        eventLog.logSymbol(symbolId, instrument);
+        for (ObjIntConsumer<String> listener : symbolListeners) {
+            listener.accept(symbol, symbolId);
+        }
+        return symbolId;
+    }
+
+    /**
+     * Registers a callback invoked with (symbol, symbolId) for every symbol, existing and future.
+     * Callbacks run on the registering thread, outside the market data pipeline.
+     */
+    public synchronized void addSymbolListener(ObjIntConsumer<String> listener) {
+        int symbolCount = symbolRegistry.size();
+        for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+            listener.accept(symbolRegistry.getSymbol(symbolId), symbolId);
+        }
+        symbolListeners.add(listener);
+    }
+
+    /**
+     * Publishes a tick into the market data pipeline, shared by live feeds and the REST path
+     */
+    private void publishMarketData(int symbolId, MarketTick tick) {
+        if (!ringBuffer.tryPublish(symbolId, tick)) {
+            throw new IllegalStateException("Market data ring buffer is full, tick dropped for " + tick.getSymbol());
         }
     }
 
@@ -382,21 +700,34 @@ public class HFTAlgorithm {
      * Gets the current positions
      */
     public Map<String, Position> getPositions() {
-        return new ConcurrentHashMap<>(positions);
+        Map<String, Position> result = new HashMap<>();
+        int symbolCount = symbolRegistry.size();
+        for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+            Position position = positions[symbolId];
+            if (position != null) {
+                result.put(position.getSymbol(), position);
+            }
+        }
+        return result;
     }
 
     /**
      * Gets the current order books
      */
     public Map<String, OrderBook> getOrderBooks() {
-        return new ConcurrentHashMap<>(orderBooks);
+        Map<String, OrderBook> result = new HashMap<>();
+        int symbolCount = symbolRegistry.size();
+        for (int symbolId = 0; symbolId < symbolCount; symbolId++) {
+            result.put(symbolRegistry.getSymbol(symbolId), orderBooks[symbolId]);
+        }
+        return result;
     }
 
     /**
-     * Gets the active orders
+     * Gets the order table holding open and recently closed orders with their states
      */
-    public Map<Long, Order> getActiveOrders() {
-        return new ConcurrentHashMap<>(activeOrders);
+    public OrderTable getOrderTable() {
+        return orders;
     }
 
     /**
@@ -413,28 +744,114 @@ public class HFTAlgorithm {
         Map<String, Object> metrics = new ConcurrentHashMap<>();
 
         // Calculate average latency
-        long count = messageCount.get();
-        double avgLatencyNs = count > 0 ? (double) latencySum.get() / count : 0;
+        long count = messageCount.sum();
+        double avgLatencyNs = count > 0 ? (double) latencySum.sum() / count : 0;
         double avgLatencyMs = avgLatencyNs / 1_000_000.0;
 
         metrics.put("messageCount", count);
-        metrics.put("orderCount", orderCount.get());
+        metrics.put("orderCount", orderCount.sum());
+        metrics.put("signalEvaluationCount", signalEvaluationCount.sum());
+        metrics.put("conflatedTickCount", conflatedTickCount.sum());
         metrics.put("avgLatencyMs", avgLatencyMs);
+        metrics.put("latency", latencyMonitor.getSnapshot());
         metrics.put("pnlToday", riskManager.getPnlToday());
+        metrics.put("realizedPnL", pnlLedger.getRealizedPnL());
+        metrics.put("unrealizedPnL", pnlLedger.getUnrealizedPnL());
 
-        // Calculate total position value
-        double totalPositionValue = 0.0;
-        for (Position position : positions.values()) {
-            String symbol = position.getSymbol();
-            OrderBook book = orderBooks.get(symbol);
-
-            if (book != null) {
-                double midPrice = (book.getAsk() + book.getBid()) / 2.0;
-                totalPositionValue += Math.abs(position.getSize() * midPrice);
-            }
-        }
-        metrics.put("totalPositionValue", totalPositionValue);
+        metrics.put("totalPositionValue", getTotalPositionValue());
+        metrics.put("grossExposure", exposure.getGrossExposure());
+        metrics.put("netExposure", exposure.getNetExposure());
 
         return metrics;
     }
+
+    /**
+     * Gross value of all positions at their last marks
+     */
+    public double getTotalPositionValue() {
+        return exposure.getGrossExposure();
+    }
+
+    public long getMessageCount() {
+        return messageCount.sum();
+    }
+
+    public long getOrderCount() {
+        return orderCount.sum();
+    }
+
+    public long getSignalEvaluationCount() {
+        return signalEvaluationCount.sum();
+    }
+
+    public long getConflatedTickCount() {
+        return conflatedTickCount.sum();
+    }
+
+    /**
+     * Ticks applied to a symbol's book. Written only by the book stage, so sampling it is cheap but may lag.
+     */
+    public long getSymbolUpdateCount(int symbolId) {
+        return symbolUpdateCounts[symbolId];
+    }
+
+    /**
+     * Signal evaluations for a symbol. Written only by the history stage, so sampling it is cheap but may lag.
+     */
+    public long getSignalEvaluationCount(int symbolId) {
+        return symbolEvaluationCounts[symbolId];
+    }
+
+    /**
+     * Ticks published but not yet consumed by every pipeline stage
+     */
+    public long getRingBufferBacklog() {
+        return ringBuffer.getBacklog();
+    }
+
+    public int getActiveOrderCount() {
+        return orders.getOpenCount();
+    }
+
+    public double getPnlToday() {
+        return riskManager.getPnlToday();
+    }
+
+    public PnlLedger getPnlLedger() {
+        return pnlLedger;
+    }
+
+    public ExposureTracker getExposureTracker() {
+        return exposure;
+    }
+
+    public RiskManager getRiskManager() {
+        return riskManager;
+    }
+
+    public PreTradeRiskGate getPreTradeRiskGate() {
+        return preTradeGate;
+    }
+
+    public OrderManager getOrderManager() {
+        return orderManager;
+    }
+
+    public PositionKeeper getPositionKeeper() {
+        return positionKeeper;
+    }
+
+    /**
+     * Starts a new latency measurement interval without pausing the pipeline
+     */
+    public void resetLatencyMetrics() {
+        latencyMonitor.reset();
+    }
+
+    /**
+     * Per-stage tick-to-trade latency histograms
+     */
+    public LatencyMonitor getLatencyMonitor() {
+        return latencyMonitor;
+    }
 }
@@ -0,0 +1,36 @@
+package com.trading.hft_application.core.eventlog;
+
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderType;
+
+/**
+ * Sink for the engine's binary event records. Implementations used on trading threads must not block
+ * or allocate when logging.
+ */
+public interface EventLog {
+
+    /**
+     * Event log that discards every record
+     */
+    EventLog NONE = new EventLog() {
+        @Override
+        public void logOrder(EventType type, long orderId, int symbolId, OrderType side, long priceTicks, long size,
+                             long value) {
+        }
+
+        @Override
+        public void logSymbol(int symbolId, InstrumentSpec instrument) {
+        }
+    };
+
+    /**
+     * Records an order event with the order's price in ticks and size in lots. The value is specific to
+     * the event type and 0 where it has none.
+     */
+    void logOrder(EventType type, long orderId, int symbolId, OrderType side, long priceTicks, long size, long value);
+
+    /**
+     * Records a symbol's id and instrument spec, so a decoder can name symbols and convert prices and sizes
+     */
+    void logSymbol(int symbolId, InstrumentSpec instrument);
+}
@@ -0,0 +1,158 @@
+package com.trading.hft_application.core.eventlog;
+
+import com.trading.hft_application.model.InstrumentSpec;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders a {@link MappedEventLog} file as one line of text per record, resolving symbol and thread
+ * indexes to names and prices and sizes to decimals from the definition records in the log.
+ * <p>
+ * Run with: java -cp target/classes com.trading.hft_application.core.eventlog.EventLogDecoder &lt;file&gt;
+ */
+public class EventLogDecoder {
+    private static final int READ_RECORDS = 4096;
+
+    private final Map<Integer, InstrumentSpec> instruments = new HashMap<>();
+    private final Map<Integer, String> threads = new HashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: EventLogDecoder <event log file>");
+            System.exit(2);
+        }
+        decode(Paths.get(args[0]), System.out);
+    }
+
+    /**
+     * Writes the records in the log to the stream and returns how many were decoded
+     */
+    public static long decode(Path file, PrintStream out) throws IOException {
+        return new EventLogDecoder().run(file, out);
+    }
+
+    private long run(Path file, PrintStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MappedEventLog.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (!readFully(channel, header) || header.flip().getLong() != MappedEventLog.MAGIC) {
+                throw new IOException("Not an event log: " + file);
+            }
+            int version = header.getInt();
+            int recordSize = header.getInt();
+            if (version != MappedEventLog.VERSION || recordSize != MappedEventLog.RECORD_SIZE) {
+                throw new IOException("Unsupported event log version " + version + " in " + file);
+            }
+            out.println("# Event log started " + Instant.ofEpochSecond(0, header.getLong()));
+
+            long decoded = 0;
+            ByteBuffer records = ByteBuffer.allocate(READ_RECORDS * recordSize).order(ByteOrder.LITTLE_ENDIAN);
+            while (true) {
+                records.clear();
+                boolean more = readFully(channel, records);
+                records.flip();
+                while (records.remaining() >= recordSize) {
+                    if (!decodeRecord(records, out)) {
+                        return decoded;
+                    }
+                    decoded++;
+                }
+                if (!more) {
+                    return decoded;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the buffer unless the file ends first; returns false at the end of the file
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prints one record; returns false at unwritten space
+     */
+    private boolean decodeRecord(ByteBuffer record, PrintStream out) {
+        long timestamp = record.getLong();
+        long orderId = record.getLong();
+        long priceTicks = record.getLong();
+        long size = record.getLong();
+        long value = record.getLong();
+        int symbolId = record.getInt();
+        int typeCode = record.get() & 0xFF;
+        int side = record.get();
+        int threadIndex = record.getShort() & 0xFFFF;
+        if (typeCode == 0) {
+            return false;
+        }
+
+        EventType type = EventType.fromCode(typeCode);
+        String prefix = Instant.ofEpochSecond(0, timestamp) + " "
+                + threads.getOrDefault(threadIndex, "thread-" + threadIndex) + " ";
+        if (type == null) {
+            out.println(prefix + "UNKNOWN(" + typeCode + ")");
+            return true;
+        }
+
+        switch (type) {
+            case SYMBOL:
+                InstrumentSpec instrument = new InstrumentSpec(unpackName(orderId, priceTicks),
+                        Double.longBitsToDouble(size), Double.longBitsToDouble(value));
+                instruments.put(symbolId, instrument);
+                out.println(prefix + type + " " + symbolId + " " + instrument.getSymbol()
+                        + " tick=" + instrument.getTickSize() + " lot=" + instrument.getLotSize());
+                break;
+            case THREAD:
+                String name = unpackName(orderId, priceTicks);
+                threads.put(threadIndex, name);
+                out.println(prefix + type + " " + threadIndex + " " + name);
+                break;
+            default:
+                InstrumentSpec spec = instruments.get(symbolId);
+                StringBuilder line = new StringBuilder(prefix).append(type).append(" order=").append(orderId)
+                        .append(' ').append(spec != null ? spec.getSymbol() : "symbol-" + symbolId)
+                        .append(' ').append(side == 1 ? "BUY" : side == 2 ? "SELL" : "-");
+                if (spec != null) {
+                    line.append(' ').append(spec.toQuantity(size)).append(" @ ").append(spec.toPrice(priceTicks));
+                } else {
+                    line.append(' ').append(size).append(" lots @ ").append(priceTicks).append(" ticks");
+                }
+                if (value != 0) {
+                    line.append(" value=").append(value);
+                }
+                out.println(line);
+                break;
+        }
+        return true;
+    }
+
+    private static String unpackName(long first, long second) {
+        StringBuilder name = new StringBuilder(16);
+        for (long packed : new long[]{first, second}) {
+            for (int i = 0; i < Long.BYTES; i++) {
+                char c = (char) ((packed >>> (8 * i)) & 0x7F);
+                if (c == 0) {
+                    return name.toString();
+                }
+                name.append(c);
+            }
+        }
+        return name.toString();
+    }
+}
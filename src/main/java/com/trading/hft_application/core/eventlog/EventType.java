@@ -0,0 +1,49 @@
+package com.trading.hft_application.core.eventlog;
+
+/**
+ * Type of an event log record, stored as one byte. Code 0 marks unwritten space at the end of a log.
+ * <p>
+ * Order records carry the order id, symbol id, side, price in ticks and size in lots. ORDER_SUBMIT, ORDER_AMEND
+ * and ORDER_CANCEL are requests sent to the venue; ORDER_ACCEPT, ORDER_REJECT, ORDER_AMENDED, ORDER_CANCELLED
+ * and ORDER_FILL are its reports, a fill carrying the fill price and size. Definition records
+ * carry a name of up to 16 ASCII characters in the order id and price fields: SYMBOL adds the tick and
+ * lot size as raw double bits in the size and value fields, and THREAD names the thread whose index it has.
+ */
+public enum EventType {
+    SYMBOL(1),
+    THREAD(2),
+    ORDER_SUBMIT(3),
+    ORDER_REJECT(4),
+    ORDER_CANCEL(5),
+    ORDER_AMEND(6),
+    ORDER_EXPIRE(7),
+    ORDER_ACCEPT(8),
+    ORDER_FILL(9),
+    ORDER_CANCELLED(10),
+    ORDER_AMENDED(11);
+
+    private static final EventType[] BY_CODE = new EventType[128];
+
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+
+    EventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Resolves a type from its code, or returns null for codes not assigned to a type
+     */
+    public static EventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
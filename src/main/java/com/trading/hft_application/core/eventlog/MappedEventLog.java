@@ -0,0 +1,279 @@
+package com.trading.hft_application.core.eventlog;
+
+import com.trading.hft_application.core.marketdata.Sequence;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous binary event log backed by a memory-mapped file.
+ * Each logging thread writes fixed-layout records into its own single-producer ring, so logging is a
+ * handful of array stores with no locking, blocking or allocation; a record is dropped and counted if the
+ * thread's ring is full. A background thread drains the rings into the file, mapping it a chunk at a time
+ * as it grows. Records are ordered per thread; across threads, order by timestamp.
+ * <p>
+ * File layout, little-endian: a header of magic, version, record size and start time, then 48-byte records
+ * of timestamp (epoch nanoseconds), order id, price, size and value as longs, followed by the symbol id
+ * (int), type code, side (0 none, 1 buy, 2 sell) and thread index (short). {@link EventLogDecoder} renders
+ * a log as text.
+ */
+public class MappedEventLog implements EventLog, AutoCloseable {
+    public static final long MAGIC = 0x474F4C5645544648L; // "HFTEVLOG"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 48;
+
+    private static final int RECORD_LONGS = RECORD_SIZE / Long.BYTES;
+    private static final int DEFAULT_BUFFER_RECORDS = 16384;
+    private static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int bufferRecords;
+    private final long chunkSize;
+    private final long epochBaseNanos;
+    private final long nanoTimeBase;
+
+    private final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> threadBuffer = ThreadLocal.withInitial(this::register);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Owned by the writer thread
+    private MappedByteBuffer mapped;
+    private long position = HEADER_SIZE;
+    private final AtomicLong writtenRecords = new AtomicLong();
+
+    /**
+     * Creates a log file in the directory, named after the current UTC time
+     */
+    public static MappedEventLog create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new MappedEventLog(directory.resolve("events-" + FILE_TIME.format(Instant.now()) + ".bin"),
+                DEFAULT_BUFFER_RECORDS, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates (or replaces) a log file
+     *
+     * @param bufferRecords records each thread can have waiting for the writer, rounded up to a power of two
+     * @param chunkSize     bytes mapped at a time as the file grows
+     */
+    public MappedEventLog(Path file, int bufferRecords, long chunkSize) throws IOException {
+        if (bufferRecords <= 0 || chunkSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Buffer must hold a record and chunks must fit one");
+        }
+        this.file = file;
+        this.bufferRecords = Integer.highestOneBit(Math.max(1, bufferRecords - 1)) << 1;
+        this.chunkSize = chunkSize;
+
+        Instant now = Instant.now();
+        this.nanoTimeBase = System.nanoTime();
+        this.epochBaseNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putLong(epochBaseNanos).putLong(0).flip();
+        channel.write(header, 0);
+
+        this.writer = new Thread(this::drainLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void logOrder(EventType type, long orderId, int symbolId, OrderType side, long priceTicks, long size,
+                         long value) {
+        int sideCode = side == null ? 0 : side == OrderType.BUY ? 1 : 2;
+        ThreadBuffer buffer = threadBuffer.get();
+        buffer.offer(timestamp(), orderId, priceTicks, size, value, meta(type, symbolId, sideCode, buffer.threadIndex));
+    }
+
+    @Override
+    public void logSymbol(int symbolId, InstrumentSpec instrument) {
+        String symbol = instrument.getSymbol();
+        ThreadBuffer buffer = threadBuffer.get();
+        buffer.offer(timestamp(), packName(symbol, 0), packName(symbol, 8),
+                Double.doubleToRawLongBits(instrument.getTickSize()), Double.doubleToRawLongBits(instrument.getLotSize()),
+                meta(EventType.SYMBOL, symbolId, 0, buffer.threadIndex));
+    }
+
+    /**
+     * Gives the logging thread its ring and records its name under its index
+     */
+    private synchronized ThreadBuffer register() {
+        ThreadBuffer buffer = new ThreadBuffer(bufferRecords, buffers.size());
+        buffers.add(buffer);
+        String name = Thread.currentThread().getName();
+        buffer.offer(timestamp(), packName(name, 0), packName(name, 8), 0, 0,
+                meta(EventType.THREAD, -1, 0, buffer.threadIndex));
+        return buffer;
+    }
+
+    private long timestamp() {
+        return epochBaseNanos + (System.nanoTime() - nanoTimeBase);
+    }
+
+    private static long meta(EventType type, int symbolId, int sideCode, int threadIndex) {
+        return (symbolId & 0xFFFFFFFFL) | (long) type.getCode() << 32 | (long) sideCode << 40
+                | (long) (threadIndex & 0xFFFF) << 48;
+    }
+
+    /**
+     * Packs eight characters of a name, from an offset, into a long as little-endian ASCII bytes
+     */
+    static long packName(String name, int offset) {
+        long packed = 0;
+        for (int i = 0; i < Long.BYTES && offset + i < name.length(); i++) {
+            packed |= (long) (name.charAt(offset + i) & 0x7F) << (8 * i);
+        }
+        return packed;
+    }
+
+    private void drainLoop() {
+        try {
+            while (true) {
+                boolean stopping = !running;
+                long drained = 0;
+                for (ThreadBuffer buffer : buffers) {
+                    drained += buffer.drainTo(this);
+                }
+                if (drained == 0) {
+                    if (stopping) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Event log writer failed, logging stopped: " + e.getMessage());
+        }
+    }
+
+    private void write(long[] slots, int offset) throws IOException {
+        if (mapped == null || mapped.remaining() < RECORD_SIZE) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, chunkSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        for (int i = 0; i < RECORD_LONGS; i++) {
+            mapped.putLong(slots[offset + i]);
+        }
+        position += RECORD_SIZE;
+    }
+
+    /**
+     * Stops accepting records once the writer has drained those already logged, then trims the file to
+     * the records written
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (mapped != null) {
+            mapped.force();
+        }
+        channel.truncate(position);
+        channel.close();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Records written to the file so far
+     */
+    public long getWrittenCount() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * Records dropped because a thread's ring was full
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (ThreadBuffer buffer : buffers) {
+            dropped += buffer.dropped.get();
+        }
+        return dropped;
+    }
+
+    /**
+     * Single-producer ring of records for one logging thread, drained by the writer
+     */
+    private static final class ThreadBuffer {
+        private final long[] slots;
+        private final int mask;
+        private final int threadIndex;
+        private final Sequence head = new Sequence(0);
+        private final Sequence tail = new Sequence(0);
+        private final AtomicLong dropped = new AtomicLong();
+
+        // Producer's last view of the writer's position, refreshed only when the ring looks full
+        private long cachedHead = 0;
+        private long droppedCount = 0;
+
+        ThreadBuffer(int capacity, int threadIndex) {
+            this.slots = new long[capacity * RECORD_LONGS];
+            this.mask = capacity - 1;
+            this.threadIndex = threadIndex;
+        }
+
+        void offer(long timestamp, long orderId, long priceTicks, long size, long value, long meta) {
+            long position = tail.get();
+            if (position - cachedHead > mask) {
+                cachedHead = head.get();
+                if (position - cachedHead > mask) {
+                    dropped.lazySet(++droppedCount);
+                    return;
+                }
+            }
+            int offset = (int) (position & mask) * RECORD_LONGS;
+            slots[offset] = timestamp;
+            slots[offset + 1] = orderId;
+            slots[offset + 2] = priceTicks;
+            slots[offset + 3] = size;
+            slots[offset + 4] = value;
+            slots[offset + 5] = meta;
+            tail.set(position + 1);
+        }
+
+        long drainTo(MappedEventLog log) throws IOException {
+            long start = head.get();
+            long end = tail.get();
+            for (long position = start; position < end; position++) {
+                log.write(slots, (int) (position & mask) * RECORD_LONGS);
+            }
+            if (end > start) {
+                head.set(end);
+                log.writtenRecords.lazySet(log.writtenRecords.get() + (end - start));
+            }
+            return end - start;
+        }
+    }
+}
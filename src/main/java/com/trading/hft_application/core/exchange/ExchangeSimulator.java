@@ -0,0 +1,389 @@
+package com.trading.hft_application.core.exchange;
+
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.core.execution.ExecutionVenue;
+import com.trading.hft_application.core.marketdata.Sequence;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process stand-in for a venue, running a {@link MatchingEngine} on its own thread. Requests and quotes
+ * from any thread go through a preallocated multi-producer ring and reach the engine after the configured
+ * one-way latency; the engine's acks, fills and cancels reach the listener after the same latency, on the
+ * simulator's thread. Quotes share the ring with requests, so they are applied in the order sent. A quote
+ * that finds the ring full is dropped and counted rather than holding up the market data thread; it is
+ * a full snapshot, so the symbol's next quote supersedes it.
+ * <p>
+ * The quoted market is the other side of every trade, offering the quoted sizes scaled by the liquidity
+ * ratio: orders larger than the quote fill partially and rest for the remainder, and resting orders fill
+ * as later quotes move through them. Sending and matching do not allocate.
+ */
+public class ExchangeSimulator implements ExecutionVenue {
+    public static final int DEFAULT_MAX_ORDERS = 65536;
+    public static final int DEFAULT_QUEUE_CAPACITY = 65536;
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Request types
+    private static final int SUBMIT = 1;
+    private static final int AMEND = 2;
+    private static final int CANCEL = 3;
+    private static final int QUOTE = 4;
+
+    // Report types
+    private static final int ACCEPTED = 1;
+    private static final int REJECTED = 2;
+    private static final int AMENDED = 3;
+    private static final int CANCELLED = 4;
+    private static final int FILLED = 5;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long IDLE_PARK_NANOS = 1_000;
+
+    private final MatchingEngine engine;
+    private final int maxSymbols;
+    private final long latencyNanos;
+    private final double liquidityRatio;
+
+    // Requests: producers claim a sequence with a CAS on the cursor and mark the slot published with it
+    private final int requestMask;
+    private final int[] requestTypes;
+    private final int[] requestSymbols;
+    private final boolean[] requestBuys;
+    private final long[] requestDueNanos;
+    private final long[] requestIds;
+    private final long[] requestPrices;
+    private final long[] requestSizes;
+    private final long[] requestAskPrices;
+    private final long[] requestAskSizes;
+    private final long[] published;
+    private final Sequence requestCursor = new Sequence(0);
+    private final Sequence requestsConsumed = new Sequence(0);
+    private final LongAdder droppedQuotes = new LongAdder();
+
+    // Reports waiting out the latency, owned by the simulator thread
+    private final int reportMask;
+    private final int[] reportTypes;
+    private final long[] reportDueNanos;
+    private final long[] reportIds;
+    private final long[] reportPrices;
+    private final long[] reportSizes;
+    private long reportHead = 0;
+    private long reportTail = 0;
+
+    private final ExecutionListener reports = new ExecutionListener() {
+        @Override
+        public void onAccepted(long orderId) {
+            report(ACCEPTED, orderId, 0, 0);
+        }
+
+        @Override
+        public void onRejected(long orderId) {
+            report(REJECTED, orderId, 0, 0);
+        }
+
+        @Override
+        public void onAmended(long orderId) {
+            report(AMENDED, orderId, 0, 0);
+        }
+
+        @Override
+        public void onCancelled(long orderId) {
+            report(CANCELLED, orderId, 0, 0);
+        }
+
+        @Override
+        public void onFill(long orderId, long priceTicks, long size) {
+            report(FILLED, orderId, priceTicks, size);
+        }
+    };
+
+    private volatile ExecutionListener listener;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    /**
+     * Creates a simulator without latency whose market offers the full quoted size
+     */
+    public ExchangeSimulator(int maxSymbols) {
+        this(maxSymbols, DEFAULT_MAX_ORDERS, 0, 1.0);
+    }
+
+    /**
+     * @param maxOrders      client orders that can work at once
+     * @param latencyMicros  one-way latency applied to requests and to reports
+     * @param liquidityRatio share of the quoted size the market offers, in (0, 1]
+     */
+    public ExchangeSimulator(int maxSymbols, int maxOrders, long latencyMicros, double liquidityRatio) {
+        this(maxSymbols, maxOrders, latencyMicros, liquidityRatio, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity requests, and reports, that can wait out the latency at once; a power of two
+     */
+    public ExchangeSimulator(int maxSymbols, int maxOrders, long latencyMicros, double liquidityRatio,
+                             int queueCapacity) {
+        if (latencyMicros < 0 || !(liquidityRatio > 0 && liquidityRatio <= 1)) {
+            throw new IllegalArgumentException("Latency must not be negative and the liquidity ratio must be in (0, 1]");
+        }
+        if (queueCapacity < 1 || Integer.bitCount(queueCapacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of two: " + queueCapacity);
+        }
+        this.maxSymbols = maxSymbols;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        this.liquidityRatio = liquidityRatio;
+        this.engine = new MatchingEngine(maxSymbols, maxOrders, MatchingEngine.DEFAULT_MAX_ORDERS_PER_SYMBOL, reports);
+
+        int capacity = queueCapacity;
+        this.requestMask = capacity - 1;
+        this.requestTypes = new int[capacity];
+        this.requestSymbols = new int[capacity];
+        this.requestBuys = new boolean[capacity];
+        this.requestDueNanos = new long[capacity];
+        this.requestIds = new long[capacity];
+        this.requestPrices = new long[capacity];
+        this.requestSizes = new long[capacity];
+        this.requestAskPrices = new long[capacity];
+        this.requestAskSizes = new long[capacity];
+        this.published = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            published[i] = -1;
+        }
+
+        this.reportMask = capacity - 1;
+        this.reportTypes = new int[capacity];
+        this.reportDueNanos = new long[capacity];
+        this.reportIds = new long[capacity];
+        this.reportPrices = new long[capacity];
+        this.reportSizes = new long[capacity];
+    }
+
+    @Override
+    public synchronized void start(ExecutionListener listener) {
+        if (running) {
+            return;
+        }
+        this.listener = listener;
+        running = true;
+        thread = new Thread(this::run, "exchange-simulator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops once the requests already sent have been matched and their reports delivered
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void submit(Order order) {
+        send(SUBMIT, order.getSymbolId(), order.getOrderId(), order.getType() == OrderType.BUY,
+                order.getPriceTicks(), order.getSize(), 0, 0, true);
+    }
+
+    @Override
+    public void amend(long orderId, long priceTicks, long size) {
+        send(AMEND, 0, orderId, false, priceTicks, size, 0, 0, true);
+    }
+
+    @Override
+    public void cancel(long orderId) {
+        send(CANCEL, 0, orderId, false, 0, 0, 0, 0, true);
+    }
+
+    /**
+     * Updates the quoted market for a symbol; sizes are offered scaled by the liquidity ratio. Never
+     * waits: the quote is dropped if the ring is full.
+     */
+    @Override
+    public void onQuote(int symbolId, long bidTicks, long askTicks, long bidSize, long askSize) {
+        if (!send(QUOTE, symbolId, 0, false, bidTicks, bidSize, askTicks, askSize, false)) {
+            droppedQuotes.increment();
+        }
+    }
+
+    /**
+     * Puts a request in the ring, waiting for free capacity if asked to while the simulator runs;
+     * returns false, dropping it, if the ring is full otherwise
+     */
+    private boolean send(int type, int symbolId, long orderId, boolean buy, long priceTicks, long size,
+                         long askTicks, long askSize, boolean wait) {
+        long sequence;
+        while (true) {
+            sequence = requestCursor.get();
+            if (sequence - requestsConsumed.get() > requestMask) {
+                if (!wait || !running) {
+                    return false;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else if (requestCursor.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        int slot = (int) sequence & requestMask;
+        requestTypes[slot] = type;
+        requestSymbols[slot] = symbolId;
+        requestBuys[slot] = buy;
+        requestDueNanos[slot] = System.nanoTime() + latencyNanos;
+        requestIds[slot] = orderId;
+        requestPrices[slot] = priceTicks;
+        requestSizes[slot] = size;
+        requestAskPrices[slot] = askTicks;
+        requestAskSizes[slot] = askSize;
+        PUBLISHED.setRelease(published, slot, sequence);
+        return true;
+    }
+
+    private void run() {
+        long nextRequest = requestsConsumed.get();
+        int idle = 0;
+        while (true) {
+            long now = System.nanoTime();
+            int work = 0;
+
+            // Requests whose latency has passed, in the order they were claimed
+            while (true) {
+                int slot = (int) nextRequest & requestMask;
+                if ((long) PUBLISHED.getAcquire(published, slot) != nextRequest || requestDueNanos[slot] > now) {
+                    break;
+                }
+                process(slot);
+                nextRequest++;
+                requestsConsumed.set(nextRequest);
+                work++;
+            }
+
+            // Reports whose latency has passed
+            while (reportHead < reportTail && reportDueNanos[(int) reportHead & reportMask] <= now) {
+                deliver();
+                work++;
+            }
+
+            if (work > 0) {
+                idle = 0;
+            } else if (!running && nextRequest == requestCursor.get() && reportHead == reportTail) {
+                break;
+            } else if (idle < SPIN_TRIES) {
+                idle++;
+                Thread.onSpinWait();
+            } else if (idle < YIELD_TRIES) {
+                idle++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void process(int slot) {
+        long orderId = requestIds[slot];
+        switch (requestTypes[slot]) {
+            case SUBMIT:
+                engine.submit(orderId, requestSymbols[slot], requestBuys[slot] ? OrderType.BUY : OrderType.SELL,
+                        requestPrices[slot], requestSizes[slot]);
+                break;
+            case AMEND:
+                engine.amend(orderId, requestPrices[slot], requestSizes[slot]);
+                break;
+            case CANCEL:
+                engine.cancel(orderId);
+                break;
+            case QUOTE:
+                int symbolId = requestSymbols[slot];
+                if (symbolId >= 0 && symbolId < maxSymbols) {
+                    engine.setQuote(symbolId, requestPrices[slot], requestAskPrices[slot],
+                            (long) (requestSizes[slot] * liquidityRatio), (long) (requestAskSizes[slot] * liquidityRatio));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Queues an engine report for delivery once the latency has passed, delivering the oldest at once
+     * if the queue is full
+     */
+    private void report(int type, long orderId, long priceTicks, long size) {
+        if (reportTail - reportHead > reportMask) {
+            deliver();
+        }
+        int slot = (int) reportTail & reportMask;
+        reportTypes[slot] = type;
+        reportDueNanos[slot] = System.nanoTime() + latencyNanos;
+        reportIds[slot] = orderId;
+        reportPrices[slot] = priceTicks;
+        reportSizes[slot] = size;
+        reportTail++;
+    }
+
+    private void deliver() {
+        int slot = (int) reportHead & reportMask;
+        reportHead++;
+        long orderId = reportIds[slot];
+        try {
+            switch (reportTypes[slot]) {
+                case ACCEPTED:
+                    listener.onAccepted(orderId);
+                    break;
+                case REJECTED:
+                    listener.onRejected(orderId);
+                    break;
+                case AMENDED:
+                    listener.onAmended(orderId);
+                    break;
+                case CANCELLED:
+                    listener.onCancelled(orderId);
+                    break;
+                case FILLED:
+                    listener.onFill(orderId, reportPrices[slot], reportSizes[slot]);
+                    break;
+                default:
+                    break;
+            }
+        } catch (Exception e) {
+            System.err.println("Error delivering execution report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Client orders working at the simulated venue; exact only on the simulator thread
+     */
+    public int getOpenOrderCount() {
+        return engine.getOpenOrderCount();
+    }
+
+    /**
+     * Quotes dropped because the request ring was full
+     */
+    public long getDroppedQuoteCount() {
+        return droppedQuotes.sum();
+    }
+
+    public long getLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+    }
+
+    public double getLiquidityRatio() {
+        return liquidityRatio;
+    }
+}
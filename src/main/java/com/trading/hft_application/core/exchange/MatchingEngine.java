@@ -0,0 +1,257 @@
+package com.trading.hft_application.core.exchange;
+
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.core.marketdata.L3OrderBook;
+import com.trading.hft_application.core.util.LongIntHashMap;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import com.trading.hft_application.model.PriceLadder;
+
+/**
+ * Price-time priority matching engine for a simulated venue. Each symbol has an order-by-order book in
+ * which client limit orders rest alongside one bid and one ask standing for the quoted market, refreshed
+ * from market data. An incoming order trades against the best opposite levels, oldest order first, at the
+ * resting order's price, and any remainder rests at its limit. When the quote moves through resting client
+ * orders, the market's order trades against them the same way, so resting orders fill as the market moves.
+ * <p>
+ * Outcomes are reported synchronously to the listener, an acceptance before any fill. Books are created on
+ * a symbol's first order or quote; after that, matching does not allocate. Single-threaded.
+ */
+public class MatchingEngine {
+    public static final int DEFAULT_MAX_ORDERS_PER_SYMBOL = 256;
+
+    private static final int NONE = -1;
+
+    private final ExecutionListener listener;
+    private final int maxOrdersPerSymbol;
+    private final L3OrderBook[] books;
+    private final int[] symbolOrderCounts;
+
+    // Client order slots, indexed by order id
+    private final LongIntHashMap index;
+    private final long[] orderIds;
+    private final int[] symbolIds;
+    private final boolean[] buys;
+    private final long[] sizes;
+    private final long[] filledSizes;
+    private final int[] nextFree;
+    private int freeSlot;
+
+    public MatchingEngine(int maxSymbols, int maxOrders, int maxOrdersPerSymbol, ExecutionListener listener) {
+        if (maxSymbols <= 0 || maxOrders <= 0 || maxOrdersPerSymbol <= 0) {
+            throw new IllegalArgumentException("Matching engine capacities must be positive");
+        }
+        this.listener = listener;
+        this.maxOrdersPerSymbol = maxOrdersPerSymbol;
+        this.books = new L3OrderBook[maxSymbols];
+        this.symbolOrderCounts = new int[maxSymbols];
+
+        this.index = new LongIntHashMap(maxOrders);
+        this.orderIds = new long[maxOrders];
+        this.symbolIds = new int[maxOrders];
+        this.buys = new boolean[maxOrders];
+        this.sizes = new long[maxOrders];
+        this.filledSizes = new long[maxOrders];
+        this.nextFree = new int[maxOrders];
+        for (int i = 0; i < maxOrders; i++) {
+            nextFree[i] = i + 1 < maxOrders ? i + 1 : NONE;
+        }
+        this.freeSlot = 0;
+    }
+
+    /**
+     * Accepts a client limit order and matches it, resting any remainder. Rejects it if the id is already
+     * working, the price or size is not positive, the symbol is out of range or the book is full.
+     */
+    public void submit(long orderId, int symbolId, OrderType side, long priceTicks, long size) {
+        if (orderId < 0 || size <= 0 || priceTicks <= 0 || symbolId < 0 || symbolId >= books.length
+                || index.containsKey(orderId) || freeSlot == NONE || symbolOrderCounts[symbolId] >= maxOrdersPerSymbol) {
+            listener.onRejected(orderId);
+            return;
+        }
+        L3OrderBook book = book(symbolId);
+
+        int slot = freeSlot;
+        freeSlot = nextFree[slot];
+        orderIds[slot] = orderId;
+        symbolIds[slot] = symbolId;
+        buys[slot] = side == OrderType.BUY;
+        sizes[slot] = size;
+        filledSizes[slot] = 0;
+        index.put(orderId, slot);
+        symbolOrderCounts[symbolId]++;
+        listener.onAccepted(orderId);
+
+        long remaining = match(book, orderId, side == OrderType.BUY, priceTicks, size);
+        if (remaining > 0) {
+            book.add(orderId, side, priceTicks, remaining);
+        }
+    }
+
+    /**
+     * Changes a working client order's price and total size. A lower size at the same price keeps the
+     * order's place in the queue; any other change sends it to the back, matching it first if the new
+     * price crosses. Rejects the amend if the order is not working or the size does not exceed the filled size.
+     */
+    public void amend(long orderId, long priceTicks, long size) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || priceTicks <= 0 || size <= filledSizes[slot]) {
+            listener.onRejected(orderId);
+            return;
+        }
+        L3OrderBook book = books[symbolIds[slot]];
+        long remaining = size - filledSizes[slot];
+        sizes[slot] = size;
+        listener.onAmended(orderId);
+
+        if (priceTicks == book.getOrderPriceTicks(orderId) && remaining <= book.getOrderSize(orderId)) {
+            book.modify(orderId, priceTicks, remaining);
+            return;
+        }
+        boolean buy = buys[slot];
+        book.cancel(orderId);
+        remaining = match(book, orderId, buy, priceTicks, remaining);
+        if (remaining > 0) {
+            book.add(orderId, buy ? OrderType.BUY : OrderType.SELL, priceTicks, remaining);
+        }
+    }
+
+    /**
+     * Cancels a working client order, or rejects the cancel if it is not working
+     */
+    public void cancel(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            listener.onRejected(orderId);
+            return;
+        }
+        books[symbolIds[slot]].cancel(orderId);
+        release(slot);
+        listener.onCancelled(orderId);
+    }
+
+    /**
+     * Replaces the market's bid and ask for a symbol. A side whose price is unchanged keeps its place in
+     * the queue; a side that moved trades against any client orders it now crosses before it rests.
+     * A non-positive price or size leaves that side of the market empty.
+     */
+    public void setQuote(int symbolId, long bidTicks, long askTicks, long bidSize, long askSize) {
+        L3OrderBook book = book(symbolId);
+        long bidId = marketOrderId(symbolId, true);
+        long askId = marketOrderId(symbolId, false);
+        boolean bidMoved = book.getOrderPriceTicks(bidId) != bidTicks;
+        boolean askMoved = book.getOrderPriceTicks(askId) != askTicks;
+
+        // Withdraw the moved sides first so the market never trades with itself
+        if (bidMoved) {
+            book.cancel(bidId);
+        }
+        if (askMoved) {
+            book.cancel(askId);
+        }
+        placeMarketOrder(book, bidId, true, bidTicks, bidSize, bidMoved);
+        placeMarketOrder(book, askId, false, askTicks, askSize, askMoved);
+    }
+
+    private void placeMarketOrder(L3OrderBook book, long marketId, boolean buy, long priceTicks, long size,
+                                  boolean moved) {
+        if (priceTicks <= 0 || size <= 0) {
+            book.cancel(marketId);
+            return;
+        }
+        if (!moved) {
+            book.modify(marketId, priceTicks, size);
+            return;
+        }
+        long remaining = match(book, marketId, buy, priceTicks, size);
+        if (remaining > 0) {
+            book.add(marketId, buy ? OrderType.BUY : OrderType.SELL, priceTicks, remaining);
+        }
+    }
+
+    /**
+     * Trades an incoming order against the opposite side, best price then oldest order first, while its
+     * limit crosses. Returns the size left over.
+     */
+    private long match(L3OrderBook book, long aggressorId, boolean buy, long limitTicks, long size) {
+        PriceLadder opposite = buy ? book.getBook().getAsks() : book.getBook().getBids();
+        OrderType restingSide = buy ? OrderType.SELL : OrderType.BUY;
+
+        while (size > 0 && !opposite.isEmpty()) {
+            long priceTicks = opposite.getBestPriceTicks();
+            if (buy ? priceTicks > limitTicks : priceTicks < limitTicks) {
+                break;
+            }
+            long restingId = book.getFirstOrderId(restingSide, priceTicks);
+            if (isMarketOrder(restingId) && isMarketOrder(aggressorId)) {
+                break;
+            }
+            long fillSize = Math.min(size, book.getOrderSize(restingId));
+            book.execute(restingId, fillSize);
+            size -= fillSize;
+            fill(restingId, priceTicks, fillSize);
+            fill(aggressorId, priceTicks, fillSize);
+        }
+        return size;
+    }
+
+    /**
+     * Reports a fill on a client order, releasing the order once it is complete
+     */
+    private void fill(long orderId, long priceTicks, long fillSize) {
+        if (isMarketOrder(orderId)) {
+            return;
+        }
+        int slot = index.get(orderId);
+        filledSizes[slot] += fillSize;
+        if (filledSizes[slot] >= sizes[slot]) {
+            release(slot);
+        }
+        listener.onFill(orderId, priceTicks, fillSize);
+    }
+
+    private void release(int slot) {
+        index.remove(orderIds[slot]);
+        symbolOrderCounts[symbolIds[slot]]--;
+        nextFree[slot] = freeSlot;
+        freeSlot = slot;
+    }
+
+    private L3OrderBook book(int symbolId) {
+        L3OrderBook book = books[symbolId];
+        if (book == null) {
+            // Room for the market's bid and ask on top of client orders
+            int capacity = maxOrdersPerSymbol + 2;
+            book = new L3OrderBook(new OrderBook(new InstrumentSpec("VENUE-" + symbolId), capacity), capacity, capacity);
+            books[symbolId] = book;
+        }
+        return book;
+    }
+
+    /**
+     * Id of the order standing for the quoted market on one side of a symbol. Client order ids are positive.
+     */
+    private static long marketOrderId(int symbolId, boolean buy) {
+        return Long.MIN_VALUE + 2L * symbolId + (buy ? 0 : 1);
+    }
+
+    private static boolean isMarketOrder(long orderId) {
+        return orderId < 0;
+    }
+
+    /**
+     * The venue's view of a symbol's book, including the market's quote. Only safe to read on the
+     * engine's thread.
+     */
+    public OrderBook getBook(int symbolId) {
+        return book(symbolId).getBook();
+    }
+
+    /**
+     * Client orders working at the venue
+     */
+    public int getOpenOrderCount() {
+        return index.size();
+    }
+}
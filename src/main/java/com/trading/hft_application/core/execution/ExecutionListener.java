@@ -0,0 +1,33 @@
+package com.trading.hft_application.core.execution;
+
+/**
+ * Receives a venue's execution reports for the orders sent to it. Reports for an order arrive in the
+ * order the venue produced them, on the venue's thread. Prices are in ticks and sizes in lots.
+ */
+public interface ExecutionListener {
+
+    /**
+     * A new order was accepted and is working at the venue
+     */
+    void onAccepted(long orderId);
+
+    /**
+     * The venue rejected a new order, or an amend or cancel of a working order
+     */
+    void onRejected(long orderId);
+
+    /**
+     * An amend was applied
+     */
+    void onAmended(long orderId);
+
+    /**
+     * The order was cancelled, on request or unsolicited
+     */
+    void onCancelled(long orderId);
+
+    /**
+     * Part or all of the order traded at the given price
+     */
+    void onFill(long orderId, long priceTicks, long size);
+}
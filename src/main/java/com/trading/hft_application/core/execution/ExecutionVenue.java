@@ -0,0 +1,68 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.model.Order;
+
+/**
+ * Connection to a venue that works orders. Requests are asynchronous: their outcome arrives later as
+ * execution reports on the listener given to {@link #start}. Requests may be sent from several threads.
+ * Prices are in ticks and sizes in lots.
+ */
+public interface ExecutionVenue {
+
+    /**
+     * Venue that drops every request and never reports, for measuring the order manager on its own
+     */
+    ExecutionVenue NONE = new ExecutionVenue() {
+        @Override
+        public void start(ExecutionListener listener) {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void submit(Order order) {
+        }
+
+        @Override
+        public void amend(long orderId, long priceTicks, long size) {
+        }
+
+        @Override
+        public void cancel(long orderId) {
+        }
+    };
+
+    /**
+     * Connects and starts delivering execution reports to the listener
+     */
+    void start(ExecutionListener listener);
+
+    /**
+     * Disconnects once the requests already sent have been answered
+     */
+    void stop();
+
+    /**
+     * Sends a new limit order
+     */
+    void submit(Order order);
+
+    /**
+     * Requests a new price and total size (including what is already filled) for a working order
+     */
+    void amend(long orderId, long priceTicks, long size);
+
+    /**
+     * Requests the cancellation of a working order
+     */
+    void cancel(long orderId);
+
+    /**
+     * Passes on a quote from the market data feed. Only venues that simulate a market use it. Called on
+     * the market data path, so it must not block; a venue that cannot take a quote should drop it.
+     */
+    default void onQuote(int symbolId, long bidTicks, long askTicks, long bidSize, long askSize) {
+    }
+}
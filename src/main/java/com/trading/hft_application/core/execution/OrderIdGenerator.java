@@ -0,0 +1,176 @@
+package com.trading.hft_application.core.execution;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of unique, positive order ids.
+ *
+ * <pre>
+ * bit 63     : 0 (ids are positive)
+ * bits 60-62 : order source
+ * bits 52-59 : engine instance id
+ * bits 0-51  : sequence
+ * </pre>
+ *
+ * Each thread takes a block of sequence numbers from a shared counter with one atomic add and hands
+ * them out without further synchronization, so ids from different threads never collide. Ids are
+ * increasing per thread, not globally. Engine instances sharing a venue must use distinct instance ids.
+ *
+ * <p>With a state file, the generator persists a high-water mark ahead of every sequence it hands out
+ * and resumes from it on restart, so ids stay unique across restarts, including crashes. The mark is
+ * reserved in large steps, so the file is written rarely and never per order. Without a state file the
+ * sequence starts from the wall clock in microseconds, which is unique across restarts as long as the
+ * previous run averaged fewer than one id per microsecond.
+ */
+public class OrderIdGenerator {
+    public static final int SOURCE_BITS = 3;
+    public static final int INSTANCE_BITS = 8;
+    public static final int SEQUENCE_BITS = 52;
+    public static final int MAX_INSTANCE_ID = (1 << INSTANCE_BITS) - 1;
+
+    private static final int INSTANCE_SHIFT = SEQUENCE_BITS;
+    private static final int SOURCE_SHIFT = SEQUENCE_BITS + INSTANCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int BLOCK_SIZE = 1024;
+    private static final long RESERVATION_SIZE = 1L << 20;
+
+    private final long instanceBits;
+    private final Path stateFile;
+    private final AtomicLong nextBlockStart;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile long reservedLimit;
+
+    /**
+     * Sequence numbers a thread may hand out without touching shared state
+     */
+    private static final class Block {
+        long next;
+        long end;
+    }
+
+    /**
+     * Creates a generator seeded from the wall clock, without persistence
+     */
+    public OrderIdGenerator(int instanceId) {
+        this(instanceId, null);
+    }
+
+    /**
+     * Creates a generator that persists its high-water mark to the given file, resuming from the mark
+     * if the file exists. A null file falls back to seeding from the wall clock.
+     */
+    public OrderIdGenerator(int instanceId, Path stateFile) {
+        if (instanceId < 0 || instanceId > MAX_INSTANCE_ID) {
+            throw new IllegalArgumentException("Instance id must be between 0 and " + MAX_INSTANCE_ID + ": " + instanceId);
+        }
+
+        this.instanceBits = (long) instanceId << INSTANCE_SHIFT;
+        this.stateFile = stateFile;
+
+        long start;
+        if (stateFile != null) {
+            start = readHighWaterMark(stateFile);
+            this.reservedLimit = start;
+        } else {
+            start = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+            this.reservedLimit = Long.MAX_VALUE;
+        }
+        this.nextBlockStart = new AtomicLong(start);
+    }
+
+    /**
+     * Returns the next order id for the source
+     */
+    public long nextId(OrderSource source) {
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            claimBlock(block);
+        }
+        return ((long) source.getCode() << SOURCE_SHIFT) | instanceBits | block.next++;
+    }
+
+    private void claimBlock(Block block) {
+        long start = nextBlockStart.getAndAdd(BLOCK_SIZE);
+        long end = start + BLOCK_SIZE;
+        if (end > SEQUENCE_MASK) {
+            throw new IllegalStateException("Order id sequence exhausted");
+        }
+        if (end > reservedLimit) {
+            reserve(end);
+        }
+        block.next = start;
+        block.end = end;
+    }
+
+    /**
+     * Persists a new high-water mark covering the given sequence before any id below it is handed out
+     */
+    private synchronized void reserve(long end) {
+        if (end <= reservedLimit) {
+            return;
+        }
+
+        long limit = end + RESERVATION_SIZE;
+        writeHighWaterMark(limit);
+        reservedLimit = limit;
+    }
+
+    private static long readHighWaterMark(Path stateFile) {
+        try {
+            if (!Files.exists(stateFile)) {
+                return 0;
+            }
+            return Long.parseLong(Files.readString(stateFile, StandardCharsets.US_ASCII).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read order id state from " + stateFile, e);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Corrupt order id state in " + stateFile, e);
+        }
+    }
+
+    /**
+     * Writes the mark to a temporary file and renames it over the state file, so a crash mid-write
+     * leaves the previous mark intact
+     */
+    private void writeHighWaterMark(long limit) {
+        try {
+            Path directory = stateFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path temporary = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            Files.writeString(temporary, Long.toString(limit), StandardCharsets.US_ASCII);
+            Files.move(temporary, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot persist order id state to " + stateFile, e);
+        }
+    }
+
+    /**
+     * Source that generated an order id
+     */
+    public static OrderSource sourceOf(long orderId) {
+        return OrderSource.fromCode((int) (orderId >>> SOURCE_SHIFT));
+    }
+
+    /**
+     * Engine instance that generated an order id
+     */
+    public static int instanceOf(long orderId) {
+        return (int) (orderId >>> INSTANCE_SHIFT) & MAX_INSTANCE_ID;
+    }
+
+    /**
+     * Sequence number of an order id
+     */
+    public static long sequenceOf(long orderId) {
+        return orderId & SEQUENCE_MASK;
+    }
+}
@@ -1,124 +1,547 @@
 package com.trading.hft_application.core.execution;
 
+import com.trading.hft_application.core.eventlog.EventLog;
+import com.trading.hft_application.core.eventlog.EventType;
+import com.trading.hft_application.core.marketdata.SymbolChangeQueue;
 import com.trading.hft_application.model.Order;
 import com.trading.hft_application.model.OrderBook;
-import com.trading.hft_application.model.Position;
+import com.trading.hft_application.model.OrderState;
+import com.trading.hft_application.model.OrderType;
 
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Responsible for managing orders (submission, cancellation, modification)
+ * Responsible for managing orders (submission, cancellation, modification). Requests go to the venue
+ * asynchronously and the order table changes state as the venue's execution reports come back.
  */
 public class OrderManager {
+    /**
+     * Default time in force for every order source
+     */
+    public static final long DEFAULT_TIME_IN_FORCE_MILLIS = 100;
+    public static final int DEFAULT_THROTTLE_QUEUE_CAPACITY = 1024;
+
+    private final ExecutionVenue venue;
+    private final EventLog eventLog;
+
+    // Rate limits on submits and amends, with the orders and symbols they held back
+    private final OrderThrottle throttle;
+    private final ThrottledOrderQueue throttledOrders;
+    private final SymbolChangeQueue deferredAmends;
+
+    private final LongAdder submittedOrders = new LongAdder();
+    private final LongAdder rejectedOrders = new LongAdder();
+    private final LongAdder fills = new LongAdder();
+    private final LongAdder cancelledOrders = new LongAdder();
+    private final LongAdder amendedOrders = new LongAdder();
+    private final LongAdder expiredOrders = new LongAdder();
+    private final LongAdder repricedSymbols = new LongAdder();
+    private final LongAdder throttleRejects = new LongAdder();
+    private final LongAdder throttleQueued = new LongAdder();
+    private final LongAdder throttleCoalesced = new LongAdder();
+    private final LongAdder throttleExpired = new LongAdder();
+
+    // Time in force by order source code, 0 for good till cancelled
+    private final long[] timeInForceNanos = new long[OrderSource.values().length];
+
+    // Reused by the periodic order passes so they do not allocate a visitor per pass
+    private final OrderTable.OrderVisitor orderScan = this::manageOrder;
+    private final OrderTable.OrderVisitor expiryHandler = this::expireOrder;
+    private OrderBook[] scanBooks;
+
+    // Amends and cancels a pass decided on while visiting the order table, sent once the visit has released
+    // the table's lock: the venue may wait for room to send, and its report thread needs the table to free it
+    private long[] scanIds = new long[0];
+    private long[] scanPrices = new long[0];
+    private long[] scanSizes = new long[0];
+    private int scanCount;
 
     /**
-     * Submits a new order to the market
+     * Creates an order manager without a venue, whose requests are never answered
      */
-    public void submitOrder(Order order, Map<Long, Order> activeOrders) {
-        try {
-            // In a real system, this would connect to exchange API
-            System.out.println("Submitting order: " + order);
+    public OrderManager() {
+        this(ExecutionVenue.NONE, EventLog.NONE);
+    }
+
+    /**
+     * Creates an order manager that sends requests to the venue without rate limits and records every
+     * order action and execution report in the event log
+     */
+    public OrderManager(ExecutionVenue venue, EventLog eventLog) {
+        this(venue, eventLog, new OrderThrottle(0));
+    }
 
-            // Store order in active orders map
-            activeOrders.put(order.getOrderId(), order);
+    /**
+     * Creates an order manager whose submits and amends are rate limited by the throttle, sized for its
+     * symbols. Cancels and emergency orders are never throttled.
+     */
+    public OrderManager(ExecutionVenue venue, EventLog eventLog, OrderThrottle throttle) {
+        this.venue = venue;
+        this.eventLog = eventLog;
+        this.throttle = throttle;
+        this.throttledOrders = new ThrottledOrderQueue(DEFAULT_THROTTLE_QUEUE_CAPACITY);
+        this.deferredAmends = new SymbolChangeQueue(throttle.getMaxSymbols());
+        for (OrderSource source : OrderSource.values()) {
+            setTimeInForce(source, DEFAULT_TIME_IN_FORCE_MILLIS);
+        }
+    }
+
+    /**
+     * Sets how long orders from a source stay working before they are cancelled; 0 keeps them until
+     * cancelled. Applies to orders submitted afterwards, so set it before the algorithm starts.
+     */
+    public void setTimeInForce(OrderSource source, long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time in force must not be negative: " + millis);
+        }
+        timeInForceNanos[source.getCode()] = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public long getTimeInForceMillis(OrderSource source) {
+        return TimeUnit.NANOSECONDS.toMillis(timeInForceNanos[source.getCode()]);
+    }
+
+    /**
+     * Submits a new order to the venue, tracking it in the order table as PENDING_NEW with an expiry
+     * deadline from the time in force of the source encoded in its id. The order is REJECTED, and not
+     * sent, if the order table did not take it or the throttle refused it. With the QUEUE policy a
+     * throttled order is QUEUED instead, counted as held in the order table so pre-trade checks see it,
+     * and sent later by {@link #releaseThrottledOrders}.
+     */
+    public SubmitResult submitOrder(Order order, OrderTable orders) {
+        OrderSource source = OrderIdGenerator.sourceOf(order.getOrderId());
+        long nowNanos = System.nanoTime();
+        if (source != OrderSource.EMERGENCY) {
+            if (!throttle.tryAcquire(order.getSymbolId(), source, nowNanos)) {
+                if (throttle.getSubmitPolicy() == ThrottlePolicy.QUEUE) {
+                    orders.hold(order);
+                    if (throttledOrders.offer(order, nowNanos)) {
+                        throttleQueued.increment();
+                        return SubmitResult.QUEUED;
+                    }
+                    orders.releaseHold(order);
+                }
+                throttleRejects.increment();
+                logOrder(EventType.ORDER_REJECT, order, order.getPriceTicks(), order.getSize(), 0);
+                return SubmitResult.REJECTED;
+            }
+        }
+        return send(order, orders, nowNanos) ? SubmitResult.SENT : SubmitResult.REJECTED;
+    }
+
+    /**
+     * Checks a queued order again just before it is sent, as the market, positions and P&L may have moved
+     * while it waited
+     */
+    @FunctionalInterface
+    public interface OrderCheck {
+        boolean allows(Order order);
+    }
+
+    /**
+     * Sends the orders the throttle held back, oldest first, as their buckets have tokens. An order whose
+     * buckets are still empty goes to the back of the queue, so it does not hold up orders on other
+     * symbols. Orders queued for longer than their time in force, or failing the check, are dropped; an
+     * order sent keeps only the part of its time in force it did not spend queued.
+     * Called from the order manager thread only; it does not allocate.
+     */
+    public void releaseThrottledOrders(OrderTable orders, long nowNanos, OrderCheck check) {
+        // Each order queued before this pass is looked at once
+        for (int queued = throttledOrders.size(); queued > 0; queued--) {
+            Order order = throttledOrders.peek();
+            if (order == null) {
+                return;
+            }
+            long queuedNanos = throttledOrders.peekQueuedNanos();
+            throttledOrders.remove();
+
+            OrderSource source = OrderIdGenerator.sourceOf(order.getOrderId());
+            long timeInForce = timeInForceNanos[source.getCode()];
+            if (timeInForce > 0 && nowNanos - queuedNanos > timeInForce) {
+                dropQueued(order, orders, throttleExpired);
+                continue;
+            }
+            if (!throttle.tryAcquire(order.getSymbolId(), source, nowNanos)) {
+                if (!throttledOrders.offer(order, queuedNanos)) {
+                    dropQueued(order, orders, throttleRejects);
+                }
+                continue;
+            }
+            orders.releaseHold(order);
+            if (!check.allows(order)) {
+                throttleRejects.increment();
+                logOrder(EventType.ORDER_REJECT, order, order.getPriceTicks(), order.getSize(), 0);
+                continue;
+            }
+            send(order, orders, queuedNanos);
+        }
+    }
+
+    private void dropQueued(Order order, OrderTable orders, LongAdder outcome) {
+        orders.releaseHold(order);
+        outcome.increment();
+        logOrder(EventType.ORDER_REJECT, order, order.getPriceTicks(), order.getSize(), 0);
+    }
+
+    /**
+     * Tracks and sends an order, its time in force running from the given System.nanoTime() value
+     */
+    private boolean send(Order order, OrderTable orders, long startNanos) {
+        try {
+            long timeInForce = timeInForceNanos[OrderIdGenerator.sourceOf(order.getOrderId()).getCode()];
+            long expiryNanos = timeInForce > 0 ? startNanos + timeInForce : OrderTable.NO_EXPIRY;
+            if (!orders.add(order, expiryNanos)) {
+                logOrder(EventType.ORDER_REJECT, order, order.getPriceTicks(), order.getSize(), 0);
+                return false;
+            }
+            logOrder(EventType.ORDER_SUBMIT, order, order.getPriceTicks(), order.getSize(), 0);
+            submittedOrders.increment();
+            venue.submit(order);
+            return true;
         } catch (Exception e) {
             System.err.println("Error submitting order: " + e.getMessage());
+            return false;
         }
     }
 
     /**
-     * Cancels an existing order
+     * Requests the cancellation of an open order
      */
-    public void cancelOrder(long orderId, Map<Long, Order> activeOrders) {
+    public void cancelOrder(long orderId, OrderTable orders) {
         try {
-            // In a real system, this would connect to exchange API
-            System.out.println("Cancelling order: " + orderId);
+            Order order = orders.getOrder(orderId);
+            long priceTicks = orders.getPriceTicks(orderId);
+            long size = orders.getSize(orderId);
+            long filledSize = orders.getFilledSize(orderId);
 
-            // Remove from active orders
-            activeOrders.remove(orderId);
+            if (orders.requestCancel(orderId)) {
+                logOrder(EventType.ORDER_CANCEL, order, priceTicks, size, filledSize);
+                venue.cancel(orderId);
+            }
         } catch (Exception e) {
             System.err.println("Error cancelling order: " + e.getMessage());
         }
     }
 
     /**
-     * Updates an existing order
+     * Cancels every open order. The cancels are sent after the table's lock is released, so this may be
+     * called from any thread.
+     */
+    public void cancelAllOrders(OrderTable orders) {
+        long[] orderIds = new long[orders.getMaxOpenOrders()];
+        int count = orders.copyOpenOrderIds(orderIds);
+        for (int i = 0; i < count; i++) {
+            cancelOrder(orderIds[i], orders);
+        }
+    }
+
+    /**
+     * Requests a new price and total size for an open order, applied in place once the venue confirms it.
+     * An amend the throttle refuses is dropped; with the COALESCE policy the order's symbol is revisited
+     * on the next repricing pass, so only the order manager thread may amend then.
+     */
+    public void updateOrder(long orderId, long newPriceTicks, long newSize, OrderTable orders) {
+        updateOrder(orderId, newPriceTicks, newSize, orders, System.nanoTime());
+    }
+
+    /**
+     * Requests an amend as {@link #updateOrder(long, long, long, OrderTable)}, charging the throttle at the
+     * given System.nanoTime() value
      */
-    public void updateOrder(long orderId, double newPrice, double newSize, Map<Long, Order> activeOrders) {
+    public void updateOrder(long orderId, long newPriceTicks, long newSize, OrderTable orders, long nowNanos) {
         try {
-            // In a real system, this would connect to exchange API
-            System.out.println("Updating order: " + orderId + " to price: " + newPrice + " size: " + newSize);
-
-            // Update order in active orders map
-            Order existing = activeOrders.get(orderId);
-            if (existing != null) {
-                Order updated = new Order(
-                        existing.getOrderId(),
-                        existing.getSymbol(),
-                        existing.getType(),
-                        newPrice,
-                        newSize
-                );
-                activeOrders.put(orderId, updated);
+            Order order = orders.getOrder(orderId);
+            if (order == null) {
+                return;
+            }
+            OrderSource source = OrderIdGenerator.sourceOf(orderId);
+            if (source != OrderSource.EMERGENCY
+                    && !throttle.tryAcquire(order.getSymbolId(), source, nowNanos)) {
+                if (throttle.getAmendPolicy() == ThrottlePolicy.COALESCE) {
+                    deferredAmends.offer(order.getSymbolId());
+                    throttleCoalesced.increment();
+                } else {
+                    throttleRejects.increment();
+                }
+                return;
+            }
+            long previousPriceTicks = orders.getPriceTicks(orderId);
+
+            if (orders.requestAmend(orderId, newPriceTicks, newSize)) {
+                logOrder(EventType.ORDER_AMEND, order, newPriceTicks, newSize, previousPriceTicks);
+                venue.amend(orderId, newPriceTicks, newSize);
+            } else if (source != OrderSource.EMERGENCY) {
+                // Nothing was sent, e.g. an amend already in flight, so the tokens go back
+                throttle.release(order.getSymbolId(), source);
             }
         } catch (Exception e) {
             System.err.println("Error updating order: " + e.getMessage());
         }
     }
 
+    private void logOrder(EventType type, Order order, long priceTicks, long size, long value) {
+        eventLog.logOrder(type, order.getOrderId(), order.getSymbolId(), order.getType(), priceTicks, size, value);
+    }
+
     /**
-     * Updates position after order execution
+     * The venue accepted a new order
      */
-    public double updatePosition(Order order, Map<String, Position> positions) {
-        String symbol = order.getSymbol();
-        double size = order.getSize();
-        double profit = 0.0;
+    public void onAccepted(long orderId, OrderTable orders) {
+        Order order = orders.getOrder(orderId);
+        if (orders.onAccepted(orderId)) {
+            logOrder(EventType.ORDER_ACCEPT, order, orders.getPriceTicks(orderId), orders.getSize(orderId), 0);
+        }
+    }
 
-        if (order.getType() == com.trading.hft_application.model.OrderType.SELL) {
-            size = -size;
+    /**
+     * The venue rejected a new order, or an amend or cancel, which leaves the order working as before
+     */
+    public void onRejected(long orderId, OrderTable orders) {
+        Order order = orders.getOrder(orderId);
+        if (orders.onRejected(orderId)) {
+            rejectedOrders.increment();
+            logOrder(EventType.ORDER_REJECT, order, orders.getPriceTicks(orderId), orders.getSize(orderId), 0);
         }
+    }
 
-        // Update position
-        Position position = positions.computeIfAbsent(symbol, s -> new Position(s, 0.0, 0.0));
-        position.updatePosition(size, order.getPrice());
+    /**
+     * The venue applied an amend
+     */
+    public void onAmended(long orderId, OrderTable orders) {
+        if (orders.onAmended(orderId)) {
+            amendedOrders.increment();
+            logOrder(EventType.ORDER_AMENDED, orders.getOrder(orderId), orders.getPriceTicks(orderId),
+                    orders.getSize(orderId), orders.getFilledSize(orderId));
+        }
+    }
 
-        // Return profit from this trade
-        return position.getLastTradeProfit();
+    /**
+     * The venue cancelled an order
+     */
+    public void onCancelled(long orderId, OrderTable orders) {
+        Order order = orders.getOrder(orderId);
+        long priceTicks = orders.getPriceTicks(orderId);
+        long size = orders.getSize(orderId);
+        long filledSize = orders.getFilledSize(orderId);
+        if (orders.onCancelled(orderId)) {
+            cancelledOrders.increment();
+            logOrder(EventType.ORDER_CANCELLED, order, priceTicks, size, filledSize);
+        }
     }
 
     /**
-     * Checks if orders need adjustment based on market conditions
+     * Applies a fill to the order table and queues it for the position keeper, which moves the symbol's
+     * position and P&L on its shard thread
      */
-    public void manageActiveOrders(Map<Long, Order> activeOrders, Map<String, OrderBook> orderBooks) {
-        // Process order updates
-        for (Order order : activeOrders.values()) {
-            // Check if order is stale (latency-sensitive)
-            if (order.isStale()) {
-                cancelOrder(order.getOrderId(), activeOrders);
-                continue;
+    public void onFill(long orderId, long priceTicks, long size, OrderTable orders, PositionKeeper positions) {
+        Order order = orders.getOrder(orderId);
+        long filledSize = orders.getFilledSize(orderId);
+        if (order == null || !orders.onFill(orderId, size)) {
+            return;
+        }
+        fills.increment();
+        logOrder(EventType.ORDER_FILL, order, priceTicks, size, filledSize + size);
+        positions.onFill(orderId, order.getSymbolId(), order.getInstrument(), order.getType(), priceTicks, size);
+    }
+
+    /**
+     * Cancels the open orders whose time in force has run out, in O(1) per expired order.
+     * Called from the order manager thread only; it does not allocate.
+     */
+    public void expireOrders(OrderTable orders, long nowNanos) {
+        startScan(orders);
+        try {
+            orders.forEachExpired(nowNanos, expiryHandler);
+            for (int i = 0; i < scanCount; i++) {
+                cancelOrder(scanIds[i], orders);
             }
+        } finally {
+            scanCount = 0;
+        }
+    }
 
-            // Check if market moved away from order
-            String symbol = order.getSymbol();
-            OrderBook book = orderBooks.get(symbol);
-
-            if (book != null) {
-                boolean needsUpdate = false;
-                double newPrice = order.getPrice();
-
-                // Adjust limit orders based on new market data
-                if (order.getType() == com.trading.hft_application.model.OrderType.BUY && order.getPrice() < book.getBid()) {
-                    newPrice = book.getBid();
-                    needsUpdate = true;
-                } else if (order.getType() == com.trading.hft_application.model.OrderType.SELL && order.getPrice() > book.getAsk()) {
-                    newPrice = book.getAsk();
-                    needsUpdate = true;
-                }
+    private void expireOrder(Order order, OrderState state, long priceTicks, long size, long filledSize) {
+        expiredOrders.increment();
+        logOrder(EventType.ORDER_EXPIRE, order, priceTicks, size, filledSize);
+        addScanned(order.getOrderId(), priceTicks, size);
+    }
 
-                if (needsUpdate) {
-                    updateOrder(order.getOrderId(), newPrice, order.getSize(), activeOrders);
-                }
+    /**
+     * Starts a pass over the order table, sizing the buffer of requests it sends once for the table
+     */
+    private void startScan(OrderTable orders) {
+        int capacity = orders.getMaxOpenOrders();
+        if (scanIds.length < capacity) {
+            scanIds = new long[capacity];
+            scanPrices = new long[capacity];
+            scanSizes = new long[capacity];
+        }
+        scanCount = 0;
+    }
+
+    private void addScanned(long orderId, long priceTicks, long size) {
+        // At most one entry per open order and pass, so the buffer never overflows
+        scanIds[scanCount] = orderId;
+        scanPrices[scanCount] = priceTicks;
+        scanSizes[scanCount] = size;
+        scanCount++;
+    }
+
+    private void sendScannedAmends(OrderTable orders, long nowNanos) {
+        for (int i = 0; i < scanCount; i++) {
+            updateOrder(scanIds[i], scanPrices[i], scanSizes[i], orders, nowNanos);
+        }
+        scanCount = 0;
+    }
+
+    /**
+     * Checks the orders on symbols whose best bid or ask changed since the last call, taking the symbols
+     * from the book stage's change queue, and on symbols whose amends the throttle coalesced. Orders on
+     * quiet symbols are not touched. Amends are charged to the throttle at the given System.nanoTime() value.
+     * Called from the order manager thread only; it does not allocate.
+     */
+    public void manageChangedSymbols(OrderTable orders, OrderBook[] orderBooks, SymbolChangeQueue changedSymbols,
+                                     long nowNanos) {
+        startScan(orders);
+        scanBooks = orderBooks;
+        try {
+            // Only the symbols deferred before this pass, as amends refused during it defer their symbol again
+            int symbolId;
+            for (int deferred = deferredAmends.size(); deferred > 0; deferred--) {
+                symbolId = deferredAmends.poll();
+                orders.forEachOpen(symbolId, orderScan);
+                sendScannedAmends(orders, nowNanos);
+            }
+            while ((symbolId = changedSymbols.poll()) != SymbolChangeQueue.NONE) {
+                repricedSymbols.increment();
+                orders.forEachOpen(symbolId, orderScan);
+                sendScannedAmends(orders, nowNanos);
+            }
+        } finally {
+            scanCount = 0;
+            scanBooks = null;
+        }
+    }
+
+    /**
+     * Checks every open order against its book, whether or not the market moved.
+     * Amends are charged to the throttle at the given System.nanoTime() value.
+     * Called from the order manager thread only; the scan does not allocate.
+     */
+    public void manageActiveOrders(OrderTable orders, OrderBook[] orderBooks, long nowNanos) {
+        startScan(orders);
+        scanBooks = orderBooks;
+        try {
+            orders.forEachOpen(orderScan);
+            sendScannedAmends(orders, nowNanos);
+        } finally {
+            scanCount = 0;
+            scanBooks = null;
+        }
+    }
+
+    /**
+     * Moves an order back to the touch if the market moved away from it
+     */
+    private void manageOrder(Order order, OrderState state, long priceTicks, long size, long filledSize) {
+        // Orders with a request in flight are left alone until the venue answers
+        if (state.isPending()) {
+            return;
+        }
+
+        // Check if market moved away from order
+        OrderBook book = scanBooks[order.getSymbolId()];
+
+        if (book != null) {
+            boolean needsUpdate = false;
+            long newPrice = priceTicks;
+
+            // Adjust limit orders based on new market data
+            if (order.getType() == OrderType.BUY && priceTicks < book.getBidTicks()) {
+                newPrice = book.getBidTicks();
+                needsUpdate = true;
+            } else if (order.getType() == OrderType.SELL && priceTicks > book.getAskTicks()) {
+                newPrice = book.getAskTicks();
+                needsUpdate = true;
+            }
+
+            if (needsUpdate) {
+                addScanned(order.getOrderId(), newPrice, size);
             }
         }
     }
+
+    public long getSubmittedOrderCount() {
+        return submittedOrders.sum();
+    }
+
+    /**
+     * New orders, amends and cancels the venue rejected
+     */
+    public long getRejectedOrderCount() {
+        return rejectedOrders.sum();
+    }
+
+    public long getFillCount() {
+        return fills.sum();
+    }
+
+    public long getCancelledOrderCount() {
+        return cancelledOrders.sum();
+    }
+
+    public long getAmendedOrderCount() {
+        return amendedOrders.sum();
+    }
+
+    public long getExpiredOrderCount() {
+        return expiredOrders.sum();
+    }
+
+    /**
+     * Symbol passes made because a symbol's best bid or ask changed
+     */
+    public long getRepricedSymbolCount() {
+        return repricedSymbols.sum();
+    }
+
+    public OrderThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * New orders and amends dropped because the throttle refused them
+     */
+    public long getThrottleRejectCount() {
+        return throttleRejects.sum();
+    }
+
+    /**
+     * New orders the throttle held back in the queue
+     */
+    public long getThrottleQueuedCount() {
+        return throttleQueued.sum();
+    }
+
+    /**
+     * Amends the throttle refused whose symbols were revisited later
+     */
+    public long getThrottleCoalescedCount() {
+        return throttleCoalesced.sum();
+    }
+
+    /**
+     * Throttled orders dropped from the queue after waiting longer than their time in force
+     */
+    public long getThrottleExpiredCount() {
+        return throttleExpired.sum();
+    }
+
+    /**
+     * Orders waiting in the throttle's queue
+     */
+    public int getThrottleQueueSize() {
+        return throttledOrders.size();
+    }
 }
@@ -0,0 +1,43 @@
+package com.trading.hft_application.core.execution;
+
+/**
+ * Component that originated an order, encoded in the top bits of its order id so execution reports
+ * can be routed without a lookup
+ */
+public enum OrderSource {
+    STRATEGY(0),
+    RISK(1),
+    EMERGENCY(2);
+
+    private static final OrderSource[] BY_CODE = new OrderSource[8];
+
+    static {
+        for (OrderSource source : values()) {
+            BY_CODE[source.code] = source;
+        }
+    }
+
+    private final int code;
+
+    OrderSource(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Code stored in order ids; fits in OrderIdGenerator.SOURCE_BITS
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Resolves a source from its code, or throws IllegalArgumentException if the code is unassigned
+     */
+    public static OrderSource fromCode(int code) {
+        OrderSource source = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown order source code: " + code);
+        }
+        return source;
+    }
+}
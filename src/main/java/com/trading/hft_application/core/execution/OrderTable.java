@@ -0,0 +1,589 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.core.util.LongIntHashMap;
+import com.trading.hft_application.core.util.TimingWheel;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderState;
+import com.trading.hft_application.model.OrderType;
+
+import java.util.Arrays;
+
+/**
+ * The engine's own orders and their lifecycle states, keyed by order id.
+ * Orders live in preallocated slots indexed by an open-addressing long-to-slot map. Open orders are
+ * chained into an intrusive list, and into a second list per symbol, so order scans visit only open
+ * orders, or only those of the symbols whose market moved. The most recently
+ * closed orders are kept in a ring so they can still be queried; once the ring is full, closing an order
+ * evicts the oldest closed one. The working price and size are held in the slots, so an amend changes
+ * them in place rather than replacing the immutable {@link Order}. Prices are in ticks and sizes in lots.
+ * Orders given an expiry deadline are registered in a timing wheel keyed by slot, so expired orders are
+ * found without scanning the open ones.
+ * <p>
+ * Lookups, transitions and iteration do not allocate. Every method is synchronized: orders are changed
+ * by the signal, order manager and risk threads and read by the REST layer, all far less often than
+ * ticks arrive, so the monitor is rarely contended.
+ */
+public class OrderTable {
+    /**
+     * Expiry deadline for orders that stay open until cancelled
+     */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private static final int NONE = -1;
+    private static final long EXPIRY_TICK_NANOS = 1_000_000;
+    private static final int EXPIRY_WHEEL_SIZE = 1024;
+
+    /**
+     * Receives an order with its state, working price and size and filled size.
+     * A visitor may change the state of the order it is visiting, but not of other orders.
+     */
+    @FunctionalInterface
+    public interface OrderVisitor {
+        void visit(Order order, OrderState state, long priceTicks, long size, long filledSize);
+    }
+
+    private final int maxOpenOrders;
+    private final int maxSymbols;
+
+    // Order slots
+    private final Order[] orders;
+    private final byte[] states;
+    private final long[] priceTicks;
+    private final long[] sizes;
+    private final long[] filledSizes;
+    private final long[] pendingPriceTicks;
+    private final long[] pendingSizes;
+    private final int[] prev;
+    private final int[] next;
+    private final int[] symbolPrev;
+    private final int[] symbolNext;
+    private int freeSlot;
+
+    // Open orders, oldest first
+    private int openHead = NONE;
+    private int openTail = NONE;
+    private int openCount = 0;
+
+    // Open orders per symbol, oldest first
+    private final int[] symbolHeads;
+    private final int[] symbolTails;
+    private final int[] symbolOpenCounts;
+
+    // Orders the throttle holds back before sending, per symbol
+    private final int[] symbolHeldCounts;
+
+    // Unfilled value of the open and held orders per symbol and side, for pre-trade exposure checks
+    private final double[] workingBuyNotional;
+    private final double[] workingSellNotional;
+
+    // Closed orders retained for queries, oldest first
+    private final int[] closedSlots;
+    private int closedStart = 0;
+    private int closedCount = 0;
+
+    private final LongIntHashMap index;
+    private final TimingWheel expiries;
+
+    /**
+     * Creates a table holding up to maxOpenOrders open orders, on symbol ids below maxSymbols, plus the
+     * same number of recently closed ones
+     */
+    public OrderTable(int maxOpenOrders, int maxSymbols) {
+        this(maxOpenOrders, maxOpenOrders, maxSymbols);
+    }
+
+    public OrderTable(int maxOpenOrders, int closedRetention, int maxSymbols) {
+        if (maxOpenOrders <= 0 || closedRetention < 0 || maxSymbols <= 0) {
+            throw new IllegalArgumentException("Open order and symbol capacity must be positive and closed retention non-negative");
+        }
+        this.maxOpenOrders = maxOpenOrders;
+        this.maxSymbols = maxSymbols;
+        int capacity = maxOpenOrders + closedRetention;
+
+        this.orders = new Order[capacity];
+        this.states = new byte[capacity];
+        this.priceTicks = new long[capacity];
+        this.sizes = new long[capacity];
+        this.filledSizes = new long[capacity];
+        this.pendingPriceTicks = new long[capacity];
+        this.pendingSizes = new long[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.symbolPrev = new int[capacity];
+        this.symbolNext = new int[capacity];
+        this.symbolHeads = new int[maxSymbols];
+        this.symbolTails = new int[maxSymbols];
+        this.symbolOpenCounts = new int[maxSymbols];
+        this.symbolHeldCounts = new int[maxSymbols];
+        this.workingBuyNotional = new double[maxSymbols];
+        this.workingSellNotional = new double[maxSymbols];
+        this.closedSlots = new int[closedRetention];
+        this.index = new LongIntHashMap(capacity);
+        this.expiries = new TimingWheel(capacity, EXPIRY_TICK_NANOS, EXPIRY_WHEEL_SIZE, System.nanoTime());
+
+        for (int slot = 0; slot < capacity - 1; slot++) {
+            next[slot] = slot + 1;
+        }
+        next[capacity - 1] = NONE;
+        freeSlot = 0;
+        Arrays.fill(symbolHeads, NONE);
+        Arrays.fill(symbolTails, NONE);
+    }
+
+    /**
+     * Adds an order as PENDING_NEW, before it is sent to the venue, with no expiry.
+     * Returns false if the order id is already in the table or the size is not positive.
+     *
+     * @throws IllegalStateException if the table already holds its maximum of open orders
+     */
+    public boolean add(Order order) {
+        return add(order, NO_EXPIRY);
+    }
+
+    /**
+     * Adds an order as PENDING_NEW, to be reported by {@link #forEachExpired} once the System.nanoTime()
+     * deadline has passed while it is still open, or never for {@link #NO_EXPIRY}.
+     * Returns false if the order id is already in the table or the size is not positive.
+     *
+     * @throws IllegalStateException if the table already holds its maximum of open orders
+     */
+    public synchronized boolean add(Order order, long expiryNanos) {
+        if (order.getSymbolId() < 0 || order.getSymbolId() >= maxSymbols) {
+            throw new IllegalArgumentException("Symbol id " + order.getSymbolId() + " is outside the order table's "
+                    + maxSymbols + " symbols");
+        }
+        if (order.getSize() <= 0 || index.containsKey(order.getOrderId())) {
+            return false;
+        }
+        if (openCount == maxOpenOrders) {
+            throw new IllegalStateException("Order table is full (" + maxOpenOrders + " open orders)");
+        }
+
+        int slot = freeSlot;
+        freeSlot = next[slot];
+
+        orders[slot] = order;
+        states[slot] = (byte) OrderState.PENDING_NEW.ordinal();
+        priceTicks[slot] = order.getPriceTicks();
+        sizes[slot] = order.getSize();
+        filledSizes[slot] = 0;
+        index.put(order.getOrderId(), slot);
+        linkOpen(slot);
+        addWorking(slot, 1.0);
+        if (expiryNanos != NO_EXPIRY) {
+            expiries.schedule(slot, expiryNanos);
+        }
+        return true;
+    }
+
+    /**
+     * The venue accepted a new order. Returns false if the order is unknown or not PENDING_NEW.
+     */
+    public synchronized boolean onAccepted(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || state(slot) != OrderState.PENDING_NEW) {
+            return false;
+        }
+        setState(slot, OrderState.NEW);
+        return true;
+    }
+
+    /**
+     * The venue rejected the pending request on an order: a new order becomes REJECTED, while a
+     * rejected amend or cancel leaves the order working as before.
+     * Returns false if the order is unknown or has no pending request.
+     */
+    public synchronized boolean onRejected(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        switch (state(slot)) {
+            case PENDING_NEW:
+                close(slot, OrderState.REJECTED);
+                return true;
+            case PENDING_AMEND:
+            case PENDING_CANCEL:
+                setState(slot, workingState(slot));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Requests a new price and size for a working order, applied once the venue acknowledges it.
+     * Returns false if the order is unknown, is not NEW or PARTIALLY_FILLED, or the new size does not
+     * exceed what is already filled.
+     */
+    public synchronized boolean requestAmend(long orderId, long newPriceTicks, long newSize) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || !state(slot).canTransitionTo(OrderState.PENDING_AMEND)
+                || state(slot) == OrderState.PENDING_AMEND || newSize <= filledSizes[slot]) {
+            return false;
+        }
+        pendingPriceTicks[slot] = newPriceTicks;
+        pendingSizes[slot] = newSize;
+        setState(slot, OrderState.PENDING_AMEND);
+        return true;
+    }
+
+    /**
+     * The venue applied a pending amend. Returns false if the order is unknown or not PENDING_AMEND.
+     */
+    public synchronized boolean onAmended(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || state(slot) != OrderState.PENDING_AMEND) {
+            return false;
+        }
+        addWorking(slot, -1.0);
+        priceTicks[slot] = pendingPriceTicks[slot];
+        sizes[slot] = pendingSizes[slot];
+        addWorking(slot, 1.0);
+        setState(slot, workingState(slot));
+        return true;
+    }
+
+    /**
+     * Requests the cancellation of an open order; a pending amend is superseded.
+     * Returns false if the order is unknown, closed or already PENDING_CANCEL.
+     */
+    public synchronized boolean requestCancel(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || state(slot) == OrderState.PENDING_CANCEL
+                || !state(slot).canTransitionTo(OrderState.PENDING_CANCEL)) {
+            return false;
+        }
+        setState(slot, OrderState.PENDING_CANCEL);
+        return true;
+    }
+
+    /**
+     * The order was cancelled, on request or unsolicited by the venue.
+     * Returns false if the order is unknown or already closed.
+     */
+    public synchronized boolean onCancelled(long orderId) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || !state(slot).canTransitionTo(OrderState.CANCELLED)) {
+            return false;
+        }
+        close(slot, OrderState.CANCELLED);
+        return true;
+    }
+
+    /**
+     * Applies a (possibly partial) fill, closing the order as FILLED once its size is reached. A fill on
+     * an order with a pending amend or cancel keeps the request pending.
+     * Returns false if the order is unknown or already closed, or the fill size is not positive.
+     */
+    public synchronized boolean onFill(long orderId, long fillSize) {
+        int slot = index.get(orderId);
+        if (slot == LongIntHashMap.MISSING || fillSize <= 0 || !state(slot).isOpen()) {
+            return false;
+        }
+        addWorking(slot, -1.0);
+        filledSizes[slot] = Math.min(sizes[slot], filledSizes[slot] + fillSize);
+        addWorking(slot, 1.0);
+        if (filledSizes[slot] == sizes[slot]) {
+            close(slot, OrderState.FILLED);
+        } else if (state(slot) == OrderState.PENDING_NEW || state(slot) == OrderState.NEW) {
+            setState(slot, OrderState.PARTIALLY_FILLED);
+        }
+        return true;
+    }
+
+    /**
+     * State of an order, or null if it is unknown or was evicted after closing
+     */
+    public synchronized OrderState getState(long orderId) {
+        int slot = index.get(orderId);
+        return slot == LongIntHashMap.MISSING ? null : state(slot);
+    }
+
+    /**
+     * The order as submitted, or null if it is unknown or was evicted after closing
+     */
+    public synchronized Order getOrder(long orderId) {
+        int slot = index.get(orderId);
+        return slot == LongIntHashMap.MISSING ? null : orders[slot];
+    }
+
+    /**
+     * Working price of an order including applied amends, or -1 if it is unknown
+     */
+    public synchronized long getPriceTicks(long orderId) {
+        int slot = index.get(orderId);
+        return slot == LongIntHashMap.MISSING ? -1 : priceTicks[slot];
+    }
+
+    /**
+     * Working size of an order including applied amends, or 0 if it is unknown
+     */
+    public synchronized long getSize(long orderId) {
+        int slot = index.get(orderId);
+        return slot == LongIntHashMap.MISSING ? 0 : sizes[slot];
+    }
+
+    /**
+     * Size filled so far, or 0 if the order is unknown
+     */
+    public synchronized long getFilledSize(long orderId) {
+        int slot = index.get(orderId);
+        return slot == LongIntHashMap.MISSING ? 0 : filledSizes[slot];
+    }
+
+    /**
+     * Visits every open order, oldest first
+     */
+    public synchronized void forEachOpen(OrderVisitor visitor) {
+        int slot = openHead;
+        while (slot != NONE) {
+            // The visitor may close the order, unlinking it
+            int nextSlot = next[slot];
+            visit(slot, visitor);
+            slot = nextSlot;
+        }
+    }
+
+    /**
+     * Copies the ids of the open orders, oldest first, into the array; returns how many it copied, at
+     * most the array's length. Lets callers act on the orders after the table's lock is released.
+     */
+    public synchronized int copyOpenOrderIds(long[] orderIds) {
+        int count = 0;
+        for (int slot = openHead; slot != NONE && count < orderIds.length; slot = next[slot]) {
+            orderIds[count++] = orders[slot].getOrderId();
+        }
+        return count;
+    }
+
+    /**
+     * Visits each open order whose expiry deadline is at or before the given System.nanoTime() value,
+     * once; the visitor would normally cancel it. Costs O(1) per expired order rather than a scan.
+     */
+    public synchronized void forEachExpired(long nowNanos, OrderVisitor visitor) {
+        int slot;
+        while ((slot = expiries.poll(nowNanos)) != TimingWheel.NONE) {
+            visit(slot, visitor);
+        }
+    }
+
+    /**
+     * Visits every open order on a symbol, oldest first
+     */
+    public synchronized void forEachOpen(int symbolId, OrderVisitor visitor) {
+        int slot = symbolHeads[symbolId];
+        while (slot != NONE) {
+            // The visitor may close the order, unlinking it
+            int nextSlot = symbolNext[slot];
+            visit(slot, visitor);
+            slot = nextSlot;
+        }
+    }
+
+    /**
+     * Visits every order in a state: open ones oldest first, or the retained closed ones oldest first
+     */
+    public synchronized void forEach(OrderState state, OrderVisitor visitor) {
+        byte ordinal = (byte) state.ordinal();
+        if (state.isOpen()) {
+            int slot = openHead;
+            while (slot != NONE) {
+                int nextSlot = next[slot];
+                if (states[slot] == ordinal) {
+                    visit(slot, visitor);
+                }
+                slot = nextSlot;
+            }
+        } else {
+            for (int i = 0; i < closedCount; i++) {
+                int slot = closedSlots[(closedStart + i) % closedSlots.length];
+                if (states[slot] == ordinal) {
+                    visit(slot, visitor);
+                }
+            }
+        }
+    }
+
+    public synchronized int getOpenCount() {
+        return openCount;
+    }
+
+    public synchronized int getOpenCount(int symbolId) {
+        return symbolOpenCounts[symbolId];
+    }
+
+    /**
+     * Counts an order that is held back before being sent (by the order throttle) as working on its
+     * symbol, until {@link #releaseHold} is called for it. Held orders are not otherwise in the table.
+     */
+    public synchronized void hold(Order order) {
+        symbolHeldCounts[order.getSymbolId()]++;
+        addWorking(order, order.getPriceTicks(), order.getSize(), 1.0);
+    }
+
+    /**
+     * Stops counting a held order, before it is sent or once it is dropped
+     */
+    public synchronized void releaseHold(Order order) {
+        int symbolId = order.getSymbolId();
+        symbolHeldCounts[symbolId]--;
+        addWorking(order, order.getPriceTicks(), order.getSize(), -1.0);
+        clearWorkingIfIdle(symbolId);
+    }
+
+    /**
+     * Open orders on a symbol plus those held back before sending
+     */
+    public synchronized int getWorkingCount(int symbolId) {
+        return symbolOpenCounts[symbolId] + symbolHeldCounts[symbolId];
+    }
+
+    /**
+     * Unfilled value, at their working prices, of a symbol's open and held orders on one side
+     */
+    public synchronized double getWorkingNotional(int symbolId, OrderType side) {
+        return side == OrderType.BUY ? workingBuyNotional[symbolId] : workingSellNotional[symbolId];
+    }
+
+    /**
+     * Open orders plus the retained closed ones
+     */
+    public synchronized int size() {
+        return openCount + closedCount;
+    }
+
+    public int getMaxOpenOrders() {
+        return maxOpenOrders;
+    }
+
+    public int getMaxSymbols() {
+        return maxSymbols;
+    }
+
+    private void visit(int slot, OrderVisitor visitor) {
+        visitor.visit(orders[slot], state(slot), priceTicks[slot], sizes[slot], filledSizes[slot]);
+    }
+
+    private OrderState state(int slot) {
+        return OrderState.fromOrdinal(states[slot]);
+    }
+
+    private void setState(int slot, OrderState state) {
+        states[slot] = (byte) state.ordinal();
+    }
+
+    /**
+     * State an order returns to once a pending request is resolved
+     */
+    private OrderState workingState(int slot) {
+        return filledSizes[slot] > 0 ? OrderState.PARTIALLY_FILLED : OrderState.NEW;
+    }
+
+    /**
+     * Moves an order to a terminal state and from the open list to the closed ring, evicting the oldest
+     * closed order if the ring is full
+     */
+    private void close(int slot, OrderState terminalState) {
+        setState(slot, terminalState);
+        addWorking(slot, -1.0);
+        unlinkOpen(slot);
+        clearWorkingIfIdle(orders[slot].getSymbolId());
+        expiries.cancel(slot);
+
+        if (closedSlots.length == 0) {
+            release(slot);
+            return;
+        }
+        if (closedCount == closedSlots.length) {
+            release(closedSlots[closedStart]);
+            closedStart = (closedStart + 1) % closedSlots.length;
+            closedCount--;
+        }
+        closedSlots[(closedStart + closedCount) % closedSlots.length] = slot;
+        closedCount++;
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) an open order's unfilled value from its side's working sum
+     */
+    private void addWorking(int slot, double sign) {
+        addWorking(orders[slot], priceTicks[slot], sizes[slot] - filledSizes[slot], sign);
+    }
+
+    private void addWorking(Order order, long priceTicks, long unfilledSize, double sign) {
+        double notional = sign * order.getInstrument().notional(priceTicks, unfilledSize);
+        if (order.getType() == OrderType.BUY) {
+            workingBuyNotional[order.getSymbolId()] += notional;
+        } else {
+            workingSellNotional[order.getSymbolId()] += notional;
+        }
+    }
+
+    /**
+     * Clears any rounding drift in a symbol's working sums once nothing is left working on it
+     */
+    private void clearWorkingIfIdle(int symbolId) {
+        if (symbolOpenCounts[symbolId] == 0 && symbolHeldCounts[symbolId] == 0) {
+            workingBuyNotional[symbolId] = 0.0;
+            workingSellNotional[symbolId] = 0.0;
+        }
+    }
+
+    private void release(int slot) {
+        index.remove(orders[slot].getOrderId());
+        orders[slot] = null;
+        next[slot] = freeSlot;
+        freeSlot = slot;
+    }
+
+    private void linkOpen(int slot) {
+        int symbolId = orders[slot].getSymbolId();
+        symbolPrev[slot] = symbolTails[symbolId];
+        symbolNext[slot] = NONE;
+        if (symbolTails[symbolId] == NONE) {
+            symbolHeads[symbolId] = slot;
+        } else {
+            symbolNext[symbolTails[symbolId]] = slot;
+        }
+        symbolTails[symbolId] = slot;
+        symbolOpenCounts[symbolId]++;
+
+        prev[slot] = openTail;
+        next[slot] = NONE;
+        if (openTail == NONE) {
+            openHead = slot;
+        } else {
+            next[openTail] = slot;
+        }
+        openTail = slot;
+        openCount++;
+    }
+
+    private void unlinkOpen(int slot) {
+        int symbolId = orders[slot].getSymbolId();
+        if (symbolPrev[slot] == NONE) {
+            symbolHeads[symbolId] = symbolNext[slot];
+        } else {
+            symbolNext[symbolPrev[slot]] = symbolNext[slot];
+        }
+        if (symbolNext[slot] == NONE) {
+            symbolTails[symbolId] = symbolPrev[slot];
+        } else {
+            symbolPrev[symbolNext[slot]] = symbolPrev[slot];
+        }
+        symbolOpenCounts[symbolId]--;
+
+        if (prev[slot] == NONE) {
+            openHead = next[slot];
+        } else {
+            next[prev[slot]] = next[slot];
+        }
+        if (next[slot] == NONE) {
+            openTail = prev[slot];
+        } else {
+            prev[next[slot]] = prev[slot];
+        }
+        openCount--;
+    }
+}
@@ -0,0 +1,257 @@
+package com.trading.hft_application.core.execution;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets bounding the rate of order messages per symbol, per order source and globally, shared
+ * by every thread sending orders without locks. Each bucket is one long, the time its tokens run out
+ * (the generic cell rate form of a token bucket): taking a token is a single CAS advancing that time by
+ * the bucket's interval, refused if it would run more than the burst ahead of now. A message takes a
+ * token from each of its buckets, most specific first, and returns the ones it took if a later bucket is
+ * empty. Risk orders count only against their own source bucket, capacity reserved outside the symbol and
+ * global buckets, so a strategy that has used up those buckets cannot hold back position reductions.
+ * <p>
+ * A rate of 0 leaves a bucket unlimited, which costs no CAS. The shared buckets sit on their own cache
+ * lines; a symbol's bucket is rarely touched by more than one thread at a time.
+ */
+public class OrderThrottle {
+    private static final VarHandle CLOCK = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Longs per shared bucket: a cache line each, plus one line of padding in front
+    private static final int STRIDE = 8;
+    private static final int GLOBAL = 0;
+    private static final int SOURCES = 1;
+
+    private final long[] sharedClocks;
+    private final long[] sharedIntervals;
+    private final long[] sharedTolerances;
+    private final long[] symbolClocks;
+    private volatile long symbolInterval;
+    private volatile long symbolTolerance;
+
+    private volatile ThrottlePolicy submitPolicy = ThrottlePolicy.REJECT;
+    private volatile ThrottlePolicy amendPolicy = ThrottlePolicy.REJECT;
+
+    private final LongAdder[] limited = new LongAdder[Bucket.values().length];
+
+    /**
+     * Creates a throttle with every bucket unlimited
+     */
+    public OrderThrottle(int maxSymbols) {
+        int sharedBuckets = SOURCES + OrderSource.values().length;
+        this.sharedClocks = new long[(1 + sharedBuckets) * STRIDE];
+        this.sharedIntervals = new long[sharedBuckets];
+        this.sharedTolerances = new long[sharedBuckets];
+        this.symbolClocks = new long[maxSymbols];
+        for (int i = 0; i < limited.length; i++) {
+            limited[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Limits all order messages to a rate per second, allowing bursts of up to the given count
+     */
+    public void setGlobalRate(double perSecond, int burst) {
+        setSharedRate(GLOBAL, perSecond, burst);
+    }
+
+    /**
+     * Limits messages for orders from a source, such as the strategy, to a rate per second
+     */
+    public void setSourceRate(OrderSource source, double perSecond, int burst) {
+        setSharedRate(SOURCES + source.getCode(), perSecond, burst);
+    }
+
+    /**
+     * Limits the messages for each symbol's orders to a rate per second, every symbol with its own bucket
+     */
+    public void setSymbolRate(double perSecond, int burst) {
+        long interval = intervalOf(perSecond);
+        long now = System.nanoTime();
+        for (int symbolId = 0; symbolId < symbolClocks.length; symbolId++) {
+            CLOCK.setVolatile(symbolClocks, symbolId, now);
+        }
+        symbolTolerance = toleranceOf(interval, burst);
+        symbolInterval = interval;
+    }
+
+    private void setSharedRate(int bucket, double perSecond, int burst) {
+        long interval = intervalOf(perSecond);
+        CLOCK.setVolatile(sharedClocks, slotOf(bucket), System.nanoTime());
+        sharedTolerances[bucket] = toleranceOf(interval, burst);
+        sharedIntervals[bucket] = interval;
+    }
+
+    private static long intervalOf(double perSecond) {
+        if (perSecond < 0.0) {
+            throw new IllegalArgumentException("Rate must not be negative: " + perSecond);
+        }
+        return perSecond == 0.0 ? 0 : Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / perSecond));
+    }
+
+    private static long toleranceOf(long interval, int burst) {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+        return interval * (burst - 1);
+    }
+
+    public int getMaxSymbols() {
+        return symbolClocks.length;
+    }
+
+    private static int slotOf(int bucket) {
+        return (1 + bucket) * STRIDE;
+    }
+
+    /**
+     * Takes a token for a message on a symbol's order from each bucket it counts against. Returns false,
+     * taking none, if any of them is empty. Safe to call from any thread; it does not allocate.
+     */
+    public boolean tryAcquire(int symbolId, OrderSource source, long nowNanos) {
+        int sourceBucket = SOURCES + source.getCode();
+        if (source == OrderSource.RISK) {
+            if (!acquire(sharedClocks, slotOf(sourceBucket), sharedIntervals[sourceBucket],
+                    sharedTolerances[sourceBucket], nowNanos)) {
+                limited[Bucket.SOURCE.ordinal()].increment();
+                return false;
+            }
+            return true;
+        }
+        long perSymbol = symbolInterval;
+        if (!acquire(symbolClocks, symbolId, perSymbol, symbolTolerance, nowNanos)) {
+            limited[Bucket.SYMBOL.ordinal()].increment();
+            return false;
+        }
+        if (!acquire(sharedClocks, slotOf(sourceBucket), sharedIntervals[sourceBucket],
+                sharedTolerances[sourceBucket], nowNanos)) {
+            release(symbolClocks, symbolId, perSymbol);
+            limited[Bucket.SOURCE.ordinal()].increment();
+            return false;
+        }
+        if (!acquire(sharedClocks, slotOf(GLOBAL), sharedIntervals[GLOBAL], sharedTolerances[GLOBAL], nowNanos)) {
+            release(sharedClocks, slotOf(sourceBucket), sharedIntervals[sourceBucket]);
+            release(symbolClocks, symbolId, perSymbol);
+            limited[Bucket.GLOBAL.ordinal()].increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hands back the tokens a successful {@link #tryAcquire} took, for a message that was not sent after all.
+     */
+    public void release(int symbolId, OrderSource source) {
+        int sourceBucket = SOURCES + source.getCode();
+        release(sharedClocks, slotOf(sourceBucket), sharedIntervals[sourceBucket]);
+        if (source == OrderSource.RISK) {
+            return;
+        }
+        release(symbolClocks, symbolId, symbolInterval);
+        release(sharedClocks, slotOf(GLOBAL), sharedIntervals[GLOBAL]);
+    }
+
+    private static boolean acquire(long[] clocks, int index, long interval, long tolerance, long nowNanos) {
+        if (interval == 0) {
+            return true;
+        }
+        while (true) {
+            long clock = (long) CLOCK.getVolatile(clocks, index);
+            // Tokens that accrued while the bucket was idle are capped at the burst
+            long start = clock - nowNanos > 0 ? clock : nowNanos;
+            if (start - nowNanos > tolerance) {
+                return false;
+            }
+            if (CLOCK.compareAndSet(clocks, index, clock, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    private static void release(long[] clocks, int index, long interval) {
+        if (interval != 0) {
+            CLOCK.getAndAdd(clocks, index, -interval);
+        }
+    }
+
+    /**
+     * Tokens left in the global bucket, or -1 if it is unlimited
+     */
+    public long getAvailableTokens(long nowNanos) {
+        return available(sharedClocks, slotOf(GLOBAL), sharedIntervals[GLOBAL], sharedTolerances[GLOBAL], nowNanos);
+    }
+
+    /**
+     * Tokens left in a source's bucket, or -1 if it is unlimited
+     */
+    public long getAvailableTokens(OrderSource source, long nowNanos) {
+        int bucket = SOURCES + source.getCode();
+        return available(sharedClocks, slotOf(bucket), sharedIntervals[bucket], sharedTolerances[bucket], nowNanos);
+    }
+
+    private static long available(long[] clocks, int index, long interval, long tolerance, long nowNanos) {
+        if (interval == 0) {
+            return -1;
+        }
+        long ahead = Math.max(0, (long) CLOCK.getVolatile(clocks, index) - nowNanos);
+        return ahead > tolerance ? 0 : (tolerance - ahead) / interval + 1;
+    }
+
+    /**
+     * Messages refused because the bucket was empty
+     */
+    public long getLimitedCount(Bucket bucket) {
+        return limited[bucket.ordinal()].sum();
+    }
+
+    public ThrottlePolicy getSubmitPolicy() {
+        return submitPolicy;
+    }
+
+    /**
+     * Sets what happens to a new order without a token: REJECT or QUEUE
+     */
+    public void setSubmitPolicy(ThrottlePolicy policy) {
+        if (policy == ThrottlePolicy.COALESCE) {
+            throw new IllegalArgumentException("New orders cannot be coalesced");
+        }
+        submitPolicy = policy;
+    }
+
+    public ThrottlePolicy getAmendPolicy() {
+        return amendPolicy;
+    }
+
+    /**
+     * Sets what happens to an amend without a token: REJECT or COALESCE. A queued amend would be stale
+     * by the time it was sent, so amends are not queued.
+     */
+    public void setAmendPolicy(ThrottlePolicy policy) {
+        if (policy == ThrottlePolicy.QUEUE) {
+            throw new IllegalArgumentException("Amends cannot be queued");
+        }
+        amendPolicy = policy;
+    }
+
+    /**
+     * Buckets a message can find empty, for metrics
+     */
+    public enum Bucket {
+        SYMBOL("symbol"),
+        SOURCE("source"),
+        GLOBAL("global");
+
+        private final String metricName;
+
+        Bucket(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.core.marketdata.Sequence;
+import com.trading.hft_application.core.marketdata.SymbolChangeQueue;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderType;
+import com.trading.hft_application.model.Position;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies fills to positions and realized P&L away from the venue's report thread. Symbols are split
+ * across shards by id; each shard has a preallocated fill queue and a thread that is the only writer of
+ * its symbols' positions, so positions change without locks and a symbol's fills are applied in the order
+ * they were reported. Other threads read positions consistently through their seqlocks.
+ * <p>
+ * Mark price changes of symbols with a position are handed to the owning shard as well, so everything
+ * derived from a position and its mark is written by one thread. Marks conflate: a shard sees the latest
+ * mark of a symbol, not every one.
+ * <p>
+ * Queuing a fill waits for capacity rather than dropping it, and neither queuing nor applying a fill
+ * allocates once a symbol's position exists.
+ */
+public class PositionKeeper {
+    public static final int DEFAULT_SHARD_COUNT = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16384;
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle POSITIONS = MethodHandles.arrayElementVarHandle(Position[].class);
+    private static final VarHandle MARKS = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long IDLE_PARK_NANOS = 1_000;
+
+    private final Position[] positions;
+    private final PositionListener listener;
+    private final double[] markTicks;
+    private final Shard[] shards;
+    private final LongAdder appliedFills = new LongAdder();
+
+    private volatile boolean running = false;
+
+    /**
+     * @param positions positions indexed by symbol id, created here on a symbol's first fill
+     * @param listener  told of every fill and mark change, on the shard threads
+     */
+    public PositionKeeper(Position[] positions, int shardCount, int queueCapacity, PositionListener listener) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        if (queueCapacity <= 0 || Integer.bitCount(queueCapacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of 2: " + queueCapacity);
+        }
+        this.positions = positions;
+        this.listener = listener;
+        this.markTicks = new double[positions.length];
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.thread = new Thread(shard, "position-shard-" + shard.index);
+            shard.thread.setDaemon(true);
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Stops once the fills already queued have been applied
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queues a fill for the shard owning the symbol, waiting for capacity if the shard is behind.
+     * Safe to call from any thread. A fill queued while stopped is applied on the next start.
+     */
+    public void onFill(long orderId, int symbolId, InstrumentSpec instrument, OrderType side, long priceTicks,
+                       long size) {
+        shards[shardOf(symbolId)].publish(orderId, symbolId, instrument, side == OrderType.SELL ? -size : size, priceTicks);
+    }
+
+    /**
+     * Records a symbol's new mark price, handing it to the owning shard if the symbol has a position.
+     * Market data thread only; it does not allocate.
+     */
+    public void onMark(int symbolId, double priceTicks) {
+        // Volatile on both sides, so a symbol's first fill either sees this mark or its position is seen here
+        MARKS.setVolatile(markTicks, symbolId, priceTicks);
+        if (POSITIONS.getVolatile(positions, symbolId) != null) {
+            shards[shardOf(symbolId)].markChanges.offer(symbolId);
+        }
+    }
+
+    /**
+     * Latest mark price of a symbol in ticks, 0 before its first
+     */
+    public double getMarkTicks(int symbolId) {
+        return (double) MARKS.getAcquire(markTicks, symbolId);
+    }
+
+    /**
+     * Shard owning a symbol's position
+     */
+    public int shardOf(int symbolId) {
+        return symbolId % shards.length;
+    }
+
+    /**
+     * Applies a fill on the shard's thread, the position's only writer
+     */
+    private void apply(int shard, long orderId, int symbolId, InstrumentSpec instrument, long signedSize,
+                       long priceTicks) {
+        Position position = positions[symbolId];
+        if (position == null) {
+            position = new Position(instrument, 0, 0.0);
+            POSITIONS.setVolatile(positions, symbolId, position);
+        }
+        position.updatePosition(signedSize, priceTicks);
+        appliedFills.increment();
+        listener.onFill(shard, symbolId, orderId, position, (double) MARKS.getVolatile(markTicks, symbolId));
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Fills applied to positions so far
+     */
+    public long getAppliedFillCount() {
+        return appliedFills.sum();
+    }
+
+    /**
+     * Fills queued but not yet applied, across all shards
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Shard shard : shards) {
+            backlog += shard.cursor.get() - shard.consumed.get();
+        }
+        return backlog;
+    }
+
+    /**
+     * Told of position changes on the owning shard's thread, the only thread that changes the symbol's
+     * position; {@link Position#getLastTradeProfit()} is the profit a fill realized
+     */
+    public interface PositionListener {
+        void onFill(int shard, int symbolId, long orderId, Position position, double markTicks);
+
+        void onMark(int shard, int symbolId, Position position, double markTicks);
+    }
+
+    /**
+     * A shard's fill queue: producers claim a sequence with a CAS on the cursor and mark the slot published
+     * with it; the shard thread consumes in sequence order
+     */
+    private final class Shard implements Runnable {
+        private final int index;
+        private final int mask;
+        private final long[] orderIds;
+        private final int[] symbolIds;
+        private final InstrumentSpec[] instruments;
+        private final long[] sizes;
+        private final long[] prices;
+        private final long[] published;
+        private final Sequence cursor = new Sequence(0);
+        private final Sequence consumed = new Sequence(0);
+        private final SymbolChangeQueue markChanges = new SymbolChangeQueue(positions.length);
+        private Thread thread;
+
+        private Shard(int index, int capacity) {
+            this.index = index;
+            this.mask = capacity - 1;
+            this.orderIds = new long[capacity];
+            this.symbolIds = new int[capacity];
+            this.instruments = new InstrumentSpec[capacity];
+            this.sizes = new long[capacity];
+            this.prices = new long[capacity];
+            this.published = new long[capacity];
+            for (int i = 0; i < capacity; i++) {
+                published[i] = -1;
+            }
+        }
+
+        private void publish(long orderId, int symbolId, InstrumentSpec instrument, long signedSize, long priceTicks) {
+            long sequence;
+            while (true) {
+                sequence = cursor.get();
+                if (sequence - consumed.get() > mask) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else if (cursor.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            }
+
+            int slot = (int) sequence & mask;
+            orderIds[slot] = orderId;
+            symbolIds[slot] = symbolId;
+            instruments[slot] = instrument;
+            sizes[slot] = signedSize;
+            prices[slot] = priceTicks;
+            PUBLISHED.setRelease(published, slot, sequence);
+        }
+
+        @Override
+        public void run() {
+            long next = consumed.get();
+            int idle = 0;
+            int symbolId;
+            while (true) {
+                int slot = (int) next & mask;
+                if ((long) PUBLISHED.getAcquire(published, slot) == next) {
+                    try {
+                        apply(index, orderIds[slot], symbolIds[slot], instruments[slot], sizes[slot], prices[slot]);
+                    } catch (Exception e) {
+                        System.err.println("Error applying fill: " + e.getMessage());
+                    }
+                    next++;
+                    consumed.set(next);
+                    idle = 0;
+                } else if ((symbolId = markChanges.poll()) != SymbolChangeQueue.NONE) {
+                    try {
+                        listener.onMark(index, symbolId, positions[symbolId], getMarkTicks(symbolId));
+                    } catch (Exception e) {
+                        System.err.println("Error applying mark: " + e.getMessage());
+                    }
+                    idle = 0;
+                } else if (!running && next == cursor.get()) {
+                    break;
+                } else if (idle < SPIN_TRIES) {
+                    idle++;
+                    Thread.onSpinWait();
+                } else if (idle < YIELD_TRIES) {
+                    idle++;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.trading.hft_application.core.execution;
+
+/**
+ * What became of a new order handed to the order manager
+ */
+public enum SubmitResult {
+    /**
+     * Sent to the venue and tracked in the order table
+     */
+    SENT,
+    /**
+     * Held back by the throttle, to be sent once a token is available or dropped if it waits too long
+     */
+    QUEUED,
+    /**
+     * Not sent, refused by the throttle or the order table
+     */
+    REJECTED
+}
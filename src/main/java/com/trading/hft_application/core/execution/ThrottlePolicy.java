@@ -0,0 +1,36 @@
+package com.trading.hft_application.core.execution;
+
+/**
+ * What the order manager does with a request when the order throttle has no token for it
+ */
+public enum ThrottlePolicy {
+    /**
+     * Drop the request
+     */
+    REJECT,
+    /**
+     * Hold new orders in a bounded queue, sent in order as tokens come back
+     */
+    QUEUE,
+    /**
+     * Drop the amend but revisit the symbol's orders on the next pass, so the amends a burst would have
+     * sent collapse into one at the latest price
+     */
+    COALESCE;
+
+    /**
+     * Resolves a policy from its configuration name
+     */
+    public static ThrottlePolicy fromName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "reject":
+                return REJECT;
+            case "queue":
+                return QUEUE;
+            case "coalesce":
+                return COALESCE;
+            default:
+                throw new IllegalArgumentException("Unknown throttle policy: " + name);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.core.marketdata.Sequence;
+import com.trading.hft_application.model.Order;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Bounded queue of new orders held back by the order throttle, offered by any thread sending orders and
+ * drained in order by the order manager thread. Producers claim a slot with a CAS on the cursor and mark
+ * it published with its sequence, as the position keeper's fill queues do; a full queue refuses the order
+ * instead of waiting. Neither side allocates.
+ */
+public class ThrottledOrderQueue {
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int mask;
+    private final Order[] orders;
+    private final long[] queuedNanos;
+    private final long[] published;
+    private final Sequence cursor = new Sequence(0);
+    private final Sequence consumed = new Sequence(0);
+
+    public ThrottledOrderQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of 2: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.orders = new Order[capacity];
+        this.queuedNanos = new long[capacity];
+        this.published = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            published[i] = -1;
+        }
+    }
+
+    /**
+     * Queues an order, returning false if the queue is full. Safe to call from any thread.
+     */
+    public boolean offer(Order order, long nowNanos) {
+        long sequence;
+        do {
+            sequence = cursor.get();
+            if (sequence - consumed.get() > mask) {
+                return false;
+            }
+        } while (!cursor.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        orders[slot] = order;
+        queuedNanos[slot] = nowNanos;
+        PUBLISHED.setRelease(published, slot, sequence);
+        return true;
+    }
+
+    /**
+     * Oldest queued order, or null if there is none or it is still being published. Consumer thread only.
+     */
+    public Order peek() {
+        long next = consumed.get();
+        int slot = (int) next & mask;
+        return (long) PUBLISHED.getAcquire(published, slot) == next ? orders[slot] : null;
+    }
+
+    /**
+     * When the order returned by peek was queued. Consumer thread only.
+     */
+    public long peekQueuedNanos() {
+        return queuedNanos[(int) consumed.get() & mask];
+    }
+
+    /**
+     * Removes the order returned by peek. Consumer thread only.
+     */
+    public void remove() {
+        long next = consumed.get();
+        orders[(int) next & mask] = null;
+        consumed.set(next + 1);
+    }
+
+    /**
+     * Orders queued and not yet removed
+     */
+    public int size() {
+        return (int) (cursor.get() - consumed.get());
+    }
+}
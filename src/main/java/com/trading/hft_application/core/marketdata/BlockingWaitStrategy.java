@@ -0,0 +1,52 @@
+package com.trading.hft_application.core.marketdata;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Parks consumers on a condition until a producer publishes - lowest CPU usage, highest latency
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private final Lock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+
+    @Override
+    public long waitFor(long sequence, SequenceBarrier barrier) {
+        if (barrier.getCursorSequence() < sequence) {
+            lock.lock();
+            try {
+                while (barrier.getCursorSequence() < sequence && !barrier.isAlerted()) {
+                    // Timed wait guards against a publish racing ahead of the await
+                    published.await(1, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                barrier.alert();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Upstream consumers run close behind the cursor, so spin on them
+        long available;
+        while ((available = barrier.getDependentSequence()) < sequence) {
+            if (barrier.isAlerted()) {
+                return available;
+            }
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Spins on the dependent sequence - lowest latency, burns a full core per consumer
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(long sequence, SequenceBarrier barrier) {
+        long available;
+        while ((available = barrier.getDependentSequence()) < sequence) {
+            if (barrier.isAlerted()) {
+                return available;
+            }
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
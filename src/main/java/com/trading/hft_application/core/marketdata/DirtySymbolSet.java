@@ -0,0 +1,46 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Set of symbol ids changed since the last drain, kept as a flag array plus an insertion-ordered id list.
+ * Marking and draining are O(1) per symbol and allocation-free. Not thread-safe: owned by one stage.
+ */
+public class DirtySymbolSet {
+    private final boolean[] dirty;
+    private final int[] symbolIds;
+    private int size = 0;
+
+    public DirtySymbolSet(int maxSymbols) {
+        this.dirty = new boolean[maxSymbols];
+        this.symbolIds = new int[maxSymbols];
+    }
+
+    /**
+     * Marks a symbol as changed. Returns false if it was already marked, i.e. the update was conflated.
+     */
+    public boolean mark(int symbolId) {
+        if (dirty[symbolId]) {
+            return false;
+        }
+        dirty[symbolId] = true;
+        symbolIds[size++] = symbolId;
+        return true;
+    }
+
+    /**
+     * Returns the i-th marked symbol id, in the order symbols were first marked
+     */
+    public int get(int i) {
+        return symbolIds[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            dirty[symbolIds[i]] = false;
+        }
+        size = 0;
+    }
+}
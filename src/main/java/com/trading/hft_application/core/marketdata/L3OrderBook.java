@@ -0,0 +1,357 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.core.util.LongIntHashMap;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+
+import java.util.Arrays;
+
+/**
+ * Order-by-order (L3) book rebuilt from add/modify/cancel/execute messages keyed by exchange order id.
+ * Orders live in preallocated slots and are chained into an intrusive FIFO list per price level, so every
+ * message is O(1) apart from the aggregated level update it publishes into the wrapped {@link OrderBook}.
+ * Consumers of the L2 book and its top-of-book getters keep working unchanged. Prices are in ticks and
+ * sizes in lots. Single-writer.
+ */
+public class L3OrderBook {
+    private static final int NONE = -1;
+
+    private final OrderBook book;
+    private final int maxOrders;
+    private final int maxLevels;
+
+    // Order slots
+    private final long[] orderIds;
+    private final long[] orderPrices;
+    private final long[] orderSizes;
+    private final int[] orderLevels;
+    private final int[] orderPrev;
+    private final int[] orderNext;
+    private int freeOrder;
+    private int orderCount = 0;
+
+    // Level slots
+    private final long[] levelPrices;
+    private final boolean[] levelBidSide;
+    private final long[] levelSizes;
+    private final int[] levelOrderCounts;
+    private final int[] levelHead;
+    private final int[] levelTail;
+    private final int[] levelNextFree;
+    private int freeLevel;
+
+    private final LongIntHashMap orderIndex;
+    private final LongIntHashMap levelIndex;
+
+    public L3OrderBook(OrderBook book, int maxOrders, int maxLevels) {
+        this.book = book;
+        this.maxOrders = maxOrders;
+        this.maxLevels = maxLevels;
+
+        this.orderIds = new long[maxOrders];
+        this.orderPrices = new long[maxOrders];
+        this.orderSizes = new long[maxOrders];
+        this.orderLevels = new int[maxOrders];
+        this.orderPrev = new int[maxOrders];
+        this.orderNext = new int[maxOrders];
+
+        this.levelPrices = new long[maxLevels];
+        this.levelBidSide = new boolean[maxLevels];
+        this.levelSizes = new long[maxLevels];
+        this.levelOrderCounts = new int[maxLevels];
+        this.levelHead = new int[maxLevels];
+        this.levelTail = new int[maxLevels];
+        this.levelNextFree = new int[maxLevels];
+
+        this.orderIndex = new LongIntHashMap(maxOrders);
+        this.levelIndex = new LongIntHashMap(maxLevels);
+
+        resetFreeLists();
+    }
+
+    /**
+     * Adds a new order at the back of its price level's queue.
+     * Returns false if the order id is already live or the size is not positive.
+     */
+    public boolean add(long orderId, OrderType side, long priceTicks, long size) {
+        if (size <= 0 || orderIndex.containsKey(orderId)) {
+            return false;
+        }
+        if (freeOrder == NONE) {
+            throw new IllegalStateException("L3 book for " + book.getSymbol() + " is full (" + maxOrders + " orders)");
+        }
+
+        int slot = freeOrder;
+        freeOrder = orderNext[slot];
+
+        orderIds[slot] = orderId;
+        orderPrices[slot] = priceTicks;
+        orderSizes[slot] = size;
+        orderIndex.put(orderId, slot);
+        orderCount++;
+
+        enqueue(slot, findOrCreateLevel(side == OrderType.BUY, priceTicks));
+        return true;
+    }
+
+    /**
+     * Changes an order's price and size. A price change or a size increase sends the order to the back
+     * of the queue; a size decrease keeps its priority. A non-positive size cancels it.
+     * Returns false for unknown order ids.
+     */
+    public boolean modify(long orderId, long priceTicks, long size) {
+        int slot = orderIndex.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        if (size <= 0) {
+            removeOrder(slot);
+            return true;
+        }
+
+        int level = orderLevels[slot];
+        if (priceTicks == orderPrices[slot] && size <= orderSizes[slot]) {
+            levelSizes[level] -= orderSizes[slot] - size;
+            orderSizes[slot] = size;
+            publishLevel(level);
+            return true;
+        }
+
+        boolean bidSide = levelBidSide[level];
+        dequeue(slot);
+        orderPrices[slot] = priceTicks;
+        orderSizes[slot] = size;
+        enqueue(slot, findOrCreateLevel(bidSide, priceTicks));
+        return true;
+    }
+
+    /**
+     * Removes an order. Returns false for unknown order ids.
+     */
+    public boolean cancel(long orderId) {
+        int slot = orderIndex.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        removeOrder(slot);
+        return true;
+    }
+
+    /**
+     * Applies a (possibly partial) execution against an order, removing it once fully filled.
+     * Returns false for unknown order ids.
+     */
+    public boolean execute(long orderId, long executedSize) {
+        int slot = orderIndex.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        if (executedSize >= orderSizes[slot]) {
+            removeOrder(slot);
+            return true;
+        }
+
+        int level = orderLevels[slot];
+        orderSizes[slot] -= executedSize;
+        levelSizes[level] -= executedSize;
+        publishLevel(level);
+        return true;
+    }
+
+    /**
+     * Total size queued ahead of an order at its price level, or -1 for unknown order ids
+     */
+    public long getQueueAhead(long orderId) {
+        int slot = orderIndex.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return -1;
+        }
+        long ahead = 0;
+        for (int prev = orderPrev[slot]; prev != NONE; prev = orderPrev[prev]) {
+            ahead += orderSizes[prev];
+        }
+        return ahead;
+    }
+
+    /**
+     * Number of orders queued ahead of an order at its price level, or -1 for unknown order ids
+     */
+    public int getQueuePosition(long orderId) {
+        int slot = orderIndex.get(orderId);
+        if (slot == LongIntHashMap.MISSING) {
+            return -1;
+        }
+        int position = 0;
+        for (int prev = orderPrev[slot]; prev != NONE; prev = orderPrev[prev]) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Number of orders queued at a price, 0 if the level is empty
+     */
+    public int getLevelOrderCount(OrderType side, long priceTicks) {
+        int level = levelIndex.get(levelKey(side == OrderType.BUY, priceTicks));
+        return level == LongIntHashMap.MISSING ? 0 : levelOrderCounts[level];
+    }
+
+    /**
+     * Id of the order at the front of a price level's queue, or -1 if the level is empty
+     */
+    public long getFirstOrderId(OrderType side, long priceTicks) {
+        int level = levelIndex.get(levelKey(side == OrderType.BUY, priceTicks));
+        return level == LongIntHashMap.MISSING ? -1 : orderIds[levelHead[level]];
+    }
+
+    public boolean contains(long orderId) {
+        return orderIndex.containsKey(orderId);
+    }
+
+    /**
+     * Remaining size of an order, or 0 for unknown order ids
+     */
+    public long getOrderSize(long orderId) {
+        int slot = orderIndex.get(orderId);
+        return slot == LongIntHashMap.MISSING ? 0 : orderSizes[slot];
+    }
+
+    /**
+     * Price of an order in ticks, or -1 for unknown order ids
+     */
+    public long getOrderPriceTicks(long orderId) {
+        int slot = orderIndex.get(orderId);
+        return slot == LongIntHashMap.MISSING ? -1 : orderPrices[slot];
+    }
+
+    /**
+     * Removes every order and level, e.g. before replaying a snapshot
+     */
+    public void clear() {
+        orderIndex.clear();
+        levelIndex.clear();
+        orderCount = 0;
+        resetFreeLists();
+        book.clear();
+    }
+
+    /**
+     * Aggregated L2 view of this book
+     */
+    public OrderBook getBook() {
+        return book;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public int getLevelCount() {
+        return levelIndex.size();
+    }
+
+    private void removeOrder(int slot) {
+        orderIndex.remove(orderIds[slot]);
+        dequeue(slot);
+        orderNext[slot] = freeOrder;
+        freeOrder = slot;
+        orderCount--;
+    }
+
+    /**
+     * Appends an order to the tail of a level's FIFO and publishes the level
+     */
+    private void enqueue(int slot, int level) {
+        int tail = levelTail[level];
+        orderLevels[slot] = level;
+        orderPrev[slot] = tail;
+        orderNext[slot] = NONE;
+        if (tail == NONE) {
+            levelHead[level] = slot;
+        } else {
+            orderNext[tail] = slot;
+        }
+        levelTail[level] = slot;
+        levelSizes[level] += orderSizes[slot];
+        levelOrderCounts[level]++;
+        publishLevel(level);
+    }
+
+    /**
+     * Unlinks an order from its level's FIFO, releasing the level once it is empty
+     */
+    private void dequeue(int slot) {
+        int level = orderLevels[slot];
+        int prev = orderPrev[slot];
+        int next = orderNext[slot];
+        if (prev == NONE) {
+            levelHead[level] = next;
+        } else {
+            orderNext[prev] = next;
+        }
+        if (next == NONE) {
+            levelTail[level] = prev;
+        } else {
+            orderPrev[next] = prev;
+        }
+
+        levelOrderCounts[level]--;
+        if (levelOrderCounts[level] == 0) {
+            releaseLevel(level);
+        } else {
+            levelSizes[level] -= orderSizes[slot];
+            publishLevel(level);
+        }
+    }
+
+    private int findOrCreateLevel(boolean bidSide, long priceTicks) {
+        long key = levelKey(bidSide, priceTicks);
+        int level = levelIndex.get(key);
+        if (level != LongIntHashMap.MISSING) {
+            return level;
+        }
+        if (freeLevel == NONE) {
+            throw new IllegalStateException("L3 book for " + book.getSymbol() + " is full (" + maxLevels + " levels)");
+        }
+
+        level = freeLevel;
+        freeLevel = levelNextFree[level];
+        levelPrices[level] = priceTicks;
+        levelBidSide[level] = bidSide;
+        levelSizes[level] = 0;
+        levelOrderCounts[level] = 0;
+        levelHead[level] = NONE;
+        levelTail[level] = NONE;
+        levelIndex.put(key, level);
+        return level;
+    }
+
+    private void releaseLevel(int level) {
+        levelIndex.remove(levelKey(levelBidSide[level], levelPrices[level]));
+        book.deleteLevel(levelBidSide[level] ? OrderType.BUY : OrderType.SELL, levelPrices[level]);
+        levelNextFree[level] = freeLevel;
+        freeLevel = level;
+    }
+
+    private void publishLevel(int level) {
+        book.updateLevel(levelBidSide[level] ? OrderType.BUY : OrderType.SELL,
+                levelPrices[level], levelSizes[level], levelOrderCounts[level]);
+    }
+
+    private void resetFreeLists() {
+        for (int i = 0; i < maxOrders; i++) {
+            orderNext[i] = i + 1 < maxOrders ? i + 1 : NONE;
+        }
+        freeOrder = maxOrders > 0 ? 0 : NONE;
+
+        for (int i = 0; i < maxLevels; i++) {
+            levelNextFree[i] = i + 1 < maxLevels ? i + 1 : NONE;
+        }
+        freeLevel = maxLevels > 0 ? 0 : NONE;
+        Arrays.fill(levelOrderCounts, 0);
+    }
+
+    private static long levelKey(boolean bidSide, long priceTicks) {
+        return (priceTicks << 1) | (bidSide ? 1L : 0L);
+    }
+}
@@ -0,0 +1,184 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Incrementally maintained mid-price statistics over a TickHistory window, in ticks.
+ * Every append updates the mean, variance (Welford) and the oldest/most recent sub-window sums
+ * (Kahan compensated) in O(1), so reading them costs nothing regardless of the window size.
+ * Accumulated rounding drift is cleared by an exact recomputation once per window length.
+ * Not thread-safe: read the statistics on the thread appending to the history.
+ */
+public class RollingStatistics {
+    private final int capacity;
+    private final int subWindow;
+
+    private int count = 0;
+    private double mean = 0.0;
+    private double m2 = 0.0;
+
+    private double sum = 0.0;
+    private double sumCompensation = 0.0;
+    private double olderSum = 0.0;
+    private double olderCompensation = 0.0;
+    private double recentSum = 0.0;
+    private double recentCompensation = 0.0;
+
+    private int updatesSinceResync = 0;
+    private boolean resyncPending = false;
+
+    /**
+     * Creates statistics for a window of the given capacity; sub-windows cover 10% of it
+     */
+    public RollingStatistics(int capacity) {
+        this.capacity = capacity;
+        this.subWindow = Math.max(1, capacity / 10);
+    }
+
+    /**
+     * Applies a new mid price to the statistics. Must be called before the value is written
+     * to the history, while the history still holds the entries that leave the windows.
+     */
+    void onAppend(TickHistory history, double mid) {
+        int n = history.size();
+
+        if (n < capacity) {
+            // Growing window: add to the full window and to each sub-window still filling
+            count = n + 1;
+            double delta = mid - mean;
+            mean += delta / count;
+            m2 += delta * (mid - mean);
+
+            addToSum(mid);
+            if (n < subWindow) {
+                addToOlder(mid);
+            }
+            addToRecent(mid);
+            if (n >= subWindow) {
+                addToRecent(-history.getMid(n - subWindow));
+            }
+        } else {
+            // Full window: the oldest entry is evicted as the new one arrives
+            double evicted = history.getMid(0);
+            double oldMean = mean;
+            mean += (mid - evicted) / n;
+            m2 += (mid - evicted) * (mid - mean + evicted - oldMean);
+
+            addToSum(mid - evicted);
+            addToOlder(-evicted);
+            addToOlder(subWindow < n ? history.getMid(subWindow) : mid);
+            addToRecent(mid);
+            addToRecent(-history.getMid(n - subWindow));
+
+            if (++updatesSinceResync >= capacity) {
+                resyncPending = true;
+            }
+        }
+    }
+
+    /**
+     * Recomputes all statistics exactly once the history has been written, if drift correction is due
+     */
+    void afterAppend(TickHistory history) {
+        if (resyncPending) {
+            resync(history);
+        }
+    }
+
+    /**
+     * Recomputes every statistic exactly from the history in O(n)
+     */
+    public void resync(TickHistory history) {
+        int n = history.size();
+        count = n;
+        mean = 0.0;
+        m2 = 0.0;
+        sum = 0.0;
+        sumCompensation = 0.0;
+        olderSum = 0.0;
+        olderCompensation = 0.0;
+        recentSum = 0.0;
+        recentCompensation = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            double mid = history.getMid(i);
+            double delta = mid - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (mid - mean);
+
+            addToSum(mid);
+            if (i < subWindow) {
+                addToOlder(mid);
+            }
+            if (i >= n - subWindow) {
+                addToRecent(mid);
+            }
+        }
+
+        updatesSinceResync = 0;
+        resyncPending = false;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Sample variance of the mid prices in the window
+     */
+    public double getVariance() {
+        return count > 1 ? Math.max(0.0, m2 / (count - 1)) : 0.0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Standard deviation normalized by the mean
+     */
+    public double getVolatility() {
+        return mean != 0 ? getStandardDeviation() / mean : 0.0;
+    }
+
+    /**
+     * Average mid price of the oldest 10% of the window
+     */
+    public double getOlderAverage() {
+        return olderSum / Math.min(count, subWindow);
+    }
+
+    /**
+     * Average mid price of the most recent 10% of the window
+     */
+    public double getRecentAverage() {
+        return recentSum / Math.min(count, subWindow);
+    }
+
+    private void addToSum(double value) {
+        double y = value - sumCompensation;
+        double t = sum + y;
+        sumCompensation = (t - sum) - y;
+        sum = t;
+    }
+
+    private void addToOlder(double value) {
+        double y = value - olderCompensation;
+        double t = olderSum + y;
+        olderCompensation = (t - olderSum) - y;
+        olderSum = t;
+    }
+
+    private void addToRecent(double value) {
+        double y = value - recentCompensation;
+        double t = recentSum + y;
+        recentCompensation = (t - recentSum) - y;
+        recentSum = t;
+    }
+}
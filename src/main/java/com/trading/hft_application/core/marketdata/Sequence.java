@@ -0,0 +1,72 @@
+package com.trading.hft_application.core.marketdata;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+abstract class SequenceLeftPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLeftPadding {
+    protected volatile long value;
+}
+
+abstract class SequenceRightPadding extends SequenceValue {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * Cache-line padded sequence counter shared between ring buffer producers and consumers
+ */
+public class Sequence extends SequenceRightPadding {
+    public static final long INITIAL_VALUE = -1L;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * Ordered write - cheaper than a volatile store, sufficient for a single writer
+     */
+    public void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    /**
+     * Returns the smallest value among the given sequences, or the default when none are given
+     */
+    public static long minimumSequence(Sequence[] sequences, long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : sequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
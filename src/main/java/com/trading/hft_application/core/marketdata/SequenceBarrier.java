@@ -0,0 +1,57 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Coordinates a consumer with the ring buffer cursor and the upstream consumers it depends on
+ */
+public class SequenceBarrier {
+    private final TickRingBuffer ringBuffer;
+    private final WaitStrategy waitStrategy;
+    private final Sequence cursor;
+    private final Sequence[] dependentSequences;
+    private volatile boolean alerted = false;
+
+    SequenceBarrier(TickRingBuffer ringBuffer, WaitStrategy waitStrategy, Sequence cursor, Sequence[] dependentSequences) {
+        this.ringBuffer = ringBuffer;
+        this.waitStrategy = waitStrategy;
+        this.cursor = cursor;
+        this.dependentSequences = dependentSequences;
+    }
+
+    /**
+     * Waits for the given sequence and returns the highest sequence that is safe to consume.
+     * The result is below the requested sequence if the barrier was alerted.
+     */
+    public long waitFor(long sequence) {
+        long available = waitStrategy.waitFor(sequence, this);
+        if (available < sequence) {
+            return available;
+        }
+        return ringBuffer.getHighestPublishedSequence(sequence, available);
+    }
+
+    /**
+     * Sequence this barrier is gated on - the cursor for first stages, otherwise the slowest upstream consumer
+     */
+    public long getDependentSequence() {
+        if (dependentSequences.length == 0) {
+            return cursor.get();
+        }
+        return Sequence.minimumSequence(dependentSequences, Long.MAX_VALUE);
+    }
+
+    public long getCursorSequence() {
+        return cursor.get();
+    }
+
+    public boolean isAlerted() {
+        return alerted;
+    }
+
+    /**
+     * Releases any consumer waiting on this barrier
+     */
+    public void alert() {
+        alerted = true;
+        waitStrategy.signalAllWhenBlocking();
+    }
+}
@@ -0,0 +1,47 @@
+package com.trading.hft_application.core.marketdata;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins, then yields, then parks for short periods - good latency with low idle CPU usage
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 200;
+    private static final int YIELD_TRIES = 100;
+    private static final long DEFAULT_SLEEP_NANOS = 100;
+
+    private final long sleepNanos;
+
+    public SleepingWaitStrategy() {
+        this(DEFAULT_SLEEP_NANOS);
+    }
+
+    public SleepingWaitStrategy(long sleepNanos) {
+        this.sleepNanos = sleepNanos;
+    }
+
+    @Override
+    public long waitFor(long sequence, SequenceBarrier barrier) {
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        long available;
+        while ((available = barrier.getDependentSequence()) < sequence) {
+            if (barrier.isAlerted()) {
+                return available;
+            }
+            if (counter > YIELD_TRIES) {
+                counter--;
+                Thread.onSpinWait();
+            } else if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
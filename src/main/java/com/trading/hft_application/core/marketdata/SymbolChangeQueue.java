@@ -0,0 +1,69 @@
+package com.trading.hft_application.core.marketdata;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Single-producer single-consumer queue of changed symbol ids, handing book changes from the pipeline to
+ * a slower consumer such as the order manager. A symbol is queued at most once until the consumer takes
+ * it, so bursts on one symbol conflate and the queue, sized for every symbol, can never overflow.
+ * Offering and polling are O(1) and allocation-free.
+ * <p>
+ * The consumer clears a symbol's flag before it reads the symbol's state, and the producer checks the
+ * flag after writing that state, both with full fences, so a change is never lost: either the producer
+ * sees the flag cleared and queues the symbol again, or the consumer's read already sees the change.
+ */
+public class SymbolChangeQueue {
+    public static final int NONE = -1;
+
+    private final int[] symbolIds;
+    private final int mask;
+    private final AtomicIntegerArray queued;
+
+    // Next position to write, owned by the producer, and next position to read, owned by the consumer
+    private final Sequence tail = new Sequence(0);
+    private final Sequence head = new Sequence(0);
+
+    public SymbolChangeQueue(int maxSymbols) {
+        int capacity = Integer.highestOneBit(Math.max(1, maxSymbols - 1)) << 1;
+        this.symbolIds = new int[capacity];
+        this.mask = capacity - 1;
+        this.queued = new AtomicIntegerArray(maxSymbols);
+    }
+
+    /**
+     * Queues a symbol unless it is already waiting. Returns false if the change was conflated.
+     * Producer thread only.
+     */
+    public boolean offer(int symbolId) {
+        // An atomic swap, so the flag is checked only after the symbol's state is written
+        if (queued.getAndSet(symbolId, 1) != 0) {
+            return false;
+        }
+        long position = tail.get();
+        symbolIds[(int) position & mask] = symbolId;
+        tail.set(position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the next changed symbol, or returns NONE if there is none. Consumer thread only.
+     */
+    public int poll() {
+        long position = head.get();
+        if (position == tail.get()) {
+            return NONE;
+        }
+        int symbolId = symbolIds[(int) position & mask];
+        head.set(position + 1);
+        // A full fence, so the flag is cleared before the consumer reads the symbol's state
+        queued.set(symbolId, 0);
+        return symbolId;
+    }
+
+    /**
+     * Symbols currently queued; exact only on the producer or consumer thread
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
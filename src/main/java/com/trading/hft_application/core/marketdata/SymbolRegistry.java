@@ -0,0 +1,68 @@
+package com.trading.hft_application.core.marketdata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each traded symbol a dense integer id so per-symbol state can live in plain arrays.
+ * Strings are only resolved at the edges (feed registration, REST); the hot path works on ids.
+ */
+public class SymbolRegistry {
+    public static final int UNKNOWN_SYMBOL = -1;
+
+    private final String[] symbols;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile int size = 0;
+
+    public SymbolRegistry(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Symbol capacity must be positive: " + capacity);
+        }
+        this.symbols = new String[capacity];
+    }
+
+    /**
+     * Returns the id for a symbol, assigning the next free id if it is new
+     */
+    public synchronized int register(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = size;
+        if (id == symbols.length) {
+            throw new IllegalStateException("Symbol registry is full (" + symbols.length + " symbols)");
+        }
+
+        symbols[id] = symbol;
+        ids.put(symbol, id);
+
+        // Volatile write publishes the new slot to readers iterating up to size()
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Returns the id for a symbol, or UNKNOWN_SYMBOL if it was never registered
+     */
+    public int getId(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : UNKNOWN_SYMBOL;
+    }
+
+    public String getSymbol(int id) {
+        return symbols[id];
+    }
+
+    /**
+     * Number of registered symbols - ids are 0 to size() - 1
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return symbols.length;
+    }
+}
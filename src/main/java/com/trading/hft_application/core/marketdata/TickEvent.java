@@ -0,0 +1,37 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.MarketTick;
+
+/**
+ * Preallocated ring buffer slot carrying a market tick through the processing stages.
+ * The tick is owned by the slot and overwritten in place on every publish.
+ */
+public class TickEvent {
+    private final MarketTick tick = new MarketTick();
+    private int symbolId;
+    private long publishNanos;
+
+    void set(int symbolId, String symbol, long bidTicks, long askTicks, long bidSize, long askSize, long publishNanos) {
+        this.tick.set(symbol, bidTicks, askTicks, bidSize, askSize, publishNanos);
+        this.symbolId = symbolId;
+        this.publishNanos = publishNanos;
+    }
+
+    /**
+     * Dense id of the tick's symbol from the SymbolRegistry
+     */
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    /**
+     * Tick held by this slot - only valid until the slot is reused, copy it to retain it
+     */
+    public MarketTick getTick() {
+        return tick;
+    }
+
+    public long getPublishNanos() {
+        return publishNanos;
+    }
+}
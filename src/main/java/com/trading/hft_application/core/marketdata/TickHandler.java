@@ -0,0 +1,12 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Processing stage invoked for every tick published to the ring buffer, in sequence order
+ */
+public interface TickHandler {
+
+    /**
+     * Handles a tick. endOfBatch is true for the last tick available when the batch was read.
+     */
+    void onTick(TickEvent event, long sequence, boolean endOfBatch);
+}
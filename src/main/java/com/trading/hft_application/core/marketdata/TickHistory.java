@@ -0,0 +1,114 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.MarketTick;
+
+/**
+ * Fixed-capacity, time-ordered tick history stored as primitive columns in a circular buffer.
+ * Append and eviction are O(1) and never allocate; readers index columns directly in time order.
+ * Prices are in ticks and sizes in lots; rolling mid-price statistics are kept current on every append.
+ */
+public class TickHistory {
+    private final int capacity;
+    private final long[] timestampNanos;
+    private final long[] bids;
+    private final long[] asks;
+    private final double[] mids;
+    private final long[] bidSizes;
+    private final long[] askSizes;
+    private final RollingStatistics statistics;
+    private int head = 0;
+    private int size = 0;
+
+    public TickHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.timestampNanos = new long[capacity];
+        this.bids = new long[capacity];
+        this.asks = new long[capacity];
+        this.mids = new double[capacity];
+        this.bidSizes = new long[capacity];
+        this.askSizes = new long[capacity];
+        this.statistics = new RollingStatistics(capacity);
+    }
+
+    /**
+     * Appends the tick's values, evicting the oldest entry when full
+     */
+    public void append(MarketTick tick) {
+        append(tick.getTimestampNanos(), tick.getBidTicks(), tick.getAskTicks(), tick.getBidSize(), tick.getAskSize());
+    }
+
+    /**
+     * Appends a quote, evicting the oldest entry when full
+     */
+    public void append(long timestamp, long bid, long ask, long bidSize, long askSize) {
+        double mid = (bid + ask) / 2.0;
+        statistics.onAppend(this, mid);
+
+        int index = physicalIndex(size == capacity ? 0 : size);
+        if (size == capacity) {
+            head = head + 1 == capacity ? 0 : head + 1;
+        } else {
+            size++;
+        }
+
+        timestampNanos[index] = timestamp;
+        bids[index] = bid;
+        asks[index] = ask;
+        mids[index] = mid;
+        bidSizes[index] = bidSize;
+        askSizes[index] = askSize;
+
+        statistics.afterAppend(this);
+    }
+
+    /**
+     * Mid price in ticks of the i-th entry in time order, 0 being the oldest
+     */
+    public double getMid(int i) {
+        return mids[physicalIndex(i)];
+    }
+
+    public long getBid(int i) {
+        return bids[physicalIndex(i)];
+    }
+
+    public long getAsk(int i) {
+        return asks[physicalIndex(i)];
+    }
+
+    public long getBidSize(int i) {
+        return bidSizes[physicalIndex(i)];
+    }
+
+    public long getAskSize(int i) {
+        return askSizes[physicalIndex(i)];
+    }
+
+    public long getTimestampNanos(int i) {
+        return timestampNanos[physicalIndex(i)];
+    }
+
+    /**
+     * Rolling statistics over the mid prices currently in the history
+     */
+    public RollingStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private int physicalIndex(int i) {
+        int index = head + i;
+        return index >= capacity ? index - capacity : index;
+    }
+}
@@ -0,0 +1,60 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Runs a processing stage on its own thread, consuming ticks from the ring buffer in batches
+ */
+public class TickProcessor implements Runnable {
+    private final String name;
+    private final TickRingBuffer ringBuffer;
+    private final SequenceBarrier barrier;
+    private final TickHandler handler;
+    private final Sequence sequence = new Sequence();
+    private volatile boolean running = true;
+
+    public TickProcessor(String name, TickRingBuffer ringBuffer, SequenceBarrier barrier, TickHandler handler) {
+        this.name = name;
+        this.ringBuffer = ringBuffer;
+        this.barrier = barrier;
+        this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+        System.out.println(name + " started");
+
+        long nextSequence = sequence.get() + 1;
+        while (running) {
+            long availableSequence = barrier.waitFor(nextSequence);
+            if (availableSequence < nextSequence) {
+                continue;
+            }
+
+            while (nextSequence <= availableSequence) {
+                try {
+                    handler.onTick(ringBuffer.get(nextSequence), nextSequence, nextSequence == availableSequence);
+                } catch (Exception e) {
+                    System.err.println("Error in " + name + ": " + e.getMessage());
+                }
+                nextSequence++;
+            }
+            sequence.set(availableSequence);
+        }
+
+        System.out.println(name + " stopped");
+    }
+
+    /**
+     * Stops the processor after the batch in flight
+     */
+    public void halt() {
+        running = false;
+        barrier.alert();
+    }
+
+    /**
+     * Sequence of the last tick this stage has fully processed
+     */
+    public Sequence getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,200 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.MarketTick;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated ring buffer through which feed handlers publish market ticks to the processing stages.
+ * Producers claim slots with a CAS on the cursor; consumers track their own sequences and producers
+ * never wrap past the slowest gating consumer.
+ */
+public class TickRingBuffer {
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final TickEvent[] entries;
+    private final int bufferSize;
+    private final int indexMask;
+    private final int indexShift;
+    private final int[] availableBuffer;
+    private final WaitStrategy waitStrategy;
+
+    private final Sequence cursor = new Sequence();
+    private final Sequence gatingSequenceCache = new Sequence();
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    public TickRingBuffer(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Ring buffer size must be a power of 2: " + bufferSize);
+        }
+
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = waitStrategy;
+
+        this.entries = new TickEvent[bufferSize];
+        this.availableBuffer = new int[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = new TickEvent();
+            availableBuffer[i] = -1;
+        }
+    }
+
+    /**
+     * Publishes a tick, waiting for free capacity if consumers are behind.
+     * The tick is copied into a preallocated slot, so callers may reuse it.
+     */
+    public void publish(int symbolId, MarketTick tick) {
+        publish(symbolId, tick.getSymbol(), tick.getBidTicks(), tick.getAskTicks(), tick.getBidSize(), tick.getAskSize());
+    }
+
+    /**
+     * Publishes tick fields (prices in ticks, sizes in lots) straight into a preallocated slot,
+     * waiting for free capacity if consumers are behind
+     */
+    public void publish(int symbolId, String symbol, long bidTicks, long askTicks, long bidSize, long askSize) {
+        long sequence = next();
+        entries[(int) sequence & indexMask].set(symbolId, symbol, bidTicks, askTicks, bidSize, askSize, System.nanoTime());
+        publish(sequence);
+    }
+
+    /**
+     * Publishes a tick if there is free capacity, without waiting
+     */
+    public boolean tryPublish(int symbolId, MarketTick tick) {
+        return tryPublish(symbolId, tick.getSymbol(), tick.getBidTicks(), tick.getAskTicks(), tick.getBidSize(), tick.getAskSize());
+    }
+
+    /**
+     * Publishes tick fields if there is free capacity, without waiting
+     */
+    public boolean tryPublish(int symbolId, String symbol, long bidTicks, long askTicks, long bidSize, long askSize) {
+        long sequence = tryNext();
+        if (sequence < 0) {
+            return false;
+        }
+        entries[(int) sequence & indexMask].set(symbolId, symbol, bidTicks, askTicks, bidSize, askSize, System.nanoTime());
+        publish(sequence);
+        return true;
+    }
+
+    /**
+     * Creates a barrier for a consumer that follows the given upstream consumers (or the cursor if none)
+     */
+    public SequenceBarrier newBarrier(Sequence... dependentSequences) {
+        return new SequenceBarrier(this, waitStrategy, cursor, dependentSequences);
+    }
+
+    /**
+     * Registers the sequences of the last consumers in the chain, which producers must not overrun
+     */
+    public synchronized void addGatingSequences(Sequence... sequences) {
+        Sequence[] current = gatingSequences;
+        Sequence[] updated = new Sequence[current.length + sequences.length];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        long cursorValue = cursor.get();
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i].set(cursorValue);
+            updated[current.length + i] = sequences[i];
+        }
+        gatingSequences = updated;
+    }
+
+    public TickEvent get(long sequence) {
+        return entries[(int) sequence & indexMask];
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Number of claimed slots not yet consumed by every gating consumer
+     */
+    public long getBacklog() {
+        long consumed = Sequence.minimumSequence(gatingSequences, cursor.get());
+        return cursor.get() - consumed;
+    }
+
+    /**
+     * Returns the highest contiguously published sequence between lowerBound and availableSequence
+     */
+    long getHighestPublishedSequence(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    private long next() {
+        long current;
+        long next;
+
+        do {
+            current = cursor.get();
+            next = current + 1;
+
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+                long gatingSequence = Sequence.minimumSequence(gatingSequences, current);
+
+                if (wrapPoint > gatingSequence) {
+                    // Buffer is full - back off until the slowest consumer catches up
+                    LockSupport.parkNanos(1);
+                    continue;
+                }
+
+                gatingSequenceCache.set(gatingSequence);
+            } else if (cursor.compareAndSet(current, next)) {
+                break;
+            }
+        } while (true);
+
+        return next;
+    }
+
+    private long tryNext() {
+        long current;
+        long next;
+
+        do {
+            current = cursor.get();
+            next = current + 1;
+
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current) {
+                long gatingSequence = Sequence.minimumSequence(gatingSequences, current);
+                gatingSequenceCache.set(gatingSequence);
+
+                if (wrapPoint > gatingSequence) {
+                    return -1;
+                }
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        return next;
+    }
+
+    private void publish(long sequence) {
+        AVAILABLE.setRelease(availableBuffer, (int) sequence & indexMask, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private boolean isAvailable(long sequence) {
+        int flag = (int) AVAILABLE.getAcquire(availableBuffer, (int) sequence & indexMask);
+        return flag == (int) (sequence >>> indexShift);
+    }
+}
@@ -0,0 +1,37 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Strategy used by consumers to wait for a sequence to become available on the ring buffer
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until the barrier's dependent sequence reaches the requested sequence.
+     * Returns the highest sequence seen, which is below the requested one if the barrier was alerted.
+     */
+    long waitFor(long sequence, SequenceBarrier barrier);
+
+    /**
+     * Wakes up consumers parked by blocking strategies after a publish
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * Resolves a wait strategy from its configuration name
+     */
+    static WaitStrategy fromName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "busyspin":
+            case "busy-spin":
+                return new BusySpinWaitStrategy();
+            case "yielding":
+                return new YieldingWaitStrategy();
+            case "sleeping":
+                return new SleepingWaitStrategy();
+            case "blocking":
+                return new BlockingWaitStrategy();
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.trading.hft_application.core.marketdata;
+
+/**
+ * Spins briefly, then yields the core to other threads while waiting
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, SequenceBarrier barrier) {
+        int counter = SPIN_TRIES;
+        long available;
+        while ((available = barrier.getDependentSequence()) < sequence) {
+            if (barrier.isAlerted()) {
+                return available;
+            }
+            if (counter > 0) {
+                counter--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
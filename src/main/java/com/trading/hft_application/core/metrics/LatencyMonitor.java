@@ -0,0 +1,114 @@
+package com.trading.hft_application.core.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency histograms for the tick-to-trade path.
+ * Hot-path threads record into an HdrHistogram Recorder per stage, which is wait-free and does not
+ * allocate. Reporting swaps out the recorders' interval histograms and folds them into a histogram
+ * accumulated since the last reset, so neither reporting nor resetting pauses the recording threads.
+ */
+public class LatencyMonitor {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder[] recorders;
+    private final Histogram[] accumulated;
+    private final Histogram[] intervals;
+
+    public LatencyMonitor() {
+        LatencyStage[] stages = LatencyStage.values();
+        this.recorders = new Recorder[stages.length];
+        this.accumulated = new Histogram[stages.length];
+        this.intervals = new Histogram[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            recorders[i] = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+            accumulated[i] = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        }
+    }
+
+    /**
+     * Records a latency for a stage; values beyond the trackable range are clamped to it
+     */
+    public void record(LatencyStage stage, long latencyNanos) {
+        recorders[stage.ordinal()].recordValue(Math.max(0, Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS)));
+    }
+
+    /**
+     * Records the latency from a ring buffer publish timestamp until now
+     */
+    public void recordSince(LatencyStage stage, long publishNanos) {
+        record(stage, System.nanoTime() - publishNanos);
+    }
+
+    /**
+     * Percentile breakdown per stage since the last reset, in microseconds
+     */
+    public synchronized Map<String, Map<String, Object>> getSnapshot() {
+        drain();
+
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        for (LatencyStage stage : LatencyStage.values()) {
+            Histogram histogram = accumulated[stage.ordinal()];
+            Map<String, Object> stageData = new LinkedHashMap<>();
+            stageData.put("count", histogram.getTotalCount());
+            stageData.put("meanUs", toMicros(histogram.getMean()));
+            stageData.put("p50Us", toMicros(histogram.getValueAtPercentile(50.0)));
+            stageData.put("p99Us", toMicros(histogram.getValueAtPercentile(99.0)));
+            stageData.put("p999Us", toMicros(histogram.getValueAtPercentile(99.9)));
+            stageData.put("maxUs", toMicros(histogram.getMaxValue()));
+            snapshot.put(stage.getMetricName(), stageData);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copy of a stage's histogram since the last reset, in nanoseconds
+     */
+    public synchronized Histogram getHistogram(LatencyStage stage) {
+        drain();
+        return accumulated[stage.ordinal()].copy();
+    }
+
+    /**
+     * Latency in nanoseconds at a percentile for a stage since the last reset
+     */
+    public synchronized long getValueAtPercentile(LatencyStage stage, double percentile) {
+        drain();
+        return accumulated[stage.ordinal()].getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Number of latencies recorded for a stage since the last reset
+     */
+    public synchronized long getCount(LatencyStage stage) {
+        drain();
+        return accumulated[stage.ordinal()].getTotalCount();
+    }
+
+    /**
+     * Starts a new measurement interval; values recorded concurrently land in either interval, never lost
+     */
+    public synchronized void reset() {
+        drain();
+        for (Histogram histogram : accumulated) {
+            histogram.reset();
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < recorders.length; i++) {
+            intervals[i] = recorders[i].getIntervalHistogram(intervals[i]);
+            accumulated[i].add(intervals[i]);
+        }
+    }
+
+    private static double toMicros(double nanos) {
+        return nanos / 1_000.0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.trading.hft_application.core.metrics;
+
+/**
+ * Points on the tick-to-trade path. Each stage's latency is measured from the moment the feed tick
+ * was published into the market data ring buffer.
+ */
+public enum LatencyStage {
+    BOOK_UPDATE("bookUpdate"),
+    SIGNAL("signal"),
+    RISK_CHECK("riskCheck"),
+    ORDER_SUBMIT("orderSubmit");
+
+    private final String metricName;
+
+    LatencyStage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * Name used for the stage in metrics output
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,145 @@
+package com.trading.hft_application.core.risk;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signed notional exposure by symbol, kept current as fills and mark prices change, with gross and net
+ * totals overall and by sector. Each symbol's exposure has one writer (the position shard owning it),
+ * which applies the change to totals in its own cache-line-padded slots, so updates need no locks and
+ * reading a total costs one load per writer instead of a pass over every position and book.
+ * <p>
+ * Symbols are assigned to sectors when they are registered, before their first update.
+ */
+public class ExposureTracker {
+    public static final int DEFAULT_MAX_SECTORS = 32;
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(double[].class);
+
+    // A writer's group holds its gross and net totals, then gross and net per sector, then padding
+    private static final int GROSS = 0;
+    private static final int NET = 1;
+    private static final int SECTORS = 2;
+    private static final int PADDING = 16;
+
+    private final int writers;
+    private final int stride;
+    private final double[] exposureBySymbol;
+    private final int[] sectorBySymbol;
+    private final double[] totals;
+
+    private final Map<String, Integer> sectorIds = new HashMap<>();
+    private final String[] sectorNames;
+
+    /**
+     * @param writers number of threads updating exposure, each owning a disjoint set of symbols
+     */
+    public ExposureTracker(int maxSymbols, int writers, int maxSectors) {
+        if (writers <= 0 || maxSectors <= 0) {
+            throw new IllegalArgumentException("Writer and sector counts must be positive");
+        }
+        this.writers = writers;
+        this.stride = SECTORS + 2 * maxSectors + PADDING;
+        this.exposureBySymbol = new double[maxSymbols];
+        this.sectorBySymbol = new int[maxSymbols];
+        this.totals = new double[PADDING + writers * stride];
+        this.sectorNames = new String[maxSectors];
+    }
+
+    /**
+     * Assigns a newly registered symbol to a sector, creating the sector on first use. Returns the sector id.
+     */
+    public synchronized int registerSymbol(int symbolId, String sector) {
+        Integer sectorId = sectorIds.get(sector);
+        if (sectorId == null) {
+            if (sectorIds.size() == sectorNames.length) {
+                throw new IllegalStateException("Too many sectors for " + sector + " (max " + sectorNames.length + ")");
+            }
+            sectorId = sectorIds.size();
+            sectorIds.put(sector, sectorId);
+            sectorNames[sectorId] = sector;
+        }
+        sectorBySymbol[symbolId] = sectorId;
+        return sectorId;
+    }
+
+    /**
+     * Sets a symbol's signed exposure, applying the change to the writer's totals. Must only be called by
+     * the given writer, and a symbol must always be updated by the same writer.
+     */
+    public void update(int writer, int symbolId, double exposure) {
+        double previous = (double) SLOT.getOpaque(exposureBySymbol, symbolId);
+        if (exposure == previous) {
+            return;
+        }
+        SLOT.setRelease(exposureBySymbol, symbolId, exposure);
+
+        double grossChange = Math.abs(exposure) - Math.abs(previous);
+        double netChange = exposure - previous;
+        int group = writerGroup(writer);
+        int sectorSlot = group + SECTORS + 2 * sectorBySymbol[symbolId];
+        add(group + GROSS, grossChange);
+        add(group + NET, netChange);
+        add(sectorSlot + GROSS, grossChange);
+        add(sectorSlot + NET, netChange);
+    }
+
+    private void add(int index, double value) {
+        SLOT.setRelease(totals, index, (double) SLOT.getOpaque(totals, index) + value);
+    }
+
+    private double sum(int offset) {
+        double total = 0.0;
+        for (int writer = 0; writer < writers; writer++) {
+            total += (double) SLOT.getAcquire(totals, writerGroup(writer) + offset);
+        }
+        return total;
+    }
+
+    private int writerGroup(int writer) {
+        return PADDING + writer * stride;
+    }
+
+    /**
+     * Sum of the absolute exposures of all symbols
+     */
+    public double getGrossExposure() {
+        return sum(GROSS);
+    }
+
+    /**
+     * Sum of the signed exposures of all symbols, long minus short
+     */
+    public double getNetExposure() {
+        return sum(NET);
+    }
+
+    public double getGrossExposure(int sectorId) {
+        return sum(SECTORS + 2 * sectorId + GROSS);
+    }
+
+    public double getNetExposure(int sectorId) {
+        return sum(SECTORS + 2 * sectorId + NET);
+    }
+
+    /**
+     * Signed exposure of a symbol at its last mark, negative when short
+     */
+    public double getExposure(int symbolId) {
+        return (double) SLOT.getAcquire(exposureBySymbol, symbolId);
+    }
+
+    public int getSectorId(int symbolId) {
+        return sectorBySymbol[symbolId];
+    }
+
+    public synchronized int getSectorCount() {
+        return sectorIds.size();
+    }
+
+    public synchronized String getSectorName(int sectorId) {
+        return sectorNames[sectorId];
+    }
+}
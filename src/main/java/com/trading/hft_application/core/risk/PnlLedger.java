@@ -0,0 +1,129 @@
+package com.trading.hft_application.core.risk;
+
+import com.trading.hft_application.core.execution.OrderSource;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Realized and unrealized P&L by symbol and by order source, kept without locks. Every slot has one
+ * writer: a symbol's P&L is recorded by the writer owning it (a position shard), which adds realized
+ * profit and applies each change of the symbol's mark-to-market value to totals in its own
+ * cache-line-padded slots. Readers on any thread see every value whole; totals are summed over the few
+ * writers' slots.
+ */
+public class PnlLedger {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(double[].class);
+
+    // Doubles per padded slot group: two cache lines, so neighbouring groups never share a line or a prefetch pair
+    private static final int STRIDE = 16;
+    private static final int REALIZED = 0;
+    private static final int UNREALIZED = 1;
+    private static final int SOURCE_REALIZED = 2;
+
+    private final int writers;
+    private final double[] realizedBySymbol;
+    private final double[] unrealizedBySymbol;
+
+    // Group 0 is padding, group 1 + w holds writer w's totals
+    private final double[] totals;
+
+    /**
+     * @param writers number of threads recording P&L, each owning a disjoint set of symbols
+     */
+    public PnlLedger(int maxSymbols, int writers) {
+        if (writers <= 0) {
+            throw new IllegalArgumentException("Writer count must be positive: " + writers);
+        }
+        this.writers = writers;
+        this.realizedBySymbol = new double[maxSymbols];
+        this.unrealizedBySymbol = new double[maxSymbols];
+        this.totals = new double[(writers + 2) * STRIDE];
+    }
+
+    /**
+     * Adds profit realized by a fill on an order from the given source. Must only be called by the given
+     * writer, and a symbol's profit must always be recorded by the same writer.
+     */
+    public void recordRealized(int writer, int symbolId, OrderSource source, double profit) {
+        if (profit == 0.0) {
+            return;
+        }
+        add(realizedBySymbol, symbolId, profit);
+        int group = writerGroup(writer);
+        add(totals, group + REALIZED, profit);
+        add(totals, group + SOURCE_REALIZED + source.getCode(), profit);
+    }
+
+    /**
+     * Sets a symbol's unrealized P&L at its latest mark, adjusting the writer's running total by the change.
+     * Same threading rules as recordRealized.
+     */
+    public void markToMarket(int writer, int symbolId, double unrealized) {
+        double previous = (double) SLOT.getOpaque(unrealizedBySymbol, symbolId);
+        if (unrealized != previous) {
+            SLOT.setRelease(unrealizedBySymbol, symbolId, unrealized);
+            add(totals, writerGroup(writer) + UNREALIZED, unrealized - previous);
+        }
+    }
+
+    /**
+     * Adds to a slot owned by the calling thread; the release store publishes the whole value
+     */
+    private static void add(double[] slots, int index, double value) {
+        SLOT.setRelease(slots, index, (double) SLOT.getOpaque(slots, index) + value);
+    }
+
+    private static double read(double[] slots, int index) {
+        return (double) SLOT.getAcquire(slots, index);
+    }
+
+    private double sum(int offset) {
+        double total = 0.0;
+        for (int writer = 0; writer < writers; writer++) {
+            total += read(totals, writerGroup(writer) + offset);
+        }
+        return total;
+    }
+
+    private int writerGroup(int writer) {
+        return (1 + writer) * STRIDE;
+    }
+
+    public double getRealizedPnL() {
+        return sum(REALIZED);
+    }
+
+    /**
+     * Profit realized by fills on orders from a source
+     */
+    public double getRealizedPnL(OrderSource source) {
+        return sum(SOURCE_REALIZED + source.getCode());
+    }
+
+    public double getRealizedPnL(int symbolId) {
+        return read(realizedBySymbol, symbolId);
+    }
+
+    /**
+     * Unrealized P&L of all positions at their last marks
+     */
+    public double getUnrealizedPnL() {
+        return sum(UNREALIZED);
+    }
+
+    public double getUnrealizedPnL(int symbolId) {
+        return read(unrealizedBySymbol, symbolId);
+    }
+
+    /**
+     * Realized plus unrealized P&L
+     */
+    public double getTotalPnL() {
+        return getRealizedPnL() + getUnrealizedPnL();
+    }
+
+    public int getWriterCount() {
+        return writers;
+    }
+}
@@ -0,0 +1,26 @@
+package com.trading.hft_application.core.risk;
+
+/**
+ * Checks an order must pass before it is sent, in the order the pre-trade gate applies them
+ */
+public enum PreTradeCheck {
+    ORDER_SIZE("orderSize"),
+    ORDER_NOTIONAL("orderNotional"),
+    PRICE_BAND("priceBand"),
+    POSITION_LIMIT("positionLimit"),
+    DAILY_LOSS("dailyLoss"),
+    OPEN_ORDERS("openOrders");
+
+    private final String metricName;
+
+    PreTradeCheck(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * Name used for the check in metrics output
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
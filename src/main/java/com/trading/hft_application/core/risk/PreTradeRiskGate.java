@@ -0,0 +1,181 @@
+package com.trading.hft_application.core.risk;
+
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synchronous risk checks on the order path, run before an order is created and sent so that no order
+ * breaches a limit while the risk manager thread is between polls. Limits are held in tables indexed by
+ * symbol id, and each check reads state that is already kept current elsewhere (the book's touch, the
+ * exposure tracker, the P&L ledger and the order table's working counts and value), so a check costs a
+ * few loads and compares and does not allocate. The position limit counts the symbol's working orders on
+ * the order's side as if they had filled, so many small orders cannot add up past it. Working orders
+ * include those the order throttle holds back before sending.
+ * <p>
+ * An order that reduces its symbol's exposure skips the position limit and daily loss checks, so the
+ * risk manager can always cut a position.
+ */
+public class PreTradeRiskGate {
+    public static final double DEFAULT_PRICE_BAND_BPS = 100.0;
+    public static final int DEFAULT_MAX_OPEN_ORDERS = 64;
+
+    private static final PreTradeCheck[] CHECKS = PreTradeCheck.values();
+
+    private final RiskManager riskManager;
+    private final ExposureTracker exposure;
+    private final PnlLedger pnlLedger;
+    private final OrderBook[] orderBooks;
+    private final OrderTable orders;
+
+    // Per-symbol limits, indexed by symbol id
+    private final long[] maxOrderLots;
+    private final double[] maxOrderNotional;
+    private final double[] priceBands;
+    private final int[] maxOpenOrders;
+
+    private final LongAdder checkedOrders = new LongAdder();
+    private final LongAdder[] rejections = new LongAdder[CHECKS.length];
+
+    /**
+     * @param orderBooks books indexed by symbol id, the reference for the price band
+     */
+    public PreTradeRiskGate(RiskManager riskManager, OrderBook[] orderBooks, OrderTable orders) {
+        this.riskManager = riskManager;
+        this.exposure = riskManager.getExposureTracker();
+        this.pnlLedger = riskManager.getPnlLedger();
+        this.orderBooks = orderBooks;
+        this.orders = orders;
+
+        int maxSymbols = orderBooks.length;
+        this.maxOrderLots = new long[maxSymbols];
+        this.maxOrderNotional = new double[maxSymbols];
+        this.priceBands = new double[maxSymbols];
+        this.maxOpenOrders = new int[maxSymbols];
+        Arrays.fill(maxOrderLots, Long.MAX_VALUE);
+        Arrays.fill(maxOrderNotional, riskManager.getMaxOrderSize());
+        Arrays.fill(priceBands, DEFAULT_PRICE_BAND_BPS / 10_000.0);
+        Arrays.fill(maxOpenOrders, DEFAULT_MAX_OPEN_ORDERS);
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Checks an order before it is sent. Returns the first check the order fails, or null if it may be sent.
+     */
+    public PreTradeCheck check(int symbolId, InstrumentSpec instrument, OrderType side, long priceTicks, long size) {
+        PreTradeCheck failed = evaluate(symbolId, instrument, side, priceTicks, size);
+        checkedOrders.increment();
+        if (failed != null) {
+            rejections[failed.ordinal()].increment();
+        }
+        return failed;
+    }
+
+    private PreTradeCheck evaluate(int symbolId, InstrumentSpec instrument, OrderType side, long priceTicks,
+                                   long size) {
+        if (size <= 0 || size > maxOrderLots[symbolId]) {
+            return PreTradeCheck.ORDER_SIZE;
+        }
+        double notional = instrument.notional(priceTicks, size);
+        if (notional > maxOrderNotional[symbolId]) {
+            return PreTradeCheck.ORDER_NOTIONAL;
+        }
+
+        // Price within the band around the current mid; an empty book has no reference price
+        double midTicks = orderBooks[symbolId].getMidTicks();
+        if (midTicks <= 0.0 || Math.abs(priceTicks - midTicks) > midTicks * priceBands[symbolId]) {
+            return PreTradeCheck.PRICE_BAND;
+        }
+
+        // Exposure if this order and the symbol's other working orders on its side fill in full, against
+        // the symbol's exposure at its last mark
+        double current = exposure.getExposure(symbolId);
+        double sameSide = orders.getWorkingNotional(symbolId, side) + notional;
+        double after = side == OrderType.BUY ? current + sameSide : current - sameSide;
+        if (Math.abs(after) >= Math.abs(current)) {
+            if (Math.abs(after) > riskManager.getPositionLimit(symbolId)) {
+                return PreTradeCheck.POSITION_LIMIT;
+            }
+            if (pnlLedger.getTotalPnL() < -riskManager.getMaxDailyLoss()) {
+                return PreTradeCheck.DAILY_LOSS;
+            }
+        }
+
+        if (orders.getWorkingCount(symbolId) >= maxOpenOrders[symbolId]) {
+            return PreTradeCheck.OPEN_ORDERS;
+        }
+        return null;
+    }
+
+    /**
+     * Overrides the maximum order size in lots for a symbol; unlimited by default
+     */
+    public void setMaxOrderLots(int symbolId, long lots) {
+        maxOrderLots[symbolId] = lots;
+    }
+
+    public long getMaxOrderLots(int symbolId) {
+        return maxOrderLots[symbolId];
+    }
+
+    /**
+     * Overrides the maximum order value for a symbol; the risk manager's maximum order size by default
+     */
+    public void setMaxOrderNotional(int symbolId, double notional) {
+        maxOrderNotional[symbolId] = notional;
+    }
+
+    public double getMaxOrderNotional(int symbolId) {
+        return maxOrderNotional[symbolId];
+    }
+
+    /**
+     * Sets how far from the mid, in basis points, every symbol's order prices may be
+     */
+    public void setPriceBandBps(double bps) {
+        Arrays.fill(priceBands, bps / 10_000.0);
+    }
+
+    public void setPriceBandBps(int symbolId, double bps) {
+        priceBands[symbolId] = bps / 10_000.0;
+    }
+
+    public double getPriceBandBps(int symbolId) {
+        return priceBands[symbolId] * 10_000.0;
+    }
+
+    /**
+     * Sets how many orders may be open at once on every symbol
+     */
+    public void setMaxOpenOrders(int count) {
+        Arrays.fill(maxOpenOrders, count);
+    }
+
+    public void setMaxOpenOrders(int symbolId, int count) {
+        maxOpenOrders[symbolId] = count;
+    }
+
+    public int getMaxOpenOrders(int symbolId) {
+        return maxOpenOrders[symbolId];
+    }
+
+    /**
+     * Orders checked so far, passed or not
+     */
+    public long getCheckedOrderCount() {
+        return checkedOrders.sum();
+    }
+
+    /**
+     * Orders that failed a check
+     */
+    public long getRejectionCount(PreTradeCheck check) {
+        return rejections[check.ordinal()].sum();
+    }
+}
@@ -1,72 +1,121 @@
 package com.trading.hft_application.core.risk;
 
+import com.trading.hft_application.model.InstrumentSpec;
 import com.trading.hft_application.model.OrderBook;
 import com.trading.hft_application.model.Position;
 import com.trading.hft_application.model.Order;
 import com.trading.hft_application.model.OrderType;
-import lombok.Getter;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 
 /**
- * Responsible for monitoring and enforcing risk limits
+ * Responsible for monitoring and enforcing risk limits.
+ * Limits are notional values in quote currency; prices and sizes are in ticks and lots.
  */
 public class RiskManager {
     private final double MAX_POSITION_SIZE;
     private final double MAX_ORDER_SIZE;
     private final double MAX_DAILY_LOSS;
 
-    @Getter
-    private double pnlToday = 0.0;
-    private final Map<String, Double> symbolVolatility = new ConcurrentHashMap<>();
+    // P&L and exposure, kept current by the position shards on every fill and mark change
+    private final PnlLedger pnlLedger;
+    private final ExposureTracker exposure;
+    private volatile double grossExposureLimit = Double.MAX_VALUE;
 
-    public RiskManager(double maxPositionSize, double maxOrderSize, double maxDailyLoss) {
+    // Per-symbol risk state, indexed by symbol id
+    private final double[] symbolVolatility;
+    private final double[] positionLimits;
+
+    public RiskManager(double maxPositionSize, double maxOrderSize, double maxDailyLoss, int maxSymbols) {
+        this(maxPositionSize, maxOrderSize, maxDailyLoss, maxSymbols, 1);
+    }
+
+    /**
+     * @param positionWriters threads recording P&L and exposure, each owning a disjoint set of symbols
+     */
+    public RiskManager(double maxPositionSize, double maxOrderSize, double maxDailyLoss, int maxSymbols,
+                       int positionWriters) {
         this.MAX_POSITION_SIZE = maxPositionSize;
         this.MAX_ORDER_SIZE = maxOrderSize;
         this.MAX_DAILY_LOSS = maxDailyLoss;
+
+        this.symbolVolatility = new double[maxSymbols];
+        this.positionLimits = new double[maxSymbols];
+        Arrays.fill(positionLimits, maxPositionSize);
+        this.pnlLedger = new PnlLedger(maxSymbols, positionWriters);
+        this.exposure = new ExposureTracker(maxSymbols, positionWriters, ExposureTracker.DEFAULT_MAX_SECTORS);
     }
 
     /**
-     * Checks if risk limits are exceeded
+     * Checks the daily loss and gross exposure limits against the incrementally kept totals, in O(1)
      */
-    public boolean areLimitsExceeded(Map<String, Position> positions, Map<String, OrderBook> orderBooks) {
-        double totalExposure = 0.0;
-
-        // Calculate total exposure across all positions
-        for (Position position : positions.values()) {
-            String symbol = position.getSymbol();
-            OrderBook book = orderBooks.get(symbol);
-
-            if (book != null) {
-                double midPrice = (book.getAsk() + book.getBid()) / 2.0;
-                double positionValue = Math.abs(position.getSize() * midPrice);
-                totalExposure += positionValue;
-            }
-        }
+    public boolean areLimitsExceeded() {
+        return getPnlToday() < -MAX_DAILY_LOSS || exposure.getGrossExposure() > grossExposureLimit;
+    }
 
-        // Check daily loss limit
-        return pnlToday < -MAX_DAILY_LOSS;
+    /**
+     * True if a symbol's exposure at its last mark is above its position limit, in O(1)
+     */
+    public boolean isPositionLimitExceeded(int symbolId) {
+        return Math.abs(exposure.getExposure(symbolId)) > positionLimits[symbolId];
     }
 
     /**
-     * Updates PnL tracking
+     * Today's realized and unrealized P&L
      */
-    public void updatePnL(double profit) {
-        pnlToday += profit;
+    public double getPnlToday() {
+        return pnlLedger.getTotalPnL();
+    }
+
+    public PnlLedger getPnlLedger() {
+        return pnlLedger;
+    }
+
+    public ExposureTracker getExposureTracker() {
+        return exposure;
+    }
+
+    /**
+     * Maximum sum of the absolute exposures of all symbols; unlimited by default
+     */
+    public double getGrossExposureLimit() {
+        return grossExposureLimit;
+    }
+
+    public void setGrossExposureLimit(double limit) {
+        grossExposureLimit = limit;
     }
 
     /**
      * Updates volatility for a symbol
      */
-    public void updateVolatility(String symbol, double volatility) {
-        symbolVolatility.put(symbol, volatility);
+    public void updateVolatility(int symbolId, double volatility) {
+        symbolVolatility[symbolId] = volatility;
+    }
+
+    public double getVolatility(int symbolId) {
+        return symbolVolatility[symbolId];
+    }
+
+    /**
+     * Maximum position value allowed for a symbol
+     */
+    public double getPositionLimit(int symbolId) {
+        return positionLimits[symbolId];
+    }
+
+    /**
+     * Overrides the maximum position value for a symbol
+     */
+    public void setPositionLimit(int symbolId, double limit) {
+        positionLimits[symbolId] = limit;
     }
 
     /**
-     * Calculates appropriate order size based on signal and risk parameters
+     * Calculates appropriate order size in lots based on signal and risk parameters
      */
-    public double calculateOrderSize(String symbol, double signal, double volatility, double price, Position position) {
+    public long calculateOrderSize(int symbolId, InstrumentSpec instrument, double signal, double volatility,
+                                   double priceTicks, Position position) {
         // Base size on signal strength
         double signalStrength = Math.min(1.0, Math.abs(signal) / 0.001);
         double baseSize = MAX_ORDER_SIZE * signalStrength;
@@ -78,34 +127,36 @@ public class RiskManager {
         double positionAdjustment = 1.0;
 
         if (position != null) {
-            double positionSize = position.getSize();
+            long positionSize = position.getSize();
             boolean sameDirection = (signal > 0 && positionSize > 0) || (signal < 0 && positionSize < 0);
 
             if (sameDirection) {
-                double currentExposure = Math.abs(positionSize * price);
-                positionAdjustment = Math.max(0.0, 1.0 - (currentExposure / MAX_POSITION_SIZE));
+                double currentExposure = Math.abs(position.getCurrentValue(priceTicks));
+                positionAdjustment = Math.max(0.0, 1.0 - (currentExposure / positionLimits[symbolId]));
             }
         }
 
         // Calculate final size
         double finalSize = baseSize * volAdjustment * positionAdjustment;
 
-        // Convert to quantity and ensure we don't exceed MAX_ORDER_SIZE
-        return Math.min(MAX_ORDER_SIZE / price, finalSize / price);
+        // Convert to lots and ensure we don't exceed MAX_ORDER_SIZE
+        return instrument.lotsForNotional(Math.min(MAX_ORDER_SIZE, finalSize), priceTicks);
     }
 
     /**
      * Creates an order to reduce position size
      */
-    public Order createReducePositionOrder(String symbol, double currentSize, double currentPrice) {
-        double targetSize = currentSize * 0.8; // Reduce by 20%
-        double reduceAmount = currentSize - targetSize;
+    public Order createReducePositionOrder(long orderId, int symbolId, InstrumentSpec instrument, long currentSize,
+                                           double currentPriceTicks) {
+        long targetSize = (long) (currentSize * 0.8); // Reduce by 20%
+        long reduceAmount = currentSize - targetSize;
 
         return new Order(
-                System.nanoTime(),
-                symbol,
+                orderId,
+                symbolId,
+                instrument,
                 currentSize > 0 ? OrderType.SELL : OrderType.BUY,
-                currentSize > 0 ? currentPrice * 0.999 : currentPrice * 1.001, // Aggressive pricing
+                Math.round(currentSize > 0 ? currentPriceTicks * 0.999 : currentPriceTicks * 1.001), // Aggressive pricing
                 Math.abs(reduceAmount)
         );
     }
@@ -113,12 +164,13 @@ public class RiskManager {
     /**
      * Creates an order to close a position
      */
-    public Order createClosePositionOrder(String symbol, double size, OrderBook book) {
+    public Order createClosePositionOrder(long orderId, int symbolId, long size, OrderBook book) {
         return new Order(
-                System.nanoTime(),
-                symbol,
+                orderId,
+                symbolId,
+                book.getInstrument(),
                 size > 0 ? OrderType.SELL : OrderType.BUY,
-                size > 0 ? book.getBid() * 0.99 : book.getAsk() * 1.01, // Aggressive pricing
+                Math.round(size > 0 ? book.getBidTicks() * 0.99 : book.getAskTicks() * 1.01), // Aggressive pricing
                 Math.abs(size)
         );
     }
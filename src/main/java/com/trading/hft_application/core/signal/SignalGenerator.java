@@ -2,13 +2,15 @@ package com.trading.hft_application.core.signal;
 
 
 
-import com.trading.hft_application.model.MarketTick;
-import com.trading.hft_application.model.OrderBook;
-
-import java.util.Queue;
+import com.trading.hft_application.core.marketdata.RollingStatistics;
+import com.trading.hft_application.core.marketdata.TickHistory;
+import com.trading.hft_application.model.TopOfBook;
 
 /**
- * Responsible for generating trading signals based on market data
+ * Responsible for generating trading signals based on market data.
+ * Signals read the history's incrementally maintained statistics, so their cost
+ * does not depend on the lookback period. Prices are compared in ticks; every signal is a ratio,
+ * so it is independent of the instrument's tick size.
  */
 public class SignalGenerator {
     private final double SIGNAL_THRESHOLD;
@@ -18,20 +20,21 @@ public class SignalGenerator {
     }
 
     /**
-     * Calculates combined trading signal from multiple strategies
+     * Calculates combined trading signal from multiple strategies, at the mid of a top of book snapshot
+     * so the signal and the order priced from it see the same quote
      */
-    public double calculateCombinedSignal(Queue<MarketTick> history, OrderBook book) {
-        if (history == null || history.size() < 2 || book == null) {
+    public double calculateCombinedSignal(TickHistory history, TopOfBook top) {
+        if (history == null || history.size() < 2 || top == null) {
             return 0.0;
         }
 
-        double midPrice = (book.getAsk() + book.getBid()) / 2.0;
+        double midTicks = top.getMidTicks();
 
         // Statistical arbitrage signal
-        double statArbSignal = calculateStatArbSignal(history, midPrice);
+        double statArbSignal = calculateStatArbSignal(history, midTicks);
 
         // Mean reversion signal
-        double meanReversionSignal = calculateMeanReversionSignal(history, midPrice);
+        double meanReversionSignal = calculateMeanReversionSignal(history, midTicks);
 
         // Momentum signal
         double momentumSignal = calculateMomentumSignal(history);
@@ -50,13 +53,9 @@ public class SignalGenerator {
     /**
      * Calculates statistical arbitrage signal
      */
-    public double calculateStatArbSignal(Queue<MarketTick> history, double currentPrice) {
-        // Simple moving average calculation
-        double sum = history.stream()
-                .mapToDouble(tick -> (tick.getBid() + tick.getAsk()) / 2.0)
-                .sum();
-
-        double movingAverage = sum / history.size();
+    public double calculateStatArbSignal(TickHistory history, double currentPrice) {
+        // Simple moving average
+        double movingAverage = history.getStatistics().getMean();
 
         // Deviation from moving average as signal
         return (movingAverage - currentPrice) / currentPrice;
@@ -65,23 +64,11 @@ public class SignalGenerator {
     /**
      * Calculates mean reversion signal
      */
-    public double calculateMeanReversionSignal(Queue<MarketTick> history, double currentPrice) {
+    public double calculateMeanReversionSignal(TickHistory history, double currentPrice) {
         // Z-score based mean reversion
-        double[] prices = history.stream()
-                .mapToDouble(tick -> (tick.getBid() + tick.getAsk()) / 2.0)
-                .toArray();
-
-        double mean = 0.0;
-        for (double price : prices) {
-            mean += price;
-        }
-        mean /= prices.length;
-
-        double stdDev = 0.0;
-        for (double price : prices) {
-            stdDev += Math.pow(price - mean, 2);
-        }
-        stdDev = Math.sqrt(stdDev / (prices.length - 1));
+        RollingStatistics statistics = history.getStatistics();
+        double mean = statistics.getMean();
+        double stdDev = statistics.getStandardDeviation();
 
         if (stdDev == 0) {
             return 0;
@@ -94,27 +81,16 @@ public class SignalGenerator {
     /**
      * Calculates momentum signal
      */
-    public double calculateMomentumSignal(Queue<MarketTick> history) {
+    public double calculateMomentumSignal(TickHistory history) {
         // Momentum based on recent price changes
-        MarketTick[] ticks = history.toArray(new MarketTick[0]);
-        if (ticks.length < 10) {
+        if (history.size() < 10) {
             return 0;
         }
 
-        double recentAvg = 0;
-        double olderAvg = 0;
-
-        // Recent average (last 10%)
-        for (int i = ticks.length - 1; i >= ticks.length * 0.9; i--) {
-            recentAvg += (ticks[i].getBid() + ticks[i].getAsk()) / 2.0;
-        }
-        recentAvg /= (ticks.length * 0.1);
-
-        // Older average (first 10%)
-        for (int i = 0; i < ticks.length * 0.1; i++) {
-            olderAvg += (ticks[i].getBid() + ticks[i].getAsk()) / 2.0;
-        }
-        olderAvg /= (ticks.length * 0.1);
+        // Recent average (last 10%) versus older average (first 10%)
+        RollingStatistics statistics = history.getStatistics();
+        double recentAvg = statistics.getRecentAverage();
+        double olderAvg = statistics.getOlderAverage();
 
         // Return normalized momentum
         return (recentAvg - olderAvg) / olderAvg;
@@ -123,32 +99,12 @@ public class SignalGenerator {
     /**
      * Calculates volatility for a specific symbol
      */
-    public double calculateVolatility(Queue<MarketTick> history) {
+    public double calculateVolatility(TickHistory history) {
         if (history == null || history.size() < 2) {
             return 0.001;
         }
 
-        double[] prices = history.stream()
-                .mapToDouble(tick -> (tick.getBid() + tick.getAsk()) / 2.0)
-                .toArray();
-
-        double sum = 0.0;
-        double mean = 0.0;
-
-        // Calculate mean
-        for (double price : prices) {
-            mean += price;
-        }
-        mean /= prices.length;
-
-        // Calculate variance
-        for (double price : prices) {
-            sum += Math.pow(price - mean, 2);
-        }
-
-        double vol = Math.sqrt(sum / (prices.length - 1));
-
-        // Return normalized volatility
-        return vol / mean;
+        // Normalized volatility
+        return history.getStatistics().getVolatility();
     }
 }
@@ -0,0 +1,145 @@
+package com.trading.hft_application.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to int values, with linear probing and
+ * backward-shift deletion. No boxing and no per-entry allocation; it only allocates when it grows.
+ * Not thread-safe.
+ */
+public class LongIntHashMap {
+    public static final int MISSING = -1;
+
+    private static final double LOAD_FACTOR = 0.5;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+    private int resizeThreshold;
+
+    /**
+     * Creates a map that holds at least the expected number of entries without growing
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value for a key, or MISSING
+     */
+    public int get(long key) {
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Maps a key to a non-negative value, returning the previous value or MISSING
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values must be non-negative: " + value);
+        }
+
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            allocateAndRehash(keys.length << 1);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Removes a key, returning its value or MISSING
+     */
+    public int remove(long key) {
+        int index = hash(key) & mask;
+        while (values[index] != MISSING) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                shiftBack(index);
+                size--;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int index) {
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (values[next] != MISSING) {
+            int ideal = hash(keys[next]) & mask;
+            boolean movable = hole <= next ? (ideal <= hole || ideal > next) : (ideal <= hole && ideal > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = MISSING;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void allocateAndRehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        // MurmurHash3 finalizer spreads sequential ids across the table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
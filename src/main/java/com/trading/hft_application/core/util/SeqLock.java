@@ -0,0 +1,76 @@
+package com.trading.hft_application.core.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Single-writer sequence lock guarding a group of plain fields.
+ * The writer brackets its stores with beginWrite()/endWrite() and never blocks; readers copy the
+ * fields between readBegin() and readRetry() and retry if a write overlapped, so they always see a
+ * consistent set of values. The version is odd while a write is in progress.
+ *
+ * <pre>
+ * long version;
+ * do {
+ *     version = lock.readBegin();
+ *     copy = field;
+ * } while (lock.readRetry(version));
+ * </pre>
+ */
+public final class SeqLock {
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(SeqLock.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // Accessed through VERSION
+    private long version = 0;
+
+    /**
+     * Marks the start of a write. Stores made after this call are not visible to readers as consistent
+     * until endWrite(). Must only be called by the single writer thread.
+     */
+    public void beginWrite() {
+        VERSION.setOpaque(this, version + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    /**
+     * Publishes the stores made since beginWrite()
+     */
+    public void endWrite() {
+        VERSION.setRelease(this, version + 1);
+    }
+
+    /**
+     * Waits out any write in progress and returns the version to validate the read against
+     */
+    public long readBegin() {
+        long current = (long) VERSION.getAcquire(this);
+        while ((current & 1) != 0) {
+            Thread.onSpinWait();
+            current = (long) VERSION.getAcquire(this);
+        }
+        return current;
+    }
+
+    /**
+     * True if a write overlapped the read that started at the given version, so it must be repeated
+     */
+    public boolean readRetry(long version) {
+        VarHandle.loadLoadFence();
+        return (long) VERSION.getOpaque(this) != version;
+    }
+
+    /**
+     * Number of completed writes times two, plus one while a write is in progress
+     */
+    public long getVersion() {
+        return (long) VERSION.getAcquire(this);
+    }
+}
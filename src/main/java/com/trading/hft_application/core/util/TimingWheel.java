@@ -0,0 +1,157 @@
+package com.trading.hft_application.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel for timers identified by dense int ids, such as slots of a preallocated table.
+ * Deadlines are rounded up to the wheel's tick and hashed into one of a power-of-two number of buckets;
+ * timers further out than one turn of the wheel wait in their bucket for later turns. Scheduling and
+ * cancelling are O(1), and polling costs O(1) per expired timer plus a bucket visit per elapsed tick,
+ * so no pass over all timers is ever needed. Timers never fire before their deadline, and fire at most
+ * one tick after it once polled. Nothing allocates after construction. Not thread-safe.
+ */
+public class TimingWheel {
+    public static final int NONE = -1;
+
+    private final long startNanos;
+    private final long tickNanos;
+    private final int mask;
+    private final int expiredList;
+
+    // Bucket list heads, followed by the list of timers already due
+    private final int[] heads;
+
+    // Timer slots
+    private final long[] deadlineTicks;
+    private final int[] lists;
+    private final int[] prev;
+    private final int[] next;
+
+    private long currentTick = 0;
+    private int scheduledCount = 0;
+
+    /**
+     * Creates a wheel for timer ids 0 to capacity - 1, starting at the given System.nanoTime() value
+     *
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(int capacity, long tickNanos, int wheelSize, long startNanos) {
+        if (capacity <= 0 || tickNanos <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Capacity, tick and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.startNanos = startNanos;
+        this.tickNanos = tickNanos;
+        this.mask = buckets - 1;
+        this.expiredList = buckets;
+
+        this.heads = new int[buckets + 1];
+        this.deadlineTicks = new long[capacity];
+        this.lists = new int[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+
+        Arrays.fill(heads, NONE);
+        Arrays.fill(lists, NONE);
+    }
+
+    /**
+     * Schedules a timer to fire once the given System.nanoTime() deadline has passed, replacing any
+     * deadline it already had. A deadline already polled past fires on the next poll.
+     */
+    public void schedule(int timerId, long deadlineNanos) {
+        cancel(timerId);
+
+        // Round up, so a timer never fires early
+        long deadlineTick = Math.max(0, Math.floorDiv(deadlineNanos - startNanos + tickNanos - 1, tickNanos));
+        deadlineTicks[timerId] = deadlineTick;
+        link(timerId, deadlineTick < currentTick ? expiredList : (int) (deadlineTick & mask));
+        scheduledCount++;
+    }
+
+    /**
+     * Cancels a timer; returns false if it was not scheduled
+     */
+    public boolean cancel(int timerId) {
+        if (lists[timerId] == NONE) {
+            return false;
+        }
+        unlink(timerId);
+        scheduledCount--;
+        return true;
+    }
+
+    public boolean isScheduled(int timerId) {
+        return lists[timerId] != NONE;
+    }
+
+    /**
+     * Removes and returns a timer whose deadline is at or before the given System.nanoTime() value,
+     * or NONE once no more are due. Call repeatedly until NONE to fire every due timer.
+     */
+    public int poll(long nowNanos) {
+        long nowTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        while (heads[expiredList] == NONE) {
+            if (currentTick > nowTick) {
+                return NONE;
+            }
+            if (scheduledCount == 0) {
+                // Nothing can come due in the skipped ticks
+                currentTick = nowTick + 1;
+                return NONE;
+            }
+            collectDue(currentTick++);
+        }
+
+        int timerId = heads[expiredList];
+        unlink(timerId);
+        scheduledCount--;
+        return timerId;
+    }
+
+    /**
+     * Timers scheduled and not yet polled or cancelled
+     */
+    public int size() {
+        return scheduledCount;
+    }
+
+    /**
+     * Moves the timers due at a tick from its bucket to the expired list, leaving those due on later turns
+     */
+    private void collectDue(long tick) {
+        int timerId = heads[(int) (tick & mask)];
+        while (timerId != NONE) {
+            int nextId = next[timerId];
+            if (deadlineTicks[timerId] <= tick) {
+                unlink(timerId);
+                link(timerId, expiredList);
+            }
+            timerId = nextId;
+        }
+    }
+
+    private void link(int timerId, int list) {
+        int head = heads[list];
+        prev[timerId] = NONE;
+        next[timerId] = head;
+        if (head != NONE) {
+            prev[head] = timerId;
+        }
+        heads[list] = timerId;
+        lists[timerId] = list;
+    }
+
+    private void unlink(int timerId) {
+        int list = lists[timerId];
+        if (prev[timerId] == NONE) {
+            heads[list] = next[timerId];
+        } else {
+            next[prev[timerId]] = next[timerId];
+        }
+        if (next[timerId] != NONE) {
+            prev[next[timerId]] = prev[timerId];
+        }
+        lists[timerId] = NONE;
+    }
+}
@@ -0,0 +1,266 @@
+package com.trading.hft_application.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from --name=value command-line arguments
+ */
+public class LoadTestConfig {
+    private static final Map<String, String> OPTIONS = new LinkedHashMap<>();
+
+    static {
+        OPTIONS.put("symbols", "Number of synthetic symbols (default 100)");
+        OPTIONS.put("rate", "Total ticks per second across all symbols, 0 for as fast as the pipeline accepts (default 100000)");
+        OPTIONS.put("duration", "Measured run time in seconds (default 30)");
+        OPTIONS.put("warmup", "Warmup time in seconds, excluded from the report (default 10)");
+        OPTIONS.put("process", "Price process: randomwalk or gbm (default gbm)");
+        OPTIONS.put("volatilityBps", "Standard deviation of each price move in basis points (default 1.0)");
+        OPTIONS.put("jumpProbability", "Chance that a GBM move includes a jump (default 0.0005)");
+        OPTIONS.put("jumpBps", "Standard deviation of a jump in basis points (default 50)");
+        OPTIONS.put("burstIntervalMs", "Period of rate bursts in milliseconds, 0 for a steady rate (default 0)");
+        OPTIONS.put("burstDurationMs", "Length of each burst in milliseconds (default 100)");
+        OPTIONS.put("burstMultiplier", "Rate multiplier during a burst (default 10)");
+        OPTIONS.put("producers", "Feed threads publishing into the ring buffer (default 1)");
+        OPTIONS.put("ringBufferSize", "Market data ring buffer slots, a power of 2 (default 65536)");
+        OPTIONS.put("waitStrategy", "Pipeline wait strategy: busyspin, yielding, sleeping or blocking (default yielding)");
+        OPTIONS.put("venueLatencyMicros", "One-way latency of the exchange simulator in microseconds (default 50)");
+        OPTIONS.put("liquidityRatio", "Share of each quoted size the simulated market offers, in (0, 1] (default 1.0)");
+        OPTIONS.put("lookbackPeriod", "Tick history length per symbol (default 100)");
+        OPTIONS.put("seed", "Random seed for the feeds (default 42)");
+        OPTIONS.put("quiet", "Discard the engine's console output during the run (default true)");
+    }
+
+    private int symbols = 100;
+    private double ticksPerSecond = 100_000;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 10;
+    private PriceProcess priceProcess = PriceProcess.GBM_JUMPS;
+    private double volatilityBps = 1.0;
+    private double jumpProbability = 0.0005;
+    private double jumpBps = 50;
+    private long burstIntervalMs = 0;
+    private long burstDurationMs = 100;
+    private double burstMultiplier = 10;
+    private int producers = 1;
+    private int ringBufferSize = 65536;
+    private String waitStrategy = "yielding";
+    private long venueLatencyMicros = 50;
+    private double liquidityRatio = 1.0;
+    private int lookbackPeriod = 100;
+    private long seed = 42;
+    private boolean quiet = true;
+
+    /**
+     * Parses --name=value arguments over the defaults
+     */
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            config.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        config.validate();
+        return config;
+    }
+
+    /**
+     * Usage text listing every option
+     */
+    public static String usage() {
+        StringBuilder usage = new StringBuilder("Options (--name=value):\n");
+        for (Map.Entry<String, String> option : OPTIONS.entrySet()) {
+            usage.append(String.format("  --%-16s %s%n", option.getKey(), option.getValue()));
+        }
+        return usage.toString();
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "symbols":
+                symbols = Integer.parseInt(value);
+                break;
+            case "rate":
+                ticksPerSecond = Double.parseDouble(value);
+                break;
+            case "duration":
+                durationSeconds = Integer.parseInt(value);
+                break;
+            case "warmup":
+                warmupSeconds = Integer.parseInt(value);
+                break;
+            case "process":
+                priceProcess = PriceProcess.fromName(value);
+                break;
+            case "volatilityBps":
+                volatilityBps = Double.parseDouble(value);
+                break;
+            case "jumpProbability":
+                jumpProbability = Double.parseDouble(value);
+                break;
+            case "jumpBps":
+                jumpBps = Double.parseDouble(value);
+                break;
+            case "burstIntervalMs":
+                burstIntervalMs = Long.parseLong(value);
+                break;
+            case "burstDurationMs":
+                burstDurationMs = Long.parseLong(value);
+                break;
+            case "burstMultiplier":
+                burstMultiplier = Double.parseDouble(value);
+                break;
+            case "producers":
+                producers = Integer.parseInt(value);
+                break;
+            case "ringBufferSize":
+                ringBufferSize = Integer.parseInt(value);
+                break;
+            case "waitStrategy":
+                waitStrategy = value;
+                break;
+            case "venueLatencyMicros":
+                venueLatencyMicros = Long.parseLong(value);
+                break;
+            case "liquidityRatio":
+                liquidityRatio = Double.parseDouble(value);
+                break;
+            case "lookbackPeriod":
+                lookbackPeriod = Integer.parseInt(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "quiet":
+                quiet = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+
+    private void validate() {
+        if (symbols < 1) {
+            throw new IllegalArgumentException("symbols must be positive: " + symbols);
+        }
+        if (ticksPerSecond < 0) {
+            throw new IllegalArgumentException("rate must not be negative: " + ticksPerSecond);
+        }
+        if (durationSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("duration must be positive and warmup not negative");
+        }
+        if (producers < 1 || producers > symbols) {
+            throw new IllegalArgumentException("producers must be between 1 and the symbol count: " + producers);
+        }
+        if (jumpProbability < 0 || jumpProbability > 1) {
+            throw new IllegalArgumentException("jumpProbability must be between 0 and 1: " + jumpProbability);
+        }
+        if (venueLatencyMicros < 0 || !(liquidityRatio > 0 && liquidityRatio <= 1)) {
+            throw new IllegalArgumentException("venueLatencyMicros must not be negative and liquidityRatio must be in (0, 1]");
+        }
+        if (burstIntervalMs < 0 || burstDurationMs < 0 || burstMultiplier <= 0
+                || (burstIntervalMs > 0 && burstDurationMs > burstIntervalMs)) {
+            throw new IllegalArgumentException("burst settings need 0 <= burstDurationMs <= burstIntervalMs and a positive multiplier");
+        }
+    }
+
+    public int getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Target tick rate across all producers, or 0 for unthrottled
+     */
+    public double getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public PriceProcess getPriceProcess() {
+        return priceProcess;
+    }
+
+    public double getVolatilityBps() {
+        return volatilityBps;
+    }
+
+    public double getJumpProbability() {
+        return jumpProbability;
+    }
+
+    public double getJumpBps() {
+        return jumpBps;
+    }
+
+    public long getBurstIntervalMs() {
+        return burstIntervalMs;
+    }
+
+    public long getBurstDurationMs() {
+        return burstDurationMs;
+    }
+
+    public double getBurstMultiplier() {
+        return burstMultiplier;
+    }
+
+    public int getProducers() {
+        return producers;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public long getVenueLatencyMicros() {
+        return venueLatencyMicros;
+    }
+
+    public double getLiquidityRatio() {
+        return liquidityRatio;
+    }
+
+    public int getLookbackPeriod() {
+        return lookbackPeriod;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isQuiet() {
+        return quiet;
+    }
+
+    @Override
+    public String toString() {
+        return "symbols=" + symbols +
+                ", rate=" + (ticksPerSecond > 0 ? String.format("%.0f/s", ticksPerSecond) : "unthrottled") +
+                ", duration=" + durationSeconds + "s" +
+                ", warmup=" + warmupSeconds + "s" +
+                ", process=" + priceProcess +
+                ", volatilityBps=" + volatilityBps +
+                (priceProcess == PriceProcess.GBM_JUMPS ? ", jumpProbability=" + jumpProbability + ", jumpBps=" + jumpBps : "") +
+                (burstIntervalMs > 0 ? ", bursts=" + burstDurationMs + "ms every " + burstIntervalMs + "ms at x" + burstMultiplier : "") +
+                ", producers=" + producers +
+                ", ringBufferSize=" + ringBufferSize +
+                ", waitStrategy=" + waitStrategy +
+                ", venueLatencyMicros=" + venueLatencyMicros +
+                ", liquidityRatio=" + liquidityRatio +
+                ", lookbackPeriod=" + lookbackPeriod;
+    }
+}
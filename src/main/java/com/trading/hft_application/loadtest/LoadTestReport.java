@@ -0,0 +1,152 @@
+package com.trading.hft_application.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of the measured part of a load test
+ */
+public class LoadTestReport {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+    private static final int MAX_THREADS_SHOWN = 10;
+
+    private final LoadTestConfig config;
+    private final double measuredSeconds;
+    private final long publishedTicks;
+    private final long droppedTicks;
+    private final long processedTicks;
+    private final long conflatedTicks;
+    private final long signalEvaluations;
+    private final long orders;
+    private final long fills;
+    private final long maxBacklog;
+    private final Map<String, Histogram> latencies;
+    private final ResourceMonitor resources;
+
+    public LoadTestReport(LoadTestConfig config, double measuredSeconds, long publishedTicks, long droppedTicks,
+                          long processedTicks, long conflatedTicks, long signalEvaluations, long orders,
+                          long fills, long maxBacklog, Map<String, Histogram> latencies, ResourceMonitor resources) {
+        this.config = config;
+        this.measuredSeconds = measuredSeconds;
+        this.publishedTicks = publishedTicks;
+        this.droppedTicks = droppedTicks;
+        this.processedTicks = processedTicks;
+        this.conflatedTicks = conflatedTicks;
+        this.signalEvaluations = signalEvaluations;
+        this.orders = orders;
+        this.fills = fills;
+        this.maxBacklog = maxBacklog;
+        this.latencies = new LinkedHashMap<>(latencies);
+        this.resources = resources;
+    }
+
+    /**
+     * Ticks fully processed by the pipeline per second
+     */
+    public double getThroughput() {
+        return processedTicks / measuredSeconds;
+    }
+
+    public long getPublishedTicks() {
+        return publishedTicks;
+    }
+
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    public long getProcessedTicks() {
+        return processedTicks;
+    }
+
+    public long getConflatedTicks() {
+        return conflatedTicks;
+    }
+
+    /**
+     * Latency histograms in nanoseconds, by pipeline stage plus the feeds' schedule lag
+     */
+    public Map<String, Histogram> getLatencies() {
+        return latencies;
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.println("=== Load test report ===");
+        out.println("Config:   " + config);
+        out.printf("Measured: %.1f s%n", measuredSeconds);
+
+        out.println();
+        out.println("Throughput");
+        long offered = publishedTicks + droppedTicks;
+        out.printf("  offered     %,14.0f ticks/s  (%,d ticks)%n", offered / measuredSeconds, offered);
+        out.printf("  published   %,14.0f ticks/s  (%,d ticks)%n", publishedTicks / measuredSeconds, publishedTicks);
+        out.printf("  processed   %,14.0f ticks/s  (%,d ticks)%n", getThroughput(), processedTicks);
+        out.printf("  dropped     %,14d ticks    (%.3f%% of offered)%n", droppedTicks, percent(droppedTicks, offered));
+        out.printf("  conflated   %,14d ticks    (%.3f%% of processed)%n", conflatedTicks, percent(conflatedTicks, processedTicks));
+        out.printf("  signal evaluations %,7d, orders %,d, fills %,d, max ring buffer backlog %,d%n",
+                signalEvaluations, orders, fills, maxBacklog);
+
+        out.println();
+        out.printf("Latency from publish (us) %10s", "count");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + formatPercentile(percentile));
+        }
+        out.printf(" %9s%n", "max");
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.printf("  %-23s %10d", entry.getKey(), histogram.getTotalCount());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.1f", histogram.getValueAtPercentile(percentile) / 1_000.0);
+            }
+            out.printf(" %9.1f%n", histogram.getMaxValue() / 1_000.0);
+        }
+
+        out.println();
+        out.println("GC");
+        for (Map.Entry<String, long[]> collector : resources.getCollectorTotals().entrySet()) {
+            out.printf("  %-23s %,d collections, %,d ms%n", collector.getKey(), collector.getValue()[0], collector.getValue()[1]);
+        }
+        Histogram pauses = resources.getGcPausesMillis();
+        if (pauses.getTotalCount() > 0) {
+            out.printf("  pauses: %d, p50 %d ms, p99 %d ms, max %d ms, %.3f%% of wall time%n",
+                    pauses.getTotalCount(), pauses.getValueAtPercentile(50.0), pauses.getValueAtPercentile(99.0),
+                    pauses.getMaxValue(), percent(pauses.getMean() * pauses.getTotalCount(), measuredSeconds * 1_000));
+        } else {
+            out.println("  pauses: none");
+        }
+
+        out.println();
+        out.println("CPU");
+        out.printf("  process: %.1f%% of %d cores%n", resources.getProcessCpuPercent(), Runtime.getRuntime().availableProcessors());
+        double[] cores = resources.getCoreUsagePercent();
+        if (cores.length > 0) {
+            StringBuilder line = new StringBuilder("  per core (whole machine):");
+            for (int core = 0; core < cores.length; core++) {
+                line.append(String.format(" cpu%d %.0f%%", core, cores[core]));
+            }
+            out.println(line);
+        } else {
+            out.println("  per core: not available on this platform");
+        }
+        out.println("  busiest threads (% of one core):");
+        int shown = 0;
+        for (Map.Entry<String, Double> thread : resources.getThreadCpuPercent().entrySet()) {
+            if (shown++ == MAX_THREADS_SHOWN || thread.getValue() < 0.1) {
+                break;
+            }
+            out.printf("    %-30s %6.1f%%%n", thread.getKey(), thread.getValue());
+        }
+    }
+
+    private static double percent(double part, double whole) {
+        return whole > 0 ? 100.0 * part / whole : 0;
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,234 @@
+package com.trading.hft_application.loadtest;
+
+import com.trading.hft_application.core.HFTAlgorithm;
+import com.trading.hft_application.core.eventlog.EventLog;
+import com.trading.hft_application.core.exchange.ExchangeSimulator;
+import com.trading.hft_application.core.execution.OrderIdGenerator;
+import com.trading.hft_application.core.marketdata.WaitStrategy;
+import com.trading.hft_application.core.metrics.LatencyMonitor;
+import com.trading.hft_application.core.metrics.LatencyStage;
+import com.trading.hft_application.model.InstrumentSpec;
+import org.HdrHistogram.Histogram;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless end-to-end load test: drives an HFTAlgorithm with synthetic feeds, then reports sustained
+ * throughput, per-stage latency percentiles, dropped and conflated ticks, GC pauses and CPU usage.
+ * The engine runs exactly as in the application, with its own pipeline, order and risk threads.
+ *
+ * <pre>
+ * java -cp ... com.trading.hft_application.loadtest.LoadTestRunner --symbols=1000 --rate=500000 --duration=60
+ * </pre>
+ */
+public class LoadTestRunner {
+    private static final double MAX_POSITION_SIZE = 1_000_000.0;
+    private static final double MAX_ORDER_SIZE = 100_000.0;
+    private static final double SIGNAL_THRESHOLD = 0.0002;
+    private static final int MAX_OPEN_ORDERS = 65536;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final LoadTestConfig config;
+    private final PrintStream out;
+
+    public LoadTestRunner(LoadTestConfig config, PrintStream out) {
+        this.config = config;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 1 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.print(LoadTestConfig.usage());
+            return;
+        }
+
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestConfig.usage());
+            System.exit(2);
+            return;
+        }
+
+        new LoadTestRunner(config, System.out).run().print(System.out);
+        System.exit(0);
+    }
+
+    /**
+     * Runs the warmup and measured phases and returns the measured results
+     */
+    public LoadTestReport run() throws InterruptedException {
+        out.println("Load test: " + config);
+
+        // Daily loss is unlimited so synthetic fills cannot trigger an emergency shutdown mid-run.
+        // Orders trade on the exchange simulator against the synthetic quotes.
+        ExchangeSimulator venue = new ExchangeSimulator(config.getSymbols(), MAX_OPEN_ORDERS,
+                config.getVenueLatencyMicros(), config.getLiquidityRatio());
+        HFTAlgorithm algorithm = new HFTAlgorithm(MAX_POSITION_SIZE, MAX_ORDER_SIZE, Double.MAX_VALUE,
+                config.getLookbackPeriod(), SIGNAL_THRESHOLD, config.getRingBufferSize(),
+                WaitStrategy.fromName(config.getWaitStrategy()), config.getSymbols(), new OrderIdGenerator(0),
+                MAX_OPEN_ORDERS, EventLog.NONE, venue);
+        SyntheticFeed[] feeds = createFeeds(algorithm);
+        Thread[] feedThreads = new Thread[feeds.length];
+
+        PrintStream engineOut = System.out;
+        if (config.isQuiet()) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+        try {
+            algorithm.start();
+            for (int i = 0; i < feeds.length; i++) {
+                feedThreads[i] = new Thread(feeds[i], "loadtest-feed-" + i);
+                feedThreads[i].setDaemon(true);
+                feedThreads[i].start();
+            }
+
+            out.printf("Warming up for %d s%n", config.getWarmupSeconds());
+            TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+
+            // Start the measured interval
+            ResourceMonitor resources = new ResourceMonitor();
+            LatencyMonitor latencyMonitor = algorithm.getLatencyMonitor();
+            algorithm.resetLatencyMetrics();
+            Histogram scheduleLag = new Histogram(3);
+            for (SyntheticFeed feed : feeds) {
+                feed.takeScheduleLag();
+            }
+            long publishedStart = sumPublished(feeds);
+            long droppedStart = sumDropped(feeds);
+            long processedStart = algorithm.getMessageCount();
+            long conflatedStart = algorithm.getConflatedTickCount();
+            long evaluationsStart = algorithm.getSignalEvaluationCount();
+            long ordersStart = algorithm.getOrderCount();
+            long fillsStart = algorithm.getOrderManager().getFillCount();
+            resources.start();
+            long startNanos = System.nanoTime();
+
+            long maxBacklog = 0;
+            long lastProcessed = processedStart;
+            for (int second = 1; second <= config.getDurationSeconds(); second++) {
+                long due = startNanos + TimeUnit.SECONDS.toNanos(second);
+                long backlog = algorithm.getRingBufferBacklog();
+                while (System.nanoTime() < due) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    backlog = Math.max(backlog, algorithm.getRingBufferBacklog());
+                }
+                maxBacklog = Math.max(maxBacklog, backlog);
+                long processed = algorithm.getMessageCount();
+                out.printf("  %4d s  processed %,12d ticks/s  backlog %,8d  dropped %,d%n",
+                        second, processed - lastProcessed, backlog, sumDropped(feeds) - droppedStart);
+                lastProcessed = processed;
+            }
+
+            // End the measured interval
+            double measuredSeconds = (System.nanoTime() - startNanos) / 1e9;
+            long published = sumPublished(feeds) - publishedStart;
+            long dropped = sumDropped(feeds) - droppedStart;
+            long processed = algorithm.getMessageCount() - processedStart;
+            long conflated = algorithm.getConflatedTickCount() - conflatedStart;
+            long evaluations = algorithm.getSignalEvaluationCount() - evaluationsStart;
+            long orders = algorithm.getOrderCount() - ordersStart;
+            long fills = algorithm.getOrderManager().getFillCount() - fillsStart;
+            resources.stop();
+
+            Map<String, Histogram> latencies = new LinkedHashMap<>();
+            for (LatencyStage stage : LatencyStage.values()) {
+                latencies.put(stage.getMetricName(), latencyMonitor.getHistogram(stage));
+            }
+            for (SyntheticFeed feed : feeds) {
+                scheduleLag.add(feed.takeScheduleLag());
+            }
+            if (config.getTicksPerSecond() > 0) {
+                latencies.put("feedScheduleLag", scheduleLag);
+            }
+
+            stopFeeds(feeds, feedThreads);
+            drain(algorithm);
+
+            return new LoadTestReport(config, measuredSeconds, published, dropped, processed, conflated,
+                    evaluations, orders, fills, maxBacklog, latencies, resources);
+        } finally {
+            stopFeeds(feeds, feedThreads);
+            algorithm.stop();
+            algorithm.awaitTermination(5, TimeUnit.SECONDS);
+            System.setOut(engineOut);
+        }
+    }
+
+    /**
+     * Registers the synthetic symbols and splits them round-robin across the feed threads
+     */
+    private SyntheticFeed[] createFeeds(HFTAlgorithm algorithm) {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        int producers = config.getProducers();
+        int[][] symbolIds = new int[producers][];
+        double[][] midTicks = new double[producers][];
+        for (int producer = 0; producer < producers; producer++) {
+            int count = (config.getSymbols() - producer + producers - 1) / producers;
+            symbolIds[producer] = new int[count];
+            midTicks[producer] = new double[count];
+        }
+
+        for (int i = 0; i < config.getSymbols(); i++) {
+            InstrumentSpec instrument = new InstrumentSpec(String.format("SYM%05d", i));
+            double mid = random.nextDouble(10.0, 1_000.0);
+            double halfSpread = instrument.getTickSize();
+            int symbolId = algorithm.addMarketDataFeed(instrument, mid - halfSpread, mid + halfSpread);
+
+            symbolIds[i % producers][i / producers] = symbolId;
+            midTicks[i % producers][i / producers] = mid / instrument.getTickSize();
+        }
+
+        double ratePerProducer = config.getTicksPerSecond() / producers;
+        SyntheticFeed[] feeds = new SyntheticFeed[producers];
+        for (int producer = 0; producer < producers; producer++) {
+            feeds[producer] = new SyntheticFeed(algorithm, symbolIds[producer], midTicks[producer], config,
+                    ratePerProducer, config.getSeed() + producer + 1);
+        }
+        return feeds;
+    }
+
+    private static void stopFeeds(SyntheticFeed[] feeds, Thread[] feedThreads) throws InterruptedException {
+        for (SyntheticFeed feed : feeds) {
+            feed.stop();
+        }
+        for (Thread thread : feedThreads) {
+            if (thread != null) {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+    /**
+     * Waits for the pipeline to consume the ticks already published, so the engine stops cleanly
+     */
+    private static void drain(HFTAlgorithm algorithm) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (algorithm.getRingBufferBacklog() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static long sumPublished(SyntheticFeed[] feeds) {
+        long total = 0;
+        for (SyntheticFeed feed : feeds) {
+            total += feed.getPublishedCount();
+        }
+        return total;
+    }
+
+    private static long sumDropped(SyntheticFeed[] feeds) {
+        long total = 0;
+        for (SyntheticFeed feed : feeds) {
+            total += feed.getDroppedCount();
+        }
+        return total;
+    }
+}
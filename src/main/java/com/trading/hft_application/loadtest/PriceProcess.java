@@ -0,0 +1,33 @@
+package com.trading.hft_application.loadtest;
+
+/**
+ * Price dynamics used by the synthetic feeds
+ */
+public enum PriceProcess {
+    /**
+     * Additive Gaussian steps in ticks, so volatility is constant in price terms
+     */
+    RANDOM_WALK,
+
+    /**
+     * Geometric Brownian motion with Poisson jumps, so volatility scales with the price and
+     * occasional gaps move the price by several standard deviations at once
+     */
+    GBM_JUMPS;
+
+    /**
+     * Resolves a price process from its command-line name
+     */
+    public static PriceProcess fromName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "randomwalk":
+            case "random-walk":
+                return RANDOM_WALK;
+            case "gbm":
+            case "gbm-jumps":
+                return GBM_JUMPS;
+            default:
+                throw new IllegalArgumentException("Unknown price process: " + name);
+        }
+    }
+}
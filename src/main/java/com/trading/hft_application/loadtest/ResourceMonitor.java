@@ -0,0 +1,195 @@
+package com.trading.hft_application.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.OperatingSystemMXBean;
+import com.sun.management.ThreadMXBean;
+import org.HdrHistogram.Histogram;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples GC pauses and CPU usage over the measured part of a load test.
+ * GC pauses come from collector notifications; collectors that only report concurrent cycles are
+ * left out, since their duration is not a pause. Per-core usage is read from /proc/stat and is only
+ * available on Linux; per-thread usage comes from thread CPU time.
+ */
+public class ResourceMonitor {
+    private static final Path PROC_STAT = Path.of("/proc/stat");
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Histogram gcPausesMillis = new Histogram(3);
+    private final NotificationListener gcListener = this::onGcNotification;
+
+    private final Map<String, long[]> collectorStart = new LinkedHashMap<>();
+    private final Map<Long, Long> threadCpuStart = new HashMap<>();
+    private long[][] coreTicksStart;
+    private long processCpuStart;
+    private long startNanos;
+
+    // Results, filled in by stop()
+    private final Map<String, long[]> collectorTotals = new LinkedHashMap<>();
+    private final Map<String, Double> threadCpuPercent = new LinkedHashMap<>();
+    private double[] coreUsagePercent = new double[0];
+    private double processCpuPercent;
+
+    /**
+     * Starts sampling
+     */
+    public void start() {
+        for (GarbageCollectorMXBean collector : collectors) {
+            collectorStart.put(collector.getName(), new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+            if (collector instanceof NotificationEmitter emitter && isPausing(collector.getName())) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+        threads.setThreadCpuTimeEnabled(true);
+        for (long threadId : threads.getAllThreadIds()) {
+            threadCpuStart.put(threadId, threads.getThreadCpuTime(threadId));
+        }
+        coreTicksStart = readCoreTicks();
+        processCpuStart = os.getProcessCpuTime();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops sampling and computes usage over the sampled interval
+     */
+    public void stop() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        int cores = os.getAvailableProcessors();
+        processCpuPercent = 100.0 * (os.getProcessCpuTime() - processCpuStart) / ((double) elapsedNanos * cores);
+
+        for (GarbageCollectorMXBean collector : collectors) {
+            long[] start = collectorStart.getOrDefault(collector.getName(), new long[2]);
+            collectorTotals.put(collector.getName(), new long[]{
+                    collector.getCollectionCount() - start[0], collector.getCollectionTime() - start[1]});
+            if (collector instanceof NotificationEmitter emitter && isPausing(collector.getName())) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (ListenerNotFoundException e) {
+                    // Never registered, nothing to remove
+                }
+            }
+        }
+
+        List<Map.Entry<String, Double>> threadUsage = new ArrayList<>();
+        for (long threadId : threads.getAllThreadIds()) {
+            long cpu = threads.getThreadCpuTime(threadId);
+            Long start = threadCpuStart.get(threadId);
+            ThreadInfo info = threads.getThreadInfo(threadId);
+            if (cpu < 0 || info == null) {
+                continue;
+            }
+            double percent = 100.0 * (cpu - (start == null ? 0 : start)) / elapsedNanos;
+            threadUsage.add(Map.entry(info.getThreadName(), percent));
+        }
+        threadUsage.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        for (Map.Entry<String, Double> usage : threadUsage) {
+            threadCpuPercent.put(usage.getKey(), usage.getValue());
+        }
+
+        long[][] coreTicksEnd = readCoreTicks();
+        if (coreTicksStart != null && coreTicksEnd != null && coreTicksStart.length == coreTicksEnd.length) {
+            coreUsagePercent = new double[coreTicksEnd.length];
+            for (int core = 0; core < coreTicksEnd.length; core++) {
+                long total = coreTicksEnd[core][0] - coreTicksStart[core][0];
+                long idle = coreTicksEnd[core][1] - coreTicksStart[core][1];
+                coreUsagePercent[core] = total > 0 ? 100.0 * (total - idle) / total : 0;
+            }
+        }
+    }
+
+    private void onGcNotification(Notification notification, Object handback) {
+        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            synchronized (gcPausesMillis) {
+                gcPausesMillis.recordValue(info.getGcInfo().getDuration());
+            }
+        }
+    }
+
+    private static boolean isPausing(String collectorName) {
+        return !collectorName.contains("Concurrent") && !collectorName.contains("Cycles");
+    }
+
+    /**
+     * Reads (total, idle) jiffies per core from /proc/stat, or null if it is not available
+     */
+    private static long[][] readCoreTicks() {
+        try {
+            List<long[]> cores = new ArrayList<>();
+            for (String line : Files.readAllLines(PROC_STAT)) {
+                if (!line.startsWith("cpu") || line.startsWith("cpu ")) {
+                    continue;
+                }
+                String[] fields = line.trim().split("\\s+");
+                // user, nice, system, idle, iowait, irq, softirq and steal; guest time is already in user
+                long total = 0;
+                for (int i = 1; i < Math.min(fields.length, 9); i++) {
+                    total += Long.parseLong(fields[i]);
+                }
+                // idle plus iowait
+                long idle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+                cores.add(new long[]{total, idle});
+            }
+            return cores.isEmpty() ? null : cores.toArray(new long[0][]);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Copy of the GC pause durations recorded while sampling, in milliseconds
+     */
+    public Histogram getGcPausesMillis() {
+        synchronized (gcPausesMillis) {
+            return gcPausesMillis.copy();
+        }
+    }
+
+    /**
+     * Collections and accumulated collection time in milliseconds per collector
+     */
+    public Map<String, long[]> getCollectorTotals() {
+        return collectorTotals;
+    }
+
+    /**
+     * CPU usage per thread as a percentage of one core, busiest first
+     */
+    public Map<String, Double> getThreadCpuPercent() {
+        return threadCpuPercent;
+    }
+
+    /**
+     * Usage of each core as a percentage, empty if per-core counters are not available
+     */
+    public double[] getCoreUsagePercent() {
+        return coreUsagePercent;
+    }
+
+    /**
+     * Process CPU usage as a percentage of all available cores
+     */
+    public double getProcessCpuPercent() {
+        return processCpuPercent;
+    }
+}
@@ -0,0 +1,216 @@
+package com.trading.hft_application.loadtest;
+
+import com.trading.hft_application.core.HFTAlgorithm;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feed thread publishing synthetic quotes for a slice of the load test's symbols.
+ * Each tick moves one randomly chosen symbol along its price process. When a rate is set, ticks are
+ * paced to a schedule (with optional bursts) and dropped if the ring buffer is full, as a live feed
+ * would; unthrottled feeds wait for ring buffer capacity instead, measuring the pipeline's ceiling.
+ * Generating and publishing a tick does not allocate.
+ */
+public class SyntheticFeed implements Runnable {
+    private static final long MAX_RECORDED_LAG_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long PARK_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_SIZE_LOTS = 1_000_000;
+
+    private final HFTAlgorithm algorithm;
+    private final int[] symbolIds;
+    private final double[] midTicks;
+    private final long[] spreadTicks;
+    private final double[] stepTicks;
+    private final PriceProcess priceProcess;
+    private final double volatility;
+    private final double jumpProbability;
+    private final double jumpVolatility;
+    private final SplittableRandom random;
+
+    // Pacing: 0 nanos per tick means unthrottled
+    private final double intervalNanos;
+    private final long burstIntervalNanos;
+    private final long burstDurationNanos;
+    private final double burstMultiplier;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Recorder scheduleLag = new Recorder(MAX_RECORDED_LAG_NANOS, 3);
+    private volatile boolean running = true;
+
+    // Last generated quote
+    private int lastSymbolId;
+    private long lastBidTicks;
+    private long lastAskTicks;
+    private long lastBidSize;
+    private long lastAskSize;
+
+    /**
+     * Creates a feed for the given symbols, starting from their mid prices in ticks
+     */
+    public SyntheticFeed(HFTAlgorithm algorithm, int[] symbolIds, double[] initialMidTicks, LoadTestConfig config,
+                         double ticksPerSecond, long seed) {
+        this.algorithm = algorithm;
+        this.symbolIds = symbolIds.clone();
+        this.midTicks = initialMidTicks.clone();
+        this.spreadTicks = new long[symbolIds.length];
+        this.stepTicks = new double[symbolIds.length];
+        this.priceProcess = config.getPriceProcess();
+        this.volatility = config.getVolatilityBps() / 10_000.0;
+        this.jumpProbability = config.getJumpProbability();
+        this.jumpVolatility = config.getJumpBps() / 10_000.0;
+        this.random = new SplittableRandom(seed);
+
+        for (int i = 0; i < symbolIds.length; i++) {
+            spreadTicks[i] = random.nextLong(1, 4);
+            stepTicks[i] = volatility * initialMidTicks[i];
+        }
+
+        this.intervalNanos = ticksPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ticksPerSecond : 0;
+        this.burstIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getBurstIntervalMs());
+        this.burstDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getBurstDurationMs());
+        this.burstMultiplier = config.getBurstMultiplier();
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        double due = start;
+        long publishedCount = 0;
+        long droppedCount = 0;
+
+        while (running) {
+            if (intervalNanos > 0) {
+                long now = waitUntil((long) due);
+                if (now < 0) {
+                    break;
+                }
+                scheduleLag.recordValue(Math.min(now - (long) due, MAX_RECORDED_LAG_NANOS));
+                due += currentInterval((long) due - start);
+            }
+
+            nextQuote();
+            if (intervalNanos == 0) {
+                algorithm.publishMarketData(lastSymbolId, lastBidTicks, lastAskTicks, lastBidSize, lastAskSize);
+                published.lazySet(++publishedCount);
+            } else if (algorithm.tryPublishMarketData(lastSymbolId, lastBidTicks, lastAskTicks, lastBidSize, lastAskSize)) {
+                published.lazySet(++publishedCount);
+            } else {
+                dropped.lazySet(++droppedCount);
+            }
+        }
+    }
+
+    /**
+     * Asks the feed thread to stop after its current tick
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Moves one randomly chosen symbol along the price process and stores its new quote
+     */
+    void nextQuote() {
+        int index = random.nextInt(symbolIds.length);
+        double mid = midTicks[index];
+        long spread = spreadTicks[index];
+
+        if (priceProcess == PriceProcess.RANDOM_WALK) {
+            mid += random.nextGaussian() * stepTicks[index];
+        } else {
+            double logReturn = volatility * random.nextGaussian() - 0.5 * volatility * volatility;
+            if (jumpProbability > 0 && random.nextDouble() < jumpProbability) {
+                logReturn += jumpVolatility * random.nextGaussian();
+            }
+            mid *= Math.exp(logReturn);
+        }
+        // Keep the bid at least one tick above zero
+        mid = Math.max(mid, spread / 2.0 + 1);
+        midTicks[index] = mid;
+
+        lastSymbolId = symbolIds[index];
+        lastBidTicks = (long) Math.floor(mid - spread / 2.0);
+        lastAskTicks = lastBidTicks + spread;
+        lastBidSize = random.nextLong(1, MAX_SIZE_LOTS);
+        lastAskSize = random.nextLong(1, MAX_SIZE_LOTS);
+    }
+
+    /**
+     * Nanoseconds until the next tick is due, shortened while a burst is under way
+     */
+    private double currentInterval(long elapsedNanos) {
+        if (burstIntervalNanos > 0 && elapsedNanos % burstIntervalNanos < burstDurationNanos) {
+            return intervalNanos / burstMultiplier;
+        }
+        return intervalNanos;
+    }
+
+    /**
+     * Waits until the given time, parking for long waits and spinning for short ones.
+     * Returns the time reached, or -1 if the feed was stopped while waiting.
+     */
+    private long waitUntil(long dueNanos) {
+        long now = System.nanoTime();
+        while (now < dueNanos) {
+            if (!running) {
+                return -1;
+            }
+            long remaining = dueNanos - now;
+            if (remaining > PARK_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - PARK_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    /**
+     * Ticks accepted by the ring buffer
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Ticks dropped because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * How far behind schedule each paced tick was generated, in nanoseconds, since the last call.
+     * Latencies inside the engine are measured from publish, so this is the delay they do not include.
+     */
+    public Histogram takeScheduleLag() {
+        return scheduleLag.getIntervalHistogram();
+    }
+
+    int getLastSymbolId() {
+        return lastSymbolId;
+    }
+
+    long getLastBidTicks() {
+        return lastBidTicks;
+    }
+
+    long getLastAskTicks() {
+        return lastAskTicks;
+    }
+
+    long getLastBidSize() {
+        return lastBidSize;
+    }
+
+    long getLastAskSize() {
+        return lastAskSize;
+    }
+}
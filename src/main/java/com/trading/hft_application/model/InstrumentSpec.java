@@ -0,0 +1,115 @@
+package com.trading.hft_application.model;
+
+/**
+ * Static description of a tradable instrument: its symbol, minimum price increment (tick size) and
+ * minimum quantity increment (lot size). Prices are carried through the system as whole ticks and
+ * quantities as whole lots, both in longs, and only converted to decimal values at the edges.
+ * The sector groups instruments for exposure limits.
+ */
+public class InstrumentSpec {
+    public static final double DEFAULT_TICK_SIZE = 0.01;
+    public static final double DEFAULT_LOT_SIZE = 0.0001;
+    public static final String DEFAULT_SECTOR = "default";
+
+    private final String symbol;
+    private final double tickSize;
+    private final double lotSize;
+    private final String sector;
+    private final double ticksPerUnit;
+    private final double lotsPerUnit;
+    private final double tickLotValue;
+
+    public InstrumentSpec(String symbol) {
+        this(symbol, DEFAULT_TICK_SIZE, DEFAULT_LOT_SIZE);
+    }
+
+    public InstrumentSpec(String symbol, double tickSize, double lotSize) {
+        this(symbol, tickSize, lotSize, DEFAULT_SECTOR);
+    }
+
+    public InstrumentSpec(String symbol, double tickSize, double lotSize, String sector) {
+        if (!(tickSize > 0) || !(lotSize > 0)) {
+            throw new IllegalArgumentException("Tick and lot size must be positive for " + symbol
+                    + ": tickSize=" + tickSize + ", lotSize=" + lotSize);
+        }
+
+        this.symbol = symbol;
+        this.tickSize = tickSize;
+        this.lotSize = lotSize;
+        this.sector = sector;
+        this.ticksPerUnit = 1.0 / tickSize;
+        this.lotsPerUnit = 1.0 / lotSize;
+        this.tickLotValue = tickSize * lotSize;
+    }
+
+    /**
+     * Converts a price to the nearest whole number of ticks
+     */
+    public long toTicks(double price) {
+        return Math.round(price * ticksPerUnit);
+    }
+
+    /**
+     * Converts a price in ticks (possibly fractional, e.g. a mid or an average) back to a price
+     */
+    public double toPrice(double priceTicks) {
+        return priceTicks / ticksPerUnit;
+    }
+
+    /**
+     * Converts a quantity to the nearest whole number of lots
+     */
+    public long toLots(double quantity) {
+        return Math.round(quantity * lotsPerUnit);
+    }
+
+    /**
+     * Converts a quantity in lots back to a quantity
+     */
+    public double toQuantity(long lots) {
+        return lots / lotsPerUnit;
+    }
+
+    /**
+     * Value of a quantity at a price, both in fixed-point units
+     */
+    public double notional(double priceTicks, long lots) {
+        return priceTicks * lots * tickLotValue;
+    }
+
+    /**
+     * Largest whole number of lots whose value at the given price does not exceed a notional amount
+     */
+    public long lotsForNotional(double notional, double priceTicks) {
+        if (priceTicks <= 0) {
+            return 0;
+        }
+        return (long) Math.floor(notional / (priceTicks * tickLotValue));
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public double getTickSize() {
+        return tickSize;
+    }
+
+    public double getLotSize() {
+        return lotSize;
+    }
+
+    public String getSector() {
+        return sector;
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentSpec{" +
+                "symbol='" + symbol + '\'' +
+                ", tickSize=" + tickSize +
+                ", lotSize=" + lotSize +
+                ", sector='" + sector + '\'' +
+                '}';
+    }
+}
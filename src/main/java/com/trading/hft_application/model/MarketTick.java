@@ -1,60 +1,96 @@
 package com.trading.hft_application.model;
 
-import java.time.Instant;
-
 /**
- * Represents a market data tick with bid/ask information
+ * Represents a market data tick with bid/ask information.
+ * Prices are in ticks and sizes in lots of the symbol's InstrumentSpec.
+ * Ticks are mutable so that preallocated instances can be reused as slots on the hot path.
  */
 public class MarketTick {
-    private final String symbol;
-    private final double bid;
-    private final double ask;
-    private final double bidSize;
-    private final double askSize;
-    private final Instant timestamp;
-
-    public MarketTick(String symbol, double bid, double ask, double bidSize, double askSize) {
+    private String symbol;
+    private long bidTicks;
+    private long askTicks;
+    private long bidSize;
+    private long askSize;
+    private long timestampNanos;
+
+    /**
+     * Creates an empty tick slot to be filled with set() or copyFrom()
+     */
+    public MarketTick() {
+    }
+
+    public MarketTick(String symbol, long bidTicks, long askTicks, long bidSize, long askSize) {
+        set(symbol, bidTicks, askTicks, bidSize, askSize, System.nanoTime());
+    }
+
+    /**
+     * Overwrites this tick in place
+     */
+    public void set(String symbol, long bidTicks, long askTicks, long bidSize, long askSize, long timestampNanos) {
         this.symbol = symbol;
-        this.bid = bid;
-        this.ask = ask;
+        this.bidTicks = bidTicks;
+        this.askTicks = askTicks;
         this.bidSize = bidSize;
         this.askSize = askSize;
-        this.timestamp = Instant.now();
+        this.timestampNanos = timestampNanos;
+    }
+
+    /**
+     * Overwrites this tick with the contents of another
+     */
+    public void copyFrom(MarketTick other) {
+        set(other.symbol, other.bidTicks, other.askTicks, other.bidSize, other.askSize, other.timestampNanos);
     }
 
     public String getSymbol() {
         return symbol;
     }
 
-    public double getBid() {
-        return bid;
+    public long getBidTicks() {
+        return bidTicks;
     }
 
-    public double getAsk() {
-        return ask;
+    public long getAskTicks() {
+        return askTicks;
     }
 
-    public double getBidSize() {
+    /**
+     * Bid size in lots
+     */
+    public long getBidSize() {
         return bidSize;
     }
 
-    public double getAskSize() {
+    /**
+     * Ask size in lots
+     */
+    public long getAskSize() {
         return askSize;
     }
 
-    public Instant getTimestamp() {
-        return timestamp;
+    /**
+     * Mid price in ticks, which may fall on a half tick
+     */
+    public double getMidTicks() {
+        return (bidTicks + askTicks) / 2.0;
+    }
+
+    /**
+     * Monotonic receive time from System.nanoTime()
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
     }
 
     @Override
     public String toString() {
         return "MarketTick{" +
                 "symbol='" + symbol + '\'' +
-                ", bid=" + bid +
-                ", ask=" + ask +
+                ", bidTicks=" + bidTicks +
+                ", askTicks=" + askTicks +
                 ", bidSize=" + bidSize +
                 ", askSize=" + askSize +
-                ", timestamp=" + timestamp +
+                ", timestampNanos=" + timestampNanos +
                 '}';
     }
 }
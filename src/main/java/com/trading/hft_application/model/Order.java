@@ -1,21 +1,24 @@
 package com.trading.hft_application.model;
 
 /**
- * Represents an order in the trading system
+ * Represents an order in the trading system.
+ * The price is in ticks and the size in lots of the order's instrument.
  */
 public class Order {
     private final long orderId;
-    private final String symbol;
+    private final int symbolId;
+    private final InstrumentSpec instrument;
     private final OrderType type;
-    private final double price;
-    private final double size;
+    private final long priceTicks;
+    private final long size;
     private final long timestamp;
 
-    public Order(long orderId, String symbol, OrderType type, double price, double size) {
+    public Order(long orderId, int symbolId, InstrumentSpec instrument, OrderType type, long priceTicks, long size) {
         this.orderId = orderId;
-        this.symbol = symbol;
+        this.symbolId = symbolId;
+        this.instrument = instrument;
         this.type = type;
-        this.price = price;
+        this.priceTicks = priceTicks;
         this.size = size;
         this.timestamp = System.currentTimeMillis();
     }
@@ -24,19 +27,33 @@ public class Order {
         return orderId;
     }
 
+    /**
+     * Dense symbol id used to index per-symbol state
+     */
+    public int getSymbolId() {
+        return symbolId;
+    }
+
+    public InstrumentSpec getInstrument() {
+        return instrument;
+    }
+
     public String getSymbol() {
-        return symbol;
+        return instrument.getSymbol();
     }
 
     public OrderType getType() {
         return type;
     }
 
-    public double getPrice() {
-        return price;
+    public long getPriceTicks() {
+        return priceTicks;
     }
 
-    public double getSize() {
+    /**
+     * Order size in lots
+     */
+    public long getSize() {
         return size;
     }
 
@@ -44,19 +61,14 @@ public class Order {
         return timestamp;
     }
 
-    public boolean isStale() {
-        // Order is stale if older than 100ms
-        return System.currentTimeMillis() - timestamp > 100;
-    }
-
     @Override
     public String toString() {
         return "Order{" +
                 "orderId=" + orderId +
-                ", symbol='" + symbol + '\'' +
+                ", symbol='" + instrument.getSymbol() + '\'' +
                 ", type=" + type +
-                ", price=" + price +
-                ", size=" + size +
+                ", price=" + instrument.toPrice(priceTicks) +
+                ", size=" + instrument.toQuantity(size) +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -1,70 +1,272 @@
 package com.trading.hft_application.model;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.trading.hft_application.core.util.SeqLock;
 
 /**
- * Represents an order book for a specific symbol
+ * Represents a full-depth (L2) order book for a specific symbol.
+ * Bid and ask ladders are keyed by integer price ticks with sizes in lots; the top-of-book fields
+ * mirror the best levels. The instrument spec converts to and from decimal prices and quantities.
+ * The book has a single writer (the market data thread). Every change is published under a seqlock,
+ * so other threads take consistent top-of-book and depth snapshots without locking and never see a
+ * half-updated quote. The ladder views themselves are only safe to read on the writer thread.
  */
 public class OrderBook {
-    private final String symbol;
-    private double bid;
-    private double ask;
-    private double bidSize;
-    private double askSize;
-    private final Map<Double, Double> bids = new HashMap<>();
-    private final Map<Double, Double> asks = new HashMap<>();
+    public static final int DEFAULT_MAX_DEPTH = 1024;
+
+    private final InstrumentSpec instrument;
+    private long bidTicks;
+    private long askTicks;
+    private long bidSize;
+    private long askSize;
+    private final SeqLock lock = new SeqLock();
+    private final PriceLadder bids;
+    private final PriceLadder asks;
 
     public OrderBook(String symbol) {
-        this.symbol = symbol;
+        this(new InstrumentSpec(symbol));
+    }
+
+    public OrderBook(InstrumentSpec instrument) {
+        this(instrument, DEFAULT_MAX_DEPTH);
+    }
+
+    public OrderBook(InstrumentSpec instrument, int maxDepth) {
+        this.instrument = instrument;
+        this.bids = new PriceLadder(true, maxDepth);
+        this.asks = new PriceLadder(false, maxDepth);
+    }
+
+    /**
+     * Applies a top-of-book tick: sets the best levels and drops any levels priced better than them.
+     * Returns true if the best bid or ask price changed.
+     */
+    public boolean update(MarketTick tick) {
+        long previousBidTicks = bidTicks;
+        long previousAskTicks = askTicks;
+        lock.beginWrite();
+        bids.removeBetterThan(tick.getBidTicks());
+        bids.setLevel(tick.getBidTicks(), tick.getBidSize());
+        asks.removeBetterThan(tick.getAskTicks());
+        asks.setLevel(tick.getAskTicks(), tick.getAskSize());
+        refreshTopOfBook();
+        lock.endWrite();
+        return bidTicks != previousBidTicks || askTicks != previousAskTicks;
+    }
+
+    /**
+     * Inserts or updates a price level; a non-positive size deletes it
+     */
+    public void updateLevel(OrderType side, long priceTicks, long size) {
+        lock.beginWrite();
+        ladder(side).setLevel(priceTicks, size);
+        refreshTopOfBook();
+        lock.endWrite();
+    }
+
+    /**
+     * Inserts or updates a price level along with its queued order count; a non-positive size deletes it
+     */
+    public void updateLevel(OrderType side, long priceTicks, long size, int orderCount) {
+        lock.beginWrite();
+        ladder(side).setLevel(priceTicks, size, orderCount);
+        refreshTopOfBook();
+        lock.endWrite();
+    }
+
+    /**
+     * Deletes a price level
+     */
+    public void deleteLevel(OrderType side, long priceTicks) {
+        lock.beginWrite();
+        ladder(side).removeLevel(priceTicks);
+        refreshTopOfBook();
+        lock.endWrite();
+    }
+
+    /**
+     * Removes all levels on both sides
+     */
+    public void clear() {
+        lock.beginWrite();
+        bids.clear();
+        asks.clear();
+        refreshTopOfBook();
+        lock.endWrite();
+    }
+
+    /**
+     * Converts a price to the nearest whole number of ticks
+     */
+    public long toTicks(double price) {
+        return instrument.toTicks(price);
+    }
+
+    /**
+     * Converts a price in ticks back to a price
+     */
+    public double toPrice(double priceTicks) {
+        return instrument.toPrice(priceTicks);
+    }
+
+    private PriceLadder ladder(OrderType side) {
+        return side == OrderType.BUY ? bids : asks;
+    }
+
+    /**
+     * Copies the best levels into the top-of-book fields; called inside a write
+     */
+    private void refreshTopOfBook() {
+        if (bids.isEmpty()) {
+            bidTicks = 0;
+            bidSize = 0;
+        } else {
+            bidTicks = bids.getBestPriceTicks();
+            bidSize = bids.getBestSize();
+        }
+
+        if (asks.isEmpty()) {
+            askTicks = 0;
+            askSize = 0;
+        } else {
+            askTicks = asks.getBestPriceTicks();
+            askSize = asks.getBestSize();
+        }
     }
 
-    public void update(MarketTick tick) {
-        this.bid = tick.getBid();
-        this.ask = tick.getAsk();
-        this.bidSize = tick.getBidSize();
-        this.askSize = tick.getAskSize();
+    /**
+     * Copies the best bid and ask into a reader-owned snapshot, consistently and without blocking the writer
+     */
+    public TopOfBook readTopOfBook(TopOfBook snapshot) {
+        long version;
+        long snapshotBidTicks;
+        long snapshotAskTicks;
+        long snapshotBidSize;
+        long snapshotAskSize;
+        do {
+            version = lock.readBegin();
+            snapshotBidTicks = bidTicks;
+            snapshotAskTicks = askTicks;
+            snapshotBidSize = bidSize;
+            snapshotAskSize = askSize;
+        } while (lock.readRetry(version));
 
-        // In a real system, would update full order book
-        bids.put(tick.getBid(), tick.getBidSize());
-        asks.put(tick.getAsk(), tick.getAskSize());
+        snapshot.set(snapshotBidTicks, snapshotAskTicks, snapshotBidSize, snapshotAskSize, version);
+        return snapshot;
+    }
+
+    /**
+     * Copies up to priceTicks.length best levels of one side into reader-owned arrays, consistently and
+     * without blocking the writer. Returns the number of levels copied.
+     */
+    public int readLevels(OrderType side, long[] priceTicks, long[] sizes) {
+        PriceLadder ladder = ladder(side);
+        long version;
+        int count;
+        do {
+            version = lock.readBegin();
+            count = ladder.copyLevels(priceTicks, sizes);
+        } while (lock.readRetry(version));
+        return count;
+    }
+
+    public InstrumentSpec getInstrument() {
+        return instrument;
     }
 
     public String getSymbol() {
-        return symbol;
+        return instrument.getSymbol();
+    }
+
+    public long getBidTicks() {
+        long version;
+        long value;
+        do {
+            version = lock.readBegin();
+            value = bidTicks;
+        } while (lock.readRetry(version));
+        return value;
+    }
+
+    public long getAskTicks() {
+        long version;
+        long value;
+        do {
+            version = lock.readBegin();
+            value = askTicks;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getBid() {
-        return bid;
+    /**
+     * Mid price in ticks, which may fall on a half tick. Bid and ask are read as one consistent pair.
+     */
+    public double getMidTicks() {
+        long version;
+        double value;
+        do {
+            version = lock.readBegin();
+            value = (bidTicks + askTicks) / 2.0;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getAsk() {
-        return ask;
+    /**
+     * Best bid size in lots
+     */
+    public long getBidSize() {
+        long version;
+        long value;
+        do {
+            version = lock.readBegin();
+            value = bidSize;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getBidSize() {
-        return bidSize;
+    /**
+     * Best ask size in lots
+     */
+    public long getAskSize() {
+        long version;
+        long value;
+        do {
+            version = lock.readBegin();
+            value = askSize;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getAskSize() {
-        return askSize;
+    /**
+     * Book version, incremented by two on every change
+     */
+    public long getVersion() {
+        return lock.getVersion();
     }
 
-    public Map<Double, Double> getBids() {
-        return new HashMap<>(bids);
+    /**
+     * Zero-copy view of the bid ladder, best level first
+     */
+    public PriceLadder getBids() {
+        return bids;
     }
 
-    public Map<Double, Double> getAsks() {
-        return new HashMap<>(asks);
+    /**
+     * Zero-copy view of the ask ladder, best level first
+     */
+    public PriceLadder getAsks() {
+        return asks;
     }
 
     @Override
     public String toString() {
+        TopOfBook top = readTopOfBook(new TopOfBook());
         return "OrderBook{" +
-                "symbol='" + symbol + '\'' +
-                ", bid=" + bid +
-                ", ask=" + ask +
-                ", spread=" + (ask - bid) +
+                "symbol='" + instrument.getSymbol() + '\'' +
+                ", bid=" + instrument.toPrice(top.getBidTicks()) +
+                ", ask=" + instrument.toPrice(top.getAskTicks()) +
+                ", spreadTicks=" + top.getSpreadTicks() +
+                ", bidDepth=" + bids.getDepth() +
+                ", askDepth=" + asks.getDepth() +
                 '}';
     }
 }
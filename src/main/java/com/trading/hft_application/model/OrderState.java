@@ -0,0 +1,72 @@
+package com.trading.hft_application.model;
+
+/**
+ * Lifecycle state of an order.
+ * <pre>
+ * PENDING_NEW -> NEW -> PARTIALLY_FILLED -> FILLED
+ *      |          |  \        |
+ *      |          |   PENDING_AMEND / PENDING_CANCEL -> CANCELLED
+ *      v          v
+ *   REJECTED   CANCELLED
+ * </pre>
+ * Pending amends and cancels return to NEW or PARTIALLY_FILLED when the venue acknowledges or rejects
+ * them, and a fill may arrive in any open state. FILLED, CANCELLED and REJECTED are terminal.
+ */
+public enum OrderState {
+    PENDING_NEW,
+    NEW,
+    PARTIALLY_FILLED,
+    FILLED,
+    CANCELLED,
+    REJECTED,
+    PENDING_AMEND,
+    PENDING_CANCEL;
+
+    private static final OrderState[] VALUES = values();
+
+    // Bit i of a state's mask is set if the transition to the state with ordinal i is allowed
+    private int transitions;
+
+    static {
+        allow(PENDING_NEW, NEW, PARTIALLY_FILLED, FILLED, REJECTED, PENDING_CANCEL, CANCELLED);
+        allow(NEW, PARTIALLY_FILLED, FILLED, PENDING_AMEND, PENDING_CANCEL, CANCELLED);
+        allow(PARTIALLY_FILLED, PARTIALLY_FILLED, FILLED, PENDING_AMEND, PENDING_CANCEL, CANCELLED);
+        allow(PENDING_AMEND, NEW, PARTIALLY_FILLED, FILLED, PENDING_AMEND, PENDING_CANCEL, CANCELLED);
+        allow(PENDING_CANCEL, NEW, PARTIALLY_FILLED, FILLED, PENDING_CANCEL, CANCELLED);
+    }
+
+    private static void allow(OrderState from, OrderState... to) {
+        for (OrderState state : to) {
+            from.transitions |= 1 << state.ordinal();
+        }
+    }
+
+    /**
+     * Whether the order may still trade or be changed
+     */
+    public boolean isOpen() {
+        return transitions != 0;
+    }
+
+    public boolean isTerminal() {
+        return transitions == 0;
+    }
+
+    /**
+     * Whether a request to the venue is awaiting its acknowledgement
+     */
+    public boolean isPending() {
+        return this == PENDING_NEW || this == PENDING_AMEND || this == PENDING_CANCEL;
+    }
+
+    public boolean canTransitionTo(OrderState next) {
+        return (transitions & (1 << next.ordinal())) != 0;
+    }
+
+    /**
+     * State for an ordinal, without allocating the array returned by values()
+     */
+    public static OrderState fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
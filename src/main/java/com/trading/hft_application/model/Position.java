@@ -1,82 +1,138 @@
 package com.trading.hft_application.model;
 
+import com.trading.hft_application.core.util.SeqLock;
+
 /**
- * Represents a trading position for a specific symbol
+ * Represents a trading position for a specific symbol.
+ * The size is in lots and the average price in (fractional) ticks; profits are in quote currency.
+ * A position has a single writer applying fills. Every update is published under a seqlock, so other
+ * threads read the fields without locking and never see a half-applied fill.
  */
 public class Position {
-    private final String symbol;
-    private double size;
-    private double avgPrice;
+    private final InstrumentSpec instrument;
+    private long size;
+    private double avgPriceTicks;
     private double lastTradeProfit;
     private double totalProfit;
+    private final SeqLock lock = new SeqLock();
 
-    public Position(String symbol, double size, double avgPrice) {
-        this.symbol = symbol;
+    public Position(InstrumentSpec instrument, long size, double avgPriceTicks) {
+        this.instrument = instrument;
         this.size = size;
-        this.avgPrice = avgPrice;
+        this.avgPriceTicks = avgPriceTicks;
         this.lastTradeProfit = 0.0;
         this.totalProfit = 0.0;
     }
 
-    public void updatePosition(double newSize, double price) {
-        double oldValue = size * avgPrice;
-
-        if ((size > 0 && newSize < 0) || (size < 0 && newSize > 0)) {
-            // Position flipping - calculate profit
-            lastTradeProfit = size * (price - avgPrice);
+    /**
+     * Applies a fill of the given signed size (negative for a sale) at a price in ticks. A fill against the
+     * position realizes P&L on the size it closes; any excess opens a position the other way at the fill price.
+     * Must only be called by the position's single writer thread.
+     */
+    public void updatePosition(long fillSize, long priceTicks) {
+        if (fillSize == 0) {
+            return;
+        }
+        lock.beginWrite();
+        if (size != 0 && (size > 0) != (fillSize > 0)) {
+            // Reducing or flipping - realize profit on the size closed
+            long closedSize = Math.min(Math.abs(fillSize), Math.abs(size)) * Long.signum(size);
+            lastTradeProfit = instrument.notional(priceTicks - avgPriceTicks, closedSize);
             totalProfit += lastTradeProfit;
 
-            // Reset position
-            size = newSize;
-            avgPrice = price;
-        } else {
-            // Adding to position - update average price
-            double newValue = newSize * price;
-            size += newSize;
-
-            if (size != 0) {
-                avgPrice = (oldValue + newValue) / size;
+            size += fillSize;
+            if (size == 0) {
+                avgPriceTicks = 0.0;
+            } else if ((size > 0) == (fillSize > 0)) {
+                avgPriceTicks = priceTicks;
             }
-
+        } else {
+            // Opening or adding to position - update average price
+            avgPriceTicks = (size * avgPriceTicks + (double) fillSize * priceTicks) / (size + fillSize);
+            size += fillSize;
             lastTradeProfit = 0;
         }
+        lock.endWrite();
+    }
+
+    public InstrumentSpec getInstrument() {
+        return instrument;
     }
 
     public String getSymbol() {
-        return symbol;
+        return instrument.getSymbol();
     }
 
-    public double getSize() {
-        return size;
+    /**
+     * Position size in lots, negative when short
+     */
+    public long getSize() {
+        long version;
+        long value;
+        do {
+            version = lock.readBegin();
+            value = size;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getAvgPrice() {
-        return avgPrice;
+    public double getAvgPriceTicks() {
+        long version;
+        double value;
+        do {
+            version = lock.readBegin();
+            value = avgPriceTicks;
+        } while (lock.readRetry(version));
+        return value;
     }
 
+    /**
+     * Profit realized by the last fill, 0 if it only added to the position
+     */
     public double getLastTradeProfit() {
-        return lastTradeProfit;
+        long version;
+        double value;
+        do {
+            version = lock.readBegin();
+            value = lastTradeProfit;
+        } while (lock.readRetry(version));
+        return value;
     }
 
     public double getTotalProfit() {
-        return totalProfit;
+        long version;
+        double value;
+        do {
+            version = lock.readBegin();
+            value = totalProfit;
+        } while (lock.readRetry(version));
+        return value;
     }
 
-    public double getCurrentValue(double currentPrice) {
-        return size * currentPrice;
+    public double getCurrentValue(double currentPriceTicks) {
+        return instrument.notional(currentPriceTicks, getSize());
     }
 
-    public double getUnrealizedPnL(double currentPrice) {
-        return size * (currentPrice - avgPrice);
+    /**
+     * Profit of closing the position at the given price; size and average price are read as one consistent pair
+     */
+    public double getUnrealizedPnL(double currentPriceTicks) {
+        long version;
+        double value;
+        do {
+            version = lock.readBegin();
+            value = instrument.notional(currentPriceTicks - avgPriceTicks, size);
+        } while (lock.readRetry(version));
+        return value;
     }
 
     @Override
     public String toString() {
         return "Position{" +
-                "symbol='" + symbol + '\'' +
-                ", size=" + size +
-                ", avgPrice=" + avgPrice +
-                ", totalProfit=" + totalProfit +
+                "symbol='" + instrument.getSymbol() + '\'' +
+                ", size=" + instrument.toQuantity(getSize()) +
+                ", avgPrice=" + instrument.toPrice(getAvgPriceTicks()) +
+                ", totalProfit=" + getTotalProfit() +
                 '}';
     }
 }
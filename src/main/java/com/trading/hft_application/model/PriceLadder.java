@@ -0,0 +1,203 @@
+package com.trading.hft_application.model;
+
+/**
+ * One side of a price-level order book, stored as sorted primitive arrays keyed by integer price ticks.
+ * Levels are kept worst-to-best so the best level sits at the end of the arrays: best-level access is O(1)
+ * and the frequent updates near the top of book shift few elements. Readers get a zero-copy view through
+ * the level accessors, where level 0 is the best price. Mutation is package-private and single-writer.
+ * Sizes are in lots. Levels built from order-by-order data also carry the number of orders queued at each price.
+ */
+public class PriceLadder {
+    private final boolean bidSide;
+    private final long[] keys;
+    private final long[] sizes;
+    private final int[] orderCounts;
+    private int depth = 0;
+
+    PriceLadder(boolean bidSide, int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Ladder depth must be positive: " + maxDepth);
+        }
+
+        this.bidSide = bidSide;
+        this.keys = new long[maxDepth];
+        this.sizes = new long[maxDepth];
+        this.orderCounts = new int[maxDepth];
+    }
+
+    /**
+     * Inserts, updates or (for a non-positive size) deletes the level at a price, order count unknown
+     */
+    void setLevel(long priceTicks, long size) {
+        setLevel(priceTicks, size, 0);
+    }
+
+    /**
+     * Inserts, updates or (for a non-positive size) deletes the level at a price
+     */
+    void setLevel(long priceTicks, long size, int orderCount) {
+        if (size <= 0) {
+            removeLevel(priceTicks);
+            return;
+        }
+
+        long key = toKey(priceTicks);
+        int index = binarySearch(key);
+        if (index >= 0) {
+            sizes[index] = size;
+            orderCounts[index] = orderCount;
+            return;
+        }
+
+        int insertAt = -index - 1;
+        if (depth == keys.length) {
+            // Full: drop the worst level to make room, unless the new level is the worst
+            if (insertAt == 0) {
+                return;
+            }
+            System.arraycopy(keys, 1, keys, 0, insertAt - 1);
+            System.arraycopy(sizes, 1, sizes, 0, insertAt - 1);
+            System.arraycopy(orderCounts, 1, orderCounts, 0, insertAt - 1);
+            insertAt--;
+        } else {
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, depth - insertAt);
+            System.arraycopy(sizes, insertAt, sizes, insertAt + 1, depth - insertAt);
+            System.arraycopy(orderCounts, insertAt, orderCounts, insertAt + 1, depth - insertAt);
+            depth++;
+        }
+
+        keys[insertAt] = key;
+        sizes[insertAt] = size;
+        orderCounts[insertAt] = orderCount;
+    }
+
+    /**
+     * Removes the level at a price, if present
+     */
+    void removeLevel(long priceTicks) {
+        int index = binarySearch(toKey(priceTicks));
+        if (index >= 0) {
+            System.arraycopy(keys, index + 1, keys, index, depth - index - 1);
+            System.arraycopy(sizes, index + 1, sizes, index, depth - index - 1);
+            System.arraycopy(orderCounts, index + 1, orderCounts, index, depth - index - 1);
+            depth--;
+        }
+    }
+
+    /**
+     * Removes every level priced better than the given price
+     */
+    void removeBetterThan(long priceTicks) {
+        int index = binarySearch(toKey(priceTicks));
+        depth = index >= 0 ? index + 1 : -index - 1;
+    }
+
+    void clear() {
+        depth = 0;
+    }
+
+    /**
+     * Number of price levels on this side
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isEmpty() {
+        return depth == 0;
+    }
+
+    public boolean isBidSide() {
+        return bidSide;
+    }
+
+    /**
+     * Price in ticks of the level at the given depth, 0 being the best
+     */
+    public long getPriceTicks(int level) {
+        return fromKey(keys[depth - 1 - level]);
+    }
+
+    /**
+     * Size of the level at the given depth, 0 being the best
+     */
+    public long getSize(int level) {
+        return sizes[depth - 1 - level];
+    }
+
+    /**
+     * Number of orders queued at the level at the given depth, or 0 if the source only provides aggregates
+     */
+    public int getOrderCount(int level) {
+        return orderCounts[depth - 1 - level];
+    }
+
+    public long getBestPriceTicks() {
+        return getPriceTicks(0);
+    }
+
+    public long getBestSize() {
+        return getSize(0);
+    }
+
+    /**
+     * Size resting at a price, or 0 if there is no level there
+     */
+    public long getSizeAt(long priceTicks) {
+        int index = binarySearch(toKey(priceTicks));
+        return index >= 0 ? sizes[index] : 0;
+    }
+
+    /**
+     * Total size across the best n levels
+     */
+    public long getCumulativeSize(int levels) {
+        long total = 0;
+        int count = Math.min(levels, depth);
+        for (int level = 0; level < count; level++) {
+            total += getSize(level);
+        }
+        return total;
+    }
+
+    /**
+     * Copies up to prices.length best levels, reading the depth once so that a concurrent write can only
+     * produce values the caller's seqlock check discards, never an out-of-range index
+     */
+    int copyLevels(long[] prices, long[] levelSizes) {
+        int currentDepth = Math.min(depth, keys.length);
+        int count = Math.min(Math.min(prices.length, levelSizes.length), currentDepth);
+        for (int level = 0; level < count; level++) {
+            int index = currentDepth - 1 - level;
+            prices[level] = fromKey(keys[index]);
+            levelSizes[level] = sizes[index];
+        }
+        return count;
+    }
+
+    // Keys ascend from worst to best: bid prices as-is, ask prices negated
+    private long toKey(long priceTicks) {
+        return bidSide ? priceTicks : -priceTicks;
+    }
+
+    private long fromKey(long key) {
+        return bidSide ? key : -key;
+    }
+
+    private int binarySearch(long key) {
+        int low = 0;
+        int high = depth - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = keys[mid];
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.trading.hft_application.model;
+
+/**
+ * Consistent copy of an order book's best bid and ask, filled by {@link OrderBook#readTopOfBook}.
+ * Owned by one reader and reused across reads, so taking a snapshot does not allocate.
+ */
+public class TopOfBook {
+    private long bidTicks;
+    private long askTicks;
+    private long bidSize;
+    private long askSize;
+    private long version;
+
+    void set(long bidTicks, long askTicks, long bidSize, long askSize, long version) {
+        this.bidTicks = bidTicks;
+        this.askTicks = askTicks;
+        this.bidSize = bidSize;
+        this.askSize = askSize;
+        this.version = version;
+    }
+
+    public long getBidTicks() {
+        return bidTicks;
+    }
+
+    public long getAskTicks() {
+        return askTicks;
+    }
+
+    /**
+     * Best bid size in lots
+     */
+    public long getBidSize() {
+        return bidSize;
+    }
+
+    /**
+     * Best ask size in lots
+     */
+    public long getAskSize() {
+        return askSize;
+    }
+
+    /**
+     * Mid price in ticks, which may fall on a half tick
+     */
+    public double getMidTicks() {
+        return (bidTicks + askTicks) / 2.0;
+    }
+
+    public long getSpreadTicks() {
+        return askTicks - bidTicks;
+    }
+
+    /**
+     * Book version the snapshot was taken at; increases with every book change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "TopOfBook{" +
+                "bidTicks=" + bidTicks +
+                ", askTicks=" + askTicks +
+                ", bidSize=" + bidSize +
+                ", askSize=" + askSize +
+                ", version=" + version +
+                '}';
+    }
+}
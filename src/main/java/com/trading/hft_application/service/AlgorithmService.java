@@ -1,30 +1,134 @@
 package com.trading.hft_application.service;
 
 import com.trading.hft_application.core.HFTAlgorithm;
+import com.trading.hft_application.core.eventlog.EventLog;
+import com.trading.hft_application.core.eventlog.MappedEventLog;
+import com.trading.hft_application.core.exchange.ExchangeSimulator;
+import com.trading.hft_application.core.execution.OrderIdGenerator;
+import com.trading.hft_application.core.execution.OrderManager;
+import com.trading.hft_application.core.execution.OrderSource;
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.core.execution.OrderThrottle;
+import com.trading.hft_application.core.execution.ThrottlePolicy;
+import com.trading.hft_application.core.marketdata.WaitStrategy;
+import com.trading.hft_application.core.risk.PreTradeRiskGate;
+import com.trading.hft_application.model.InstrumentSpec;
 import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderState;
+import com.trading.hft_application.model.OrderType;
 import com.trading.hft_application.model.Position;
+import com.trading.hft_application.model.TopOfBook;
 import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Service layer for interacting with the HFT Algorithm
+ * Service layer for interacting with the HFT Algorithm.
+ * Converts the algorithm's fixed-point ticks and lots to decimal prices and quantities for the API.
  */
 @Service
 public class AlgorithmService {
+    private static final int BOOK_DEPTH_LEVELS = 5;
 
     private final HFTAlgorithm algorithm;
+    private final MappedEventLog eventLog;
 
-    public AlgorithmService() {
-        // Initialize with default parameters
-        this.algorithm = new HFTAlgorithm();
+    public AlgorithmService(@Value("${algorithm.maxPositionSize:1000000.0}") double maxPositionSize,
+                            @Value("${algorithm.maxOrderSize:100000.0}") double maxOrderSize,
+                            @Value("${algorithm.maxDailyLoss:50000.0}") double maxDailyLoss,
+                            @Value("${algorithm.lookbackPeriod:100}") int lookbackPeriod,
+                            @Value("${algorithm.signalThreshold:0.0002}") double signalThreshold,
+                            @Value("${algorithm.ringBufferSize:65536}") int ringBufferSize,
+                            @Value("${algorithm.waitStrategy:sleeping}") String waitStrategy,
+                            @Value("${algorithm.maxSymbols:16384}") int maxSymbols,
+                            @Value("${algorithm.instanceId:0}") int instanceId,
+                            @Value("${algorithm.orderIdStateFile:}") String orderIdStateFile,
+                            @Value("${algorithm.maxOpenOrders:65536}") int maxOpenOrders,
+                            @Value("${algorithm.timeInForceMs.strategy:100}") long strategyTimeInForceMs,
+                            @Value("${algorithm.timeInForceMs.risk:100}") long riskTimeInForceMs,
+                            @Value("${algorithm.timeInForceMs.emergency:0}") long emergencyTimeInForceMs,
+                            @Value("${algorithm.eventLogDir:}") String eventLogDir,
+                            @Value("${algorithm.venue.latencyMicros:50}") long venueLatencyMicros,
+                            @Value("${algorithm.venue.liquidityRatio:1.0}") double venueLiquidityRatio,
+                            @Value("${algorithm.positionShards:2}") int positionShards,
+                            @Value("${algorithm.maxGrossExposure:10000000.0}") double maxGrossExposure,
+                            @Value("${algorithm.preTrade.priceBandBps:100.0}") double priceBandBps,
+                            @Value("${algorithm.preTrade.maxOpenOrdersPerSymbol:64}") int maxOpenOrdersPerSymbol,
+                            @Value("${algorithm.throttle.rate.global:0}") double globalRate,
+                            @Value("${algorithm.throttle.rate.symbol:0}") double symbolRate,
+                            @Value("${algorithm.throttle.rate.strategy:0}") double strategyRate,
+                            @Value("${algorithm.throttle.rate.risk:0}") double riskRate,
+                            @Value("${algorithm.throttle.burstMillis:50}") long burstMillis,
+                            @Value("${algorithm.throttle.submitPolicy:reject}") String submitPolicy,
+                            @Value("${algorithm.throttle.amendPolicy:coalesce}") String amendPolicy) {
+        // Order ids are unique per instance and, with a state file, across restarts
+        OrderIdGenerator orderIdGenerator = new OrderIdGenerator(instanceId,
+                orderIdStateFile.isBlank() ? null : Path.of(orderIdStateFile));
+
+        // Order actions are recorded in a binary event log, if a directory is configured
+        try {
+            this.eventLog = eventLogDir.isBlank() ? null : MappedEventLog.create(Path.of(eventLogDir));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event log in " + eventLogDir, e);
+        }
+
+        // Orders trade on an in-process exchange simulator matching against the quoted market
+        ExchangeSimulator venue = new ExchangeSimulator(maxSymbols, maxOpenOrders, venueLatencyMicros,
+                venueLiquidityRatio);
+
+        // Initialize with configured parameters
+        this.algorithm = new HFTAlgorithm(maxPositionSize, maxOrderSize, maxDailyLoss,
+                lookbackPeriod, signalThreshold, ringBufferSize, WaitStrategy.fromName(waitStrategy), maxSymbols,
+                orderIdGenerator, maxOpenOrders, eventLog != null ? eventLog : EventLog.NONE, venue,
+                positionShards);
+
+        // Emergency shutdown once the combined absolute value of all positions passes this limit
+        algorithm.getRiskManager().setGrossExposureLimit(maxGrossExposure);
+
+        // Orders priced further than the band from the mid, or beyond a symbol's open order limit, are not sent
+        PreTradeRiskGate preTradeGate = algorithm.getPreTradeRiskGate();
+        preTradeGate.setPriceBandBps(priceBandBps);
+        preTradeGate.setMaxOpenOrders(maxOpenOrdersPerSymbol);
+
+        // How long each source's orders work before they are cancelled; 0 keeps them until cancelled
+        OrderManager orderManager = algorithm.getOrderManager();
+        orderManager.setTimeInForce(OrderSource.STRATEGY, strategyTimeInForceMs);
+        orderManager.setTimeInForce(OrderSource.RISK, riskTimeInForceMs);
+        orderManager.setTimeInForce(OrderSource.EMERGENCY, emergencyTimeInForceMs);
+
+        // Message rates per second for submits and amends (0 = unlimited); each bucket allows a burst of
+        // what it accrues in burstMillis
+        OrderThrottle throttle = orderManager.getThrottle();
+        throttle.setGlobalRate(globalRate, burstOf(globalRate, burstMillis));
+        throttle.setSymbolRate(symbolRate, burstOf(symbolRate, burstMillis));
+        throttle.setSourceRate(OrderSource.STRATEGY, strategyRate, burstOf(strategyRate, burstMillis));
+        throttle.setSourceRate(OrderSource.RISK, riskRate, burstOf(riskRate, burstMillis));
+        throttle.setSubmitPolicy(ThrottlePolicy.fromName(submitPolicy));
+        throttle.setAmendPolicy(ThrottlePolicy.fromName(amendPolicy));
 
         // Add some test symbols for demonstration
         addTestSymbols();
     }
 
+    private static int burstOf(double perSecond, long burstMillis) {
+        return (int) Math.max(1, perSecond * burstMillis / 1000.0);
+    }
+
+    /**
+     * Underlying algorithm, for infrastructure such as the metrics binder
+     */
+    public HFTAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
     /**
      * Start the algorithm
      */
@@ -57,20 +161,21 @@ public class AlgorithmService {
         for (Map.Entry<String, Position> entry : positions.entrySet()) {
             String symbol = entry.getKey();
             Position position = entry.getValue();
+            InstrumentSpec instrument = position.getInstrument();
             Map<String, Object> positionData = new HashMap<>();
 
             positionData.put("symbol", symbol);
-            positionData.put("size", position.getSize());
-            positionData.put("avgPrice", position.getAvgPrice());
+            positionData.put("size", instrument.toQuantity(position.getSize()));
+            positionData.put("avgPrice", instrument.toPrice(position.getAvgPriceTicks()));
             positionData.put("totalProfit", position.getTotalProfit());
 
             // Calculate unrealized P&L if we have market data
             OrderBook book = orderBooks.get(symbol);
             if (book != null) {
-                double midPrice = (book.getAsk() + book.getBid()) / 2.0;
-                positionData.put("currentPrice", midPrice);
-                positionData.put("currentValue", position.getCurrentValue(midPrice));
-                positionData.put("unrealizedPnL", position.getUnrealizedPnL(midPrice));
+                double midTicks = book.getMidTicks();
+                positionData.put("currentPrice", instrument.toPrice(midTicks));
+                positionData.put("currentValue", position.getCurrentValue(midTicks));
+                positionData.put("unrealizedPnL", position.getUnrealizedPnL(midTicks));
             }
 
             result.put(symbol, positionData);
@@ -89,14 +194,20 @@ public class AlgorithmService {
         for (Map.Entry<String, OrderBook> entry : orderBooks.entrySet()) {
             String symbol = entry.getKey();
             OrderBook book = entry.getValue();
+            InstrumentSpec instrument = book.getInstrument();
+            TopOfBook top = book.readTopOfBook(new TopOfBook());
             Map<String, Object> bookData = new HashMap<>();
 
             bookData.put("symbol", symbol);
-            bookData.put("bid", book.getBid());
-            bookData.put("ask", book.getAsk());
-            bookData.put("bidSize", book.getBidSize());
-            bookData.put("askSize", book.getAskSize());
-            bookData.put("spread", book.getAsk() - book.getBid());
+            bookData.put("bid", instrument.toPrice(top.getBidTicks()));
+            bookData.put("ask", instrument.toPrice(top.getAskTicks()));
+            bookData.put("bidSize", instrument.toQuantity(top.getBidSize()));
+            bookData.put("askSize", instrument.toQuantity(top.getAskSize()));
+            bookData.put("spread", instrument.toPrice(top.getSpreadTicks()));
+            bookData.put("tickSize", instrument.getTickSize());
+            bookData.put("lotSize", instrument.getLotSize());
+            bookData.put("bidLevels", toLevels(book, OrderType.BUY));
+            bookData.put("askLevels", toLevels(book, OrderType.SELL));
 
             result.put(symbol, bookData);
         }
@@ -104,6 +215,53 @@ public class AlgorithmService {
         return result;
     }
 
+    /**
+     * Converts a consistent snapshot of the best levels of one side to [price, size] pairs
+     */
+    private List<double[]> toLevels(OrderBook book, OrderType side) {
+        long[] priceTicks = new long[BOOK_DEPTH_LEVELS];
+        long[] sizes = new long[BOOK_DEPTH_LEVELS];
+        int depth = book.readLevels(side, priceTicks, sizes);
+
+        InstrumentSpec instrument = book.getInstrument();
+        List<double[]> levels = new ArrayList<>(depth);
+        for (int level = 0; level < depth; level++) {
+            levels.add(new double[]{instrument.toPrice(priceTicks[level]), instrument.toQuantity(sizes[level])});
+        }
+        return levels;
+    }
+
+    /**
+     * Get orders in a state, or every open order if no state is given. Closed orders are only
+     * available while the order table retains them.
+     */
+    public List<Map<String, Object>> getOrders(OrderState state) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        OrderTable.OrderVisitor collector = (order, orderState, priceTicks, size, filledSize) -> {
+            InstrumentSpec instrument = order.getInstrument();
+            Map<String, Object> orderData = new HashMap<>();
+
+            orderData.put("orderId", order.getOrderId());
+            orderData.put("source", OrderIdGenerator.sourceOf(order.getOrderId()).name());
+            orderData.put("symbol", order.getSymbol());
+            orderData.put("side", order.getType().name());
+            orderData.put("state", orderState.name());
+            orderData.put("price", instrument.toPrice(priceTicks));
+            orderData.put("size", instrument.toQuantity(size));
+            orderData.put("filledSize", instrument.toQuantity(filledSize));
+            orderData.put("timestamp", order.getTimestamp());
+
+            result.add(orderData);
+        };
+
+        if (state == null) {
+            algorithm.getOrderTable().forEachOpen(collector);
+        } else {
+            algorithm.getOrderTable().forEach(state, collector);
+        }
+        return result;
+    }
+
     /**
      * Get performance metrics
      */
@@ -111,6 +269,13 @@ public class AlgorithmService {
         return algorithm.getPerformanceMetrics();
     }
 
+    /**
+     * Reset latency histograms for a new measurement interval
+     */
+    public void resetLatencyMetrics() {
+        algorithm.resetLatencyMetrics();
+    }
+
     /**
      * Update market data for testing
      */
@@ -121,8 +286,8 @@ public class AlgorithmService {
     /**
      * Add a new symbol
      */
-    public void addSymbol(String symbol, double initialBid, double initialAsk) {
-        algorithm.addMarketDataFeed(symbol, initialBid, initialAsk);
+    public void addSymbol(String symbol, double initialBid, double initialAsk, double tickSize, double lotSize) {
+        algorithm.addMarketDataFeed(new InstrumentSpec(symbol, tickSize, lotSize), initialBid, initialAsk);
     }
 
     /**
@@ -143,5 +308,12 @@ public class AlgorithmService {
         if (algorithm.isRunning()) {
             algorithm.stop();
         }
+        if (eventLog != null) {
+            try {
+                eventLog.close();
+            } catch (IOException e) {
+                System.err.println("Error closing event log: " + e.getMessage());
+            }
+        }
     }
 }
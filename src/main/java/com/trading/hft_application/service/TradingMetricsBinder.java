@@ -0,0 +1,176 @@
+package com.trading.hft_application.service;
+
+import com.trading.hft_application.core.HFTAlgorithm;
+import com.trading.hft_application.core.execution.OrderManager;
+import com.trading.hft_application.core.execution.OrderThrottle;
+import com.trading.hft_application.core.execution.PositionKeeper;
+import com.trading.hft_application.core.metrics.LatencyMonitor;
+import com.trading.hft_application.core.metrics.LatencyStage;
+import com.trading.hft_application.core.risk.ExposureTracker;
+import com.trading.hft_application.core.risk.PnlLedger;
+import com.trading.hft_application.core.risk.PreTradeCheck;
+import com.trading.hft_application.core.risk.PreTradeRiskGate;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the trading engine's metrics to Micrometer, and through it to the Actuator endpoints.
+ * Every meter is a function meter sampled by the registry from the engine's own striped counters,
+ * arrays and histograms, so nothing on the hot path touches Micrometer.
+ */
+@Component
+public class TradingMetricsBinder implements MeterBinder {
+    private static final double[] PERCENTILES = {50.0, 99.0, 99.9, 100.0};
+    private static final String[] PERCENTILE_TAGS = {"p50", "p99", "p999", "max"};
+
+    private final HFTAlgorithm algorithm;
+
+    @Autowired
+    public TradingMetricsBinder(AlgorithmService algorithmService) {
+        this(algorithmService.getAlgorithm());
+    }
+
+    TradingMetricsBinder(HFTAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Market data
+        FunctionCounter.builder("hft.ticks", algorithm, HFTAlgorithm::getMessageCount)
+                .description("Market data ticks processed by the pipeline")
+                .register(registry);
+        FunctionCounter.builder("hft.ticks.conflated", algorithm, HFTAlgorithm::getConflatedTickCount)
+                .description("Ticks folded into an already pending signal evaluation")
+                .register(registry);
+        FunctionCounter.builder("hft.signal.evaluations", algorithm, HFTAlgorithm::getSignalEvaluationCount)
+                .description("Per-symbol signal evaluations")
+                .register(registry);
+        Gauge.builder("hft.ringbuffer.backlog", algorithm, HFTAlgorithm::getRingBufferBacklog)
+                .description("Ticks published but not yet consumed by every pipeline stage")
+                .register(registry);
+
+        // Per-symbol update counts, including symbols added after startup
+        algorithm.addSymbolListener((symbol, symbolId) ->
+                FunctionCounter.builder("hft.symbol.updates", algorithm, a -> a.getSymbolUpdateCount(symbolId))
+                        .description("Ticks applied to the symbol's order book")
+                        .tag("symbol", symbol)
+                        .register(registry));
+
+        // Orders
+        OrderManager orderManager = algorithm.getOrderManager();
+        bindOrderCounter(registry, orderManager, "submit", OrderManager::getSubmittedOrderCount);
+        bindOrderCounter(registry, orderManager, "cancel", OrderManager::getCancelledOrderCount);
+        bindOrderCounter(registry, orderManager, "amend", OrderManager::getAmendedOrderCount);
+        bindOrderCounter(registry, orderManager, "expire", OrderManager::getExpiredOrderCount);
+        bindOrderCounter(registry, orderManager, "reject", OrderManager::getRejectedOrderCount);
+        bindOrderCounter(registry, orderManager, "fill", OrderManager::getFillCount);
+        FunctionCounter.builder("hft.orders.repriced.symbols", orderManager, OrderManager::getRepricedSymbolCount)
+                .description("Symbols whose orders were checked because their best bid or ask moved")
+                .register(registry);
+        Gauge.builder("hft.orders.active", algorithm, HFTAlgorithm::getActiveOrderCount)
+                .description("Orders currently working")
+                .register(registry);
+
+        // Order message throttle
+        bindThrottleCounter(registry, orderManager, "rejected", OrderManager::getThrottleRejectCount);
+        bindThrottleCounter(registry, orderManager, "queued", OrderManager::getThrottleQueuedCount);
+        bindThrottleCounter(registry, orderManager, "coalesced", OrderManager::getThrottleCoalescedCount);
+        bindThrottleCounter(registry, orderManager, "expired", OrderManager::getThrottleExpiredCount);
+        Gauge.builder("hft.throttle.queue", orderManager, OrderManager::getThrottleQueueSize)
+                .description("New orders held back by the throttle")
+                .register(registry);
+        OrderThrottle throttle = orderManager.getThrottle();
+        for (OrderThrottle.Bucket bucket : OrderThrottle.Bucket.values()) {
+            FunctionCounter.builder("hft.throttle.limited", throttle, t -> t.getLimitedCount(bucket))
+                    .description("Order messages refused because a bucket had no token")
+                    .tag("bucket", bucket.getMetricName())
+                    .register(registry);
+        }
+        Gauge.builder("hft.throttle.tokens", throttle, t -> t.getAvailableTokens(System.nanoTime()))
+                .description("Tokens left in the global bucket, -1 if unlimited")
+                .register(registry);
+
+        // Pre-trade risk checks
+        PreTradeRiskGate preTradeGate = algorithm.getPreTradeRiskGate();
+        FunctionCounter.builder("hft.pretrade.checks", preTradeGate, PreTradeRiskGate::getCheckedOrderCount)
+                .description("Orders checked before being sent")
+                .register(registry);
+        for (PreTradeCheck check : PreTradeCheck.values()) {
+            FunctionCounter.builder("hft.pretrade.rejections", preTradeGate, g -> g.getRejectionCount(check))
+                    .description("Orders not sent because they failed a pre-trade check")
+                    .tag("check", check.getMetricName())
+                    .register(registry);
+        }
+
+        // Tick-to-trade latency percentiles per stage
+        LatencyMonitor latencyMonitor = algorithm.getLatencyMonitor();
+        for (LatencyStage stage : LatencyStage.values()) {
+            Gauge.builder("hft.latency.count", latencyMonitor, m -> m.getCount(stage))
+                    .description("Latencies recorded since the last reset")
+                    .tag("stage", stage.getMetricName())
+                    .register(registry);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                double percentile = PERCENTILES[i];
+                TimeGauge.builder("hft.latency", latencyMonitor, TimeUnit.NANOSECONDS,
+                                m -> m.getValueAtPercentile(stage, percentile))
+                        .description("Latency from tick publish, since the last reset")
+                        .tags("stage", stage.getMetricName(), "percentile", PERCENTILE_TAGS[i])
+                        .register(registry);
+            }
+        }
+
+        // Exposure and P&L
+        Gauge.builder("hft.position.value", algorithm, HFTAlgorithm::getTotalPositionValue)
+                .description("Gross value of all positions at their last marks")
+                .register(registry);
+        Gauge.builder("hft.pnl.today", algorithm, HFTAlgorithm::getPnlToday)
+                .description("Realized and unrealized P&L for the current day")
+                .register(registry);
+        PnlLedger pnlLedger = algorithm.getPnlLedger();
+        Gauge.builder("hft.pnl", pnlLedger, PnlLedger::getRealizedPnL)
+                .description("P&L for the current day")
+                .tag("type", "realized")
+                .register(registry);
+        Gauge.builder("hft.pnl", pnlLedger, PnlLedger::getUnrealizedPnL)
+                .description("P&L for the current day")
+                .tag("type", "unrealized")
+                .register(registry);
+        ExposureTracker exposure = algorithm.getExposureTracker();
+        Gauge.builder("hft.exposure", exposure, ExposureTracker::getGrossExposure)
+                .description("Value of all positions at their last marks")
+                .tag("type", "gross")
+                .register(registry);
+        Gauge.builder("hft.exposure", exposure, ExposureTracker::getNetExposure)
+                .description("Value of all positions at their last marks")
+                .tag("type", "net")
+                .register(registry);
+        Gauge.builder("hft.fills.backlog", algorithm.getPositionKeeper(), PositionKeeper::getBacklog)
+                .description("Fills reported by the venue but not yet applied to positions")
+                .register(registry);
+    }
+
+    private static void bindOrderCounter(MeterRegistry registry, OrderManager orderManager, String action,
+                                         ToDoubleFunction<OrderManager> count) {
+        FunctionCounter.builder("hft.orders", orderManager, count)
+                .description("Order requests sent to the venue and its execution reports")
+                .tag("action", action)
+                .register(registry);
+    }
+
+    private static void bindThrottleCounter(MeterRegistry registry, OrderManager orderManager, String outcome,
+                                            ToDoubleFunction<OrderManager> count) {
+        FunctionCounter.builder("hft.throttle", orderManager, count)
+                .description("New orders and amends the throttle held back, by what became of them")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
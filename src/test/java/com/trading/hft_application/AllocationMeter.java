@@ -0,0 +1,26 @@
+package com.trading.hft_application;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap the calling thread allocates, for tests that check a hot path allocates nothing
+ * once warmed up. Warm the path up before measuring so class loading and JIT compilation are excluded.
+ */
+public final class AllocationMeter {
+	private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private AllocationMeter() {
+	}
+
+	/**
+	 * Bytes the current thread allocated while running the task
+	 */
+	public static long allocatedBytes(Runnable task) {
+		long threadId = Thread.currentThread().threadId();
+		long before = THREADS.getThreadAllocatedBytes(threadId);
+		task.run();
+		return THREADS.getThreadAllocatedBytes(threadId) - before;
+	}
+}
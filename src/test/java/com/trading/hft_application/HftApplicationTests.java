@@ -3,7 +3,8 @@ package com.trading.hft_application;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Keeps the order id high-water mark out of the working directory
+@SpringBootTest(properties = "algorithm.orderIdStateFile=${java.io.tmpdir}/hft-application-tests/order-id-0.state")
 class HftApplicationTests {
 
 	@Test
@@ -0,0 +1,62 @@
+package com.trading.hft_application.core;
+
+import com.trading.hft_application.core.marketdata.SleepingWaitStrategy;
+import com.trading.hft_application.model.InstrumentSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bursts of ticks through the running pipeline: the history stage evaluates each changed symbol at most
+ * once per batch, so a symbol's evaluations never exceed its ticks and every tick is either evaluated
+ * or conflated.
+ */
+class SignalConflationTest {
+	private static final int BUSY_TICKS = 5_000;
+	private static final int QUIET_TICKS = 50;
+
+	@Test
+	void evaluatesEachChangedSymbolOncePerBatch() throws InterruptedException {
+		// A lookback longer than any burst keeps signal evaluation from placing orders
+		HFTAlgorithm algorithm = new HFTAlgorithm(1_000_000.0, 100_000.0, 50_000.0, 10_000, 0.0002,
+				1024, new SleepingWaitStrategy(), 4);
+		int busy = algorithm.addMarketDataFeed(new InstrumentSpec("BUSY"), 100.0, 100.02);
+		int quiet = algorithm.addMarketDataFeed(new InstrumentSpec("QUIET"), 50.0, 50.02);
+		int idle = algorithm.addMarketDataFeed(new InstrumentSpec("IDLE"), 10.0, 10.02);
+
+		algorithm.start();
+		try {
+			for (int i = 0; i < BUSY_TICKS; i++) {
+				algorithm.publishMarketData(busy, 10_000 + i % 7, 10_002 + i % 7, 100, 100);
+				if (i % (BUSY_TICKS / QUIET_TICKS) == 0) {
+					algorithm.publishMarketData(quiet, 5_000, 5_002 + i % 3, 100, 100);
+				}
+			}
+			long published = 3 + BUSY_TICKS + QUIET_TICKS;
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while ((algorithm.getMessageCount() < published || algorithm.getRingBufferBacklog() > 0)
+					&& System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			assertEquals(0, algorithm.getRingBufferBacklog());
+
+			long evaluations = 0;
+			for (int symbolId : new int[] {busy, quiet, idle}) {
+				long updates = algorithm.getSymbolUpdateCount(symbolId);
+				long evaluated = algorithm.getSignalEvaluationCount(symbolId);
+				assertTrue(evaluated >= 1 && evaluated <= updates,
+						"symbol " + symbolId + ": " + evaluated + " evaluations for " + updates + " ticks");
+				evaluations += evaluated;
+			}
+			assertEquals(1, algorithm.getSignalEvaluationCount(idle), "one tick, one evaluation");
+			assertEquals(0, algorithm.getSignalEvaluationCount(3), "never ticked");
+			assertEquals(evaluations, algorithm.getSignalEvaluationCount());
+			assertEquals(published, evaluations + algorithm.getConflatedTickCount());
+		} finally {
+			algorithm.stop();
+			assertTrue(algorithm.awaitTermination(5, TimeUnit.SECONDS));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.trading.hft_application.core;
+
+import com.trading.hft_application.AllocationMeter;
+import com.trading.hft_application.core.marketdata.BusySpinWaitStrategy;
+import com.trading.hft_application.core.marketdata.Sequence;
+import com.trading.hft_application.core.marketdata.TickEvent;
+import com.trading.hft_application.core.marketdata.TickHistory;
+import com.trading.hft_application.core.marketdata.TickRingBuffer;
+import com.trading.hft_application.core.metrics.LatencyMonitor;
+import com.trading.hft_application.core.metrics.LatencyStage;
+import com.trading.hft_application.core.signal.SignalGenerator;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.TopOfBook;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies the tick path from ring buffer publish through book update to signal generation,
+ * including latency recording, allocates nothing once warmed up
+ */
+class TickPathAllocationTest {
+	private static final String SYMBOL = "BTC-USD";
+	private static final int WARMUP_TICKS = 200_000;
+	private static final int MEASURED_TICKS = 1_000_000;
+
+	private final TickRingBuffer ringBuffer = new TickRingBuffer(1024, new BusySpinWaitStrategy());
+	private final Sequence consumerSequence = new Sequence();
+	private final OrderBook book = new OrderBook(SYMBOL);
+	private final TopOfBook top = new TopOfBook();
+	private final TickHistory history = new TickHistory(100);
+	private final SignalGenerator signalGenerator = new SignalGenerator(0.0002);
+	private final LatencyMonitor latencyMonitor = new LatencyMonitor();
+	private long nextSequence = 0;
+	private double signalSink = 0;
+
+	@Test
+	void steadyStateTickPathAllocatesNothing() {
+		ringBuffer.addGatingSequences(consumerSequence);
+
+		// Warm up so class loading and JIT compilation are excluded from the measurement
+		runTicks(WARMUP_TICKS);
+
+		long allocated = AllocationMeter.allocatedBytes(() -> runTicks(MEASURED_TICKS));
+
+		assertTrue(Double.isFinite(signalSink));
+		assertEquals(0, allocated / MEASURED_TICKS, "bytes allocated per tick (total " + allocated + ")");
+	}
+
+	private void runTicks(int count) {
+		for (int i = 0; i < count; i++) {
+			long bidTicks = 5_000_000 + (i % 97) * 100 - (i % 13) * 100;
+			assertTrue(ringBuffer.tryPublish(0, SYMBOL, bidTicks, bidTicks + 100, 10_000, 20_000));
+
+			TickEvent event = ringBuffer.get(nextSequence);
+			book.update(event.getTick());
+			latencyMonitor.recordSince(LatencyStage.BOOK_UPDATE, event.getPublishNanos());
+			history.append(event.getTick());
+			signalSink += signalGenerator.calculateVolatility(history);
+			signalSink += signalGenerator.calculateCombinedSignal(history, book.readTopOfBook(top));
+			latencyMonitor.recordSince(LatencyStage.SIGNAL, event.getPublishNanos());
+
+			consumerSequence.set(nextSequence++);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.trading.hft_application.core.eventlog;
+
+import com.trading.hft_application.AllocationMeter;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEventLogTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void writesRecordsFromEveryThreadAndDecodesThem() throws Exception {
+		Path file = directory.resolve("events.bin");
+		// Small chunks so the writer has to map the file several times
+		MappedEventLog log = new MappedEventLog(file, 4096, 4800);
+		log.logSymbol(0, new InstrumentSpec("BTC-USD", 0.01, 0.0001));
+
+		Thread[] writers = new Thread[3];
+		for (int t = 0; t < writers.length; t++) {
+			int thread = t;
+			writers[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					log.logOrder(EventType.ORDER_SUBMIT, thread * 1000L + i, 0, OrderType.BUY, 5_000_001, 2_500, 0);
+				}
+			}, "writer-" + t);
+			writers[t].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		log.logOrder(EventType.ORDER_AMEND, 7, 0, OrderType.SELL, 5_000_002, 10_000, 5_000_001);
+		log.close();
+
+		assertEquals(0, log.getDroppedCount());
+		// One definition per thread and symbol, plus the order records
+		assertEquals(4 + 1 + 3000 + 1, log.getWrittenCount());
+		assertEquals(MappedEventLog.HEADER_SIZE + MappedEventLog.RECORD_SIZE * log.getWrittenCount(), Files.size(file));
+
+		ByteArrayOutputStream text = new ByteArrayOutputStream();
+		assertEquals(log.getWrittenCount(), EventLogDecoder.decode(file, new PrintStream(text, true, StandardCharsets.UTF_8)));
+		List<String> lines = text.toString(StandardCharsets.UTF_8).lines().toList();
+
+		assertTrue(lines.get(0).startsWith("# Event log started"));
+		assertTrue(lines.get(2).endsWith("SYMBOL 0 BTC-USD tick=0.01 lot=1.0E-4"), lines.get(2));
+		assertEquals(1000, lines.stream().filter(line -> line.contains(" writer-1 ORDER_SUBMIT ")).count());
+		assertTrue(lines.stream().anyMatch(line -> line.contains(" writer-2 ORDER_SUBMIT order=2999 BTC-USD BUY 0.25 @ 50000.01")));
+		// Records are ordered per thread, so the main thread's last record may precede other threads' records
+		assertTrue(lines.stream().anyMatch(line -> line.endsWith(" main ORDER_AMEND order=7 BTC-USD SELL 1.0 @ 50000.02 value=5000001")));
+	}
+
+	@Test
+	void dropsRecordsWhenTheThreadsBufferIsFull() throws Exception {
+		MappedEventLog log = new MappedEventLog(directory.resolve("events.bin"), 16, 1 << 20);
+		log.close();
+
+		// The writer has stopped, so only the records that fit in the thread's buffer are kept
+		for (int i = 0; i < 100; i++) {
+			log.logOrder(EventType.ORDER_CANCEL, i, 0, OrderType.BUY, 1, 1, 0);
+		}
+		assertEquals(100 + 1 - 16, log.getDroppedCount());
+	}
+
+	@Test
+	void loggingAllocatesNothing() throws Exception {
+		try (MappedEventLog log = new MappedEventLog(directory.resolve("events.bin"), 1 << 16, 1 << 24)) {
+			// Warm up so class loading, thread registration and JIT compilation are excluded from the measurement
+			for (int i = 0; i < 20_000; i++) {
+				log.logOrder(EventType.ORDER_SUBMIT, i, 0, OrderType.BUY, 10_000, 100, 0);
+			}
+
+			long allocated = AllocationMeter.allocatedBytes(() -> {
+				for (int i = 0; i < 20_000; i++) {
+					log.logOrder(EventType.ORDER_AMEND, i, 0, OrderType.SELL, 10_001, 100, 10_000);
+				}
+			});
+
+			assertEquals(0, allocated / 20_000, "bytes allocated per record (total " + allocated + ")");
+		}
+	}
+}
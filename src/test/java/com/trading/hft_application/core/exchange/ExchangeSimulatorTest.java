@@ -0,0 +1,123 @@
+package com.trading.hft_application.core.exchange;
+
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeSimulatorTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("BTC-USD");
+
+	private final List<String> reports = new CopyOnWriteArrayList<>();
+	private final List<Long> reportNanos = new CopyOnWriteArrayList<>();
+	private final List<String> reportThreads = new CopyOnWriteArrayList<>();
+
+	private final ExecutionListener listener = new ExecutionListener() {
+		@Override
+		public void onAccepted(long orderId) {
+			record("accepted " + orderId);
+		}
+
+		@Override
+		public void onRejected(long orderId) {
+			record("rejected " + orderId);
+		}
+
+		@Override
+		public void onAmended(long orderId) {
+			record("amended " + orderId);
+		}
+
+		@Override
+		public void onCancelled(long orderId) {
+			record("cancelled " + orderId);
+		}
+
+		@Override
+		public void onFill(long orderId, long priceTicks, long size) {
+			record("fill " + orderId + " " + size + "@" + priceTicks);
+		}
+	};
+
+	private void record(String report) {
+		reportNanos.add(System.nanoTime());
+		reportThreads.add(Thread.currentThread().getName());
+		reports.add(report);
+	}
+
+	@Test
+	void reportsAsynchronouslyAfterTheRoundTripLatency() throws Exception {
+		ExchangeSimulator venue = new ExchangeSimulator(4, 1024, 2_000, 0.5);
+		venue.start(listener);
+		try {
+			venue.onQuote(1, 10000, 10002, 100, 100);
+			long sentNanos = System.nanoTime();
+			venue.submit(new Order(1, 1, INSTRUMENT, OrderType.BUY, 10002, 80));
+
+			// Half the quoted ask is offered, so the order fills partially and rests for the rest
+			awaitReports(2);
+			assertEquals(List.of("accepted 1", "fill 1 50@10002"), reports);
+			assertTrue(reportNanos.get(0) - sentNanos >= TimeUnit.MICROSECONDS.toNanos(4_000),
+					"a report arrives no sooner than the latency there and back");
+			assertEquals("exchange-simulator", reportThreads.get(0));
+
+			venue.cancel(1);
+			venue.cancel(1);
+			awaitReports(4);
+			assertEquals(List.of("cancelled 1", "rejected 1"), reports.subList(2, 4));
+		} finally {
+			venue.stop();
+		}
+	}
+
+	@Test
+	void answersRequestsAlreadySentBeforeStopping() {
+		ExchangeSimulator venue = new ExchangeSimulator(4, 1024, 1_000, 1.0);
+		venue.start(listener);
+		venue.onQuote(0, 10000, 10002, 100, 100);
+		for (long id = 1; id <= 50; id++) {
+			venue.submit(new Order(id, 0, INSTRUMENT, OrderType.SELL, 10001, 1));
+		}
+		venue.cancel(50);
+		venue.stop();
+
+		assertEquals(51, reports.size());
+		assertEquals("cancelled 50", reports.get(50));
+		assertEquals(49, venue.getOpenOrderCount());
+	}
+
+	@Test
+	void dropsQuotesInsteadOfWaitingWhenTheRingIsFull() {
+		ExchangeSimulator venue = new ExchangeSimulator(4, 1024, 1_000_000, 1.0);
+		venue.start(listener);
+		try {
+			// Nothing leaves the ring for a second, so it stays full
+			for (int i = 0; i < ExchangeSimulator.DEFAULT_QUEUE_CAPACITY; i++) {
+				venue.onQuote(0, 10000, 10002, 100, 100);
+			}
+			assertEquals(0, venue.getDroppedQuoteCount());
+			long startNanos = System.nanoTime();
+			venue.onQuote(0, 10001, 10003, 100, 100);
+			venue.onQuote(1, 10001, 10003, 100, 100);
+			assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(500), "quotes never wait for room");
+			assertEquals(2, venue.getDroppedQuoteCount());
+		} finally {
+			venue.stop();
+		}
+	}
+
+	private void awaitReports(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (reports.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertTrue(reports.size() >= count, "reports received: " + reports);
+	}
+}
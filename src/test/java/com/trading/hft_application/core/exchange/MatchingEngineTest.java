@@ -0,0 +1,128 @@
+package com.trading.hft_application.core.exchange;
+
+import com.trading.hft_application.core.execution.ExecutionListener;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchingEngineTest {
+	private final List<String> reports = new ArrayList<>();
+	private final MatchingEngine engine = new MatchingEngine(2, 64, 16, new ExecutionListener() {
+		@Override
+		public void onAccepted(long orderId) {
+			reports.add("accepted " + orderId);
+		}
+
+		@Override
+		public void onRejected(long orderId) {
+			reports.add("rejected " + orderId);
+		}
+
+		@Override
+		public void onAmended(long orderId) {
+			reports.add("amended " + orderId);
+		}
+
+		@Override
+		public void onCancelled(long orderId) {
+			reports.add("cancelled " + orderId);
+		}
+
+		@Override
+		public void onFill(long orderId, long priceTicks, long size) {
+			reports.add("fill " + orderId + " " + size + "@" + priceTicks);
+		}
+	});
+
+	@Test
+	void fillsAgainstTheQuotedMarketAndRestsTheRemainder() {
+		engine.setQuote(0, 10000, 10002, 50, 30);
+
+		engine.submit(1, 0, OrderType.BUY, 10003, 100);
+		assertEquals(List.of("accepted 1", "fill 1 30@10002"), reports);
+		assertEquals(10003, engine.getBook(0).getBidTicks(), "the remainder rests at its limit");
+		assertEquals(70, engine.getBook(0).getBidSize());
+		assertEquals(0, engine.getBook(0).getAsks().getDepth());
+
+		// A quote through the resting bid trades against it at the bid's price
+		reports.clear();
+		engine.setQuote(0, 10001, 10003, 50, 40);
+		assertEquals(List.of("fill 1 40@10003"), reports);
+		engine.setQuote(0, 10001, 10002, 50, 40);
+		assertEquals(List.of("fill 1 40@10003", "fill 1 30@10003"), reports);
+		assertEquals(0, engine.getOpenOrderCount());
+		assertEquals(10002, engine.getBook(0).getAskTicks());
+		assertEquals(10, engine.getBook(0).getAskSize(), "the market keeps what was left of its ask");
+	}
+
+	@Test
+	void matchesByPriceThenTime() {
+		engine.submit(1, 0, OrderType.SELL, 10002, 10);
+		engine.submit(2, 0, OrderType.SELL, 10001, 10);
+		engine.submit(3, 0, OrderType.SELL, 10001, 10);
+		reports.clear();
+
+		engine.submit(4, 0, OrderType.BUY, 10002, 25);
+		assertEquals(List.of("accepted 4", "fill 2 10@10001", "fill 4 10@10001", "fill 3 10@10001",
+				"fill 4 10@10001", "fill 1 5@10002", "fill 4 5@10002"), reports);
+		assertEquals(5, engine.getBook(0).getAskSize());
+	}
+
+	@Test
+	void amendsKeepPriorityOnlyWhenReducingAtTheSamePrice() {
+		engine.submit(1, 0, OrderType.BUY, 10000, 10);
+		engine.submit(2, 0, OrderType.BUY, 10000, 10);
+
+		// Order 1 reduces and stays first; order 2 grows and keeps the back of the queue
+		engine.amend(1, 10000, 8);
+		engine.amend(2, 10000, 12);
+		reports.clear();
+		engine.submit(3, 0, OrderType.SELL, 10000, 9);
+		assertEquals(List.of("accepted 3", "fill 1 8@10000", "fill 3 8@10000", "fill 2 1@10000", "fill 3 1@10000"), reports);
+
+		// An amend that crosses trades at once
+		engine.submit(4, 0, OrderType.SELL, 10001, 5);
+		reports.clear();
+		engine.amend(2, 10001, 12);
+		assertEquals(List.of("amended 2", "fill 4 5@10001", "fill 2 5@10001"), reports);
+		assertEquals(10001, engine.getBook(0).getBidTicks());
+		assertEquals(6, engine.getBook(0).getBidSize(), "12 less the 1 and 5 filled");
+
+		reports.clear();
+		engine.amend(2, 10001, 6);
+		assertEquals(List.of("rejected 2"), reports, "the size must exceed what is filled");
+	}
+
+	@Test
+	void cancelsAndRejects() {
+		engine.submit(1, 0, OrderType.BUY, 10000, 10);
+		engine.submit(1, 0, OrderType.BUY, 10000, 10);
+		engine.submit(2, 2, OrderType.BUY, 10000, 10);
+		engine.submit(3, 1, OrderType.BUY, 10000, 0);
+		engine.cancel(1);
+		engine.cancel(1);
+		engine.amend(1, 10000, 20);
+
+		assertEquals(List.of("accepted 1", "rejected 1", "rejected 2", "rejected 3", "cancelled 1", "rejected 1",
+				"rejected 1"), reports);
+		assertEquals(0, engine.getOpenOrderCount());
+		assertEquals(0, engine.getBook(0).getBids().getDepth());
+	}
+
+	@Test
+	void rejectsOrdersBeyondTheSymbolsCapacity() {
+		for (long id = 1; id <= 17; id++) {
+			engine.submit(id, 1, OrderType.BUY, 10000 - id, 1);
+		}
+		assertEquals("rejected 17", reports.get(reports.size() - 1));
+
+		// The market's quote still fits alongside a full book of client orders
+		engine.setQuote(1, 9000, 10002, 5, 5);
+		assertEquals(17, engine.getBook(1).getBids().getDepth());
+		assertEquals(16, engine.getOpenOrderCount());
+	}
+}
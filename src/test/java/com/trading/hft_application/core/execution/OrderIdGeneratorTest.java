@@ -0,0 +1,101 @@
+package com.trading.hft_application.core.execution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+	private static final int THREADS = 8;
+	private static final int IDS_PER_THREAD = 250_000;
+
+	@TempDir
+	Path stateDirectory;
+
+	@Test
+	void idsAreUniqueAcrossThreadsAndIncreasingPerThread() throws InterruptedException {
+		OrderIdGenerator generator = new OrderIdGenerator(5);
+		long[][] ids = new long[THREADS][IDS_PER_THREAD];
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[THREADS];
+
+		for (int t = 0; t < THREADS; t++) {
+			long[] threadIds = ids[t];
+			OrderSource source = OrderSource.values()[t % OrderSource.values().length];
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < IDS_PER_THREAD; i++) {
+					threadIds[i] = generator.nextId(source);
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		long[] sequences = new long[THREADS * IDS_PER_THREAD];
+		for (int t = 0; t < THREADS; t++) {
+			for (int i = 0; i < IDS_PER_THREAD; i++) {
+				long id = ids[t][i];
+				assertTrue(id > 0);
+				if (i > 0) {
+					assertTrue(OrderIdGenerator.sequenceOf(id) > OrderIdGenerator.sequenceOf(ids[t][i - 1]));
+				}
+				sequences[t * IDS_PER_THREAD + i] = OrderIdGenerator.sequenceOf(id);
+			}
+		}
+		Arrays.sort(sequences);
+		for (int i = 1; i < sequences.length; i++) {
+			assertNotEquals(sequences[i - 1], sequences[i], "duplicate sequence");
+		}
+	}
+
+	@Test
+	void idsEncodeSourceAndInstance() {
+		OrderIdGenerator generator = new OrderIdGenerator(OrderIdGenerator.MAX_INSTANCE_ID);
+
+		for (OrderSource source : OrderSource.values()) {
+			long id = generator.nextId(source);
+			assertTrue(id > 0);
+			assertEquals(source, OrderIdGenerator.sourceOf(id));
+			assertEquals(OrderIdGenerator.MAX_INSTANCE_ID, OrderIdGenerator.instanceOf(id));
+		}
+		assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(OrderIdGenerator.MAX_INSTANCE_ID + 1));
+	}
+
+	@Test
+	void restartResumesAboveEveryIdIssuedBefore() throws Exception {
+		Path stateFile = stateDirectory.resolve("order-id.state");
+
+		// First run issues ids past several reservations, then "crashes" without any shutdown hook
+		OrderIdGenerator firstRun = new OrderIdGenerator(0, stateFile);
+		long lastIssued = 0;
+		for (int i = 0; i < 3_000_000; i++) {
+			lastIssued = Math.max(lastIssued, OrderIdGenerator.sequenceOf(firstRun.nextId(OrderSource.STRATEGY)));
+		}
+		assertTrue(Files.exists(stateFile));
+		assertTrue(Long.parseLong(Files.readString(stateFile).trim()) > lastIssued);
+
+		OrderIdGenerator secondRun = new OrderIdGenerator(0, stateFile);
+		assertTrue(OrderIdGenerator.sequenceOf(secondRun.nextId(OrderSource.RISK)) > lastIssued);
+	}
+
+	@Test
+	void corruptStateFileIsRejected() throws Exception {
+		Path stateFile = stateDirectory.resolve("order-id.state");
+		Files.writeString(stateFile, "not a number");
+
+		assertThrows(IllegalStateException.class, () -> new OrderIdGenerator(0, stateFile));
+	}
+}
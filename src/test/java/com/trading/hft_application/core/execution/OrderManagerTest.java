@@ -0,0 +1,238 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.core.eventlog.EventLog;
+import com.trading.hft_application.core.exchange.ExchangeSimulator;
+import com.trading.hft_application.core.marketdata.SymbolChangeQueue;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderManagerTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("TEST", 1.0, 1.0);
+	private static final long SECOND = 1_000_000_000L;
+	private static final OrderManager.OrderCheck ALLOW_ALL = order -> true;
+
+	private final List<String> sent = new ArrayList<>();
+	private final OrderThrottle throttle = new OrderThrottle(2);
+	private final OrderManager orderManager = new OrderManager(new RecordingVenue(), EventLog.NONE, throttle);
+	private final OrderTable orders = new OrderTable(16, 2);
+
+	private static Order order(long orderId) {
+		return order(orderId, 0);
+	}
+
+	private static Order order(long orderId, int symbolId) {
+		return new Order(orderId, symbolId, INSTRUMENT, OrderType.BUY, 100, 1);
+	}
+
+	@Test
+	void rejectsOrQueuesNewOrdersWithoutATokenButNeverEmergencyOrders() {
+		throttle.setGlobalRate(1, 2);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(1), orders));
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(2), orders));
+		assertEquals(SubmitResult.REJECTED, orderManager.submitOrder(order(3), orders));
+		assertEquals(1, orderManager.getThrottleRejectCount());
+
+		long emergencyId = new OrderIdGenerator(0, null).nextId(OrderSource.EMERGENCY);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(emergencyId), orders));
+		// Risk orders have their own bucket, unlimited here, so the strategy cannot crowd them out
+		long riskId = new OrderIdGenerator(0, null).nextId(OrderSource.RISK);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(riskId), orders));
+
+		// Queued orders go out as tokens come back, unless they waited past their time in force
+		throttle.setSubmitPolicy(ThrottlePolicy.QUEUE);
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 0);
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(5), orders));
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(6), orders));
+		assertEquals(2, orderManager.getThrottleQueueSize());
+		assertEquals(2, orders.getWorkingCount(0) - orders.getOpenCount(0), "queued orders count as working");
+		assertEquals(600.0, orders.getWorkingNotional(0, OrderType.BUY), "four open and two queued orders");
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 100);
+		long now = System.nanoTime();
+		orderManager.releaseThrottledOrders(orders, now, ALLOW_ALL);
+		assertEquals(List.of("submit 1", "submit 2", "submit " + emergencyId, "submit " + riskId), sent);
+
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 0);
+		orderManager.releaseThrottledOrders(orders, now + SECOND, ALLOW_ALL);
+		assertEquals("submit 5", sent.get(4));
+		assertEquals(1, orderManager.getThrottleQueueSize());
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 100);
+		orderManager.releaseThrottledOrders(orders, now + 3 * SECOND, ALLOW_ALL);
+		assertEquals(0, orderManager.getThrottleQueueSize());
+		assertEquals(1, orderManager.getThrottleExpiredCount());
+		assertEquals(orders.getOpenCount(0), orders.getWorkingCount(0));
+		assertEquals(5, sent.size());
+	}
+
+	@Test
+	void releasesQueuedOrdersPastAnEmptyBucketAndChecksThemAgain() {
+		throttle.setSymbolRate(1, 1);
+		throttle.setSubmitPolicy(ThrottlePolicy.QUEUE);
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 0);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(1, 0), orders));
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(2, 1), orders));
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(3, 0), orders));
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(4, 1), orders));
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(5, 1), orders));
+
+		// Symbol 0's refilled token goes elsewhere, so its queued order must not hold up symbol 1's
+		long now = System.nanoTime();
+		assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, now + SECOND));
+		orderManager.releaseThrottledOrders(orders, now + SECOND, ALLOW_ALL);
+		assertEquals(List.of("submit 1", "submit 2", "submit 4"), sent);
+		assertEquals(2, orderManager.getThrottleQueueSize());
+
+		// Orders that no longer pass the check when their turn comes are dropped, not sent
+		orderManager.releaseThrottledOrders(orders, now + 3 * SECOND, order -> order.getOrderId() != 5);
+		assertEquals(List.of("submit 1", "submit 2", "submit 4", "submit 3"), sent);
+		assertEquals(0, orderManager.getThrottleQueueSize());
+		assertEquals(1, orderManager.getThrottleRejectCount());
+		assertEquals(orders.getOpenCount(1), orders.getWorkingCount(1));
+	}
+
+	@Test
+	void releasedOrdersKeepOnlyTheTimeInForceLeftAfterQueueing() {
+		throttle.setGlobalRate(1, 1);
+		throttle.setSubmitPolicy(ThrottlePolicy.QUEUE);
+		orderManager.setTimeInForce(OrderSource.STRATEGY, 2_000);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(1), orders));
+		assertEquals(SubmitResult.QUEUED, orderManager.submitOrder(order(2), orders));
+		long queuedBy = System.nanoTime();
+
+		// Released late enough that a time in force started afresh would outlive the expiry check
+		orderManager.releaseThrottledOrders(orders, queuedBy + SECOND + SECOND / 5, ALLOW_ALL);
+		assertEquals(List.of("submit 1", "submit 2"), sent);
+		List<Long> expired = new ArrayList<>();
+		orders.forEachExpired(queuedBy + 2 * SECOND + 5_000_000, (order, state, priceTicks, size, filledSize) -> expired.add(order.getOrderId()));
+		assertEquals(List.of(1L, 2L), expired);
+	}
+
+	@Test
+	void coalescesThrottledAmendsIntoTheSymbolsNextPass() {
+		long now = System.nanoTime();
+		throttle.setSymbolRate(10, 1);
+		throttle.setAmendPolicy(ThrottlePolicy.COALESCE);
+		OrderBook[] books = {new OrderBook(INSTRUMENT), null};
+		SymbolChangeQueue changes = new SymbolChangeQueue(2);
+
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(1), orders));
+		orderManager.onAccepted(1, orders);
+		for (long bid = 101; bid <= 103; bid++) {
+			books[0].update(new MarketTick("TEST", bid, bid + 2, 10, 10));
+			changes.offer(0);
+			orderManager.manageChangedSymbols(orders, books, changes, now);
+		}
+		assertEquals(List.of("submit 1"), sent);
+		// Later passes refuse the deferred symbol again as well as the newly changed one
+		assertEquals(5, orderManager.getThrottleCoalescedCount());
+
+		// Once the bucket refills, one amend goes out at the latest bid
+		orderManager.manageChangedSymbols(orders, books, changes, now + SECOND);
+		assertEquals(List.of("submit 1", "amend 1 103"), sent);
+	}
+
+	@Test
+	void refusedAmendsHandTheirTokensBack() {
+		throttle.setGlobalRate(1, 3);
+		assertEquals(SubmitResult.SENT, orderManager.submitOrder(order(1), orders));
+		orderManager.onAccepted(1, orders);
+		long now = System.nanoTime();
+		orderManager.updateOrder(1, 101, 1, orders, now);
+		assertEquals(1, throttle.getAvailableTokens(now));
+
+		// The table refuses a second amend while the first is in flight, so nothing is charged for it
+		orderManager.updateOrder(1, 102, 1, orders, now);
+		assertEquals(List.of("submit 1", "amend 1 101"), sent);
+		assertEquals(1, throttle.getAvailableTokens(now));
+		assertEquals(0, orderManager.getThrottleRejectCount());
+	}
+
+	@Test
+	void cancelsWithoutHoldingTheTableWhileTheVenueRingIsFull() {
+		// An eight-request ring with reports for every accept still to be delivered
+		ExchangeSimulator venue = new ExchangeSimulator(2, 64, 2_000, 1.0, 8);
+		OrderManager manager = new OrderManager(venue, EventLog.NONE);
+		venue.start(new ExecutionListener() {
+			@Override
+			public void onAccepted(long orderId) {
+				manager.onAccepted(orderId, orders);
+			}
+
+			@Override
+			public void onRejected(long orderId) {
+				manager.onRejected(orderId, orders);
+			}
+
+			@Override
+			public void onAmended(long orderId) {
+				manager.onAmended(orderId, orders);
+			}
+
+			@Override
+			public void onCancelled(long orderId) {
+				manager.onCancelled(orderId, orders);
+			}
+
+			@Override
+			public void onFill(long orderId, long priceTicks, long size) {
+			}
+		});
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+				manager.setTimeInForce(OrderSource.STRATEGY, 1);
+				for (long orderId = 1; orderId <= 8; orderId++) {
+					assertEquals(SubmitResult.SENT, manager.submitOrder(order(orderId), orders));
+				}
+				manager.setTimeInForce(OrderSource.STRATEGY, 0);
+				for (long orderId = 9; orderId <= 16; orderId++) {
+					assertEquals(SubmitResult.SENT, manager.submitOrder(order(orderId), orders));
+				}
+
+				// More cancels than the ring holds, sent while the venue is delivering reports
+				manager.expireOrders(orders, System.nanoTime() + SECOND);
+				manager.cancelAllOrders(orders);
+				while (orders.getOpenCount() > 0) {
+					Thread.sleep(1);
+				}
+			});
+			assertEquals(8, manager.getExpiredOrderCount());
+			assertEquals(16, manager.getCancelledOrderCount());
+		} finally {
+			venue.stop();
+		}
+	}
+
+	private final class RecordingVenue implements ExecutionVenue {
+		@Override
+		public void start(ExecutionListener listener) {
+		}
+
+		@Override
+		public void stop() {
+		}
+
+		@Override
+		public void submit(Order order) {
+			sent.add("submit " + order.getOrderId());
+		}
+
+		@Override
+		public void amend(long orderId, long priceTicks, long size) {
+			sent.add("amend " + orderId + " " + priceTicks);
+		}
+
+		@Override
+		public void cancel(long orderId) {
+			sent.add("cancel " + orderId);
+		}
+	}
+}
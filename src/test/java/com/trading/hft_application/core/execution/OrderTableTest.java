@@ -0,0 +1,267 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.AllocationMeter;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderState;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTableTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("BTC-USD");
+
+	private long visitedSize = 0;
+
+	private static Order order(long orderId, long priceTicks, long size) {
+		return new Order(orderId, 0, INSTRUMENT, OrderType.BUY, priceTicks, size);
+	}
+
+	@Test
+	void walksTheLifecycleThroughFills() {
+		OrderTable table = new OrderTable(8, 1);
+		assertTrue(table.add(order(1, 10000, 100)));
+		assertFalse(table.add(order(1, 10000, 100)), "duplicate order id");
+		assertEquals(OrderState.PENDING_NEW, table.getState(1));
+
+		assertFalse(table.requestAmend(1, 10001, 100), "amend before the venue accepted the order");
+		assertTrue(table.onAccepted(1));
+		assertEquals(OrderState.NEW, table.getState(1));
+
+		assertTrue(table.onFill(1, 40));
+		assertEquals(OrderState.PARTIALLY_FILLED, table.getState(1));
+		assertEquals(40, table.getFilledSize(1));
+
+		assertTrue(table.onFill(1, 60));
+		assertEquals(OrderState.FILLED, table.getState(1));
+		assertEquals(0, table.getOpenCount());
+		assertFalse(table.onFill(1, 1), "fill on a closed order");
+		assertFalse(table.requestCancel(1));
+		assertNull(table.getState(2));
+	}
+
+	@Test
+	void tracksTheUnfilledValueOfWorkingOrdersBySide() {
+		InstrumentSpec unit = new InstrumentSpec("TEST", 1.0, 1.0);
+		OrderTable table = new OrderTable(8, 2);
+		table.add(new Order(1, 1, unit, OrderType.BUY, 100, 10));
+		table.add(new Order(2, 1, unit, OrderType.BUY, 50, 4));
+		table.add(new Order(3, 1, unit, OrderType.SELL, 110, 5));
+		assertEquals(1200.0, table.getWorkingNotional(1, OrderType.BUY));
+		assertEquals(550.0, table.getWorkingNotional(1, OrderType.SELL));
+
+		table.onAccepted(1);
+		table.onFill(1, 4);
+		table.requestAmend(1, 101, 8);
+		table.onAmended(1);
+		assertEquals(4 * 101 + 200.0, table.getWorkingNotional(1, OrderType.BUY), "filled size no longer counts");
+
+		table.onCancelled(2);
+		table.onFill(1, 4);
+		table.onRejected(3);
+		assertEquals(0.0, table.getWorkingNotional(1, OrderType.BUY));
+		assertEquals(0.0, table.getWorkingNotional(1, OrderType.SELL));
+		assertEquals(0.0, table.getWorkingNotional(0, OrderType.BUY));
+	}
+
+	@Test
+	void appliesAmendsInPlaceOnlyOnceAcknowledged() {
+		OrderTable table = new OrderTable(8, 1);
+		table.add(order(1, 10000, 100));
+		table.onAccepted(1);
+		table.onFill(1, 30);
+
+		assertFalse(table.requestAmend(1, 10005, 30), "new size must exceed the filled size");
+		assertTrue(table.requestAmend(1, 10005, 80));
+		assertEquals(OrderState.PENDING_AMEND, table.getState(1));
+		assertEquals(10000, table.getPriceTicks(1), "price changes only when the venue applies the amend");
+
+		// A fill while the amend is pending keeps it pending
+		assertTrue(table.onFill(1, 10));
+		assertEquals(OrderState.PENDING_AMEND, table.getState(1));
+
+		assertTrue(table.onAmended(1));
+		assertEquals(OrderState.PARTIALLY_FILLED, table.getState(1));
+		assertEquals(10005, table.getPriceTicks(1));
+		assertEquals(80, table.getSize(1));
+		assertEquals(100, table.getOrder(1).getSize(), "the submitted order is left unchanged");
+
+		// A rejected amend leaves the order working at its previous terms
+		assertTrue(table.requestAmend(1, 10010, 90));
+		assertTrue(table.onRejected(1));
+		assertEquals(OrderState.PARTIALLY_FILLED, table.getState(1));
+		assertEquals(10005, table.getPriceTicks(1));
+	}
+
+	@Test
+	void cancelsAndRejects() {
+		OrderTable table = new OrderTable(8, 1);
+		table.add(order(1, 10000, 100));
+		table.add(order(2, 10000, 100));
+
+		assertTrue(table.onRejected(1));
+		assertEquals(OrderState.REJECTED, table.getState(1));
+
+		table.onAccepted(2);
+		assertTrue(table.requestCancel(2));
+		assertFalse(table.requestCancel(2), "cancel already pending");
+		assertTrue(table.onRejected(2), "cancel rejected");
+		assertEquals(OrderState.NEW, table.getState(2));
+
+		assertTrue(table.requestCancel(2));
+		assertTrue(table.onCancelled(2));
+		assertEquals(OrderState.CANCELLED, table.getState(2));
+		assertFalse(table.onCancelled(2));
+		assertEquals(0, table.getOpenCount());
+		assertEquals(2, table.size());
+	}
+
+	@Test
+	void queriesOrdersByStateAndEvictsOldestClosed() {
+		OrderTable table = new OrderTable(4, 2, 1);
+		for (long id = 1; id <= 4; id++) {
+			table.add(order(id, 10000, 100));
+		}
+		assertThrows(IllegalStateException.class, () -> table.add(order(5, 10000, 100)));
+
+		table.onAccepted(2);
+		table.onAccepted(3);
+		assertEquals(List.of(2L, 3L), idsIn(table, OrderState.NEW));
+		assertEquals(List.of(1L, 4L), idsIn(table, OrderState.PENDING_NEW));
+
+		// Closing three orders with room to retain two evicts the first one closed
+		table.onRejected(1);
+		table.onCancelled(2);
+		table.onCancelled(3);
+		assertNull(table.getState(1));
+		assertEquals(List.of(2L, 3L), idsIn(table, OrderState.CANCELLED));
+		assertEquals(1, table.getOpenCount());
+		assertEquals(3, table.size());
+
+		// Freed slots are reused for new orders
+		assertTrue(table.add(order(5, 10000, 100)));
+		assertTrue(table.add(order(6, 10000, 100)));
+		assertTrue(table.add(order(7, 10000, 100)));
+		assertEquals(List.of(4L, 5L, 6L, 7L), idsIn(table, OrderState.PENDING_NEW));
+	}
+
+	@Test
+	void visitorMayCloseTheOrderItVisits() {
+		OrderTable table = new OrderTable(8, 1);
+		for (long id = 1; id <= 5; id++) {
+			table.add(order(id, 10000, 100));
+			table.onAccepted(id);
+		}
+
+		table.forEachOpen((order, state, priceTicks, size, filledSize) -> {
+			if (order.getOrderId() % 2 == 1) {
+				table.onCancelled(order.getOrderId());
+			}
+		});
+
+		assertEquals(List.of(2L, 4L), idsIn(table, OrderState.NEW));
+		assertEquals(List.of(1L, 3L, 5L), idsIn(table, OrderState.CANCELLED));
+	}
+
+	@Test
+	void indexesOpenOrdersBySymbol() {
+		OrderTable table = new OrderTable(8, 3);
+		for (long id = 1; id <= 6; id++) {
+			table.add(new Order(id, (int) (id % 3), INSTRUMENT, OrderType.SELL, 10000, 100));
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> table.add(new Order(7, 3, INSTRUMENT, OrderType.SELL, 10000, 100)));
+
+		table.onFill(4, 100);
+		table.onCancelled(2);
+
+		List<Long> symbolOne = new ArrayList<>();
+		table.forEachOpen(1, (order, state, priceTicks, size, filledSize) -> symbolOne.add(order.getOrderId()));
+		assertEquals(List.of(1L), symbolOne);
+		assertEquals(1, table.getOpenCount(1));
+		assertEquals(1, table.getOpenCount(2));
+		assertEquals(2, table.getOpenCount(0));
+	}
+
+	@Test
+	void reportsOpenOrdersOncePastTheirExpiry() {
+		OrderTable table = new OrderTable(8, 1);
+		long now = System.nanoTime();
+		table.add(order(1, 10000, 100), now + 5_000_000);
+		table.add(order(2, 10000, 100), now + 5_000_000);
+		table.add(order(3, 10000, 100), now + 50_000_000);
+		table.add(order(4, 10000, 100));
+		table.onFill(2, 100);
+
+		List<Long> expired = new ArrayList<>();
+		OrderTable.OrderVisitor expire = (order, state, priceTicks, size, filledSize) -> {
+			expired.add(order.getOrderId());
+			table.onCancelled(order.getOrderId());
+		};
+
+		table.forEachExpired(now + 4_000_000, expire);
+		assertEquals(List.of(), expired);
+		table.forEachExpired(now + 10_000_000, expire);
+		assertEquals(List.of(1L), expired, "filled orders no longer expire");
+		table.forEachExpired(now + 3_600_000_000_000L, expire);
+		assertEquals(List.of(1L, 3L), expired, "orders without expiry stay open");
+		assertEquals(OrderState.PENDING_NEW, table.getState(4));
+	}
+
+	@Test
+	void lookupsTransitionsAndIterationAllocateNothing() {
+		// Closed orders are released at once so the same ids can be reused every round
+		OrderTable table = new OrderTable(1024, 0, 1);
+		Order[] orders = new Order[1024];
+		for (int i = 0; i < orders.length; i++) {
+			orders[i] = order(i, 10000, 100);
+		}
+		OrderTable.OrderVisitor visitor = (order, state, priceTicks, size, filledSize) -> visitedSize += size;
+
+		// Warm up so class loading and JIT compilation are excluded from the measurement
+		for (int round = 0; round < 200; round++) {
+			runLifecycle(table, orders, visitor);
+		}
+
+		long allocated = AllocationMeter.allocatedBytes(() -> {
+			for (int round = 0; round < 200; round++) {
+				runLifecycle(table, orders, visitor);
+			}
+		});
+
+		assertTrue(visitedSize > 0);
+		assertEquals(0, allocated / (200 * orders.length), "bytes allocated per order (total " + allocated + ")");
+	}
+
+	private void runLifecycle(OrderTable table, Order[] orders, OrderTable.OrderVisitor visitor) {
+		for (Order order : orders) {
+			long id = order.getOrderId();
+			assertTrue(table.add(order));
+			table.onAccepted(id);
+			table.requestAmend(id, 10001, 100);
+			table.onAmended(id);
+			table.onFill(id, 10);
+		}
+		table.forEachOpen(visitor);
+		table.forEach(OrderState.PARTIALLY_FILLED, visitor);
+		for (Order order : orders) {
+			long id = order.getOrderId();
+			if (table.getState(id) == OrderState.PARTIALLY_FILLED && (id & 1) == 0) {
+				table.onFill(id, 90);
+			} else {
+				table.requestCancel(id);
+				table.onCancelled(id);
+			}
+		}
+	}
+
+	private static List<Long> idsIn(OrderTable table, OrderState state) {
+		List<Long> ids = new ArrayList<>();
+		table.forEach(state, (order, orderState, priceTicks, size, filledSize) -> ids.add(order.getOrderId()));
+		return ids;
+	}
+}
@@ -0,0 +1,103 @@
+package com.trading.hft_application.core.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderThrottleTest {
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void allowsTheBurstThenRefillsAtTheRate() {
+		OrderThrottle throttle = new OrderThrottle(4);
+		throttle.setSymbolRate(10, 3);
+		long now = System.nanoTime();
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, now));
+		}
+		assertFalse(throttle.tryAcquire(0, OrderSource.STRATEGY, now));
+		assertTrue(throttle.tryAcquire(1, OrderSource.STRATEGY, now), "each symbol has its own bucket");
+
+		assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, now + SECOND / 10));
+		assertFalse(throttle.tryAcquire(0, OrderSource.STRATEGY, now + SECOND / 10));
+
+		// An idle bucket refills to its burst, not beyond
+		long later = now + 60 * SECOND;
+		for (int i = 0; i < 3; i++) {
+			assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, later));
+		}
+		assertFalse(throttle.tryAcquire(0, OrderSource.STRATEGY, later));
+		assertEquals(3, throttle.getLimitedCount(OrderThrottle.Bucket.SYMBOL));
+	}
+
+	@Test
+	void returnsTokensTakenBeforeAnEmptyBucket() {
+		OrderThrottle throttle = new OrderThrottle(4);
+		throttle.setSymbolRate(1, 1);
+		throttle.setSourceRate(OrderSource.STRATEGY, 1, 2);
+		throttle.setGlobalRate(1, 1);
+		long now = System.nanoTime();
+		assertEquals(1, throttle.getAvailableTokens(now));
+		assertEquals(-1, throttle.getAvailableTokens(OrderSource.RISK, now));
+
+		assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, now));
+		assertEquals(0, throttle.getAvailableTokens(now));
+		assertFalse(throttle.tryAcquire(1, OrderSource.STRATEGY, now));
+		assertEquals(1, throttle.getLimitedCount(OrderThrottle.Bucket.GLOBAL));
+
+		// Symbol 1 and the strategy got their tokens back
+		throttle.setGlobalRate(0, 1);
+		assertEquals(1, throttle.getAvailableTokens(OrderSource.STRATEGY, now));
+		assertTrue(throttle.tryAcquire(1, OrderSource.STRATEGY, now));
+		assertThrows(IllegalArgumentException.class, () -> throttle.setAmendPolicy(ThrottlePolicy.QUEUE));
+		assertThrows(IllegalArgumentException.class, () -> throttle.setSubmitPolicy(ThrottlePolicy.COALESCE));
+	}
+
+	@Test
+	void riskOrdersUseOnlyTheirReservedBucket() {
+		OrderThrottle throttle = new OrderThrottle(4);
+		throttle.setSymbolRate(1, 1);
+		throttle.setGlobalRate(1, 1);
+		throttle.setSourceRate(OrderSource.RISK, 1, 2);
+		long now = System.nanoTime();
+		assertTrue(throttle.tryAcquire(0, OrderSource.STRATEGY, now));
+		assertFalse(throttle.tryAcquire(0, OrderSource.STRATEGY, now));
+
+		// The strategy has drained symbol 0 and the global bucket, yet risk orders still go out
+		assertTrue(throttle.tryAcquire(0, OrderSource.RISK, now));
+		assertTrue(throttle.tryAcquire(0, OrderSource.RISK, now));
+		assertFalse(throttle.tryAcquire(0, OrderSource.RISK, now));
+		assertEquals(1, throttle.getLimitedCount(OrderThrottle.Bucket.SOURCE));
+		assertEquals(0, throttle.getAvailableTokens(now));
+	}
+
+	@Test
+	void concurrentSendersNeverExceedTheBurst() throws Exception {
+		OrderThrottle throttle = new OrderThrottle(16);
+		throttle.setGlobalRate(1, 1000);
+		long now = System.nanoTime();
+		AtomicLong acquired = new AtomicLong();
+
+		Thread[] senders = new Thread[4];
+		for (int t = 0; t < senders.length; t++) {
+			int symbolId = t;
+			senders[t] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					if (throttle.tryAcquire(symbolId, OrderSource.STRATEGY, now)) {
+						acquired.incrementAndGet();
+					}
+				}
+			});
+			senders[t].start();
+		}
+		for (Thread sender : senders) {
+			sender.join();
+		}
+
+		assertEquals(1000, acquired.get());
+		assertEquals(40_000 - 1000, throttle.getLimitedCount(OrderThrottle.Bucket.GLOBAL));
+	}
+}
@@ -0,0 +1,122 @@
+package com.trading.hft_application.core.execution;
+
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.OrderType;
+import com.trading.hft_application.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionKeeperTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("TEST", 1.0, 1.0);
+
+	@Test
+	void appliesEachSymbolsFillsInOrderOnItsShard() throws Exception {
+		Position[] positions = new Position[8];
+		DoubleAdder realized = new DoubleAdder();
+		AtomicLong misrouted = new AtomicLong();
+		PositionKeeper keeper = new PositionKeeper(positions, 3, 64, new FillListener() {
+			@Override
+			public void onFill(int shard, int symbolId, long orderId, Position position, double markTicks) {
+				double profit = position.getLastTradeProfit();
+				if (shard != symbolId % 3 || (profit != 0.0 && orderId != symbolId * 2L + 1)
+						|| !Thread.currentThread().getName().equals("position-shard-" + shard)) {
+					misrouted.incrementAndGet();
+				}
+				realized.add(profit);
+			}
+		});
+		keeper.start();
+
+		// Fills from two producers, each on its own symbols, so each symbol's fills keep their order
+		Thread[] producers = new Thread[2];
+		for (int p = 0; p < producers.length; p++) {
+			int first = p * 4;
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					for (int symbolId = first; symbolId < first + 4; symbolId++) {
+						keeper.onFill(symbolId * 2L, symbolId, INSTRUMENT, OrderType.BUY, 100, 2);
+						keeper.onFill(symbolId * 2L + 1, symbolId, INSTRUMENT, OrderType.SELL, 101, 1);
+					}
+				}
+			});
+			producers[p].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		keeper.stop();
+
+		assertEquals(2 * 10_000 * 8, keeper.getAppliedFillCount());
+		assertEquals(0, keeper.getBacklog());
+		assertEquals(0, misrouted.get());
+		for (Position position : positions) {
+			assertEquals(10_000, position.getSize());
+			assertEquals(100.0, position.getAvgPriceTicks(), 1e-9);
+			assertEquals(10_000.0, position.getTotalProfit(), 1e-6, "one tick on each lot sold");
+		}
+		assertEquals(8 * 10_000.0, realized.sum(), 1e-6);
+	}
+
+	@Test
+	void restartsWithFillsQueuedWhileStopped() throws Exception {
+		Position[] positions = new Position[2];
+		FillListener ignored = new FillListener();
+		PositionKeeper keeper = new PositionKeeper(positions, PositionKeeper.DEFAULT_SHARD_COUNT, 16, ignored);
+		keeper.onFill(1, 1, INSTRUMENT, OrderType.SELL, 50, 5);
+		assertNull(positions[1]);
+		assertEquals(1, keeper.getBacklog());
+
+		keeper.start();
+		keeper.stop();
+		assertEquals(-5, positions[1].getSize());
+		assertThrows(IllegalArgumentException.class, () -> new PositionKeeper(positions, 2, 100, ignored));
+	}
+
+	@Test
+	void handsMarksOfHeldSymbolsToTheOwningShard() throws Exception {
+		Position[] positions = new Position[4];
+		BlockingQueue<String> marks = new LinkedBlockingQueue<>();
+		PositionKeeper keeper = new PositionKeeper(positions, 2, 16, new FillListener() {
+			@Override
+			public void onMark(int shard, int symbolId, Position position, double markTicks) {
+				marks.add(Thread.currentThread().getName() + " " + symbolId + " " + position.getUnrealizedPnL(markTicks));
+			}
+		});
+		keeper.onMark(1, 100.0);
+		keeper.onFill(1, 3, INSTRUMENT, OrderType.BUY, 100, 2);
+		keeper.start();
+		try {
+			// No position yet on symbol 1, so only its mark is recorded
+			while (keeper.getAppliedFillCount() == 0) {
+				Thread.onSpinWait();
+			}
+			keeper.onMark(3, 104.0);
+
+			assertEquals("position-shard-1 3 8.0", marks.poll(5, TimeUnit.SECONDS));
+			assertEquals(100.0, keeper.getMarkTicks(1));
+			assertNull(marks.poll(50, TimeUnit.MILLISECONDS));
+		} finally {
+			keeper.stop();
+		}
+	}
+
+	/**
+	 * Ignores every position change unless overridden
+	 */
+	private static class FillListener implements PositionKeeper.PositionListener {
+		@Override
+		public void onFill(int shard, int symbolId, long orderId, Position position, double markTicks) {
+		}
+
+		@Override
+		public void onMark(int shard, int symbolId, Position position, double markTicks) {
+		}
+	}
+}
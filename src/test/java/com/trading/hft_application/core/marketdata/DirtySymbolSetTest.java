@@ -0,0 +1,59 @@
+package com.trading.hft_application.core.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirtySymbolSetTest {
+
+	@Test
+	void marksEachSymbolOnceInFirstMarkedOrder() {
+		DirtySymbolSet dirty = new DirtySymbolSet(4);
+		assertTrue(dirty.mark(3));
+		assertTrue(dirty.mark(1));
+		assertFalse(dirty.mark(3), "conflated into the pending mark");
+		assertEquals(2, dirty.size());
+		assertEquals(3, dirty.get(0));
+		assertEquals(1, dirty.get(1));
+
+		dirty.clear();
+		assertEquals(0, dirty.size());
+		assertTrue(dirty.mark(3), "marked again once drained");
+		assertEquals(3, dirty.get(0));
+	}
+
+	@Test
+	void holdsEverySymbolAtOnce() {
+		DirtySymbolSet dirty = new DirtySymbolSet(3);
+		for (int symbolId = 2; symbolId >= 0; symbolId--) {
+			assertTrue(dirty.mark(symbolId));
+			assertFalse(dirty.mark(symbolId));
+		}
+		assertEquals(3, dirty.size());
+		assertEquals(0, dirty.get(2));
+	}
+
+	@Test
+	void symbolsMarkedDuringADrainAreVisitedOnce() {
+		DirtySymbolSet dirty = new DirtySymbolSet(4);
+		dirty.mark(0);
+		dirty.mark(1);
+
+		// Drained like signal evaluation does, re-reading the size as it goes
+		int[] visits = new int[4];
+		for (int i = 0; i < dirty.size(); i++) {
+			int symbolId = dirty.get(i);
+			visits[symbolId]++;
+			if (symbolId == 0) {
+				assertFalse(dirty.mark(1), "already waiting in this drain");
+				assertTrue(dirty.mark(2));
+			}
+			assertFalse(dirty.mark(symbolId), "still marked until cleared");
+		}
+		assertArrayEquals(new int[] {1, 1, 1, 0}, visits);
+
+		dirty.clear();
+		assertEquals(0, dirty.size());
+		assertTrue(dirty.mark(2));
+	}
+}
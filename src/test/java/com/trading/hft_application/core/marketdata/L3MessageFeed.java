@@ -0,0 +1,113 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.OrderType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic add/modify/cancel/execute stream around a fixed mid, generated up front, shared by the L3 book
+ * test and the replay benchmark
+ */
+public final class L3MessageFeed {
+	private static final byte ADD = 0;
+	private static final byte MODIFY = 1;
+	private static final byte CANCEL = 2;
+	private static final byte EXECUTE = 3;
+	private static final long MID_TICKS = 5_000_000;
+
+	private final byte[] types;
+	private final long[] ids;
+	private final boolean[] buys;
+	private final long[] prices;
+	private final long[] sizes;
+	private final int liveOrders;
+
+	public L3MessageFeed(int messageCount, int targetLiveOrders, long seed) {
+		types = new byte[messageCount];
+		ids = new long[messageCount];
+		buys = new boolean[messageCount];
+		prices = new long[messageCount];
+		sizes = new long[messageCount];
+
+		SplittableRandom random = new SplittableRandom(seed);
+		long[] live = new long[targetLiveOrders];
+		boolean[] liveBuys = new boolean[live.length];
+		long[] liveSizes = new long[live.length];
+		int liveCount = 0;
+		long nextId = 1;
+
+		for (int i = 0; i < messageCount; i++) {
+			int roll = random.nextInt(100);
+			if (liveCount == 0 || (liveCount < targetLiveOrders && roll < 45)) {
+				boolean buy = random.nextBoolean();
+				int offset = 1 + (int) Math.abs(random.nextGaussian() * 40);
+				types[i] = ADD;
+				ids[i] = nextId;
+				buys[i] = buy;
+				prices[i] = buy ? MID_TICKS - offset : MID_TICKS + offset;
+				sizes[i] = 1 + random.nextInt(100);
+				live[liveCount] = nextId++;
+				liveBuys[liveCount] = buy;
+				liveSizes[liveCount] = sizes[i];
+				liveCount++;
+				continue;
+			}
+
+			int pick = random.nextInt(liveCount);
+			ids[i] = live[pick];
+			if (roll < 65) {
+				types[i] = CANCEL;
+			} else if (roll < 80) {
+				int offset = 1 + (int) Math.abs(random.nextGaussian() * 40);
+				types[i] = MODIFY;
+				prices[i] = liveBuys[pick] ? MID_TICKS - offset : MID_TICKS + offset;
+				sizes[i] = 1 + random.nextInt(100);
+				liveSizes[pick] = sizes[i];
+				continue;
+			} else {
+				types[i] = EXECUTE;
+				sizes[i] = 1 + random.nextLong(liveSizes[pick]);
+				liveSizes[pick] -= sizes[i];
+				if (liveSizes[pick] > 0) {
+					continue;
+				}
+			}
+
+			liveCount--;
+			live[pick] = live[liveCount];
+			liveBuys[pick] = liveBuys[liveCount];
+			liveSizes[pick] = liveSizes[liveCount];
+		}
+		this.liveOrders = liveCount;
+	}
+
+	/**
+	 * Applies every message to the book, which must start empty
+	 *
+	 * @throws IllegalStateException if the book rejects a message
+	 */
+	public void replay(L3OrderBook l3) {
+		for (int i = 0; i < types.length; i++) {
+			boolean applied = switch (types[i]) {
+				case ADD -> l3.add(ids[i], buys[i] ? OrderType.BUY : OrderType.SELL, prices[i], sizes[i]);
+				case MODIFY -> l3.modify(ids[i], prices[i], sizes[i]);
+				case CANCEL -> l3.cancel(ids[i]);
+				default -> l3.execute(ids[i], sizes[i]);
+			};
+			if (!applied) {
+				throw new IllegalStateException("Message " + i + " rejected");
+			}
+		}
+	}
+
+	public int size() {
+		return types.length;
+	}
+
+	/**
+	 * Orders left in the book after a replay
+	 */
+	public int liveOrders() {
+		return liveOrders;
+	}
+}
@@ -0,0 +1,114 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import com.trading.hft_application.model.PriceLadder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class L3OrderBookTest {
+
+	@Test
+	void aggregatesOrdersIntoLevelsWithCounts() {
+		L3OrderBook l3 = new L3OrderBook(new OrderBook("BTC-USD"), 16, 8);
+		assertTrue(l3.add(1, OrderType.BUY, 10000, 10));
+		assertTrue(l3.add(2, OrderType.BUY, 10000, 20));
+		assertTrue(l3.add(3, OrderType.BUY, 9999, 40));
+		assertTrue(l3.add(4, OrderType.SELL, 10001, 5));
+		assertFalse(l3.add(1, OrderType.BUY, 9000, 10), "duplicate order id");
+
+		OrderBook book = l3.getBook();
+		assertEquals(10000, book.getBidTicks());
+		assertEquals(30, book.getBidSize());
+		assertEquals(10001, book.getAskTicks());
+
+		PriceLadder bids = book.getBids();
+		assertEquals(2, bids.getDepth());
+		assertEquals(2, bids.getOrderCount(0));
+		assertEquals(1, bids.getOrderCount(1));
+		assertEquals(2, l3.getLevelOrderCount(OrderType.BUY, 10000));
+	}
+
+	@Test
+	void tracksFifoQueuePosition() {
+		L3OrderBook l3 = new L3OrderBook(new OrderBook("BTC-USD"), 16, 8);
+		l3.add(1, OrderType.SELL, 500, 100);
+		l3.add(2, OrderType.SELL, 500, 200);
+		l3.add(3, OrderType.SELL, 500, 300);
+
+		assertEquals(0, l3.getQueuePosition(1));
+		assertEquals(300, l3.getQueueAhead(3));
+
+		// Partial execution at the front keeps priority
+		assertTrue(l3.execute(1, 25));
+		assertEquals(275, l3.getQueueAhead(3));
+
+		// Size decrease keeps priority, size increase goes to the back
+		assertTrue(l3.modify(2, 500, 150));
+		assertEquals(1, l3.getQueuePosition(2));
+		assertTrue(l3.modify(2, 500, 500));
+		assertEquals(2, l3.getQueuePosition(2));
+		assertEquals(375, l3.getQueueAhead(2));
+
+		// Full execution removes the order
+		assertTrue(l3.execute(1, 75));
+		assertFalse(l3.contains(1));
+		assertEquals(0, l3.getQueuePosition(3));
+		assertEquals(800, l3.getBook().getAskSize());
+		assertEquals(-1, l3.getQueuePosition(1));
+	}
+
+	@Test
+	void priceChangeMovesOrderAndReleasesEmptyLevels() {
+		L3OrderBook l3 = new L3OrderBook(new OrderBook("ETH-USD"), 16, 8);
+		l3.add(10, OrderType.BUY, 300, 1);
+		l3.add(11, OrderType.BUY, 301, 1);
+
+		assertTrue(l3.modify(11, 299, 2));
+		assertEquals(300, l3.getBook().getBidTicks());
+		assertEquals(2, l3.getLevelCount());
+		assertEquals(299, l3.getOrderPriceTicks(11));
+
+		assertTrue(l3.cancel(10));
+		assertFalse(l3.cancel(10));
+		assertFalse(l3.modify(10, 300, 1));
+		assertFalse(l3.execute(10, 1));
+		assertEquals(299, l3.getBook().getBidTicks());
+		assertEquals(1, l3.getBook().getBids().getDepth());
+
+		l3.clear();
+		assertEquals(0, l3.getOrderCount());
+		assertTrue(l3.getBook().getBids().isEmpty());
+	}
+
+	@Test
+	void throwsWhenOrderSlotsAreExhausted() {
+		L3OrderBook l3 = new L3OrderBook(new OrderBook("SOL-USD"), 2, 4);
+		l3.add(1, OrderType.BUY, 100, 1);
+		l3.add(2, OrderType.BUY, 100, 1);
+		assertThrows(IllegalStateException.class, () -> l3.add(3, OrderType.BUY, 100, 1));
+
+		// Slots are recycled once orders leave the book
+		l3.cancel(1);
+		assertTrue(l3.add(3, OrderType.BUY, 100, 1));
+	}
+
+	/**
+	 * Replays a generated add/modify/cancel/execute stream twice, clearing in between; every message
+	 * applies and the orders left match the stream. Throughput is measured by L3FeedReplayBenchmark.
+	 */
+	@Test
+	void replaysAFeedToTheOrdersItLeavesLive() {
+		L3MessageFeed feed = new L3MessageFeed(200_000, 5_000, 42);
+		L3OrderBook l3 = new L3OrderBook(new OrderBook("BTC-USD"), 8_192, 4096);
+
+		feed.replay(l3);
+		assertEquals(feed.liveOrders(), l3.getOrderCount());
+		l3.clear();
+		assertEquals(0, l3.getOrderCount());
+
+		feed.replay(l3);
+		assertEquals(feed.liveOrders(), l3.getOrderCount());
+	}
+}
@@ -0,0 +1,53 @@
+package com.trading.hft_application.core.marketdata;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatisticsTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 7, 10, 100, 1000})
+	void incrementalStatisticsMatchFullRecomputation(int capacity) {
+		TickHistory history = new TickHistory(capacity);
+		Random random = new Random(42);
+		long priceTicks = 5_000_000;
+
+		for (int tick = 0; tick < capacity * 5 + 3; tick++) {
+			priceTicks += random.nextInt(2001) - 1000;
+			history.append(tick, priceTicks - 50, priceTicks + 51, 10_000, 10_000);
+
+			RollingStatistics statistics = history.getStatistics();
+			int n = history.size();
+			int subWindow = Math.min(n, Math.max(1, capacity / 10));
+
+			double mean = 0.0;
+			for (int i = 0; i < n; i++) {
+				mean += history.getMid(i);
+			}
+			mean /= n;
+
+			double variance = 0.0;
+			for (int i = 0; i < n; i++) {
+				variance += (history.getMid(i) - mean) * (history.getMid(i) - mean);
+			}
+			variance = n > 1 ? variance / (n - 1) : 0.0;
+
+			double older = 0.0;
+			double recent = 0.0;
+			for (int i = 0; i < subWindow; i++) {
+				older += history.getMid(i);
+				recent += history.getMid(n - 1 - i);
+			}
+
+			assertEquals(n, statistics.getCount());
+			assertEquals(mean, statistics.getMean(), 1e-7);
+			assertEquals(variance, statistics.getVariance(), Math.max(1e-6, variance * 1e-9));
+			assertEquals(older / subWindow, statistics.getOlderAverage(), 1e-7);
+			assertEquals(recent / subWindow, statistics.getRecentAverage(), 1e-7);
+		}
+	}
+}
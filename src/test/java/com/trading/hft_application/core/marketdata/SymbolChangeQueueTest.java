@@ -0,0 +1,56 @@
+package com.trading.hft_application.core.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolChangeQueueTest {
+
+	@Test
+	void queuesEachSymbolOnceUntilTaken() {
+		SymbolChangeQueue queue = new SymbolChangeQueue(4);
+		assertTrue(queue.offer(2));
+		assertTrue(queue.offer(0));
+		assertFalse(queue.offer(2), "already queued");
+		assertEquals(2, queue.size());
+
+		assertEquals(2, queue.poll());
+		assertTrue(queue.offer(2), "queued again once taken");
+		assertEquals(0, queue.poll());
+		assertEquals(2, queue.poll());
+		assertEquals(SymbolChangeQueue.NONE, queue.poll());
+	}
+
+	@Test
+	void consumerAlwaysSeesTheLatestChange() throws InterruptedException {
+		int symbols = 8;
+		long updates = 2_000_000;
+		SymbolChangeQueue queue = new SymbolChangeQueue(symbols);
+		AtomicLongArray versions = new AtomicLongArray(symbols);
+
+		Thread producer = new Thread(() -> {
+			for (long i = 1; i <= updates; i++) {
+				int symbolId = (int) (i % symbols);
+				versions.set(symbolId, i);
+				queue.offer(symbolId);
+			}
+		});
+		producer.start();
+
+		// Whatever the consumer last read for a symbol after taking it must be that symbol's final version
+		long[] seen = new long[symbols];
+		while (producer.isAlive() || queue.size() > 0) {
+			int symbolId = queue.poll();
+			if (symbolId != SymbolChangeQueue.NONE) {
+				seen[symbolId] = versions.get(symbolId);
+			}
+		}
+		producer.join();
+
+		for (int symbolId = 0; symbolId < symbols; symbolId++) {
+			assertEquals(versions.get(symbolId), seen[symbolId], "lost the last change to symbol " + symbolId);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.trading.hft_application.core.marketdata;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolRegistryTest {
+
+	@Test
+	void assignsDenseIdsInRegistrationOrder() {
+		SymbolRegistry registry = new SymbolRegistry(4);
+		assertEquals(0, registry.register("BTC-USD"));
+		assertEquals(1, registry.register("ETH-USD"));
+		assertEquals(0, registry.register("BTC-USD"), "registering again returns the existing id");
+		assertEquals(2, registry.register("SOL-USD"));
+
+		assertEquals(3, registry.size());
+		assertEquals(4, registry.capacity());
+		for (int id = 0; id < registry.size(); id++) {
+			assertEquals(id, registry.getId(registry.getSymbol(id)));
+		}
+	}
+
+	@Test
+	void reportsUnknownSymbols() {
+		SymbolRegistry registry = new SymbolRegistry(2);
+		assertEquals(SymbolRegistry.UNKNOWN_SYMBOL, registry.getId("BTC-USD"));
+		registry.register("BTC-USD");
+		assertEquals(SymbolRegistry.UNKNOWN_SYMBOL, registry.getId("btc-usd"));
+		assertEquals(1, registry.size(), "looking a symbol up does not register it");
+	}
+
+	@Test
+	void refusesNewSymbolsOnceFull() {
+		SymbolRegistry registry = new SymbolRegistry(2);
+		registry.register("BTC-USD");
+		registry.register("ETH-USD");
+
+		assertThrows(IllegalStateException.class, () -> registry.register("SOL-USD"));
+		assertEquals(2, registry.size());
+		assertEquals(SymbolRegistry.UNKNOWN_SYMBOL, registry.getId("SOL-USD"));
+		assertEquals(1, registry.register("ETH-USD"), "known symbols still resolve when full");
+		assertThrows(IllegalArgumentException.class, () -> new SymbolRegistry(0));
+	}
+}
@@ -0,0 +1,88 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickHistoryTest {
+
+	private static void appendMid(TickHistory history, long timestamp, long mid) {
+		history.append(timestamp, mid - 1, mid + 1, 10 + timestamp, 20 + timestamp);
+	}
+
+	@Test
+	void evictsTheOldestEntryOnceFull() {
+		TickHistory history = new TickHistory(3);
+		for (long t = 0; t < 3; t++) {
+			appendMid(history, t, 100 + t);
+		}
+		assertEquals(3, history.size());
+
+		appendMid(history, 3, 103);
+		appendMid(history, 4, 104);
+		assertEquals(3, history.size());
+		assertEquals(3, history.capacity());
+		assertEquals(2, history.getTimestampNanos(0), "two oldest entries evicted");
+		assertEquals(102.0, history.getMid(0));
+		assertEquals(104.0, history.getMid(2));
+	}
+
+	@Test
+	void readsOldestToNewestAfterWrappingAround() {
+		TickHistory history = new TickHistory(4);
+		for (long t = 0; t < 11; t++) {
+			appendMid(history, t, 1_000 + 10 * t);
+		}
+
+		// Entries 7 to 10 remain, in time order across the wrap
+		for (int i = 0; i < history.size(); i++) {
+			long t = 7 + i;
+			assertEquals(t, history.getTimestampNanos(i));
+			assertEquals(1_000 + 10 * t - 1, history.getBid(i));
+			assertEquals(1_000 + 10 * t + 1, history.getAsk(i));
+			assertEquals(10 + t, history.getBidSize(i));
+			assertEquals(20 + t, history.getAskSize(i));
+			assertEquals(1_000 + 10 * t, history.getMid(i));
+		}
+	}
+
+	@Test
+	void appendsTicksAsPrimitiveColumns() {
+		TickHistory history = new TickHistory(2);
+		history.append(new MarketTick("TEST", 100, 103, 5, 7));
+		assertEquals(1, history.size());
+		assertEquals(100, history.getBid(0));
+		assertEquals(103, history.getAsk(0));
+		assertEquals(101.5, history.getMid(0));
+		assertEquals(5, history.getBidSize(0));
+		assertEquals(7, history.getAskSize(0));
+		assertThrows(IllegalArgumentException.class, () -> new TickHistory(0));
+	}
+
+	@Test
+	void statisticsCoverOnlyTheEntriesSoFarWhileFilling() {
+		// Sub-windows of 10 in a window of 100
+		TickHistory history = new TickHistory(100);
+		RollingStatistics statistics = history.getStatistics();
+
+		for (long t = 1; t <= 4; t++) {
+			appendMid(history, t, t);
+		}
+		assertEquals(4, statistics.getCount());
+		assertEquals(2.5, statistics.getMean(), 1e-12);
+		assertEquals(2.5, statistics.getOlderAverage(), 1e-12, "sub-windows not yet full cover every entry");
+		assertEquals(2.5, statistics.getRecentAverage(), 1e-12);
+		assertEquals(Math.sqrt(5.0 / 3.0), statistics.getStandardDeviation(), 1e-12);
+		assertEquals(Math.sqrt(5.0 / 3.0) / 2.5, statistics.getVolatility(), 1e-12);
+
+		for (long t = 5; t <= 15; t++) {
+			appendMid(history, t, t);
+		}
+		assertEquals(15, statistics.getCount());
+		assertEquals(8.0, statistics.getMean(), 1e-12);
+		assertEquals(5.5, statistics.getOlderAverage(), 1e-12, "first ten entries");
+		assertEquals(10.5, statistics.getRecentAverage(), 1e-12, "last ten entries");
+		assertEquals(Math.sqrt(20.0), statistics.getStandardDeviation(), 1e-12);
+	}
+}
@@ -0,0 +1,88 @@
+package com.trading.hft_application.core.marketdata;
+
+import com.trading.hft_application.model.MarketTick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickRingBufferTest {
+
+	@Test
+	void rejectsNonPowerOfTwoSize() {
+		assertThrows(IllegalArgumentException.class, () -> new TickRingBuffer(1000, new BusySpinWaitStrategy()));
+	}
+
+	@Test
+	void tryPublishFailsWhenConsumersAreBehind() {
+		TickRingBuffer ringBuffer = new TickRingBuffer(4, new BusySpinWaitStrategy());
+		ringBuffer.addGatingSequences(new Sequence());
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ringBuffer.tryPublish(0, new MarketTick("BTC-USD", 10000, 10100, 10000, 10000)));
+		}
+		assertFalse(ringBuffer.tryPublish(0, new MarketTick("BTC-USD", 10000, 10100, 10000, 10000)));
+		assertEquals(4, ringBuffer.getBacklog());
+	}
+
+	@Test
+	void stagesConsumeEveryTickInPublishOrder() throws Exception {
+		int producers = 3;
+		int ticksPerProducer = 50_000;
+		TickRingBuffer ringBuffer = new TickRingBuffer(1024, new YieldingWaitStrategy());
+
+		// Book stage records the order of bids per producer symbol; history stage checks it runs behind
+		long[] lastBid = new long[producers];
+		long[] outOfOrder = new long[1];
+		TickProcessor first = new TickProcessor("first", ringBuffer, ringBuffer.newBarrier(),
+				(event, sequence, endOfBatch) -> {
+					int producer = event.getSymbolId();
+					if (event.getTick().getBidTicks() <= lastBid[producer]) {
+						outOfOrder[0]++;
+					}
+					lastBid[producer] = event.getTick().getBidTicks();
+				});
+		List<Long> lagViolations = new ArrayList<>();
+		long[] consumed = new long[1];
+		TickProcessor second = new TickProcessor("second", ringBuffer, ringBuffer.newBarrier(first.getSequence()),
+				(event, sequence, endOfBatch) -> {
+					if (first.getSequence().get() < sequence) {
+						lagViolations.add(sequence);
+					}
+					consumed[0]++;
+				});
+		ringBuffer.addGatingSequences(second.getSequence());
+
+		ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+		executor.submit(first);
+		executor.submit(second);
+		for (int p = 0; p < producers; p++) {
+			int symbolId = p;
+			String symbol = String.valueOf((char) ('A' + p));
+			executor.submit(() -> {
+				for (int i = 1; i <= ticksPerProducer; i++) {
+					ringBuffer.publish(symbolId, new MarketTick(symbol, i, i + 1, 1, 1));
+				}
+			});
+		}
+
+		long expected = (long) producers * ticksPerProducer;
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (second.getSequence().get() < expected - 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		first.halt();
+		second.halt();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(expected, consumed[0]);
+		assertEquals(0, outOfOrder[0]);
+		assertTrue(lagViolations.isEmpty());
+	}
+}
@@ -0,0 +1,45 @@
+package com.trading.hft_application.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyMonitorTest {
+
+	@Test
+	void reportsPercentilesPerStage() {
+		LatencyMonitor monitor = new LatencyMonitor();
+		for (int i = 1; i <= 1000; i++) {
+			monitor.record(LatencyStage.BOOK_UPDATE, i * 1_000L);
+		}
+		monitor.record(LatencyStage.ORDER_SUBMIT, 5_000_000L);
+
+		Map<String, Map<String, Object>> snapshot = monitor.getSnapshot();
+		Map<String, Object> book = snapshot.get("bookUpdate");
+		assertEquals(1000L, book.get("count"));
+		assertEquals(500.0, (double) book.get("p50Us"), 1.0);
+		assertEquals(990.0, (double) book.get("p99Us"), 1.0);
+		assertEquals(999.0, (double) book.get("p999Us"), 1.0);
+		assertEquals(1000.0, (double) book.get("maxUs"), 1.0);
+
+		assertEquals(0L, snapshot.get("signal").get("count"));
+		assertEquals(5000.0, (double) snapshot.get("orderSubmit").get("maxUs"), 5.0);
+	}
+
+	@Test
+	void resetStartsNewInterval() {
+		LatencyMonitor monitor = new LatencyMonitor();
+		monitor.record(LatencyStage.SIGNAL, 10_000L);
+		assertEquals(1, monitor.getHistogram(LatencyStage.SIGNAL).getTotalCount());
+
+		monitor.reset();
+		assertEquals(0, monitor.getHistogram(LatencyStage.SIGNAL).getTotalCount());
+
+		// Out-of-range values are clamped rather than rejected
+		monitor.record(LatencyStage.SIGNAL, Long.MAX_VALUE);
+		monitor.record(LatencyStage.SIGNAL, 20_000L);
+		assertEquals(2, monitor.getHistogram(LatencyStage.SIGNAL).getTotalCount());
+	}
+}
@@ -0,0 +1,41 @@
+package com.trading.hft_application.core.risk;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExposureTrackerTest {
+	@Test
+	void keepsGrossAndNetTotalsOverallAndBySector() {
+		ExposureTracker tracker = new ExposureTracker(8, 2, 4);
+		int crypto = tracker.registerSymbol(0, "crypto");
+		assertEquals(crypto, tracker.registerSymbol(1, "crypto"));
+		int equities = tracker.registerSymbol(2, "equities");
+
+		tracker.update(0, 0, 500.0);
+		tracker.update(1, 1, -200.0);
+		tracker.update(0, 2, 300.0);
+		assertEquals(1000.0, tracker.getGrossExposure());
+		assertEquals(600.0, tracker.getNetExposure());
+		assertEquals(700.0, tracker.getGrossExposure(crypto));
+		assertEquals(300.0, tracker.getNetExposure(crypto));
+
+		// A long flipping short moves gross by the change in size and net by the change in sign
+		tracker.update(0, 0, -100.0);
+		tracker.update(0, 2, 0.0);
+		assertEquals(300.0, tracker.getGrossExposure());
+		assertEquals(-300.0, tracker.getNetExposure());
+		assertEquals(-100.0, tracker.getExposure(0));
+		assertEquals(0.0, tracker.getGrossExposure(equities));
+		assertEquals(2, tracker.getSectorCount());
+		assertEquals("equities", tracker.getSectorName(equities));
+	}
+
+	@Test
+	void rejectsMoreSectorsThanConfigured() {
+		ExposureTracker tracker = new ExposureTracker(4, 1, 1);
+		tracker.registerSymbol(0, "crypto");
+		assertThrows(IllegalStateException.class, () -> tracker.registerSymbol(1, "equities"));
+		assertThrows(IllegalArgumentException.class, () -> new ExposureTracker(4, 0, 1));
+	}
+}
@@ -0,0 +1,72 @@
+package com.trading.hft_application.core.risk;
+
+import com.trading.hft_application.core.execution.OrderSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PnlLedgerTest {
+	@Test
+	void tracksRealizedBySymbolAndSourceAndUnrealizedSeparately() {
+		PnlLedger ledger = new PnlLedger(4, 2);
+		ledger.recordRealized(0, 0, OrderSource.STRATEGY, 100.0);
+		ledger.recordRealized(1, 1, OrderSource.STRATEGY, -40.0);
+		ledger.recordRealized(1, 3, OrderSource.RISK, 15.0);
+		ledger.markToMarket(0, 0, 30.0);
+		ledger.markToMarket(1, 1, -10.0);
+		ledger.markToMarket(0, 0, 20.0);
+
+		assertEquals(75.0, ledger.getRealizedPnL());
+		assertEquals(60.0, ledger.getRealizedPnL(OrderSource.STRATEGY));
+		assertEquals(15.0, ledger.getRealizedPnL(OrderSource.RISK));
+		assertEquals(0.0, ledger.getRealizedPnL(OrderSource.EMERGENCY));
+		assertEquals(-40.0, ledger.getRealizedPnL(1));
+		assertEquals(10.0, ledger.getUnrealizedPnL(), "the running total follows each symbol's latest mark");
+		assertEquals(20.0, ledger.getUnrealizedPnL(0));
+		assertEquals(85.0, ledger.getTotalPnL());
+	}
+
+	@Test
+	void concurrentWritersLoseNoUpdates() throws Exception {
+		PnlLedger ledger = new PnlLedger(64, 4);
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicLong decreases = new AtomicLong();
+
+		// Every writer only adds profit, so a reader must never see the total fall
+		Thread reader = new Thread(() -> {
+			double last = 0.0;
+			while (!done.get()) {
+				double realized = ledger.getRealizedPnL();
+				if (realized < last) {
+					decreases.incrementAndGet();
+				}
+				last = realized;
+			}
+		});
+		reader.start();
+
+		Thread[] writers = new Thread[4];
+		for (int w = 0; w < writers.length; w++) {
+			int writer = w;
+			writers[w] = new Thread(() -> {
+				for (int i = 0; i < 100_000; i++) {
+					ledger.recordRealized(writer, writer + 4 * (i & 15), OrderSource.STRATEGY, 1.0);
+				}
+			});
+			writers[w].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		done.set(true);
+		reader.join();
+
+		assertEquals(400_000.0, ledger.getRealizedPnL());
+		assertEquals(400_000.0, ledger.getRealizedPnL(OrderSource.STRATEGY));
+		assertEquals(6_250.0, ledger.getRealizedPnL(5));
+		assertEquals(0, decreases.get());
+	}
+}
@@ -0,0 +1,85 @@
+package com.trading.hft_application.core.risk;
+
+import com.trading.hft_application.core.execution.OrderSource;
+import com.trading.hft_application.core.execution.OrderTable;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.MarketTick;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderBook;
+import com.trading.hft_application.model.OrderType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreTradeRiskGateTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("TEST", 1.0, 1.0);
+
+	private final RiskManager riskManager = new RiskManager(5_000.0, 2_500.0, 1_000.0, 4);
+	private final OrderBook[] books = new OrderBook[4];
+	private final OrderTable orders = new OrderTable(16, 4);
+	private final PreTradeRiskGate gate;
+
+	PreTradeRiskGateTest() {
+		books[0] = new OrderBook(INSTRUMENT);
+		books[0].update(new MarketTick("TEST", 999, 1001, 10, 10));
+		books[1] = new OrderBook(INSTRUMENT);
+		gate = new PreTradeRiskGate(riskManager, books, orders);
+	}
+
+	@Test
+	void rejectsOrdersBreachingSizeNotionalAndPriceBand() {
+		assertNull(gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 2));
+
+		gate.setMaxOrderLots(0, 1);
+		assertEquals(PreTradeCheck.ORDER_SIZE, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 2));
+		assertEquals(PreTradeCheck.ORDER_SIZE, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 0));
+		gate.setMaxOrderLots(0, Long.MAX_VALUE);
+		assertEquals(PreTradeCheck.ORDER_NOTIONAL, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 3));
+
+		// 100 bps around a mid of 1000
+		assertNull(gate.check(0, INSTRUMENT, OrderType.SELL, 990, 1));
+		assertEquals(PreTradeCheck.PRICE_BAND, gate.check(0, INSTRUMENT, OrderType.SELL, 989, 1));
+		assertEquals(PreTradeCheck.PRICE_BAND, gate.check(1, INSTRUMENT, OrderType.BUY, 1000, 1),
+				"no reference price on an empty book");
+
+		assertEquals(7, gate.getCheckedOrderCount());
+		assertEquals(2, gate.getRejectionCount(PreTradeCheck.ORDER_SIZE));
+		assertEquals(2, gate.getRejectionCount(PreTradeCheck.PRICE_BAND));
+	}
+
+	@Test
+	void letsOnlyReducingOrdersThroughPositionAndLossLimits() {
+		ExposureTracker exposure = riskManager.getExposureTracker();
+		exposure.registerSymbol(0, InstrumentSpec.DEFAULT_SECTOR);
+		exposure.update(0, 0, 3_000.0);
+
+		assertEquals(PreTradeCheck.POSITION_LIMIT, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 2));
+		assertNull(gate.check(0, INSTRUMENT, OrderType.SELL, 999, 2));
+
+		riskManager.getPnlLedger().recordRealized(0, 0, OrderSource.STRATEGY, -1_500.0);
+		assertEquals(PreTradeCheck.DAILY_LOSS, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 1));
+		assertNull(gate.check(0, INSTRUMENT, OrderType.SELL, 999, 1));
+	}
+
+	@Test
+	void countsWorkingOrdersOnTheSameSideTowardsThePositionLimit() {
+		for (long orderId = 1; orderId <= 2; orderId++) {
+			assertNull(gate.check(0, INSTRUMENT, OrderType.BUY, 1000, 2));
+			orders.add(new Order(orderId, 0, INSTRUMENT, OrderType.BUY, 1000, 2));
+		}
+		// 4,000 working plus 2,002 would pass alone but not with the unfilled orders
+		assertEquals(PreTradeCheck.POSITION_LIMIT, gate.check(0, INSTRUMENT, OrderType.BUY, 1001, 2));
+		assertNull(gate.check(0, INSTRUMENT, OrderType.BUY, 1000, 1));
+		assertNull(gate.check(0, INSTRUMENT, OrderType.SELL, 999, 2), "sells are limited by sell orders only");
+	}
+
+	@Test
+	void capsOpenOrdersPerSymbol() {
+		gate.setMaxOpenOrders(0, 2);
+		for (long orderId = 1; orderId <= 2; orderId++) {
+			assertNull(gate.check(0, INSTRUMENT, OrderType.BUY, 1000, 1));
+			orders.add(new Order(orderId, 0, INSTRUMENT, OrderType.BUY, 1000, 1));
+		}
+		assertEquals(PreTradeCheck.OPEN_ORDERS, gate.check(0, INSTRUMENT, OrderType.BUY, 1000, 1));
+	}
+}
@@ -0,0 +1,91 @@
+package com.trading.hft_application.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+	private static final long TICK = 1_000;
+
+	@Test
+	void firesTimersOnceTheirDeadlinePassesAndNotBefore() {
+		TimingWheel wheel = new TimingWheel(8, TICK, 4, 0);
+		wheel.schedule(0, 2_500);
+		wheel.schedule(1, 1_000);
+		// Several turns of the four-bucket wheel away
+		wheel.schedule(2, 9_000);
+
+		assertEquals(List.of(), pollAll(wheel, 999));
+		assertEquals(List.of(1), pollAll(wheel, 1_000));
+		assertEquals(List.of(), pollAll(wheel, 2_999), "deadlines are rounded up to the next tick");
+		assertEquals(List.of(0), pollAll(wheel, 3_000));
+		assertEquals(List.of(), pollAll(wheel, 8_999));
+		assertEquals(List.of(2), pollAll(wheel, 9_000));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledAndRescheduledTimers() {
+		TimingWheel wheel = new TimingWheel(8, TICK, 4, 0);
+		wheel.schedule(0, 1_000);
+		wheel.schedule(1, 1_000);
+		assertTrue(wheel.cancel(0));
+		assertFalse(wheel.cancel(0));
+		wheel.schedule(1, 5_000);
+
+		assertEquals(List.of(), pollAll(wheel, 4_000));
+		assertTrue(wheel.isScheduled(1));
+
+		// A deadline already polled past fires on the next poll
+		wheel.schedule(3, 100);
+		assertEquals(List.of(3), pollAll(wheel, 4_000));
+		assertEquals(List.of(1), pollAll(wheel, 5_000));
+		assertFalse(wheel.isScheduled(1));
+	}
+
+	@Test
+	void matchesAReferenceUnderRandomSchedules() {
+		int capacity = 256;
+		TimingWheel wheel = new TimingWheel(capacity, TICK, 16, 0);
+		long[] deadlines = new long[capacity];
+		boolean[] scheduled = new boolean[capacity];
+		SplittableRandom random = new SplittableRandom(7);
+
+		for (long now = 0; now < 200_000; now += random.nextLong(1, 3_000)) {
+			for (int i = 0; i < 20; i++) {
+				int timer = random.nextInt(capacity);
+				if (random.nextInt(4) == 0) {
+					assertEquals(scheduled[timer], wheel.cancel(timer));
+					scheduled[timer] = false;
+				} else {
+					deadlines[timer] = now + random.nextLong(0, 60_000);
+					scheduled[timer] = true;
+					wheel.schedule(timer, deadlines[timer]);
+				}
+			}
+
+			for (int timer : pollAll(wheel, now)) {
+				assertTrue(scheduled[timer]);
+				assertTrue(deadlines[timer] <= now, "fired early");
+				scheduled[timer] = false;
+			}
+			for (int timer = 0; timer < capacity; timer++) {
+				assertFalse(scheduled[timer] && deadlines[timer] <= now - TICK, "timer " + timer + " missed");
+			}
+		}
+	}
+
+	private static List<Integer> pollAll(TimingWheel wheel, long nowNanos) {
+		List<Integer> fired = new ArrayList<>();
+		int timer;
+		while ((timer = wheel.poll(nowNanos)) != TimingWheel.NONE) {
+			fired.add(timer);
+		}
+		fired.sort(null);
+		return fired;
+	}
+}
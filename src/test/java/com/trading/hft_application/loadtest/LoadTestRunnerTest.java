@@ -0,0 +1,62 @@
+package com.trading.hft_application.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestRunnerTest {
+
+	@Test
+	void configParsesOptionsAndRejectsUnknownOnes() {
+		LoadTestConfig config = LoadTestConfig.parse(new String[]{"--symbols=500", "--rate=0", "--process=randomwalk"});
+
+		assertEquals(500, config.getSymbols());
+		assertEquals(0, config.getTicksPerSecond());
+		assertEquals(PriceProcess.RANDOM_WALK, config.getPriceProcess());
+		assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse(new String[]{"--colour=blue"}));
+		assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse(new String[]{"--producers=11", "--symbols=10"}));
+	}
+
+	@Test
+	void syntheticQuotesStayValidAndAreReproducible() {
+		for (PriceProcess process : PriceProcess.values()) {
+			LoadTestConfig config = LoadTestConfig.parse(new String[]{
+					"--process=" + (process == PriceProcess.RANDOM_WALK ? "randomwalk" : "gbm"),
+					"--volatilityBps=50", "--jumpProbability=0.01", "--jumpBps=500"});
+			int[] symbolIds = {3, 7, 11};
+			double[] midTicks = {1_000, 50, 250_000};
+			SyntheticFeed feed = new SyntheticFeed(null, symbolIds, midTicks, config, 0, 7);
+			SyntheticFeed replay = new SyntheticFeed(null, symbolIds, midTicks, config, 0, 7);
+
+			for (int i = 0; i < 100_000; i++) {
+				feed.nextQuote();
+				replay.nextQuote();
+
+				assertTrue(feed.getLastSymbolId() == 3 || feed.getLastSymbolId() == 7 || feed.getLastSymbolId() == 11);
+				assertTrue(feed.getLastBidTicks() > 0, "bid must stay positive");
+				assertTrue(feed.getLastAskTicks() > feed.getLastBidTicks(), "book must not be crossed or locked");
+				assertTrue(feed.getLastBidSize() > 0 && feed.getLastAskSize() > 0);
+				assertEquals(feed.getLastBidTicks(), replay.getLastBidTicks());
+				assertEquals(feed.getLastAskSize(), replay.getLastAskSize());
+			}
+		}
+	}
+
+	@Test
+	void shortRunDrivesTheEngineAndReportsEveryStage() throws InterruptedException {
+		LoadTestConfig config = LoadTestConfig.parse(new String[]{
+				"--symbols=20", "--rate=20000", "--duration=1", "--warmup=1", "--lookbackPeriod=10"});
+		PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+
+		LoadTestReport report = new LoadTestRunner(config, discard).run();
+		report.print(discard);
+
+		assertTrue(report.getProcessedTicks() > 0, "no ticks processed");
+		assertTrue(report.getPublishedTicks() + report.getDroppedTicks() > 0);
+		assertTrue(report.getLatencies().get("bookUpdate").getTotalCount() > 0);
+		assertTrue(report.getLatencies().containsKey("feedScheduleLag"));
+	}
+}
@@ -0,0 +1,91 @@
+package com.trading.hft_application.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One writer moves the book while readers snapshot it. Every published quote satisfies fixed invariants
+ * (constant spread, sizes derived from prices, depth levels one tick apart), so any torn or half-applied
+ * read shows up as a violation.
+ */
+class OrderBookSnapshotStressTest {
+	private static final long SPREAD_TICKS = 7;
+	private static final int WRITES = 2_000_000;
+	private static final int READERS = 3;
+
+	@Test
+	void readersNeverSeeTornQuotesOrDepth() throws Exception {
+		OrderBook book = new OrderBook(new InstrumentSpec("BTC-USD"), 8);
+		for (long level = 997; level < 1000; level++) {
+			book.updateLevel(OrderType.BUY, level, sizeFor(level));
+		}
+		book.update(new MarketTick("BTC-USD", 1000, 1000 + SPREAD_TICKS, sizeFor(1000), sizeFor(1000 + SPREAD_TICKS)));
+
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicLong violations = new AtomicLong();
+		AtomicLong reads = new AtomicLong();
+		List<Thread> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			Thread reader = new Thread(() -> {
+				TopOfBook top = new TopOfBook();
+				long[] prices = new long[4];
+				long[] sizes = new long[4];
+				long lastVersion = 0;
+				long count = 0;
+				while (!done.get()) {
+					book.readTopOfBook(top);
+					if (top.getSpreadTicks() != SPREAD_TICKS
+							|| top.getBidSize() != sizeFor(top.getBidTicks())
+							|| top.getAskSize() != sizeFor(top.getAskTicks())
+							|| top.getVersion() < lastVersion
+							|| (top.getVersion() & 1) != 0) {
+						violations.incrementAndGet();
+					}
+					lastVersion = top.getVersion();
+
+					int depth = book.readLevels(OrderType.BUY, prices, sizes);
+					for (int level = 0; level < depth; level++) {
+						if (sizes[level] != sizeFor(prices[level])
+								|| (level > 0 && prices[level] != prices[level - 1] - 1)) {
+							violations.incrementAndGet();
+						}
+					}
+
+					double mid = book.getMidTicks();
+					if (mid - Math.floor(mid) != 0.5) {
+						violations.incrementAndGet();
+					}
+					count++;
+				}
+				reads.addAndGet(count);
+			});
+			readers.add(reader);
+			reader.start();
+		}
+
+		// Writer: walk the quote up and down one tick at a time, which keeps the bid levels contiguous
+		MarketTick tick = new MarketTick();
+		for (int i = 0; i < WRITES; i++) {
+			long bid = 1000 + (i % 500 < 250 ? i % 250 : 250 - i % 250);
+			tick.set("BTC-USD", bid, bid + SPREAD_TICKS, sizeFor(bid), sizeFor(bid + SPREAD_TICKS), i);
+			book.update(tick);
+		}
+		done.set(true);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+
+		assertTrue(reads.get() > 0);
+		assertEquals(0, violations.get(), "inconsistent reads out of " + reads.get());
+	}
+
+	private static long sizeFor(long priceTicks) {
+		return priceTicks * 3 + 1;
+	}
+}
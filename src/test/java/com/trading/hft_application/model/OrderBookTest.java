@@ -0,0 +1,108 @@
+package com.trading.hft_application.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+	@Test
+	void laddersStayPriceOrderedBestFirst() {
+		OrderBook book = new OrderBook("BTC-USD");
+		book.updateLevel(OrderType.BUY, 10000, 1);
+		book.updateLevel(OrderType.BUY, 10002, 2);
+		book.updateLevel(OrderType.BUY, 9999, 3);
+		book.updateLevel(OrderType.SELL, 10010, 4);
+		book.updateLevel(OrderType.SELL, 10005, 5);
+		book.updateLevel(OrderType.SELL, 10020, 6);
+
+		PriceLadder bids = book.getBids();
+		assertEquals(3, bids.getDepth());
+		assertEquals(10002, bids.getPriceTicks(0));
+		assertEquals(10000, bids.getPriceTicks(1));
+		assertEquals(9999, bids.getPriceTicks(2));
+
+		PriceLadder asks = book.getAsks();
+		assertEquals(10005, asks.getPriceTicks(0));
+		assertEquals(10010, asks.getPriceTicks(1));
+		assertEquals(10020, asks.getPriceTicks(2));
+
+		assertEquals(10002, book.getBidTicks());
+		assertEquals(2, book.getBidSize());
+		assertEquals(10005, book.getAskTicks());
+		assertEquals(5, book.getAskSize());
+		assertEquals(10003.5, book.getMidTicks());
+		assertEquals(100.02, book.toPrice(book.getBidTicks()));
+	}
+
+	@Test
+	void updatesAndDeletesLevels() {
+		OrderBook book = new OrderBook("BTC-USD");
+		book.updateLevel(OrderType.BUY, 100, 1);
+		book.updateLevel(OrderType.BUY, 101, 1);
+
+		book.updateLevel(OrderType.BUY, 100, 7);
+		assertEquals(7, book.getBids().getSizeAt(100));
+
+		book.updateLevel(OrderType.BUY, 101, 0);
+		assertEquals(1, book.getBids().getDepth());
+		assertEquals(100, book.getBidTicks());
+
+		book.deleteLevel(OrderType.BUY, 100);
+		assertTrue(book.getBids().isEmpty());
+		assertEquals(0, book.getBidTicks());
+	}
+
+	@Test
+	void topOfBookTickDropsBetterLevelsOnly() {
+		OrderBook book = new OrderBook("SOL-USD");
+		book.updateLevel(OrderType.BUY, 9990, 1);
+		book.updateLevel(OrderType.BUY, 10005, 1);
+		book.updateLevel(OrderType.SELL, 10030, 1);
+
+		book.update(new MarketTick("SOL-USD", 10000, 10010, 2, 3));
+
+		assertEquals(2, book.getBids().getDepth());
+		assertEquals(10000, book.getBidTicks());
+		assertEquals(9990, book.getBids().getPriceTicks(1));
+		assertEquals(2, book.getAsks().getDepth());
+		assertEquals(10010, book.getAskTicks());
+		assertEquals(3, book.getAskSize());
+	}
+
+	@Test
+	void fullLadderDropsWorstLevel() {
+		OrderBook book = new OrderBook(new InstrumentSpec("ETH-USD"), 3);
+		book.updateLevel(OrderType.SELL, 103, 1);
+		book.updateLevel(OrderType.SELL, 102, 1);
+		book.updateLevel(OrderType.SELL, 101, 1);
+
+		// Worse than every level on a full ladder: ignored
+		book.updateLevel(OrderType.SELL, 104, 1);
+		assertEquals(103, book.getAsks().getPriceTicks(2));
+
+		// Better level evicts the worst
+		book.updateLevel(OrderType.SELL, 100, 1);
+		assertEquals(3, book.getAsks().getDepth());
+		assertEquals(100, book.getAsks().getBestPriceTicks());
+		assertEquals(102, book.getAsks().getPriceTicks(2));
+	}
+
+	@Test
+	void instrumentSpecConvertsPricesAndQuantitiesExactly() {
+		InstrumentSpec spec = new InstrumentSpec("SOL-USD", 0.001, 0.01);
+
+		// Decimal prices that are not exactly representable in binary still map to exact ticks
+		assertEquals(100_100, spec.toTicks(100.1));
+		assertEquals(spec.toTicks(0.1 + 0.2), spec.toTicks(0.3));
+		assertEquals(100.1, spec.toPrice(100_100));
+		assertEquals(250, spec.toLots(2.5));
+		assertEquals(2.5, spec.toQuantity(250));
+
+		// 2.5 SOL at 100.1 = 250.25
+		assertEquals(250.25, spec.notional(100_100, 250), 1e-9);
+		assertEquals(250, spec.lotsForNotional(250.30, 100_100));
+
+		assertThrows(IllegalArgumentException.class, () -> new InstrumentSpec("BAD", 0.0, 1.0));
+	}
+}
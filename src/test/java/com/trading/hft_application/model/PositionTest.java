@@ -0,0 +1,82 @@
+package com.trading.hft_application.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+	// One tick times one lot is worth 1.0, so profits read directly in ticks times lots
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("TEST", 1.0, 1.0);
+
+	@Test
+	void partialFillsAddAtTheAveragePriceAndCloseAgainstIt() {
+		Position position = new Position(INSTRUMENT, 0, 0.0);
+		position.updatePosition(30, 100);
+		position.updatePosition(10, 140);
+		assertEquals(40, position.getSize());
+		assertEquals(110.0, position.getAvgPriceTicks(), 1e-9);
+		assertEquals(0.0, position.getTotalProfit());
+
+		// Selling part of the position realizes profit on the part sold and keeps the average
+		position.updatePosition(-15, 120);
+		assertEquals(25, position.getSize());
+		assertEquals(110.0, position.getAvgPriceTicks(), 1e-9);
+		assertEquals(150.0, position.getLastTradeProfit(), 1e-9);
+
+		position.updatePosition(-25, 100);
+		assertEquals(0, position.getSize());
+		assertEquals(-250.0, position.getLastTradeProfit(), 1e-9);
+		assertEquals(-100.0, position.getTotalProfit(), 1e-9);
+	}
+
+	@Test
+	void aFillThroughZeroOpensTheExcessAtTheFillPrice() {
+		Position position = new Position(INSTRUMENT, -20, 200);
+		position.updatePosition(50, 190);
+
+		assertEquals(30, position.getSize());
+		assertEquals(190.0, position.getAvgPriceTicks(), 1e-9);
+		assertEquals(200.0, position.getLastTradeProfit(), 1e-9, "the 20 short closed 10 ticks lower");
+		assertEquals(30 * 5.0, position.getUnrealizedPnL(195), 1e-9);
+	}
+
+	/**
+	 * The writer cycles through three positions - flat, 100 at 1000 and 200 at 1500 - so a reader pairing
+	 * one position's size with another's average price computes an unrealized P&L outside the valid set
+	 */
+	@Test
+	void readersNeverSeeAHalfAppliedFill() throws Exception {
+		Position position = new Position(INSTRUMENT, 0, 0.0);
+		Set<Double> valid = Set.of(0.0, -100_000.0, -300_000.0);
+		AtomicBoolean done = new AtomicBoolean(false);
+		AtomicLong violations = new AtomicLong();
+		AtomicLong reads = new AtomicLong();
+
+		Thread reader = new Thread(() -> {
+			long count = 0;
+			while (!done.get()) {
+				if (!valid.contains(position.getUnrealizedPnL(0) + 0.0)) {
+					violations.incrementAndGet();
+				}
+				count++;
+			}
+			reads.set(count);
+		});
+		reader.start();
+
+		for (int i = 0; i < 1_000_000; i++) {
+			position.updatePosition(100, 1000);
+			position.updatePosition(100, 2000);
+			position.updatePosition(-200, 1500);
+		}
+		done.set(true);
+		reader.join();
+
+		assertTrue(reads.get() > 0);
+		assertEquals(0, violations.get(), "inconsistent reads out of " + reads.get());
+	}
+}
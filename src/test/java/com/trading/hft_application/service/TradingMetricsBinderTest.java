@@ -0,0 +1,70 @@
+package com.trading.hft_application.service;
+
+import com.trading.hft_application.core.HFTAlgorithm;
+import com.trading.hft_application.core.marketdata.SleepingWaitStrategy;
+import com.trading.hft_application.core.metrics.LatencyStage;
+import com.trading.hft_application.core.risk.PreTradeCheck;
+import com.trading.hft_application.model.InstrumentSpec;
+import com.trading.hft_application.model.Order;
+import com.trading.hft_application.model.OrderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingMetricsBinderTest {
+	private static final InstrumentSpec INSTRUMENT = new InstrumentSpec("BTC-USD");
+
+	private final HFTAlgorithm algorithm = new HFTAlgorithm(1_000_000.0, 100_000.0, 50_000.0, 100, 0.0002,
+			1024, new SleepingWaitStrategy(), 4);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void publishesEngineCountersAndGauges() {
+		int symbolId = algorithm.addMarketDataFeed(INSTRUMENT, 100.0, 100.02);
+		new TradingMetricsBinder(algorithm).bindTo(registry);
+
+		// Sampled from the engine, so later changes show without touching Micrometer
+		algorithm.getOrderManager().submitOrder(
+				new Order(1, symbolId, INSTRUMENT, OrderType.BUY, 10_000, 1), algorithm.getOrderTable());
+		assertEquals(1.0, registry.get("hft.orders").tag("action", "submit").functionCounter().count());
+		assertEquals(0.0, registry.get("hft.orders").tag("action", "fill").functionCounter().count());
+		assertEquals(1.0, registry.get("hft.orders.active").gauge().value());
+		assertEquals(0.0, registry.get("hft.ticks").functionCounter().count());
+		assertEquals(0.0, registry.get("hft.symbol.updates").tag("symbol", "BTC-USD").functionCounter().count());
+
+		PreTradeCheck failed = algorithm.getPreTradeRiskGate().check(symbolId, INSTRUMENT, OrderType.BUY,
+				10_000, 1_000_000_000L);
+		assertNotNull(failed);
+		assertEquals(1.0, registry.get("hft.pretrade.checks").functionCounter().count());
+		assertEquals(1.0, registry.get("hft.pretrade.rejections").tag("check", failed.getMetricName())
+				.functionCounter().count());
+
+		assertEquals(0.0, registry.get("hft.throttle").tag("outcome", "rejected").functionCounter().count());
+		assertEquals(0.0, registry.get("hft.throttle.limited").tag("bucket", "global").functionCounter().count());
+		assertEquals(-1.0, registry.get("hft.throttle.tokens").gauge().value(), "unlimited");
+		assertEquals(0.0, registry.get("hft.exposure").tag("type", "gross").gauge().value());
+		assertEquals(0.0, registry.get("hft.pnl").tag("type", "realized").gauge().value());
+	}
+
+	@Test
+	void publishesLatencyPercentilesPerStage() {
+		new TradingMetricsBinder(algorithm).bindTo(registry);
+		for (int i = 1; i <= 1000; i++) {
+			algorithm.getLatencyMonitor().record(LatencyStage.SIGNAL, i * 1_000L);
+		}
+
+		assertEquals(1000.0, registry.get("hft.latency.count").tag("stage", "signal").gauge().value());
+		assertEquals(0.0, registry.get("hft.latency.count").tag("stage", "bookUpdate").gauge().value());
+		assertEquals(500.0, registry.get("hft.latency").tags("stage", "signal", "percentile", "p50")
+				.timeGauge().value(TimeUnit.MICROSECONDS), 1.0);
+		assertEquals(1000.0, registry.get("hft.latency").tags("stage", "signal", "percentile", "max")
+				.timeGauge().value(TimeUnit.MICROSECONDS), 1.0);
+
+		// Symbols added after binding get their own counters
+		algorithm.addMarketDataFeed(new InstrumentSpec("ETH-USD"), 10.0, 10.02);
+		assertEquals(0.0, registry.get("hft.symbol.updates").tag("symbol", "ETH-USD").functionCounter().count());
+	}
+}